@@ -74,6 +74,7 @@ public class IngestionSettingsService {
                 snapshot.pageSize(),
                 snapshot.recentDays(),
                 snapshot.concurrency(),
+                snapshot.executorMode(),
                 snapshot.companyOverrides(),
                 snapshot.locationFilter(),
                 snapshot.roleFilter(),
@@ -120,6 +121,7 @@ public class IngestionSettingsService {
                     snapshot.pageSize(),
                     snapshot.recentDays(),
                     snapshot.concurrency(),
+                    snapshot.executorMode(),
                     snapshot.companyOverrides(),
                     snapshot.locationFilter(),
                     snapshot.roleFilter(),
@@ -18,6 +18,7 @@ public final class IngestionSettingsSnapshot {
     private final int pageSize;
     private final int recentDays;
     private final int concurrency;
+    private final IngestionProperties.ExecutorMode executorMode;
     private final Map<String, IngestionProperties.CompanyOverride> companyOverrides;
     private final IngestionProperties.LocationFilter locationFilter;
     private final IngestionProperties.RoleFilter roleFilter;
@@ -30,6 +31,7 @@ public final class IngestionSettingsSnapshot {
             @JsonProperty("pageSize") int pageSize,
             @JsonProperty("recentDays") int recentDays,
             @JsonProperty("concurrency") int concurrency,
+            @JsonProperty("executorMode") IngestionProperties.ExecutorMode executorMode,
             @JsonProperty("companyOverrides") Map<String, IngestionProperties.CompanyOverride> companyOverrides,
             @JsonProperty("locationFilter") IngestionProperties.LocationFilter locationFilter,
             @JsonProperty("roleFilter") IngestionProperties.RoleFilter roleFilter,
@@ -39,6 +41,7 @@ public final class IngestionSettingsSnapshot {
         this.pageSize = Math.max(1, pageSize);
         this.recentDays = Math.max(1, recentDays);
         this.concurrency = Math.max(1, concurrency);
+        this.executorMode = executorMode == null ? IngestionProperties.ExecutorMode.PLATFORM : executorMode;
         this.companyOverrides = sanitizeOverrides(companyOverrides);
         this.locationFilter = cloneLocationFilter(locationFilter);
         this.roleFilter = cloneRoleFilter(roleFilter);
@@ -53,6 +56,7 @@ public final class IngestionSettingsSnapshot {
                 properties.getPageSize(),
                 properties.getRecentDays(),
                 properties.getConcurrency(),
+                properties.getExecutorMode(),
                 properties.getCompanyOverrides(),
                 properties.getLocationFilter(),
                 properties.getRoleFilter(),
@@ -67,6 +71,7 @@ public final class IngestionSettingsSnapshot {
         properties.setPageSize(pageSize);
         properties.setRecentDays(recentDays);
         properties.setConcurrency(concurrency);
+        properties.setExecutorMode(executorMode);
         properties.setCompanyOverrides(companyOverrides);
         properties.setLocationFilter(cloneLocationFilter(locationFilter));
         properties.setRoleFilter(cloneRoleFilter(roleFilter));
@@ -97,6 +102,11 @@ public final class IngestionSettingsSnapshot {
         return concurrency;
     }
 
+    @JsonProperty("executorMode")
+    public IngestionProperties.ExecutorMode executorMode() {
+        return executorMode;
+    }
+
     @JsonProperty("companyOverrides")
     public Map<String, IngestionProperties.CompanyOverride> companyOverrides() {
         return companyOverrides;
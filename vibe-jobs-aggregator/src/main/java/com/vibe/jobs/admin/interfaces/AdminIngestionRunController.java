@@ -0,0 +1,30 @@
+package com.vibe.jobs.admin.interfaces;
+
+import com.vibe.jobs.ingestion.IngestionRunHistory;
+import com.vibe.jobs.ingestion.domain.IngestionRunReport;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = "/admin/ingestion-runs", produces = MediaType.APPLICATION_JSON_VALUE)
+public class AdminIngestionRunController {
+
+    private final IngestionRunHistory runHistory;
+
+    public AdminIngestionRunController(IngestionRunHistory runHistory) {
+        this.runHistory = runHistory;
+    }
+
+    /**
+     * 最近一轮采集的报告：每个数据源是完成、超时还是失败，以及已抓取的页数和入库数。
+     */
+    @GetMapping("/latest")
+    public ResponseEntity<IngestionRunReport> latest() {
+        return runHistory.latest()
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+}
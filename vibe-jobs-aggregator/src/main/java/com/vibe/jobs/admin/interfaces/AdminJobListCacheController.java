@@ -0,0 +1,34 @@
+package com.vibe.jobs.admin.interfaces;
+
+import com.vibe.jobs.jobposting.interfaces.rest.JobListCache;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = "/admin/job-list-cache", produces = MediaType.APPLICATION_JSON_VALUE)
+public class AdminJobListCacheController {
+
+    private final JobListCache listCache;
+
+    public AdminJobListCacheController(JobListCache listCache) {
+        this.listCache = listCache;
+    }
+
+    /**
+     * /jobs 列表缓存的命中、未命中、淘汰与失效次数。
+     */
+    @GetMapping
+    public JobListCache.Stats stats() {
+        return listCache.stats();
+    }
+
+    @DeleteMapping
+    public ResponseEntity<Void> clear() {
+        listCache.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,28 @@
+package com.vibe.jobs.admin.interfaces;
+
+import com.vibe.jobs.jobposting.application.JobSearchDocumentMaintenanceService;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = "/admin/job-search-documents", produces = MediaType.APPLICATION_JSON_VALUE)
+public class AdminJobSearchDocumentController {
+
+    private final JobSearchDocumentMaintenanceService maintenanceService;
+
+    public AdminJobSearchDocumentController(JobSearchDocumentMaintenanceService maintenanceService) {
+        this.maintenanceService = maintenanceService;
+    }
+
+    @PostMapping("/rebuild")
+    public MaintenanceResponse rebuild(@RequestParam(name = "batchSize", required = false) Integer batchSize) {
+        var result = maintenanceService.rebuild(batchSize);
+        return new MaintenanceResponse(result.processed(), result.updated(), result.batches(), result.batchSize());
+    }
+
+    public record MaintenanceResponse(long processed, long updated, int batches, int batchSize) {
+    }
+}
@@ -0,0 +1,43 @@
+package com.vibe.jobs.admin.interfaces;
+
+import com.vibe.jobs.shared.infrastructure.config.ReadReplicaDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(path = "/admin/read-replicas", produces = MediaType.APPLICATION_JSON_VALUE)
+public class AdminReadReplicaController {
+
+    private final ObjectProvider<ReadReplicaDataSource> readReplicas;
+
+    public AdminReadReplicaController(ObjectProvider<ReadReplicaDataSource> readReplicas) {
+        this.readReplicas = readReplicas;
+    }
+
+    /**
+     * 各副本的健康状态、最近一次测得的复制延迟与路由到的连接数；未开启副本路由时返回 404。
+     */
+    @GetMapping
+    public ResponseEntity<ReadReplicaDataSource.Summary> status() {
+        ReadReplicaDataSource dataSource = readReplicas.getIfAvailable();
+        return dataSource == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(dataSource.summary());
+    }
+
+    /**
+     * 立即执行一次健康检查，副本恢复后不必等下一个检查周期。
+     */
+    @PostMapping("/check")
+    public ResponseEntity<ReadReplicaDataSource.Summary> check() {
+        ReadReplicaDataSource dataSource = readReplicas.getIfAvailable();
+        if (dataSource == null) {
+            return ResponseEntity.notFound().build();
+        }
+        dataSource.checkHealth();
+        return ResponseEntity.ok(dataSource.summary());
+    }
+}
@@ -14,6 +14,7 @@ public record IngestionSettingsRequest(
         int pageSize,
         int recentDays,
         int concurrency,
+        IngestionProperties.ExecutorMode executorMode,
         IngestionProperties.LocationFilter locationFilter,
         IngestionProperties.RoleFilter roleFilter,
         Map<String, IngestionProperties.CompanyOverride> companyOverrides
@@ -25,6 +26,7 @@ public record IngestionSettingsRequest(
                 pageSize,
                 recentDays,
                 Math.max(1, concurrency), // 确保并发数至少为1
+                executorMode,
                 companyOverrides != null ? companyOverrides : Map.of(),
                 locationFilter,
                 roleFilter,
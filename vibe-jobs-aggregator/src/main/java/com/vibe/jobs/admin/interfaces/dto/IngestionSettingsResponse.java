@@ -12,6 +12,7 @@ public record IngestionSettingsResponse(
         int pageSize,
         int recentDays,
         int concurrency,
+        IngestionProperties.ExecutorMode executorMode,
         Map<String, IngestionProperties.CompanyOverride> companyOverrides,
         IngestionProperties.LocationFilter locationFilter,
         IngestionProperties.RoleFilter roleFilter,
@@ -24,6 +25,7 @@ public record IngestionSettingsResponse(
                 snapshot.pageSize(),
                 snapshot.recentDays(),
                 snapshot.concurrency(),
+                snapshot.executorMode(),
                 snapshot.companyOverrides(),
                 snapshot.locationFilter(),
                 snapshot.roleFilter(),
@@ -4,8 +4,18 @@ package com.vibe.jobs.bootstrap;
 import com.vibe.jobs.auth.config.EmailAuthProperties;
 import com.vibe.jobs.crawler.infrastructure.config.CrawlerBlueprintGenerationExecutorProperties;
 import com.vibe.jobs.shared.infrastructure.config.IngestionProperties;
+import com.vibe.jobs.shared.infrastructure.config.JobCatalogProperties;
 import com.vibe.jobs.shared.infrastructure.config.JobContentEnrichmentExecutorProperties;
+import com.vibe.jobs.shared.infrastructure.config.JobCountProperties;
+import com.vibe.jobs.shared.infrastructure.config.JobEnrichmentViewCacheProperties;
+import com.vibe.jobs.shared.infrastructure.config.JobExportProperties;
+import com.vibe.jobs.shared.infrastructure.config.JobFacetProperties;
+import com.vibe.jobs.shared.infrastructure.config.JobHttpCacheProperties;
+import com.vibe.jobs.shared.infrastructure.config.JobRelevanceProperties;
+import com.vibe.jobs.shared.infrastructure.config.JobSuggestProperties;
 import com.vibe.jobs.shared.infrastructure.config.JobDetailEnrichmentRetryProperties;
+import com.vibe.jobs.shared.infrastructure.config.JobListCacheProperties;
+import com.vibe.jobs.shared.infrastructure.config.JobSearchIndexProperties;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
@@ -25,7 +35,17 @@ import org.springframework.scheduling.annotation.EnableScheduling;
         EmailAuthProperties.class,
         JobContentEnrichmentExecutorProperties.class,
         CrawlerBlueprintGenerationExecutorProperties.class,
-        JobDetailEnrichmentRetryProperties.class})
+        JobDetailEnrichmentRetryProperties.class,
+        JobSearchIndexProperties.class,
+        JobListCacheProperties.class,
+        JobCountProperties.class,
+        JobFacetProperties.class,
+        JobRelevanceProperties.class,
+        JobSuggestProperties.class,
+        JobHttpCacheProperties.class,
+        JobExportProperties.class,
+        JobEnrichmentViewCacheProperties.class,
+        JobCatalogProperties.class})
 public class AggregatorApplication {
 
     private static final Logger log = LoggerFactory.getLogger(AggregatorApplication.class);
@@ -31,6 +31,15 @@ public class IngestionCursorService {
                 .map(this::toDomain);
     }
 
+    /**
+     * 数据源（含所有分类游标）最近一次推进游标的时间，即最近一次采到新职位的时间。
+     */
+    @Transactional(readOnly = true)
+    public Optional<Instant> findLatestIngestedAt(IngestionCursorKey key) {
+        IngestionCursorKey normalized = normalize(key);
+        return repository.findLatestIngestedAt(normalized.sourceName(), normalized.company());
+    }
+
     @Transactional
     public IngestionCursor updatePosition(IngestionCursorKey key, Job job) {
         if (job == null) {
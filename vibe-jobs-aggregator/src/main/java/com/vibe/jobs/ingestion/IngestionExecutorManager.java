@@ -3,6 +3,7 @@ package com.vibe.jobs.ingestion;
 import com.vibe.jobs.admin.application.IngestionSettingsService;
 import com.vibe.jobs.admin.domain.IngestionSettingsSnapshot;
 import com.vibe.jobs.admin.domain.event.IngestionSettingsUpdatedEvent;
+import com.vibe.jobs.shared.infrastructure.config.IngestionProperties.ExecutorMode;
 import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -10,7 +11,9 @@ import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
@@ -22,16 +25,40 @@ public class IngestionExecutorManager {
     private static final Logger log = LoggerFactory.getLogger(IngestionExecutorManager.class);
 
     private final ThreadPoolExecutor executor;
+    private final ExecutorService fetchExecutor;
+    private final ExecutorService virtualExecutor;
+    private final ExecutorService virtualFetchExecutor;
+    // 虚拟线程模式下的真实并发上限，按 concurrency 动态调整
+    private final AdjustableSemaphore virtualPermits;
+    private int virtualPermitLimit;
+    private volatile ExecutorMode mode;
 
     public IngestionExecutorManager(IngestionSettingsService settingsService) {
         IngestionSettingsSnapshot snapshot = settingsService.initializeIfNeeded();
         int initialConcurrency = Math.max(1, snapshot.concurrency());
-        log.info("Initializing ingestion executor with concurrency: {}", initialConcurrency);
+        this.mode = resolveMode(snapshot.executorMode());
+        log.info("Initializing ingestion executor in {} mode with concurrency: {}", mode, initialConcurrency);
         this.executor = createExecutor(initialConcurrency);
+        this.fetchExecutor = Executors.newCachedThreadPool(namedDaemonThreads("ingestion-fetch-"));
+        this.virtualPermits = new AdjustableSemaphore(initialConcurrency);
+        this.virtualPermitLimit = initialConcurrency;
+        this.virtualExecutor = Executors.newThreadPerTaskExecutor(limitedVirtualThreads("ingestion-vworker-"));
+        this.virtualFetchExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ingestion-vfetch-", 1).factory());
     }
 
     public ExecutorService getExecutor() {
-        return executor;
+        return mode == ExecutorMode.VIRTUAL ? virtualExecutor : executor;
+    }
+
+    /**
+     * 流水线模式下的抓取阶段线程池，与 worker 线程池分开，避免 worker 占满后抓取任务排队导致死锁。
+     */
+    public ExecutorService getFetchExecutor() {
+        return mode == ExecutorMode.VIRTUAL ? virtualFetchExecutor : fetchExecutor;
+    }
+
+    public ExecutorMode getMode() {
+        return mode;
     }
 
     @EventListener
@@ -40,16 +67,16 @@ public class IngestionExecutorManager {
             log.warn("Received null event or snapshot, ignoring settings update");
             return;
         }
-        
+
         int newConcurrency = Math.max(1, event.snapshot().concurrency());
         int currentCorePoolSize = executor.getCorePoolSize();
         int currentMaxPoolSize = executor.getMaximumPoolSize();
-        
+
         if (currentCorePoolSize != newConcurrency) {
             try {
-                log.info("Adjusting ingestion executor concurrency from {} to {} (current max: {})", 
+                log.info("Adjusting ingestion executor concurrency from {} to {} (current max: {})",
                          currentCorePoolSize, newConcurrency, currentMaxPoolSize);
-                
+
                 // 安全地调整线程池大小
                 if (newConcurrency > currentMaxPoolSize) {
                     // 增加线程数：先设置最大值，再设置核心值
@@ -60,35 +87,76 @@ public class IngestionExecutorManager {
                     executor.setCorePoolSize(newConcurrency);
                     executor.setMaximumPoolSize(newConcurrency);
                 }
-                
+
                 log.info("Successfully updated executor pool size to {} threads", newConcurrency);
             } catch (Exception e) {
-                log.error("Failed to update executor pool size from {} to {}: {}", 
+                log.error("Failed to update executor pool size from {} to {}: {}",
                           currentCorePoolSize, newConcurrency, e.getMessage(), e);
             }
         } else {
             log.info("Concurrency unchanged at {}, no update needed", newConcurrency);
         }
+        resizeVirtualPermits(newConcurrency);
+
+        ExecutorMode newMode = resolveMode(event.snapshot().executorMode());
+        if (newMode != mode) {
+            // 已提交的任务继续在原执行器上跑完，新一轮采集使用新模式
+            log.info("Switching ingestion executor mode from {} to {}", mode, newMode);
+            mode = newMode;
+        }
     }
 
     @PreDestroy
     public void shutdown() {
         executor.shutdown();
+        fetchExecutor.shutdownNow();
+        virtualExecutor.shutdownNow();
+        virtualFetchExecutor.shutdownNow();
     }
 
-    private ThreadPoolExecutor createExecutor(int concurrency) {
-        int threads = Math.max(1, concurrency);
-        ThreadFactory factory = new ThreadFactory() {
+    private synchronized void resizeVirtualPermits(int concurrency) {
+        int delta = concurrency - virtualPermitLimit;
+        if (delta > 0) {
+            virtualPermits.release(delta);
+        } else if (delta < 0) {
+            virtualPermits.reduce(-delta);
+        }
+        virtualPermitLimit = concurrency;
+    }
+
+    private ExecutorMode resolveMode(ExecutorMode configured) {
+        return configured == null ? ExecutorMode.PLATFORM : configured;
+    }
+
+    private ThreadFactory limitedVirtualThreads(String prefix) {
+        ThreadFactory delegate = Thread.ofVirtual().name(prefix, 1).factory();
+        return task -> delegate.newThread(() -> {
+            virtualPermits.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                virtualPermits.release();
+            }
+        });
+    }
+
+    private ThreadFactory namedDaemonThreads(String prefix) {
+        return new ThreadFactory() {
             private final AtomicInteger counter = new AtomicInteger();
 
             @Override
             public Thread newThread(Runnable r) {
                 Thread thread = new Thread(r);
-                thread.setName("ingestion-worker-" + counter.incrementAndGet());
+                thread.setName(prefix + counter.incrementAndGet());
                 thread.setDaemon(true);
                 return thread;
             }
         };
+    }
+
+    private ThreadPoolExecutor createExecutor(int concurrency) {
+        int threads = Math.max(1, concurrency);
+        ThreadFactory factory = namedDaemonThreads("ingestion-worker-");
         ThreadPoolExecutor pool = new ThreadPoolExecutor(
                 threads,
                 threads,
@@ -100,4 +168,15 @@ public class IngestionExecutorManager {
         pool.allowCoreThreadTimeOut(false);
         return pool;
     }
+
+    private static final class AdjustableSemaphore extends Semaphore {
+
+        AdjustableSemaphore(int permits) {
+            super(permits, true);
+        }
+
+        void reduce(int reduction) {
+            reducePermits(reduction);
+        }
+    }
 }
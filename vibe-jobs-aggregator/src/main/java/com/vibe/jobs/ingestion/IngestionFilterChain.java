@@ -0,0 +1,73 @@
+package com.vibe.jobs.ingestion;
+
+import com.vibe.jobs.ingestion.infrastructure.sourceclient.FetchedJob;
+import com.vibe.jobs.jobposting.application.LocationEnhancementService;
+import com.vibe.jobs.jobposting.application.LocationFilterService;
+import com.vibe.jobs.jobposting.application.RoleFilterService;
+import com.vibe.jobs.shared.infrastructure.config.IngestionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 采集页面的过滤链：公司/时间过滤、location 增强、location 过滤、角色过滤在一次遍历中逐个职位完成，
+ * 不再为每一步生成中间列表。各过滤器的关键词在配置变化时预编译，每页只取一次编译结果。
+ */
+@Slf4j
+@Component
+public class IngestionFilterChain {
+
+    private final JobIngestionFilter jobFilter;
+    private final LocationEnhancementService locationEnhancementService;
+    private final LocationFilterService locationFilterService;
+    private final RoleFilterService roleFilterService;
+
+    public IngestionFilterChain(JobIngestionFilter jobFilter,
+                                LocationEnhancementService locationEnhancementService,
+                                LocationFilterService locationFilterService,
+                                RoleFilterService roleFilterService) {
+        this.jobFilter = jobFilter;
+        this.locationEnhancementService = locationEnhancementService;
+        this.locationFilterService = locationFilterService;
+        this.roleFilterService = roleFilterService;
+    }
+
+    public List<FetchedJob> apply(List<FetchedJob> jobs) {
+        if (jobs == null || jobs.isEmpty()) {
+            return List.of();
+        }
+        Predicate<FetchedJob> basePredicate = jobFilter.pagePredicate();
+        IngestionProperties.LocationFilter.Compiled locationFilter = locationFilterService.compiled();
+        RoleFilterService.CompiledFilter roleFilter = roleFilterService.compiled();
+
+        List<FetchedJob> accepted = new ArrayList<>(jobs.size());
+        int rejectedByBase = 0;
+        int rejectedByLocation = 0;
+        int rejectedByRole = 0;
+        for (FetchedJob fetched : jobs) {
+            if (fetched == null || !basePredicate.test(fetched)) {
+                rejectedByBase++;
+                continue;
+            }
+            FetchedJob enhanced = locationEnhancementService.enhance(fetched);
+            if (!locationFilter.matches(enhanced.job().getLocation())) {
+                rejectedByLocation++;
+                continue;
+            }
+            if (!roleFilter.matches(enhanced)) {
+                rejectedByRole++;
+                continue;
+            }
+            accepted.add(enhanced);
+        }
+
+        if (rejectedByLocation > 0 || rejectedByRole > 0) {
+            log.info("Filter chain: {} jobs -> {} jobs (company/recency {}, location {}, role {})",
+                    jobs.size(), accepted.size(), rejectedByBase, rejectedByLocation, rejectedByRole);
+        }
+        return accepted;
+    }
+}
@@ -0,0 +1,207 @@
+package com.vibe.jobs.ingestion;
+
+import com.vibe.jobs.ingestion.infrastructure.sourceclient.FetchedJob;
+import com.vibe.jobs.ingestion.infrastructure.sourceclient.SourceClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 分页抓取阶段。
+ *
+ * 串行模式下在调用线程上逐页抓取；流水线模式下由抓取线程提前下载后续页面，
+ * 通过有界队列交给调用线程做过滤和持久化，队列满时抓取线程阻塞形成背压。
+ * 页面始终按页码顺序交付，游标推进仍由调用线程按顺序完成。
+ *
+ * 按页码翻页的数据源抓到空页为止；增量数据源按上一批返回的 nextPageToken 串联，抓到没有后续的批次为止。
+ */
+final class IngestionPagePipeline implements AutoCloseable {
+
+    @FunctionalInterface
+    interface PageFetcher {
+        List<FetchedJob> fetch(int page) throws Exception;
+    }
+
+    /**
+     * 增量抓取：token 为上一批返回的 nextPageToken，首批为调用方给定的初始令牌。
+     */
+    @FunctionalInterface
+    interface BatchFetcher {
+        SourceClient.FetchResult fetch(String token) throws Exception;
+    }
+
+    /**
+     * last 为 true 时之后不再抓取；按页码翻页时空页即最后一页，增量批次可以为空但仍有后续。
+     */
+    record Page(int number, List<FetchedJob> items, String nextPageToken, boolean last) {
+
+        Page(int number, List<FetchedJob> items) {
+            this(number, items, null, items == null || items.isEmpty());
+        }
+
+        boolean isEmpty() {
+            return items == null || items.isEmpty();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        Page fetch(int page, Page previous) throws Exception;
+    }
+
+    private static final long OFFER_TIMEOUT_MS = 200L;
+
+    private final Step step;
+    private final BlockingQueue<Object> queue;
+    private final AtomicBoolean closed = new AtomicBoolean(false);
+    private final Object producerLock = new Object();
+    private Thread producerThread;
+    private int nextPage = 1;
+    private Page previous;
+    private boolean finished;
+
+    private IngestionPagePipeline(Step step, BlockingQueue<Object> queue) {
+        this.step = step;
+        this.queue = queue;
+    }
+
+    static IngestionPagePipeline serial(PageFetcher fetcher) {
+        return new IngestionPagePipeline(pages(fetcher), null);
+    }
+
+    static IngestionPagePipeline pipelined(PageFetcher fetcher, int queueCapacity, Executor executor) {
+        return start(pages(fetcher), queueCapacity, executor);
+    }
+
+    static IngestionPagePipeline serial(BatchFetcher fetcher, String initialToken) {
+        return new IngestionPagePipeline(batches(fetcher, initialToken), null);
+    }
+
+    static IngestionPagePipeline pipelined(BatchFetcher fetcher, String initialToken, int queueCapacity, Executor executor) {
+        return start(batches(fetcher, initialToken), queueCapacity, executor);
+    }
+
+    private static IngestionPagePipeline start(Step step, int queueCapacity, Executor executor) {
+        IngestionPagePipeline pipeline = new IngestionPagePipeline(step, new ArrayBlockingQueue<>(Math.max(1, queueCapacity)));
+        executor.execute(pipeline::produce);
+        return pipeline;
+    }
+
+    private static Step pages(PageFetcher fetcher) {
+        return (page, previous) -> new Page(page, fetcher.fetch(page));
+    }
+
+    private static Step batches(BatchFetcher fetcher, String initialToken) {
+        return (page, previous) -> {
+            SourceClient.FetchResult result = fetcher.fetch(previous == null ? initialToken : previous.nextPageToken());
+            return new Page(page, result.jobs(), result.nextPageToken(),
+                    !result.hasMore() || result.nextPageToken() == null);
+        };
+    }
+
+    /**
+     * 返回下一页；抓取到最后一页后再调用返回空页，之后不再抓取。
+     * 流水线模式下最多等待 {@code maxWait}，超时返回 null；串行模式在调用线程上直接抓取。
+     */
+    Page next(Duration maxWait) throws Exception {
+        if (finished) {
+            return new Page(nextPage, List.of());
+        }
+        if (queue == null) {
+            Page result = step.fetch(nextPage++, previous);
+            previous = result;
+            finished = result.last();
+            return result;
+        }
+        Object item = maxWait == null
+                ? queue.take()
+                : queue.poll(Math.max(1L, maxWait.toMillis()), TimeUnit.MILLISECONDS);
+        if (item == null) {
+            return null;
+        }
+        if (item instanceof Failure failure) {
+            finished = true;
+            throw failure.error();
+        }
+        Page result = (Page) item;
+        finished = result.last();
+        nextPage = result.number() + 1;
+        return result;
+    }
+
+    @Override
+    public void close() {
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        synchronized (producerLock) {
+            if (producerThread != null) {
+                producerThread.interrupt();
+            }
+        }
+        if (queue != null) {
+            queue.clear();
+        }
+    }
+
+    private void produce() {
+        synchronized (producerLock) {
+            producerThread = Thread.currentThread();
+        }
+        try {
+            int page = 1;
+            Page fetchedBefore = null;
+            while (!closed.get()) {
+                Object item;
+                boolean last;
+                try {
+                    Page fetched = step.fetch(page, fetchedBefore);
+                    fetchedBefore = fetched;
+                    item = fetched;
+                    last = fetched.last();
+                } catch (Exception ex) {
+                    item = new Failure(ex);
+                    last = true;
+                } catch (Throwable ex) {
+                    item = new Failure(new IllegalStateException("Page fetch failed on page " + page, ex));
+                    last = true;
+                }
+                if (!publish(item) || last) {
+                    return;
+                }
+                page++;
+            }
+        } finally {
+            synchronized (producerLock) {
+                producerThread = null;
+                // 抓取线程来自共享线程池，归还前清除 close() 留下的中断标记
+                Thread.interrupted();
+            }
+            if (closed.get()) {
+                // 消费端已停止，清掉已预取但不会再被处理的页面
+                queue.clear();
+            }
+        }
+    }
+
+    private boolean publish(Object item) {
+        try {
+            while (!closed.get()) {
+                if (queue.offer(item, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private record Failure(Exception error) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.vibe.jobs.ingestion;
+
+import com.vibe.jobs.ingestion.domain.IngestionCursorKey;
+import com.vibe.jobs.ingestion.domain.IngestionRunReport;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 保存最近一轮采集报告以及每个数据源最近一次的执行结果。
+ * 上一轮超时的数据源在下一轮优先提交，并获得加倍（有上限）的时间预算。
+ */
+@Component
+public class IngestionRunHistory {
+
+    static final int MAX_BUDGET_MULTIPLIER = 4;
+
+    private final AtomicReference<IngestionRunReport> latest = new AtomicReference<>();
+    private final Map<IngestionCursorKey, SourceHistory> sources = new ConcurrentHashMap<>();
+
+    public Optional<IngestionRunReport> latest() {
+        return Optional.ofNullable(latest.get());
+    }
+
+    public Optional<IngestionRunReport.SourceRunStats> lastStats(IngestionCursorKey sourceKey) {
+        SourceHistory history = sources.get(sourceKey);
+        return history == null ? Optional.empty() : Optional.of(history.lastStats());
+    }
+
+    void record(IngestionRunReport report) {
+        if (report == null) {
+            return;
+        }
+        latest.set(report);
+        for (IngestionRunReport.SourceRunStats stats : report.sources()) {
+            sources.compute(stats.sourceKey(), (key, previous) -> {
+                int multiplier = 1;
+                if (stats.timedOut()) {
+                    int base = previous == null ? 1 : previous.budgetMultiplier();
+                    multiplier = Math.min(MAX_BUDGET_MULTIPLIER, base * 2);
+                }
+                return new SourceHistory(stats, multiplier);
+            });
+        }
+    }
+
+    long budgetFor(IngestionCursorKey sourceKey, long baseBudgetMs) {
+        SourceHistory history = sources.get(sourceKey);
+        int multiplier = history == null ? 1 : history.budgetMultiplier();
+        return baseBudgetMs * multiplier;
+    }
+
+    boolean timedOutLastRun(IngestionCursorKey sourceKey) {
+        SourceHistory history = sources.get(sourceKey);
+        return history != null && history.lastStats().timedOut();
+    }
+
+    private record SourceHistory(IngestionRunReport.SourceRunStats lastStats, int budgetMultiplier) {
+    }
+}
@@ -10,11 +10,11 @@ import org.springframework.stereotype.Component;
 
 import java.time.Duration;
 import java.time.Instant;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
 @Component
 public class JobIngestionFilter {
@@ -34,17 +34,22 @@ public class JobIngestionFilter {
         if (jobs == null || jobs.isEmpty()) {
             return List.of();
         }
+        return jobs.stream()
+                .filter(pagePredicate())
+                .toList();
+    }
 
+    /**
+     * 单页内复用的判定条件：启用公司集合与时间下限每页只计算一次。
+     */
+    public Predicate<FetchedJob> pagePredicate() {
         // 1. 首先按启用的公司过滤 (必须条件)
-        Set<String> enabledCompanies = new HashSet<>(getEnabledCompanies());
+        Set<String> enabledCompanies = getEnabledCompanies();
 
         // 2. 按时间范围过滤 (必须条件)
         Instant cutoff = Instant.now().minus(Duration.ofDays(Math.max(properties.getRecentDays(), 1)));
 
-        return jobs.stream()
-                .filter(job -> matchesEnabledCompany(job.job(), enabledCompanies))
-                .filter(job -> isRecent(job.job(), cutoff))
-                .toList();
+        return job -> matchesEnabledCompany(job.job(), enabledCompanies) && isRecent(job.job(), cutoff);
     }
 
     private boolean matchesEnabledCompany(Job job, Set<String> enabledCompanies) {
@@ -8,10 +8,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class JobIngestionPersistenceService {
@@ -20,14 +23,20 @@ public class JobIngestionPersistenceService {
 
     private final JobService jobService;
     private final JobDetailService jobDetailService;
+    private final TransactionTemplate transactionTemplate;
     private final int chunkSize;
+    private final boolean bulkEnabled;
 
     public JobIngestionPersistenceService(JobService jobService,
                                           JobDetailService jobDetailService,
-                                          @Value("${ingestion.persistence.chunk-size:100}") int chunkSize) {
+                                          TransactionTemplate transactionTemplate,
+                                          @Value("${ingestion.persistence.chunk-size:100}") int chunkSize,
+                                          @Value("${ingestion.persistence.bulk-enabled:true}") boolean bulkEnabled) {
         this.jobService = jobService;
         this.jobDetailService = jobDetailService;
+        this.transactionTemplate = transactionTemplate;
         this.chunkSize = Math.max(1, chunkSize);
+        this.bulkEnabled = bulkEnabled;
     }
 
     public JobBatchPersistenceResult persistBatch(List<FetchedJob> jobs) {
@@ -51,6 +60,55 @@ public class JobIngestionPersistenceService {
         if (chunk == null || chunk.isEmpty()) {
             return JobBatchPersistenceResult.empty();
         }
+        if (bulkEnabled) {
+            Map<Job, Long> originalIds = new IdentityHashMap<>();
+            for (FetchedJob fetched : chunk) {
+                if (fetched != null && fetched.job() != null) {
+                    originalIds.put(fetched.job(), fetched.job().getId());
+                }
+            }
+            try {
+                // 职位与详情正文在同一个事务里提交，失败时不会留下没有正文的职位
+                return transactionTemplate.execute(status -> persistChunkInBulk(chunk));
+            } catch (Exception ex) {
+                // 批量写入失败时退回逐条模式，保证单条坏数据不会拖垮整批；
+                // 事务已回滚，批量插入回填的主键需要还原
+                originalIds.forEach(Job::setId);
+                log.warn("Bulk persistence failed for chunk of {} jobs, falling back to per-job upsert: {}",
+                        chunk.size(), ex.getMessage());
+                log.info("Bulk persistence error", ex);
+            }
+        }
+        return persistChunkPerJob(chunk);
+    }
+
+    private JobBatchPersistenceResult persistChunkInBulk(List<FetchedJob> chunk) {
+        List<FetchedJob> valid = new ArrayList<>(chunk.size());
+        for (FetchedJob fetched : chunk) {
+            if (fetched != null && fetched.job() != null) {
+                valid.add(fetched);
+            }
+        }
+        if (valid.isEmpty()) {
+            return JobBatchPersistenceResult.empty();
+        }
+        List<Job> incoming = new ArrayList<>(valid.size());
+        for (FetchedJob fetched : valid) {
+            incoming.add(fetched.job());
+        }
+        List<Job> persistedJobs = jobService.upsertAll(incoming);
+
+        List<JobDetailService.JobContent> contents = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            contents.add(new JobDetailService.JobContent(persistedJobs.get(i), valid.get(i).content()));
+        }
+        jobDetailService.saveContents(contents);
+
+        Job lastJob = persistedJobs.get(persistedJobs.size() - 1);
+        return new JobBatchPersistenceResult(persistedJobs.size(), lastJob, true);
+    }
+
+    private JobBatchPersistenceResult persistChunkPerJob(List<FetchedJob> chunk) {
         int persisted = 0;
         Job lastJob = null;
         for (FetchedJob fetched : chunk) {
@@ -4,13 +4,11 @@ import com.vibe.jobs.admin.application.IngestionSettingsService;
 import com.vibe.jobs.admin.domain.IngestionSettingsSnapshot;
 import com.vibe.jobs.admin.domain.event.DataSourceConfigurationChangedEvent;
 import com.vibe.jobs.admin.domain.event.IngestionSettingsUpdatedEvent;
-import com.vibe.jobs.jobposting.application.LocationEnhancementService;
-import com.vibe.jobs.jobposting.application.LocationFilterService;
-import com.vibe.jobs.jobposting.application.RoleFilterService;
 import com.vibe.jobs.jobposting.domain.Job;
 import com.vibe.jobs.shared.infrastructure.config.IngestionProperties;
 import com.vibe.jobs.ingestion.domain.IngestionCursor;
 import com.vibe.jobs.ingestion.domain.IngestionCursorKey;
+import com.vibe.jobs.ingestion.domain.IngestionRunReport;
 import com.vibe.jobs.ingestion.infrastructure.sourceclient.FetchedJob;
 import com.vibe.jobs.ingestion.infrastructure.sourceclient.SourceClient;
 import com.vibe.jobs.ingestion.infrastructure.sourceclient.WorkdaySourceClient;
@@ -22,84 +20,99 @@ import org.springframework.stereotype.Component;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Comparator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Set;
-import java.util.TreeSet;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
 
 @Slf4j
 @Component
 public class JobIngestionScheduler {
 
+    // 重复页检测回看的页数，远大于实际出现过的翻页循环长度
+    private static final int PAGE_SIGNATURE_WINDOW = 64;
+
     private final IngestionProperties ingestionProperties;
     private final SourceRegistry sourceRegistry;
-    private final JobIngestionFilter jobFilter;
+    private final IngestionFilterChain filterChain;
     private final JobIngestionPersistenceService persistenceService;
-    private final LocationFilterService locationFilterService;
-    private final RoleFilterService roleFilterService;
-    private final LocationEnhancementService locationEnhancementService;
     private final IngestionExecutorManager executorManager;
     private final TaskScheduler taskScheduler;
     private final IngestionSettingsService settingsService;
     private final IngestionCursorService ingestionCursorService;
+    private final IngestionRunHistory runHistory;
+    private final SourceCadencePlanner cadencePlanner;
     private volatile ScheduledFuture<?> scheduledTask;
+    private volatile long baseIntervalMs;
     private final AtomicBoolean immediateRunScheduled = new AtomicBoolean(false);
     private final AtomicBoolean ingestionInProgress = new AtomicBoolean(false);
 
     public JobIngestionScheduler(IngestionProperties ingestionProperties,
                                  SourceRegistry sourceRegistry,
-                                 JobIngestionFilter jobFilter,
+                                 IngestionFilterChain filterChain,
                                  JobIngestionPersistenceService persistenceService,
-                                 LocationFilterService locationFilterService,
-                                 RoleFilterService roleFilterService,
-                                 LocationEnhancementService locationEnhancementService,
                                  IngestionExecutorManager executorManager,
                                  TaskScheduler taskScheduler,
                                  IngestionSettingsService settingsService,
-                                 IngestionCursorService ingestionCursorService) {
+                                 IngestionCursorService ingestionCursorService,
+                                 IngestionRunHistory runHistory,
+                                 SourceCadencePlanner cadencePlanner) {
         this.ingestionProperties = ingestionProperties;
         this.sourceRegistry = sourceRegistry;
-        this.jobFilter = jobFilter;
+        this.filterChain = filterChain;
         this.persistenceService = persistenceService;
-        this.locationFilterService = locationFilterService;
-        this.roleFilterService = roleFilterService;
-        this.locationEnhancementService = locationEnhancementService;
         this.executorManager = executorManager;
         this.taskScheduler = taskScheduler;
         this.settingsService = settingsService;
         this.ingestionCursorService = ingestionCursorService;
+        this.runHistory = runHistory;
+        this.cadencePlanner = cadencePlanner;
         scheduleWith(settingsService.initializeIfNeeded());
     }
 
     private void scheduleWith(IngestionSettingsSnapshot snapshot) {
         Duration delay = Duration.ofMillis(Math.max(1_000L, snapshot.fixedDelayMs()));
         Instant start = Instant.now().plusMillis(Math.max(0L, snapshot.initialDelayMs()));
+        IngestionProperties.Adaptive adaptive = ingestionProperties.getAdaptive();
         synchronized (this) {
+            baseIntervalMs = delay.toMillis();
             if (scheduledTask != null) {
                 scheduledTask.cancel(false);
             }
-            scheduledTask = taskScheduler.scheduleWithFixedDelay(this::runIngestionSafely, start, delay);
-            log.info("Scheduled ingestion with initial delay {} ms and fixed delay {} ms", snapshot.initialDelayMs(), snapshot.fixedDelayMs());
+            if (adaptive.isEnabled()) {
+                // 自适应模式下 fixedDelay 只作为未知数据源的初始间隔，调度器按 tick 检查到期的数据源
+                scheduledTask = taskScheduler.scheduleWithFixedDelay(this::runDueSourcesSafely, start, Duration.ofMillis(adaptive.getTickMs()));
+                log.info("Scheduled adaptive ingestion with initial delay {} ms, tick {} ms and base interval {} ms",
+                        snapshot.initialDelayMs(), adaptive.getTickMs(), snapshot.fixedDelayMs());
+            } else {
+                scheduledTask = taskScheduler.scheduleWithFixedDelay(this::runIngestionSafely, start, delay);
+                log.info("Scheduled ingestion with initial delay {} ms and fixed delay {} ms", snapshot.initialDelayMs(), snapshot.fixedDelayMs());
+            }
         }
     }
 
     private void runIngestionSafely() {
+        runExclusively(this::runIngestion);
+    }
+
+    private void runDueSourcesSafely() {
+        runExclusively(this::runDueSources);
+    }
+
+    private void runExclusively(Runnable run) {
         if (!ingestionInProgress.compareAndSet(false, true)) {
             log.info("Ingestion already in progress; skipping additional trigger");
             return;
         }
         try {
-            runIngestion();
+            run.run();
         } catch (Exception ex) {
             log.error("Scheduled ingestion failed", ex);
         } finally {
@@ -127,32 +140,74 @@ public class JobIngestionScheduler {
             log.info("No ingestion sources configured; skipping scheduled run");
             return;
         }
+        runSources(sources);
+    }
 
+    /**
+     * 只采集按各自节奏已到期的数据源，逾期最久的优先。
+     */
+    public void runDueSources() {
+        List<SourceRegistry.ConfiguredSource> sources = sourceRegistry.getScheduledSources();
+        if (sources.isEmpty()) {
+            log.info("No ingestion sources configured; skipping scheduled run");
+            return;
+        }
+        Map<IngestionCursorKey, List<SourceRegistry.ConfiguredSource>> byKey = new LinkedHashMap<>();
+        for (SourceRegistry.ConfiguredSource source : sources) {
+            byKey.computeIfAbsent(buildCursorKey(source, null), key -> new ArrayList<>()).add(source);
+        }
+        List<SourceRegistry.ConfiguredSource> due = cadencePlanner.dueSources(byKey.keySet(), baseIntervalMs, Instant.now())
+                .stream()
+                .flatMap(key -> byKey.get(key).stream())
+                .toList();
+        if (due.isEmpty()) {
+            log.debug("No ingestion sources due in this tick");
+            return;
+        }
+        log.info("{} of {} ingestion sources due in this tick", due.size(), sources.size());
+        runSources(due);
+    }
+
+    private void runSources(List<SourceRegistry.ConfiguredSource> sources) {
+        Instant startedAt = Instant.now();
         int pageSize = Math.max(1, ingestionProperties.getPageSize());
-        List<SourceRegistry.ConfiguredSource> limited = new ArrayList<>();
-        List<SourceRegistry.ConfiguredSource> unlimited = new ArrayList<>();
+        List<SourceRun> runs = new ArrayList<>();
+        List<SourceRun> limited = new ArrayList<>();
+        List<SourceRun> unlimited = new ArrayList<>();
         for (SourceRegistry.ConfiguredSource source : sources) {
+            SourceRun run = new SourceRun(source, newTracker(source));
+            runs.add(run);
             if (source.isLimitedFlow()) {
-                limited.add(source);
+                limited.add(run);
             } else {
-                unlimited.add(source);
+                unlimited.add(run);
             }
         }
+        // 上一轮超时的数据源优先提交，尽早拿到执行线程
+        unlimited.sort(Comparator.comparing((SourceRun run) -> !runHistory.timedOutLastRun(run.tracker().sourceKey())));
 
         CompletableFuture<?>[] tasks = unlimited.stream()
-                .map(source -> CompletableFuture.runAsync(() -> processSource(source, pageSize), executorManager.getExecutor()))
+                .map(run -> CompletableFuture.runAsync(() -> processSource(run.source(), pageSize, run.tracker()), executorManager.getExecutor()))
                 .toArray(CompletableFuture[]::new);
 
         if (tasks.length > 0) {
             CompletableFuture<Void> combined = CompletableFuture.allOf(tasks);
+            // 每个数据源按自己的预算协作式停止；这里只是整轮等待的兜底上限，不会丢弃已完成数据源的进度
             long timeoutMs = Math.max(1_000L, ingestionProperties.getConcurrentSourceTimeoutMs());
             try {
                 combined.get(timeoutMs, TimeUnit.MILLISECONDS);
             } catch (TimeoutException ex) {
-                log.error("Timed out waiting for {} concurrent ingestion tasks after {} ms; cancelling remaining tasks", tasks.length, timeoutMs);
-                for (CompletableFuture<?> task : tasks) {
-                    task.cancel(true);
+                int pending = 0;
+                for (int i = 0; i < tasks.length; i++) {
+                    if (tasks[i].isDone()) {
+                        continue;
+                    }
+                    pending++;
+                    unlimited.get(i).tracker().timedOut("run wait limit of " + timeoutMs + " ms reached");
+                    // 尚未开始的任务不再执行；运行中的任务会在下一页之前看到超时标记并停止
+                    tasks[i].cancel(false);
                 }
+                log.warn("{} of {} concurrent ingestion tasks unfinished after {} ms; marked as timed out", pending, tasks.length, timeoutMs);
             } catch (InterruptedException ex) {
                 Thread.currentThread().interrupt();
                 throw new IllegalStateException("Interrupted while waiting for concurrent ingestion tasks", ex);
@@ -161,25 +216,49 @@ public class JobIngestionScheduler {
             }
         }
 
-        for (SourceRegistry.ConfiguredSource source : limited) {
-            processSource(source, pageSize);
+        for (SourceRun run : limited) {
+            processSource(run.source(), pageSize, run.tracker());
         }
+
+        IngestionRunReport report = new IngestionRunReport(startedAt, Instant.now(),
+                runs.stream().map(run -> run.tracker().toStats()).toList());
+        runHistory.record(report);
+        cadencePlanner.record(report, baseIntervalMs, report.finishedAt());
+        log.info("Ingestion run finished: {} sources completed, {} timed out, {} failed",
+                report.count(IngestionRunReport.SourceRunStatus.COMPLETED),
+                report.count(IngestionRunReport.SourceRunStatus.TIMED_OUT),
+                report.count(IngestionRunReport.SourceRunStatus.FAILED));
     }
 
-    private void processSource(SourceRegistry.ConfiguredSource configuredSource, int pageSize) {
+    private SourceRunTracker newTracker(SourceRegistry.ConfiguredSource source) {
+        IngestionCursorKey sourceKey = buildCursorKey(source, null);
+        long budgetMs = runHistory.budgetFor(sourceKey, ingestionProperties.getSourceTimeoutMs());
+        return new SourceRunTracker(sourceKey, budgetMs, ingestionProperties.getPageTimeoutMs());
+    }
+
+    private void processSource(SourceRegistry.ConfiguredSource configuredSource, int pageSize, SourceRunTracker tracker) {
         SourceClient sourceClient = configuredSource.client();
         String sourceName = sourceClient.sourceName();
         String companyName = configuredSource.company();
+        tracker.start();
         try {
             List<SourceRegistry.CategoryQuota> categories = configuredSource.categories();
             if (categories == null || categories.isEmpty()) {
-                ingestWithoutCategories(configuredSource, pageSize);
+                ingestWithoutCategories(configuredSource, pageSize, tracker);
+            } else {
+                ingestWithCategories(configuredSource, pageSize, tracker);
+            }
+            tracker.completed();
+            IngestionRunReport.SourceRunStats stats = tracker.toStats();
+            if (stats.timedOut()) {
+                log.warn("Ingestion for source {} ({}) stopped at its time budget after {} pages and {} jobs: {}",
+                        sourceName, companyName, stats.pages(), stats.jobsPersisted(), stats.message());
             } else {
-                ingestWithCategories(configuredSource, pageSize);
+                log.info("Ingestion completed for source {} ({})", sourceName, companyName);
             }
-            log.info("Ingestion completed for source {} ({})", sourceName, companyName);
         } catch (Exception e) {
             String message = e.getMessage();
+            tracker.failed(message);
             if (message != null && message.contains("403")) {
                 log.info("Skip source {} ({}) due to 403 response", sourceName, companyName);
                 log.info("Expected failure details", e);
@@ -191,45 +270,132 @@ public class JobIngestionScheduler {
     }
 
     private void ingestWithoutCategories(SourceRegistry.ConfiguredSource configuredSource,
-                                         int pageSize) throws Exception {
+                                         int pageSize,
+                                         SourceRunTracker tracker) throws Exception {
         SourceClient sourceClient = configuredSource.client();
+        if (sourceClient.supportsIncremental()) {
+            ingestIncrementally(configuredSource, pageSize, tracker);
+            return;
+        }
         String sourceName = sourceClient.sourceName();
         String companyName = configuredSource.company();
         IngestionCursorKey cursorKey = buildCursorKey(configuredSource, null);
         IngestionCursor cursor = ingestionCursorService.find(cursorKey).orElse(null);
-        int page = 1;
-        Set<String> seenPageSignatures = new HashSet<>();
-        while (true) {
-            List<FetchedJob> items = sourceClient.fetchPage(page, pageSize);
-            if (items == null || items.isEmpty()) {
-                break;
+        PageSignature.Window seenPageSignatures = new PageSignature.Window(PAGE_SIGNATURE_WINDOW);
+        try (IngestionPagePipeline pages = openPages(page -> sourceClient.fetchPage(page, pageSize))) {
+            while (!tracker.shouldStop()) {
+                long pageStart = System.nanoTime();
+                IngestionPagePipeline.Page next = nextPage(pages, tracker);
+                if (next == null || next.isEmpty()) {
+                    break;
+                }
+                int page = next.number();
+                try {
+                    List<FetchedJob> roleFiltered = filterChain.apply(next.items());
+                    PageSignature pageSignature = PageSignature.of(roleFiltered);
+                    List<FetchedJob> cursorFiltered = filterByCursor(roleFiltered, cursor);
+                    if (cursorFiltered.isEmpty()) {
+                        log.info("No new jobs beyond cursor for source {} ({}) on page {}", sourceName, companyName, page);
+                        break;
+                    }
+                    if (!seenPageSignatures.add(pageSignature)) {
+                        log.warn("Detected repeated page signature for source {} ({}) on page {} - stopping to prevent infinite loop", sourceName, companyName, page);
+                        break;
+                    }
+                    JobIngestionResult result = storeJobs(cursorFiltered);
+                    tracker.recordPersisted(result.persisted());
+                    if (result.persisted() <= 0) {
+                        log.info("All jobs filtered out or skipped for source {} ({}) on page {}", sourceName, companyName, page);
+                    } else if (result.lastJob() != null) {
+                        cursor = ingestionCursorService.updatePosition(cursorKey, result.lastJob());
+                    }
+                } finally {
+                    tracker.recordPage(pageStart);
+                }
             }
-            List<FetchedJob> filtered = jobFilter.apply(items);
-            List<FetchedJob> locationEnhanced = locationEnhancementService.enhanceLocationFields(filtered);
-            List<FetchedJob> locationFiltered = locationFilterService.filterJobs(locationEnhanced);
-            List<FetchedJob> roleFiltered = roleFilterService.filter(locationFiltered);
-            String pageSignature = computePageSignature(roleFiltered);
-            List<FetchedJob> cursorFiltered = filterByCursor(roleFiltered, cursor);
-            if (cursorFiltered.isEmpty()) {
-                log.info("No new jobs beyond cursor for source {} ({}) on page {}", sourceName, companyName, page);
-                break;
+        }
+    }
+
+    /**
+     * 增量采集：一轮增量内固定使用开始时的水位线，每批入库后持久化 nextPageToken，
+     * 超时或失败后下一轮从令牌处续跑；增量取完后把水位线推进到本轮见过的最新职位并清空令牌。
+     * 续跑时此前批次的最新职位不会保留，水位线可能偏旧，只会导致少量重复抓取，由入库去重兜底。
+     * 与按页码翻页共用抓取流水线和页/数据源时间预算，下一批按上一批返回的令牌提前抓取。
+     */
+    private void ingestIncrementally(SourceRegistry.ConfiguredSource configuredSource,
+                                     int pageSize,
+                                     SourceRunTracker tracker) throws Exception {
+        SourceClient sourceClient = configuredSource.client();
+        String sourceName = sourceClient.sourceName();
+        String companyName = configuredSource.company();
+        IngestionCursorKey cursorKey = buildCursorKey(configuredSource, null);
+        IngestionCursor watermark = ingestionCursorService.find(cursorKey).orElse(null);
+        IngestionCursor tokenBase = watermark != null ? watermark
+                : new IngestionCursor(cursorKey.sourceCode(), cursorKey.sourceName(), cursorKey.company(),
+                cursorKey.category(), null, null, null, null, null, null);
+        String initialToken = watermark == null ? null : watermark.nextPageToken();
+        IngestionCursor cursor = watermark;
+        Job newest = null;
+        PageSignature.Window seenPageSignatures = new PageSignature.Window(PAGE_SIGNATURE_WINDOW);
+        IngestionPagePipeline.BatchFetcher fetcher = token -> sourceClient.fetchSince(
+                token == null ? watermark : tokenBase.withNextPageToken(token), pageSize);
+        try (IngestionPagePipeline batches = openBatches(fetcher, initialToken)) {
+            while (!tracker.shouldStop()) {
+                long pageStart = System.nanoTime();
+                IngestionPagePipeline.Page batch = nextPage(batches, tracker);
+                if (batch == null) {
+                    break;
+                }
+                try {
+                    List<FetchedJob> fetched = filterByCursor(batch.items(), watermark);
+                    if (!seenPageSignatures.add(PageSignature.of(fetched))) {
+                        log.warn("Detected repeated incremental batch for source {} ({}) - stopping to prevent infinite loop", sourceName, companyName);
+                        break;
+                    }
+                    newest = newer(newest, fetched);
+                    List<FetchedJob> accepted = filterChain.apply(fetched);
+                    if (!accepted.isEmpty()) {
+                        tracker.recordPersisted(storeJobs(accepted).persisted());
+                    }
+                    if (batch.last()) {
+                        if (newest != null) {
+                            ingestionCursorService.updatePosition(cursorKey, newest.getPostedAt(), newest.getExternalId(), null);
+                        } else if (cursor != null && cursor.nextPageToken() != null) {
+                            ingestionCursorService.updatePosition(cursorKey, cursor.lastPostedAt(), cursor.lastExternalId(), null);
+                        }
+                        log.info("Incremental fetch for source {} ({}) caught up", sourceName, companyName);
+                        break;
+                    }
+                    cursor = ingestionCursorService.updatePosition(cursorKey,
+                            watermark == null ? null : watermark.lastPostedAt(),
+                            watermark == null ? null : watermark.lastExternalId(),
+                            batch.nextPageToken());
+                } finally {
+                    tracker.recordPage(pageStart);
+                }
             }
-            if (!pageSignature.isEmpty() && !seenPageSignatures.add(pageSignature)) {
-                log.warn("Detected repeated page signature for source {} ({}) on page {} - stopping to prevent infinite loop", sourceName, companyName, page);
-                break;
+        }
+    }
+
+    private Job newer(Job newest, List<FetchedJob> jobs) {
+        Job result = newest;
+        for (FetchedJob fetched : jobs) {
+            Job job = fetched.job();
+            if (job.getPostedAt() == null) {
+                continue;
             }
-            JobIngestionResult result = storeJobs(cursorFiltered);
-            if (result.persisted() <= 0) {
-                log.info("All jobs filtered out or skipped for source {} ({}) on page {}", sourceName, companyName, page);
-            } else if (result.lastJob() != null) {
-                cursor = ingestionCursorService.updatePosition(cursorKey, result.lastJob());
+            if (result == null || job.getPostedAt().isAfter(result.getPostedAt())
+                    || (job.getPostedAt().equals(result.getPostedAt())
+                    && String.valueOf(job.getExternalId()).compareTo(String.valueOf(result.getExternalId())) > 0)) {
+                result = job;
             }
-            page++;
         }
+        return result;
     }
 
     private void ingestWithCategories(SourceRegistry.ConfiguredSource configuredSource,
-                                      int pageSize) throws Exception {
+                                      int pageSize,
+                                      SourceRunTracker tracker) throws Exception {
         SourceClient client = configuredSource.client();
         Map<SourceRegistry.CategoryQuota, Integer> remaining = initializeRemaining(configuredSource.categories());
         if (remaining.isEmpty()) {
@@ -242,47 +408,55 @@ public class JobIngestionScheduler {
                 if (!category.hasFacets()) {
                     continue;
                 }
-                fetchCategoryWithFacets(workday, configuredSource, category, pageSize, remaining, cursorCache);
+                if (tracker.shouldStop()) {
+                    return;
+                }
+                fetchCategoryWithFacets(workday, configuredSource, category, pageSize, remaining, cursorCache, tracker);
                 if (allQuotasMet(remaining)) {
                     return;
                 }
             }
         }
 
-        fetchGenericPages(configuredSource, pageSize, remaining, cursorCache);
+        fetchGenericPages(configuredSource, pageSize, remaining, cursorCache, tracker);
     }
 
     private void fetchGenericPages(SourceRegistry.ConfiguredSource configuredSource,
                                    int pageSize,
                                    Map<SourceRegistry.CategoryQuota, Integer> remaining,
-                                   Map<String, IngestionCursor> cursorCache) throws Exception {
+                                   Map<String, IngestionCursor> cursorCache,
+                                   SourceRunTracker tracker) throws Exception {
         SourceClient client = configuredSource.client();
         String sourceName = client.sourceName();
         String companyName = configuredSource.company();
-        int page = 1;
-        Set<String> seenPageSignatures = new HashSet<>();
-        while (!allQuotasMet(remaining)) {
-            List<FetchedJob> items = client.fetchPage(page, pageSize);
-            if (items == null || items.isEmpty()) {
-                break;
-            }
-            List<FetchedJob> filtered = jobFilter.apply(items);
-            List<FetchedJob> locationEnhanced = locationEnhancementService.enhanceLocationFields(filtered);
-            List<FetchedJob> locationFiltered = locationFilterService.filterJobs(locationEnhanced);
-            List<FetchedJob> roleFiltered = roleFilterService.filter(locationFiltered);
-            String pageSignature = computePageSignature(roleFiltered);
-            JobIngestionResult result = matchAndStore(roleFiltered, configuredSource, remaining, null, page, cursorCache);
-            if (roleFiltered.isEmpty() || result.persisted() == 0) {
-                log.info("No category-matched jobs for source {} ({}) on page {}", sourceName, companyName, page);
-            }
-            if (!pageSignature.isEmpty() && !seenPageSignatures.add(pageSignature)) {
-                log.warn("Detected repeated page signature for source {} ({}) on page {} - stopping to prevent infinite loop", sourceName, companyName, page);
-                break;
-            }
-            if (!result.advanced()) {
-                break;
+        PageSignature.Window seenPageSignatures = new PageSignature.Window(PAGE_SIGNATURE_WINDOW);
+        try (IngestionPagePipeline pages = openPages(page -> client.fetchPage(page, pageSize))) {
+            while (!allQuotasMet(remaining) && !tracker.shouldStop()) {
+                long pageStart = System.nanoTime();
+                IngestionPagePipeline.Page next = nextPage(pages, tracker);
+                if (next == null || next.isEmpty()) {
+                    break;
+                }
+                int page = next.number();
+                try {
+                    List<FetchedJob> roleFiltered = filterChain.apply(next.items());
+                    PageSignature pageSignature = PageSignature.of(roleFiltered);
+                    JobIngestionResult result = matchAndStore(roleFiltered, configuredSource, remaining, null, page, cursorCache);
+                    tracker.recordPersisted(result.persisted());
+                    if (roleFiltered.isEmpty() || result.persisted() == 0) {
+                        log.info("No category-matched jobs for source {} ({}) on page {}", sourceName, companyName, page);
+                    }
+                    if (!seenPageSignatures.add(pageSignature)) {
+                        log.warn("Detected repeated page signature for source {} ({}) on page {} - stopping to prevent infinite loop", sourceName, companyName, page);
+                        break;
+                    }
+                    if (!result.advanced()) {
+                        break;
+                    }
+                } finally {
+                    tracker.recordPage(pageStart);
+                }
             }
-            page++;
         }
     }
 
@@ -291,36 +465,75 @@ public class JobIngestionScheduler {
                                          SourceRegistry.CategoryQuota category,
                                          int pageSize,
                                          Map<SourceRegistry.CategoryQuota, Integer> remaining,
-                                         Map<String, IngestionCursor> cursorCache) throws Exception {
+                                         Map<String, IngestionCursor> cursorCache,
+                                         SourceRunTracker tracker) throws Exception {
         String sourceName = client.sourceName();
         String companyName = configuredSource.company();
-        int page = 1;
-        Set<String> seenPageSignatures = new HashSet<>();
-        while (remaining.getOrDefault(category, 0) > 0) {
-            List<FetchedJob> items = client.fetchPage(page, pageSize, category.facets());
-            if (items == null || items.isEmpty()) {
-                break;
-            }
-            List<FetchedJob> filtered = jobFilter.apply(items);
-            List<FetchedJob> locationEnhanced = locationEnhancementService.enhanceLocationFields(filtered);
-            List<FetchedJob> locationFiltered = locationFilterService.filterJobs(locationEnhanced);
-            List<FetchedJob> roleFiltered = roleFilterService.filter(locationFiltered);
-            String pageSignature = computePageSignature(roleFiltered);
-            JobIngestionResult result = matchAndStore(roleFiltered, configuredSource, remaining, category, page, cursorCache);
-            if (roleFiltered.isEmpty() || result.persisted() == 0) {
-                log.info("No jobs matched category {} for source {} ({}) on page {} with facets", category.name(), sourceName, companyName, page);
-            }
-            if (!pageSignature.isEmpty() && !seenPageSignatures.add(pageSignature)) {
-                log.warn("Detected repeated page signature for category {} from source {} ({}) on page {} - stopping to prevent infinite loop", category.name(), sourceName, companyName, page);
-                break;
+        PageSignature.Window seenPageSignatures = new PageSignature.Window(PAGE_SIGNATURE_WINDOW);
+        try (IngestionPagePipeline pages = openPages(page -> client.fetchPage(page, pageSize, category.facets()))) {
+            while (remaining.getOrDefault(category, 0) > 0 && !tracker.shouldStop()) {
+                long pageStart = System.nanoTime();
+                IngestionPagePipeline.Page next = nextPage(pages, tracker);
+                if (next == null || next.isEmpty()) {
+                    break;
+                }
+                int page = next.number();
+                try {
+                    List<FetchedJob> roleFiltered = filterChain.apply(next.items());
+                    PageSignature pageSignature = PageSignature.of(roleFiltered);
+                    JobIngestionResult result = matchAndStore(roleFiltered, configuredSource, remaining, category, page, cursorCache);
+                    tracker.recordPersisted(result.persisted());
+                    if (roleFiltered.isEmpty() || result.persisted() == 0) {
+                        log.info("No jobs matched category {} for source {} ({}) on page {} with facets", category.name(), sourceName, companyName, page);
+                    }
+                    if (!seenPageSignatures.add(pageSignature)) {
+                        log.warn("Detected repeated page signature for category {} from source {} ({}) on page {} - stopping to prevent infinite loop", category.name(), sourceName, companyName, page);
+                        break;
+                    }
+                    if (allQuotasMet(remaining)) {
+                        return;
+                    }
+                    if (!result.advanced()) {
+                        break;
+                    }
+                } finally {
+                    tracker.recordPage(pageStart);
+                }
             }
-            if (allQuotasMet(remaining)) {
-                return;
+        }
+    }
+
+    private IngestionPagePipeline openPages(IngestionPagePipeline.PageFetcher fetcher) {
+        IngestionProperties.Pipeline pipeline = ingestionProperties.getPipeline();
+        if (pipeline == null || !pipeline.isEnabled()) {
+            return IngestionPagePipeline.serial(fetcher);
+        }
+        return IngestionPagePipeline.pipelined(fetcher, pipeline.getQueueCapacity(), executorManager.getFetchExecutor());
+    }
+
+    private IngestionPagePipeline openBatches(IngestionPagePipeline.BatchFetcher fetcher, String initialToken) {
+        IngestionProperties.Pipeline pipeline = ingestionProperties.getPipeline();
+        if (pipeline == null || !pipeline.isEnabled()) {
+            return IngestionPagePipeline.serial(fetcher, initialToken);
+        }
+        return IngestionPagePipeline.pipelined(fetcher, initialToken, pipeline.getQueueCapacity(),
+                executorManager.getFetchExecutor());
+    }
+
+    /**
+     * 等待下一页；超过页预算时继续等待（抓取线程仍在下载），直到数据源预算耗尽才放弃。
+     */
+    private IngestionPagePipeline.Page nextPage(IngestionPagePipeline pages, SourceRunTracker tracker) throws Exception {
+        while (true) {
+            IngestionPagePipeline.Page next = pages.next(tracker.pageBudget());
+            if (next != null) {
+                return next;
             }
-            if (!result.advanced()) {
-                break;
+            if (tracker.shouldStop()) {
+                tracker.recordAbandonedPage();
+                return null;
             }
-            page++;
+            log.debug("Next page for source {} is over its page budget, still waiting", tracker.sourceKey());
         }
     }
 
@@ -410,28 +623,6 @@ public class JobIngestionScheduler {
         return new JobIngestionResult(totalPersisted, lastJob, advanced);
     }
 
-    private String computePageSignature(List<FetchedJob> jobs) {
-        if (jobs == null || jobs.isEmpty()) {
-            return "";
-        }
-        return jobs.stream()
-                .map(fetched -> {
-                    Job job = fetched.job();
-                    if (job == null) {
-                        return "";
-                    }
-                    String externalId = job.getExternalId();
-                    String url = job.getUrl();
-                    String title = job.getTitle();
-                    return (externalId == null ? "" : externalId.trim())
-                            + "|" + (url == null ? "" : url.trim())
-                            + "|" + (title == null ? "" : title.trim().toLowerCase(Locale.ROOT));
-                })
-                .collect(Collectors.toCollection(TreeSet::new))
-                .stream()
-                .collect(Collectors.joining(";"));
-    }
-
     private SourceRegistry.CategoryQuota matchCategory(Job job, List<SourceRegistry.CategoryQuota> categories) {
         if (job == null || categories == null || categories.isEmpty()) {
             return null;
@@ -508,6 +699,9 @@ public class JobIngestionScheduler {
         return new JobIngestionResult(result.persisted(), result.lastJob(), result.advanced());
     }
 
+    private record SourceRun(SourceRegistry.ConfiguredSource source, SourceRunTracker tracker) {
+    }
+
     private static final class JobIngestionResult {
         private static final JobIngestionResult EMPTY = new JobIngestionResult(0, null, false);
         private final int persisted;
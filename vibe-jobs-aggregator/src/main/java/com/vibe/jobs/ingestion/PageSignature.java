@@ -0,0 +1,223 @@
+package com.vibe.jobs.ingestion;
+
+import com.vibe.jobs.ingestion.infrastructure.sourceclient.FetchedJob;
+import com.vibe.jobs.jobposting.domain.Job;
+
+import java.util.List;
+
+/**
+ * 页面签名：每个职位按 externalId、url、title 的顺序写入两路 64 位哈希（字段前写入长度），两路交叉后经 fmix64 混合
+ * 得到 128 位职位哈希，页内各职位的哈希按路求和。
+ *
+ * 字段顺序与边界都参与计算，字段取值互换会得到完全不同的职位哈希；求和与职位在页内的顺序无关，不需要排序。
+ * 同一职位在页内重复出现只计一次，由按页大小分配的开放寻址表去重，这是每页除签名本身外唯一的分配。
+ * 不拼接字符串；用于检测数据源反复返回同一页导致的死循环。
+ */
+record PageSignature(long high, long low) {
+
+    static final PageSignature EMPTY = new PageSignature(0L, 0L);
+
+    private static final long HIGH_SEED = 0x9E3779B97F4A7C15L;
+    private static final long LOW_SEED = 0xC2B2AE3D27D4EB4FL;
+
+    static PageSignature of(List<FetchedJob> jobs) {
+        if (jobs == null || jobs.isEmpty()) {
+            return EMPTY;
+        }
+        Lanes lanes = new Lanes();
+        // 以职位哈希的 high 路去重：两路同时相同才是同一职位，high 相同而 low 不同的概率可以忽略
+        long[] seen = jobs.size() > 1 ? new long[Integer.highestOneBit(jobs.size() * 2 - 1) << 1] : null;
+        boolean seenZero = false;
+        long high = 0L;
+        long low = 0L;
+        boolean any = false;
+        for (FetchedJob fetched : jobs) {
+            Job job = fetched == null ? null : fetched.job();
+            if (job == null) {
+                continue;
+            }
+            lanes.reset();
+            lanes.exact(job.getExternalId());
+            lanes.exact(job.getUrl());
+            lanes.ignoringCase(job.getTitle());
+            long jobHigh = fmix(lanes.high ^ Long.rotateLeft(lanes.low, 29));
+            long jobLow = fmix(lanes.low ^ Long.rotateLeft(lanes.high, 43));
+            if (seen != null) {
+                if (jobHigh == 0L) {
+                    if (seenZero) {
+                        continue;
+                    }
+                    seenZero = true;
+                } else if (!insert(seen, jobHigh)) {
+                    continue;
+                }
+            }
+            high += jobHigh;
+            low += jobLow;
+            any = true;
+        }
+        return any ? new PageSignature(high, low) : EMPTY;
+    }
+
+    boolean isEmpty() {
+        return high == 0L && low == 0L;
+    }
+
+    /**
+     * 线性探测插入非零值，已存在时返回 false；表长是职位数的两倍以上，不会填满。
+     */
+    private static boolean insert(long[] table, long value) {
+        int mask = table.length - 1;
+        int slot = (int) value & mask;
+        while (table[slot] != 0L) {
+            if (table[slot] == value) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = value;
+        return true;
+    }
+
+    private static long fmix(long k) {
+        k ^= k >>> 33;
+        k *= 0xFF51AFD7ED558CCDL;
+        k ^= k >>> 33;
+        k *= 0xC4CEB9FE1A85EC53L;
+        k ^= k >>> 33;
+        return k;
+    }
+
+    /**
+     * 两路哈希按 MurmurHash3 的方式逐个混入 64 位字，每页复用一个实例。
+     */
+    private static final class Lanes {
+
+        private static final long C1 = 0x87C37B91114253D5L;
+        private static final long C2 = 0x4CF5AD432745937FL;
+
+        private long high;
+        private long low;
+
+        void reset() {
+            high = HIGH_SEED;
+            low = LOW_SEED;
+        }
+
+        /**
+         * 区分大小写的字段（externalId、url）写入去空白后的长度与 String.hashCode：hashCode 由 JDK 向量化计算并缓存在
+         * 字符串上，这两个字段占了职位文本的大部分。首尾有空白时对去空白后的区间按同一公式计算，结果与 trim() 后一致。
+         * null 写入 -1，与任何长度加哈希的组合都不相同。
+         */
+        void exact(String value) {
+            if (value == null) {
+                mix(-1L);
+                return;
+            }
+            int start = start(value);
+            int end = end(value, start);
+            int hash;
+            if (start == 0 && end == value.length()) {
+                hash = value.hashCode();
+            } else {
+                hash = 0;
+                for (int i = start; i < end; i++) {
+                    hash = 31 * hash + value.charAt(i);
+                }
+            }
+            mix((long) (end - start) << 32 | (hash & 0xFFFFFFFFL));
+        }
+
+        /**
+         * 忽略大小写的字段（title）先写入去空白后的长度（null 为 -1），再把小写后的码元每 4 个拼成一个 64 位字写入；
+         * 长度已写入，末组补零不会产生歧义。
+         */
+        void ignoringCase(String value) {
+            if (value == null) {
+                mix(-1L);
+                return;
+            }
+            int start = start(value);
+            int end = end(value, start);
+            mix(end - start);
+            int i = start;
+            for (; i + 4 <= end; i += 4) {
+                mix((long) lower(value.charAt(i)) << 48 | (long) lower(value.charAt(i + 1)) << 32
+                        | (long) lower(value.charAt(i + 2)) << 16 | lower(value.charAt(i + 3)));
+            }
+            if (i < end) {
+                long word = 0L;
+                for (; i < end; i++) {
+                    word = word << 16 | lower(value.charAt(i));
+                }
+                mix(word);
+            }
+        }
+
+        // 与 trim() 等价地跳过首尾空白，但不创建新字符串
+        private static int start(String value) {
+            int start = 0;
+            while (start < value.length() && value.charAt(start) <= ' ') {
+                start++;
+            }
+            return start;
+        }
+
+        private static int end(String value, int start) {
+            int end = value.length();
+            while (end > start && value.charAt(end - 1) <= ' ') {
+                end--;
+            }
+            return end;
+        }
+
+        private static char lower(char c) {
+            return c < 128 ? (c >= 'A' && c <= 'Z' ? (char) (c + 32) : c) : Character.toLowerCase(c);
+        }
+
+        private void mix(long word) {
+            high ^= Long.rotateLeft(word * C1, 31) * C2;
+            high = Long.rotateLeft(high, 27) * 5 + 0x52DCE729L;
+            low ^= Long.rotateLeft(word * C2, 33) * C1;
+            low = Long.rotateLeft(low, 31) * 5 + 0x38495AB5L;
+        }
+    }
+
+    /**
+     * 最近若干页签名的环形窗口，替代整个采集循环生命周期内不断增长的签名集合。
+     */
+    static final class Window {
+
+        private final long[] highs;
+        private final long[] lows;
+        private int size;
+        private int next;
+
+        Window(int capacity) {
+            int slots = Math.max(1, capacity);
+            this.highs = new long[slots];
+            this.lows = new long[slots];
+        }
+
+        /**
+         * 签名已在窗口内时返回 false，否则记录并返回 true；空签名不参与检测。
+         */
+        boolean add(PageSignature signature) {
+            if (signature == null || signature.isEmpty()) {
+                return true;
+            }
+            for (int i = 0; i < size; i++) {
+                if (highs[i] == signature.high && lows[i] == signature.low) {
+                    return false;
+                }
+            }
+            highs[next] = signature.high;
+            lows[next] = signature.low;
+            next = (next + 1) % highs.length;
+            if (size < highs.length) {
+                size++;
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.vibe.jobs.ingestion;
+
+import com.vibe.jobs.ingestion.domain.IngestionCursorKey;
+import com.vibe.jobs.ingestion.domain.IngestionRunReport;
+import com.vibe.jobs.shared.infrastructure.config.IngestionProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 按数据源学习轮询节奏。
+ *
+ * 初始间隔取自游标的 last_ingested_at（距上次采到新职位越久，间隔越长）；
+ * 之后每轮根据入库数调整：有新职位减半，没有新职位放大 1.5 倍，失败加倍退避，
+ * 超时的数据源保持间隔但在最小间隔后尽快续跑。到期判断使用按 nextDueAt 排序的优先队列，
+ * 逾期最久的数据源先提交。
+ */
+@Slf4j
+@Component
+public class SourceCadencePlanner {
+
+    private final IngestionProperties ingestionProperties;
+    private final IngestionCursorService ingestionCursorService;
+    private final Map<IngestionCursorKey, Cadence> cadences = new ConcurrentHashMap<>();
+
+    public SourceCadencePlanner(IngestionProperties ingestionProperties,
+                                IngestionCursorService ingestionCursorService) {
+        this.ingestionProperties = ingestionProperties;
+        this.ingestionCursorService = ingestionCursorService;
+    }
+
+    public Optional<Cadence> cadence(IngestionCursorKey sourceKey) {
+        return Optional.ofNullable(cadences.get(sourceKey));
+    }
+
+    /**
+     * 返回当前已到期的数据源，按逾期时长从大到小排列；同时逾期时间隔短（更活跃）的优先。
+     */
+    List<IngestionCursorKey> dueSources(Collection<IngestionCursorKey> sourceKeys, long baseIntervalMs, Instant now) {
+        // 已移除的数据源不再保留节奏状态
+        cadences.keySet().retainAll(sourceKeys);
+        PriorityQueue<Map.Entry<IngestionCursorKey, Cadence>> queue = new PriorityQueue<>(
+                Comparator.comparing((Map.Entry<IngestionCursorKey, Cadence> entry) -> entry.getValue().nextDueAt())
+                        .thenComparingLong(entry -> entry.getValue().intervalMs()));
+        for (IngestionCursorKey key : sourceKeys) {
+            Cadence cadence = cadences.computeIfAbsent(key, k -> seed(k, baseIntervalMs, now));
+            queue.add(Map.entry(key, cadence));
+        }
+        List<IngestionCursorKey> due = new ArrayList<>();
+        while (!queue.isEmpty() && !queue.peek().getValue().nextDueAt().isAfter(now)) {
+            due.add(queue.poll().getKey());
+        }
+        return due;
+    }
+
+    void record(IngestionRunReport report, long baseIntervalMs, Instant now) {
+        if (report == null) {
+            return;
+        }
+        for (IngestionRunReport.SourceRunStats stats : report.sources()) {
+            cadences.compute(stats.sourceKey(), (key, previous) -> {
+                long interval = previous == null ? clamp(baseIntervalMs) : previous.intervalMs();
+                Instant nextDueAt;
+                switch (stats.status()) {
+                    case COMPLETED -> {
+                        interval = stats.jobsPersisted() > 0 ? clamp(interval / 2) : clamp(interval + interval / 2);
+                        nextDueAt = now.plusMillis(interval);
+                    }
+                    case TIMED_OUT -> nextDueAt = now.plusMillis(minIntervalMs());
+                    default -> {
+                        interval = clamp(interval * 2);
+                        nextDueAt = now.plusMillis(interval);
+                    }
+                }
+                return new Cadence(interval, nextDueAt);
+            });
+        }
+    }
+
+    private Cadence seed(IngestionCursorKey key, long baseIntervalMs, Instant now) {
+        Optional<Instant> lastIngestedAt = Optional.empty();
+        try {
+            lastIngestedAt = ingestionCursorService.findLatestIngestedAt(key);
+        } catch (Exception ex) {
+            log.warn("Failed to load last ingestion time for {}: {}", key, ex.getMessage());
+        }
+        if (lastIngestedAt.isEmpty()) {
+            return new Cadence(clamp(baseIntervalMs), now);
+        }
+        // 距上次采到新职位的时长近似为该数据源的发布间隔
+        long sinceLastMs = Math.max(0L, Duration.between(lastIngestedAt.get(), now).toMillis());
+        long interval = clamp(sinceLastMs);
+        Instant nextDueAt = lastIngestedAt.get().plusMillis(interval);
+        return new Cadence(interval, nextDueAt.isBefore(now) ? now : nextDueAt);
+    }
+
+    private long clamp(long intervalMs) {
+        long min = minIntervalMs();
+        long max = Math.max(min, ingestionProperties.getAdaptive().getMaxIntervalMs());
+        return Math.min(max, Math.max(min, intervalMs));
+    }
+
+    private long minIntervalMs() {
+        return ingestionProperties.getAdaptive().getMinIntervalMs();
+    }
+
+    public record Cadence(long intervalMs, Instant nextDueAt) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.vibe.jobs.ingestion;
+
+import com.vibe.jobs.ingestion.domain.IngestionCursorKey;
+import com.vibe.jobs.ingestion.domain.IngestionRunReport.SourceRunStats;
+import com.vibe.jobs.ingestion.domain.IngestionRunReport.SourceRunStatus;
+
+import java.time.Duration;
+
+/**
+ * 单个数据源在一轮采集中的进度与时间预算。
+ *
+ * 预算是协作式的：采集循环在每页之间检查 {@link #shouldStop()}，
+ * 数据源预算耗尽后停止继续翻页，已入库的页面和已推进的游标都会保留。
+ * 单页超过页预算只计为慢页，不会中止该数据源。
+ */
+final class SourceRunTracker {
+
+    private final IngestionCursorKey sourceKey;
+    private final long budgetMs;
+    private final long pageBudgetMs;
+    private volatile long startNanos;
+    private volatile long endNanos;
+    private volatile int pages;
+    private volatile int slowPages;
+    private volatile int jobsPersisted;
+    private volatile SourceRunStatus status;
+    private volatile String message;
+
+    SourceRunTracker(IngestionCursorKey sourceKey, long budgetMs, long pageBudgetMs) {
+        this.sourceKey = sourceKey;
+        this.budgetMs = Math.max(1L, budgetMs);
+        this.pageBudgetMs = Math.max(1L, pageBudgetMs);
+    }
+
+    IngestionCursorKey sourceKey() {
+        return sourceKey;
+    }
+
+    void start() {
+        startNanos = System.nanoTime();
+    }
+
+    boolean started() {
+        return startNanos != 0L;
+    }
+
+    Duration pageBudget() {
+        return Duration.ofMillis(Math.min(pageBudgetMs, Math.max(1L, remainingMs())));
+    }
+
+    long remainingMs() {
+        if (!started()) {
+            return budgetMs;
+        }
+        return budgetMs - elapsedMs();
+    }
+
+    /**
+     * 在翻下一页之前调用；预算耗尽时把状态标记为超时。
+     */
+    boolean shouldStop() {
+        if (status == SourceRunStatus.TIMED_OUT) {
+            return true;
+        }
+        if (remainingMs() <= 0) {
+            timedOut("source budget of " + budgetMs + " ms exhausted after " + pages + " pages");
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 记录一页的处理耗时（含等待页面到达）；超过页预算的页计为慢页。
+     */
+    void recordPage(long pageStartNanos) {
+        pages++;
+        long pageMs = Duration.ofNanos(System.nanoTime() - pageStartNanos).toMillis();
+        if (pageMs > pageBudgetMs) {
+            slowPages++;
+        }
+    }
+
+    /**
+     * 等待的页面在数据源预算耗尽前没有到达，同样计为慢页。
+     */
+    void recordAbandonedPage() {
+        slowPages++;
+    }
+
+    void recordPersisted(int persisted) {
+        if (persisted > 0) {
+            jobsPersisted += persisted;
+        }
+    }
+
+    void timedOut(String reason) {
+        if (status == null || status == SourceRunStatus.COMPLETED) {
+            status = SourceRunStatus.TIMED_OUT;
+            message = reason;
+        }
+    }
+
+    void completed() {
+        finish(SourceRunStatus.COMPLETED, null);
+    }
+
+    void failed(String reason) {
+        finish(SourceRunStatus.FAILED, reason);
+    }
+
+    private void finish(SourceRunStatus finalStatus, String reason) {
+        endNanos = System.nanoTime();
+        if (status == SourceRunStatus.TIMED_OUT) {
+            return;
+        }
+        status = finalStatus;
+        message = reason;
+    }
+
+    private long elapsedMs() {
+        long end = endNanos != 0L ? endNanos : System.nanoTime();
+        return Duration.ofNanos(end - startNanos).toMillis();
+    }
+
+    SourceRunStats toStats() {
+        SourceRunStatus current = status;
+        String reason = message;
+        if (current == null) {
+            // 仍在运行或尚未开始：整轮等待已结束，按超时记录
+            current = SourceRunStatus.TIMED_OUT;
+            reason = started() ? "still running when the run finished" : "not started before the run finished";
+        }
+        return new SourceRunStats(sourceKey, current, pages, slowPages, jobsPersisted,
+                started() ? elapsedMs() : 0L, budgetMs, reason);
+    }
+}
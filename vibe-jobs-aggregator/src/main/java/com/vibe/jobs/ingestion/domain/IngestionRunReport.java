@@ -0,0 +1,40 @@
+package com.vibe.jobs.ingestion.domain;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 一轮采集的执行报告：每个数据源是否完成、是否超时，以及抓取的页数、超过页预算的慢页数和入库的职位数。
+ */
+public record IngestionRunReport(Instant startedAt,
+                                 Instant finishedAt,
+                                 List<SourceRunStats> sources) {
+
+    public IngestionRunReport {
+        sources = sources == null ? List.of() : List.copyOf(sources);
+    }
+
+    public long count(SourceRunStatus status) {
+        return sources.stream().filter(stats -> stats.status() == status).count();
+    }
+
+    public enum SourceRunStatus {
+        COMPLETED,
+        TIMED_OUT,
+        FAILED
+    }
+
+    public record SourceRunStats(IngestionCursorKey sourceKey,
+                                 SourceRunStatus status,
+                                 int pages,
+                                 int slowPages,
+                                 int jobsPersisted,
+                                 long durationMs,
+                                 long budgetMs,
+                                 String message) {
+
+        public boolean timedOut() {
+            return status == SourceRunStatus.TIMED_OUT;
+        }
+    }
+}
@@ -4,9 +4,12 @@ import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.Optional;
 
 @Repository
@@ -17,4 +20,7 @@ public interface SpringDataIngestionCursorRepository extends JpaRepository<Inges
     @Lock(LockModeType.PESSIMISTIC_WRITE)
     @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "5000"))
     Optional<IngestionCursorEntity> findWithLockBySourceNameAndCompanyAndCategory(String sourceName, String company, String category);
+
+    @Query("select max(c.lastIngestedAt) from IngestionCursorEntity c where c.sourceName = :sourceName and c.company = :company")
+    Optional<Instant> findLatestIngestedAt(@Param("sourceName") String sourceName, @Param("company") String company);
 }
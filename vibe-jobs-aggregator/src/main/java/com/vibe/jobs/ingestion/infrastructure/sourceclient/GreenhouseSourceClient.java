@@ -1,14 +1,21 @@
 
 package com.vibe.jobs.ingestion.infrastructure.sourceclient;
 
+import com.vibe.jobs.ingestion.domain.IngestionCursor;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.vibe.jobs.jobposting.domain.Job;
+import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.format.DateTimeParseException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Fetch jobs from Greenhouse: https://boards-api.greenhouse.io/v1/boards/{company}/jobs
@@ -16,16 +23,36 @@ import java.util.stream.Collectors;
  */
 public class GreenhouseSourceClient implements SourceClient {
 
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP =
+            new ParameterizedTypeReference<>() {};
+
+    private static final String DEFAULT_BASE_URL = "https://boards-api.greenhouse.io/v1/boards/";
+    // 带 content 的索引在大看板上可达数 MB
+    private static final int MAX_RESPONSE_BYTES = 16 * 1024 * 1024;
+    // 同一轮内的多页复用一次索引；小于自适应调度的最小间隔，下一轮会重新拉取
+    static final Duration INDEX_TTL = Duration.ofMinutes(10);
+    static final int MAX_DETAIL_IN_FLIGHT = 8;
+
     private final String company;  // greenhouse board slug, e.g., "stripe"
     private final WebClient client;
+    private final Clock clock;
+    private final Object indexLock = new Object();
+    private volatile IndexSnapshot index;
+    // 索引缺少正文、需要单独请求详情的职位，按 updated_at 缓存详情，未变化时不再请求
+    private final Map<String, CachedDetail> details = new ConcurrentHashMap<>();
 
     public GreenhouseSourceClient(String company) {
+        this(company, DEFAULT_BASE_URL + company, Clock.systemUTC());
+    }
+
+    GreenhouseSourceClient(String company, String baseUrl, Clock clock) {
         this.company = company;
+        this.clock = clock;
         this.client = WebClient.builder()
-                .baseUrl("https://boards-api.greenhouse.io/v1/boards/" + company)
+                .baseUrl(baseUrl)
                 .defaultHeader("Accept", "application/json")
                 .defaultHeader("User-Agent", "Mozilla/5.0 (compatible; Googlebot/2.1; +http://www.google.com/bot.html)")
-                .codecs(config -> config.defaultCodecs().maxInMemorySize(2 * 1024 * 1024))
+                .codecs(config -> config.defaultCodecs().maxInMemorySize(MAX_RESPONSE_BYTES))
                 .build();
     }
 
@@ -39,13 +66,8 @@ public class GreenhouseSourceClient implements SourceClient {
         int perPage = Math.max(1, Math.min(size, 50));
         int pageNumber = Math.max(page, 1);
 
-        Map<String, Object> response = fetchJobsIndex();
-        if (response == null || !response.containsKey("jobs")) {
-            return List.of();
-        }
-
-        List<Map<String, Object>> jobs = (List<Map<String, Object>>) response.get("jobs");
-        if (jobs == null || jobs.isEmpty()) {
+        List<Map<String, Object>> jobs = jobsIndex();
+        if (jobs.isEmpty()) {
             return List.of();
         }
 
@@ -55,52 +77,139 @@ public class GreenhouseSourceClient implements SourceClient {
         }
         int toIndex = Math.min(fromIndex + perPage, jobs.size());
 
-        List<Map<String, Object>> slice = jobs.subList(fromIndex, toIndex);
+        return resolveAll(jobs.subList(fromIndex, toIndex));
+    }
 
-        return slice.stream()
-                .map(job -> mapJob(job, fetchJobDetail(job)))
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
+    @Override
+    public boolean supportsIncremental() {
+        return true;
     }
 
-    private Map<String, Object> fetchJobsIndex() {
-        try {
-            return client.get()
-                    .uri(uriBuilder -> uriBuilder
-                            .path("/jobs")
-                            .build())
-                    .retrieve()
-                    .bodyToMono(Map.class)
-                    .block();
-        } catch (WebClientResponseException.NotFound e) {
-            return null;
+    /**
+     * Boards API 没有服务端的 updated_after 过滤，这里在索引上按 updated_at 过滤出增量。
+     * 增量按 (updated_at, id) 升序返回，nextPageToken 记录已返回的最后一个键。
+     */
+    @Override
+    public FetchResult fetchSince(IngestionCursor cursor, int pageSize) throws Exception {
+        int perPage = Math.max(1, Math.min(pageSize, 50));
+        List<Map<String, Object>> jobs = jobsIndex();
+        if (jobs.isEmpty()) {
+            return FetchResult.empty();
         }
+
+        IndexKey watermark = cursor == null || cursor.lastPostedAt() == null
+                ? null
+                : new IndexKey(cursor.lastPostedAt(), string(cursor.lastExternalId()));
+        IndexKey resumeAfter = IndexKey.parse(cursor == null ? null : cursor.nextPageToken());
+        List<IndexEntry> delta = new ArrayList<>();
+        for (Map<String, Object> summary : jobs) {
+            IndexKey key = new IndexKey(parseInstant(string(summary.get("updated_at"))), string(summary.get("id")));
+            if (key.isAfter(watermark) && key.isAfter(resumeAfter)) {
+                delta.add(new IndexEntry(key, summary));
+            }
+        }
+        if (delta.isEmpty()) {
+            return FetchResult.empty();
+        }
+        delta.sort(Comparator.comparing(IndexEntry::key));
+
+        List<IndexEntry> slice = delta.subList(0, Math.min(perPage, delta.size()));
+        List<FetchedJob> fetched = resolveAll(slice.stream().map(IndexEntry::summary).toList());
+        boolean hasMore = delta.size() > slice.size();
+        String nextPageToken = hasMore ? slice.get(slice.size() - 1).key().token() : null;
+        return new FetchResult(fetched, nextPageToken, hasMore);
     }
 
-    private Map<String, Object> fetchJobDetail(Map<String, Object> summary) {
-        Object id = summary == null ? null : summary.get("id");
-        if (id == null) {
-            return summary;
+    /**
+     * 索引带 content=true 拉取，大多数职位无需再请求详情；在有效期内多次翻页共用同一份索引。
+     */
+    private List<Map<String, Object>> jobsIndex() {
+        IndexSnapshot current = index;
+        Instant now = clock.instant();
+        if (current != null && current.isFresh(now)) {
+            return current.jobs();
+        }
+        synchronized (indexLock) {
+            current = index;
+            if (current != null && current.isFresh(now)) {
+                return current.jobs();
+            }
+            List<Map<String, Object>> jobs = fetchJobsIndex();
+            Set<String> ids = new HashSet<>();
+            for (Map<String, Object> job : jobs) {
+                ids.add(string(job.get("id")));
+            }
+            // 已下线的职位不再保留详情缓存
+            details.keySet().retainAll(ids);
+            index = new IndexSnapshot(jobs, now);
+            return jobs;
         }
+    }
+
+    private List<Map<String, Object>> fetchJobsIndex() {
+        JobsResponse response;
         try {
-            Map<String, Object> detail = client.get()
+            response = client.get()
                     .uri(uriBuilder -> uriBuilder
-                            .path("/jobs/" + id)
+                            .path("/jobs")
                             .queryParam("content", true)
                             .build())
                     .retrieve()
-                    .bodyToMono(Map.class)
+                    .bodyToMono(JobsResponse.class)
                     .block();
-            if (detail == null) {
-                return summary;
-            }
-            if (detail.containsKey("job") && detail.get("job") instanceof Map<?, ?> jobMap) {
-                return (Map<String, Object>) jobMap;
-            }
-            return detail;
         } catch (WebClientResponseException.NotFound e) {
-            return summary;
+            return List.of();
+        }
+        if (response == null || response.jobs() == null) {
+            return List.of();
+        }
+        return response.jobs().stream().filter(Objects::nonNull).toList();
+    }
+
+    /**
+     * 保持输入顺序映射职位；需要请求详情的职位并发请求，同时在途的请求数有上限。
+     */
+    private List<FetchedJob> resolveAll(List<Map<String, Object>> summaries) {
+        List<FetchedJob> resolved = Flux.fromIterable(summaries)
+                .flatMapSequential(this::resolve, MAX_DETAIL_IN_FLIGHT)
+                .collectList()
+                .block();
+        return resolved == null ? List.of() : resolved;
+    }
+
+    private Mono<FetchedJob> resolve(Map<String, Object> summary) {
+        if (!string(summary.get("content")).isEmpty()) {
+            return Mono.justOrEmpty(mapJob(summary, summary));
         }
+        String id = string(summary.get("id"));
+        if (id.isEmpty()) {
+            return Mono.justOrEmpty(mapJob(summary, summary));
+        }
+        String updatedAt = string(summary.get("updated_at"));
+        CachedDetail cached = details.get(id);
+        if (cached != null && cached.updatedAt().equals(updatedAt)) {
+            return Mono.justOrEmpty(mapJob(summary, cached.detail()));
+        }
+        return fetchJobDetail(id, summary)
+                .doOnNext(detail -> {
+                    if (detail != summary) {
+                        details.put(id, new CachedDetail(updatedAt, detail));
+                    }
+                })
+                .mapNotNull(detail -> mapJob(summary, detail));
+    }
+
+    private Mono<Map<String, Object>> fetchJobDetail(String id, Map<String, Object> summary) {
+        return client.get()
+                .uri(uriBuilder -> uriBuilder
+                        .path("/jobs/" + id)
+                        .queryParam("content", true)
+                        .build())
+                .retrieve()
+                .bodyToMono(MAP)
+                .map(detail -> detail.get("job") instanceof Map<?, ?> jobMap ? stringKeyed(jobMap) : detail)
+                .onErrorResume(WebClientResponseException.NotFound.class, e -> Mono.just(summary))
+                .defaultIfEmpty(summary);
     }
 
     private FetchedJob mapJob(Map<String, Object> summary, Map<String, Object> detail) {
@@ -160,14 +269,19 @@ public class GreenhouseSourceClient implements SourceClient {
 
     private Instant extractPostedAt(Map<String, Object> detail, Map<String, Object> summary) {
         Object updatedAt = detail.getOrDefault("updated_at", summary.get("updated_at"));
-        String text = string(updatedAt);
-        if (!text.isEmpty()) {
-            try {
-                return Instant.parse(text);
-            } catch (DateTimeParseException ignored) {
-            }
+        Instant parsed = parseInstant(string(updatedAt));
+        return parsed == null ? Instant.now() : parsed;
+    }
+
+    private static Instant parseInstant(String text) {
+        if (text == null || text.isEmpty()) {
+            return null;
+        }
+        try {
+            return Instant.parse(text);
+        } catch (DateTimeParseException ignored) {
+            return null;
         }
-        return Instant.now();
     }
 
     private Set<String> extractTags(Map<String, Object> detail, Map<String, Object> summary) {
@@ -213,7 +327,67 @@ public class GreenhouseSourceClient implements SourceClient {
         }
     }
 
+    private static Map<String, Object> stringKeyed(Map<?, ?> map) {
+        Map<String, Object> result = new LinkedHashMap<>(map.size());
+        map.forEach((key, value) -> result.put(String.valueOf(key), value));
+        return result;
+    }
+
     private String string(Object value) {
         return value == null ? "" : value.toString().trim();
     }
+
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record JobsResponse(List<Map<String, Object>> jobs) {
+    }
+
+    private record IndexSnapshot(List<Map<String, Object>> jobs, Instant fetchedAt) {
+
+        boolean isFresh(Instant now) {
+            return fetchedAt.plus(INDEX_TTL).isAfter(now);
+        }
+    }
+
+    private record CachedDetail(String updatedAt, Map<String, Object> detail) {
+    }
+
+    private record IndexEntry(IndexKey key, Map<String, Object> summary) {
+    }
+
+    /**
+     * 索引项的排序键；updated_at 缺失的职位排在最前，只在没有水位线的首轮全量中返回。
+     */
+    private record IndexKey(Instant updatedAt, String id) implements Comparable<IndexKey> {
+
+        private static final char SEPARATOR = '|';
+
+        static IndexKey parse(String token) {
+            if (token == null || token.isBlank()) {
+                return null;
+            }
+            int separator = token.indexOf(SEPARATOR);
+            if (separator <= 0) {
+                return null;
+            }
+            Instant updatedAt = parseInstant(token.substring(0, separator));
+            return updatedAt == null ? null : new IndexKey(updatedAt, token.substring(separator + 1));
+        }
+
+        String token() {
+            return updatedAt + String.valueOf(SEPARATOR) + id;
+        }
+
+        boolean isAfter(IndexKey other) {
+            return other == null || compareTo(other) > 0;
+        }
+
+        @Override
+        public int compareTo(IndexKey other) {
+            if (updatedAt == null || other.updatedAt == null) {
+                return updatedAt == null ? (other.updatedAt == null ? id.compareTo(other.id) : -1) : 1;
+            }
+            int byTime = updatedAt.compareTo(other.updatedAt);
+            return byTime != 0 ? byTime : id.compareTo(other.id);
+        }
+    }
 }
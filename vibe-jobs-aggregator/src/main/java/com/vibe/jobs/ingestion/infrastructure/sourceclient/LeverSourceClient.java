@@ -40,9 +40,16 @@ public class LeverSourceClient implements SourceClient {
 
     @Override
     public List<FetchedJob> fetchPage(int page, int size) {
-        int perPage = Math.max(1, Math.min(size, 100));
+        int perPage = pageLimit(size);
         int skip = Math.max(page - 1, 0) * perPage;
+        return fetchAt(skip, perPage);
+    }
+
+    private int pageLimit(int size) {
+        return Math.max(1, Math.min(size, 100));
+    }
 
+    private List<FetchedJob> fetchAt(int skip, int perPage) {
         List<Map<String, Object>> response;
         try {
             response = client.get()
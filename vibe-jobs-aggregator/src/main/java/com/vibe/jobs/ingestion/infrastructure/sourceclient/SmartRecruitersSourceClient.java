@@ -60,8 +60,16 @@ public class SmartRecruitersSourceClient implements SourceClient {
 
     @Override
     public List<FetchedJob> fetchPage(int page, int size) throws Exception {
-        int limit = Math.max(1, Math.min(size, 100));
+        int limit = pageLimit(size);
         int offset = Math.max(0, (Math.max(page, 1) - 1) * limit);
+        return fetchAt(offset, limit);
+    }
+
+    private int pageLimit(int size) {
+        return Math.max(1, Math.min(size, 100));
+    }
+
+    private List<FetchedJob> fetchAt(int offset, int limit) throws Exception {
         String requestUrl = apiBase + "/postings?limit=" + limit + "&offset=" + offset;
 
         HttpRequest request = HttpRequest.newBuilder()
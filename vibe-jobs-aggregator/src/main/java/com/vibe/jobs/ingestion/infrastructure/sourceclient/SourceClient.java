@@ -9,6 +9,10 @@ public interface SourceClient {
     String sourceName();
     List<FetchedJob> fetchPage(int page, int size) throws Exception;
 
+    /**
+     * 只有职位的 postedAt 取自数据源的修改时间（例如 Greenhouse 的 updated_at）时才返回 true：
+     * 调度器以 postedAt 作为增量水位线，取创建或发布时间的数据源在水位线之后看不到职位的修改。
+     */
     default boolean supportsIncremental() {
         return false;
     }
@@ -0,0 +1,405 @@
+package com.vibe.jobs.jobposting.application;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
+import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
+import com.vibe.jobs.shared.infrastructure.config.JobCatalogProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * 职位目录：分面、自动补全与搜索索引共用的一份全部未删除职位的内存快照。
+ *
+ * 启动后在后台分批加载，之后在职位写入或软删除提交后（JobsChangedEvent）增量维护；加载期间到达的变更先排队，
+ * 加载完成后按顺序重放。每个字段按小写取值维护倒排（取值 → 职位 id），取值的职位数就是倒排的大小；
+ * 职位的字段直接引用倒排里保存的展示写法，取值不再被任何职位引用时连同展示写法一起移除。
+ *
+ * 订阅者在目录的写锁内收到加载完成与逐条变更的通知，回调中不能再读取目录，耗时的工作应转交其他线程。
+ */
+@Service
+public class JobCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(JobCatalog.class);
+
+    public enum Field {
+        TITLE,
+        COMPANY,
+        LOCATION,
+        LEVEL,
+        TAG
+    }
+
+    /**
+     * 目录中的职位：字段已去除首尾空白，空白取值为 null。
+     */
+    public record Entry(long id, String title, String company, String location, String level, Instant postedAt,
+                        Set<String> tags) {
+
+        public static Entry of(Job job) {
+            Set<String> tags = new HashSet<>();
+            if (job.getTags() != null) {
+                for (String tag : job.getTags()) {
+                    String value = trim(tag);
+                    if (value != null) {
+                        tags.add(value);
+                    }
+                }
+            }
+            return new Entry(job.getId(), trim(job.getTitle()), trim(job.getCompany()), trim(job.getLocation()),
+                    trim(job.getLevel()), job.getPostedAt(), Set.copyOf(tags));
+        }
+
+        public String value(Field field) {
+            return switch (field) {
+                case TITLE -> title;
+                case COMPANY -> company;
+                case LOCATION -> location;
+                case LEVEL -> level;
+                case TAG -> throw new IllegalArgumentException("tags are multi-valued");
+            };
+        }
+    }
+
+    public interface Listener {
+
+        /**
+         * 加载完成，entries 为此刻的全部职位；之后的变更通过 {@link #onChanged} 逐条通知。
+         */
+        void onLoaded(Collection<Entry> entries);
+
+        /**
+         * previous 为 null 表示新增，current 为 null 表示删除。
+         */
+        void onChanged(Entry previous, Entry current);
+    }
+
+    /**
+     * 某个字段的一个取值：展示写法为首次出现时的写法。
+     */
+    public static final class Posting {
+
+        private final String label;
+        private final Set<Long> ids = new HashSet<>();
+
+        private Posting(String label) {
+            this.label = label;
+        }
+
+        public String label() {
+            return label;
+        }
+
+        public int count() {
+            return ids.size();
+        }
+
+        public Set<Long> ids() {
+            return ids;
+        }
+    }
+
+    private final JobRepositoryPort repository;
+    private final JobCatalogProperties properties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final Map<Field, Map<String, Posting>> postings = new EnumMap<>(Field.class);
+    private final List<Listener> listeners = new CopyOnWriteArrayList<>();
+    private final Reader reader = new Reader();
+    // 以下两个字段由写锁保护；pending 非空表示正在加载
+    private List<JobsChangedEvent> pending;
+    private volatile boolean loaded;
+    private final AtomicBoolean loading = new AtomicBoolean();
+
+    public JobCatalog(JobRepositoryPort repository, JobCatalogProperties properties) {
+        this.repository = repository;
+        this.properties = properties;
+        for (Field field : Field.values()) {
+            postings.put(field, new HashMap<>());
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * 订阅加载与变更通知；订阅时目录已加载完成的，立即收到一次 onLoaded。
+     */
+    public void subscribe(Listener listener) {
+        lock.writeLock().lock();
+        try {
+            listeners.add(listener);
+            if (loaded) {
+                listener.onLoaded(List.copyOf(entries.values()));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        loadInBackground();
+    }
+
+    /**
+     * 尚未加载且没有加载在进行时，在后台线程开始加载；上次加载失败后可以再次调用重试。
+     */
+    public void loadInBackground() {
+        if (loaded || !loading.compareAndSet(false, true)) {
+            return;
+        }
+        Thread.ofPlatform().name("job-catalog-load").daemon().start(() -> {
+            try {
+                load();
+            } finally {
+                loading.set(false);
+            }
+        });
+    }
+
+    /**
+     * 从数据库分批读取全部未删除职位；读取在锁外进行，查询不受影响。
+     */
+    void load() {
+        lock.writeLock().lock();
+        try {
+            if (loaded || pending != null) {
+                return;
+            }
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        long start = System.nanoTime();
+        List<Entry> loadedEntries = new ArrayList<>();
+        try {
+            long afterId = 0L;
+            while (true) {
+                List<Long> ids = repository.findIdsAfter(afterId, properties.getLoadBatchSize());
+                if (ids.isEmpty()) {
+                    break;
+                }
+                for (Job job : repository.findByIds(ids)) {
+                    if (job.getId() != null && !job.isDeleted()) {
+                        loadedEntries.add(Entry.of(job));
+                    }
+                }
+                afterId = ids.get(ids.size() - 1);
+            }
+        } catch (RuntimeException ex) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            log.warn("Failed to load job catalog, facets and suggestions stay empty until retried: {}",
+                    ex.getMessage(), ex);
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            loadedEntries.forEach(this::put);
+            pending.forEach(this::apply);
+            pending = null;
+            loaded = true;
+            List<Entry> snapshot = List.copyOf(entries.values());
+            listeners.forEach(listener -> listener.onLoaded(snapshot));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Job catalog loaded with {} jobs in {} ms", loadedEntries.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJobsChanged(JobsChangedEvent event) {
+        if (event == null || (event.savedJobs().isEmpty() && event.removedJobIds().isEmpty())) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (loaded) {
+                apply(event);
+            } else if (pending != null) {
+                pending.add(event);
+            }
+            // 尚未开始加载时忽略，加载时会读到已提交的数据
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 在读锁内读取目录，读取期间不会有变更写入。
+     */
+    public <T> T read(Function<Reader, T> action) {
+        lock.readLock().lock();
+        try {
+            return action.apply(reader);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(JobsChangedEvent event) {
+        for (Job job : event.savedJobs()) {
+            if (job.getId() == null) {
+                continue;
+            }
+            Entry previous = remove(job.getId());
+            Entry current = job.isDeleted() ? null : put(Entry.of(job));
+            notifyChanged(previous, current);
+        }
+        for (Long jobId : event.removedJobIds()) {
+            Entry previous = remove(jobId);
+            if (previous != null) {
+                notifyChanged(previous, null);
+            }
+        }
+    }
+
+    private void notifyChanged(Entry previous, Entry current) {
+        if (loaded && (previous != null || current != null)) {
+            listeners.forEach(listener -> listener.onChanged(previous, current));
+        }
+    }
+
+    /**
+     * 写入职位并返回字段改为引用倒排中展示写法后的条目。
+     */
+    private Entry put(Entry entry) {
+        Set<String> tags = entry.tags().isEmpty() ? Set.of() : new HashSet<>(entry.tags().size() * 2);
+        for (String tag : entry.tags()) {
+            tags.add(link(Field.TAG, tag, entry.id()));
+        }
+        Entry canonical = new Entry(entry.id(),
+                link(Field.TITLE, entry.title(), entry.id()),
+                link(Field.COMPANY, entry.company(), entry.id()),
+                link(Field.LOCATION, entry.location(), entry.id()),
+                link(Field.LEVEL, entry.level(), entry.id()),
+                entry.postedAt(),
+                tags.isEmpty() ? Set.of() : Set.copyOf(tags));
+        entries.put(canonical.id(), canonical);
+        return canonical;
+    }
+
+    private Entry remove(Long jobId) {
+        Entry entry = entries.remove(jobId);
+        if (entry == null) {
+            return null;
+        }
+        unlink(Field.TITLE, entry.title(), jobId);
+        unlink(Field.COMPANY, entry.company(), jobId);
+        unlink(Field.LOCATION, entry.location(), jobId);
+        unlink(Field.LEVEL, entry.level(), jobId);
+        for (String tag : entry.tags()) {
+            unlink(Field.TAG, tag, jobId);
+        }
+        return entry;
+    }
+
+    private String link(Field field, String value, long jobId) {
+        if (value == null) {
+            return null;
+        }
+        Posting posting = postings.get(field).computeIfAbsent(key(value), ignored -> new Posting(value));
+        posting.ids.add(jobId);
+        return posting.label.equals(value) ? posting.label : value;
+    }
+
+    private void unlink(Field field, String value, long jobId) {
+        if (value == null) {
+            return;
+        }
+        Map<String, Posting> values = postings.get(field);
+        String key = key(value);
+        Posting posting = values.get(key);
+        if (posting != null && posting.ids.remove(jobId) && posting.ids.isEmpty()) {
+            values.remove(key);
+        }
+    }
+
+    static String key(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static String trim(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+
+    /**
+     * 目录的只读视图，只能在 {@link #read} 的回调内使用。
+     */
+    public final class Reader {
+
+        private Reader() {
+        }
+
+        public int size() {
+            return entries.size();
+        }
+
+        public Entry entry(long id) {
+            return entries.get(id);
+        }
+
+        public Collection<Entry> entries() {
+            return entries.values();
+        }
+
+        public Collection<Posting> values(Field field) {
+            return postings.get(field).values();
+        }
+
+        /**
+         * 小写取值的展示写法，取值不存在时原样返回。
+         */
+        public String label(Field field, String key) {
+            Posting posting = postings.get(field).get(key);
+            return posting == null ? key : posting.label;
+        }
+
+        /**
+         * 小写取值等于 value 的职位。
+         */
+        public Set<Long> idsEqualTo(Field field, String value) {
+            Posting posting = postings.get(field).get(value);
+            return posting == null ? Set.of() : posting.ids;
+        }
+
+        /**
+         * 小写取值包含 fragment 的职位，扫描的是不同取值而不是职位。
+         */
+        public Set<Long> idsContaining(Field field, String fragment) {
+            Set<Long> ids = new HashSet<>();
+            postings.get(field).forEach((key, posting) -> {
+                if (key.contains(fragment)) {
+                    ids.addAll(posting.ids);
+                }
+            });
+            return ids;
+        }
+    }
+}
@@ -0,0 +1,335 @@
+package com.vibe.jobs.jobposting.application;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
+import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
+import com.vibe.jobs.shared.infrastructure.config.JobCountProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * /jobs 总数统计。按代价从低到高依次尝试：
+ * <ol>
+ *     <li>无关键字、无时间条件且最多一个筛选条件时，用分组计数器直接求和；</li>
+ *     <li>按规范化后的筛选条件缓存的精确计数；</li>
+ *     <li>近似模式下最多数到 approximate-limit 行，超出时返回估算值并标记为近似；</li>
+ *     <li>精确模式下执行完整的 count 查询并写入缓存。</li>
+ * </ol>
+ *
+ * 分组计数器在写入提交后按 JobsChangedEvent 携带的新旧公司、地点、级别做差量更新，请求线程不再触发全量统计；
+ * 全量统计只在后台定期对账，纠正其他实例的写入或绕过事件的变更带来的偏差。首次对账完成之前计数器不可用，走常规路径。
+ */
+@Service
+public class JobCountService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobCountService.class);
+
+    private final JobRepositoryPort repository;
+    private final JobCountProperties properties;
+    private final Clock clock;
+    private final Map<CountKey, CachedCount> exactCounts = new LinkedHashMap<>(64, 0.75f, true);
+    private final Object countersLock = new Object();
+    // 以下字段由 countersLock 保护
+    private Counters counters;
+    private boolean countersDirty;
+
+    @Autowired
+    public JobCountService(JobRepositoryPort repository, JobCountProperties properties) {
+        this(repository, properties, Clock.systemUTC());
+    }
+
+    JobCountService(JobRepositoryPort repository, JobCountProperties properties, Clock clock) {
+        this.repository = repository;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    public enum Mode {
+        EXACT,
+        APPROXIMATE;
+
+        static Optional<Mode> parse(String value) {
+            if (value == null || value.isBlank()) {
+                return Optional.empty();
+            }
+            return switch (value.trim().toLowerCase(Locale.ROOT)) {
+                case "exact" -> Optional.of(EXACT);
+                case "approximate", "approx", "estimate" -> Optional.of(APPROXIMATE);
+                default -> Optional.empty();
+            };
+        }
+    }
+
+    public record Total(long value, boolean approximate) {
+    }
+
+    /**
+     * 解析请求中的计数模式，缺省或无法识别时使用配置的默认模式。
+     */
+    public Mode resolveMode(String requested) {
+        return Mode.parse(requested)
+                .or(() -> Mode.parse(properties.getDefaultMode()))
+                .orElse(Mode.EXACT);
+    }
+
+    public Total count(String q,
+                       String company,
+                       String location,
+                       String level,
+                       Instant postedAfter,
+                       boolean searchDetail,
+                       Mode mode) {
+        CountKey key = CountKey.of(q, company, location, level, postedAfter, searchDetail);
+        if (key.q() == null && key.postedAfter() == null) {
+            Optional<Long> fromCounters = countFromCounters(key);
+            if (fromCounters.isPresent()) {
+                return new Total(fromCounters.get(), false);
+            }
+        }
+        Long cached = cachedCount(key);
+        if (cached != null) {
+            return new Total(cached, false);
+        }
+        if (mode == Mode.APPROXIMATE) {
+            long limit = properties.getApproximateLimit();
+            long bounded = repository.countSearchUpTo(q, company, location, level, postedAfter, searchDetail, limit);
+            if (bounded < limit) {
+                cacheCount(key, bounded);
+                return new Total(bounded, false);
+            }
+            return new Total(Math.max(limit, estimate(key)), true);
+        }
+        long exact = repository.countSearch(q, company, location, level, postedAfter, searchDetail);
+        cacheCount(key, exact);
+        return new Total(exact, false);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJobsChanged(JobsChangedEvent event) {
+        if (event == null || (event.savedJobs().isEmpty() && event.removedJobIds().isEmpty())) {
+            return;
+        }
+        synchronized (countersLock) {
+            if (counters == null) {
+                return;
+            }
+            for (Job job : event.savedJobs()) {
+                counters.remove(event.previous().get(job.getId()));
+                if (!job.isDeleted()) {
+                    counters.add(job.getCompany(), job.getLocation(), job.getLevel(), 1);
+                }
+            }
+            for (Long jobId : event.removedJobIds()) {
+                counters.remove(event.previous().get(jobId));
+            }
+            countersDirty = true;
+        }
+    }
+
+    /**
+     * 后台全量对账：首次执行时加载计数器，之后只在有差量写入时重新统计。
+     * 统计期间到达的差量会被统计结果覆盖，并让下一次对账再核对一遍，偏差最多保留一个对账间隔。
+     */
+    @Scheduled(fixedDelayString = "${jobs.count.counter-refresh-interval:PT30S}")
+    public void reconcileCounters() {
+        synchronized (countersLock) {
+            if (counters != null && !countersDirty) {
+                return;
+            }
+            countersDirty = false;
+        }
+        JobRepositoryPort.JobCounts loaded;
+        try {
+            loaded = repository.loadCounts();
+        } catch (RuntimeException ex) {
+            log.warn("Failed to reconcile job counters: {}", ex.getMessage());
+            synchronized (countersLock) {
+                countersDirty = true;
+            }
+            return;
+        }
+        synchronized (countersLock) {
+            counters = new Counters(loaded);
+        }
+    }
+
+    private Optional<Long> countFromCounters(CountKey key) {
+        int filters = (key.company() != null ? 1 : 0) + (key.location() != null ? 1 : 0) + (key.level() != null ? 1 : 0);
+        if (filters > 1) {
+            return Optional.empty();
+        }
+        synchronized (countersLock) {
+            Counters current = counters;
+            if (current == null) {
+                return Optional.empty();
+            }
+            if (key.level() != null) {
+                return Optional.of(current.byLevel.getOrDefault(key.level(), 0L));
+            }
+            if (key.company() != null) {
+                return sumContaining(current.byCompany, key.company());
+            }
+            if (key.location() != null) {
+                return sumContaining(current.byLocation, key.location());
+            }
+            return Optional.of(current.total);
+        }
+    }
+
+    /**
+     * 与数据库的 like '%value%' 等价：把包含该子串的所有取值的计数相加。
+     * 取值中带有 LIKE 通配符时语义不同，交给常规路径处理。
+     */
+    private Optional<Long> sumContaining(Map<String, Long> counts, String value) {
+        if (value.indexOf('%') >= 0 || value.indexOf('_') >= 0) {
+            return Optional.empty();
+        }
+        long sum = 0;
+        for (Map.Entry<String, Long> entry : counts.entrySet()) {
+            if (entry.getKey().contains(value)) {
+                sum += entry.getValue();
+            }
+        }
+        return Optional.of(sum);
+    }
+
+    /**
+     * 假设各筛选条件相互独立，用计数器给出的单条件命中比例相乘估算总数。
+     * 带关键字或时间条件时没有可用的分布信息，返回 0 由调用方取下限。
+     */
+    private long estimate(CountKey key) {
+        if (key.q() != null || key.postedAfter() != null) {
+            return 0L;
+        }
+        synchronized (countersLock) {
+            Counters current = counters;
+            if (current == null || current.total <= 0) {
+                return 0L;
+            }
+            double total = current.total;
+            double estimate = total;
+            if (key.company() != null) {
+                estimate *= sumContaining(current.byCompany, key.company()).orElse(current.total) / total;
+            }
+            if (key.location() != null) {
+                estimate *= sumContaining(current.byLocation, key.location()).orElse(current.total) / total;
+            }
+            if (key.level() != null) {
+                estimate *= current.byLevel.getOrDefault(key.level(), 0L) / total;
+            }
+            return Math.round(estimate);
+        }
+    }
+
+    private synchronized Long cachedCount(CountKey key) {
+        CachedCount cached = exactCounts.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (!cached.expiresAt().isAfter(clock.instant())) {
+            exactCounts.remove(key);
+            return null;
+        }
+        return cached.value();
+    }
+
+    private synchronized void cacheCount(CountKey key, long value) {
+        if (properties.getExactCacheTtl().isZero()) {
+            return;
+        }
+        exactCounts.put(key, new CachedCount(value, clock.instant().plus(properties.getExactCacheTtl())));
+        if (exactCounts.size() > properties.getExactCacheMaxEntries()) {
+            List<CountKey> expired = new ArrayList<>();
+            Instant now = clock.instant();
+            exactCounts.forEach((cachedKey, cached) -> {
+                if (!cached.expiresAt().isAfter(now)) {
+                    expired.add(cachedKey);
+                }
+            });
+            expired.forEach(exactCounts::remove);
+            Iterator<CountKey> eldest = exactCounts.keySet().iterator();
+            while (exactCounts.size() > properties.getExactCacheMaxEntries() && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    private record CachedCount(long value, Instant expiresAt) {
+    }
+
+    /**
+     * 可按差量修改的计数器，键与数据库统计一致为小写取值；计数归零的取值直接移除。
+     */
+    private static final class Counters {
+
+        private long total;
+        private final Map<String, Long> byCompany;
+        private final Map<String, Long> byLocation;
+        private final Map<String, Long> byLevel;
+
+        Counters(JobRepositoryPort.JobCounts loaded) {
+            this.total = loaded.total();
+            this.byCompany = new HashMap<>(loaded.byCompany());
+            this.byLocation = new HashMap<>(loaded.byLocation());
+            this.byLevel = new HashMap<>(loaded.byLevel());
+        }
+
+        void remove(JobsChangedEvent.Previous previous) {
+            if (previous != null) {
+                add(previous.company(), previous.location(), previous.level(), -1);
+            }
+        }
+
+        void add(String company, String location, String level, int delta) {
+            total = Math.max(0, total + delta);
+            adjust(byCompany, company, delta);
+            adjust(byLocation, location, delta);
+            adjust(byLevel, level, delta);
+        }
+
+        private static void adjust(Map<String, Long> counts, String value, int delta) {
+            if (value == null) {
+                return;
+            }
+            counts.compute(value.toLowerCase(Locale.ROOT), (ignored, count) -> {
+                long next = (count == null ? 0 : count) + delta;
+                return next > 0 ? next : null;
+            });
+        }
+    }
+
+    private record CountKey(String q, String company, String location, String level, Instant postedAfter,
+                            boolean searchDetail) {
+
+        static CountKey of(String q, String company, String location, String level, Instant postedAfter,
+                           boolean searchDetail) {
+            String normalizedQuery = normalize(q);
+            return new CountKey(normalizedQuery, normalize(company), normalize(location), normalize(level),
+                    postedAfter, searchDetail && normalizedQuery != null);
+        }
+
+        private static String normalize(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            return value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+}
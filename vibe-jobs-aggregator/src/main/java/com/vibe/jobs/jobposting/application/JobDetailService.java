@@ -13,9 +13,11 @@ import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.EnumMap;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -56,44 +58,102 @@ public class JobDetailService {
         JobDetail detail = repository.findByJobId(jobId)
                 .orElseGet(() -> new JobDetail(job, content, contentText));
 
-        boolean isNew = detail.getId() == null;
-        boolean changed = isNew;
-        boolean contentChanged = isNew;
+        if (applyContent(detail, content, contentText)) {
+            repository.save(detail);
+            publishContentUpdated(detail, job, content, contentText);
+        }
+    }
+
+    /**
+     * 批量保存职位详情：一次 IN 查询加载已有详情，变化的详情一起写入，
+     * 事件语义与 {@link #saveContent(Job, String)} 相同。同一职位出现多次时以最后一条为准。
+     */
+    @Transactional
+    public void saveContents(List<JobContent> contents) {
+        if (contents == null || contents.isEmpty()) {
+            return;
+        }
+        Map<Long, JobContent> byJobId = new LinkedHashMap<>();
+        for (JobContent item : contents) {
+            if (item == null || item.job() == null || item.job().getId() == null) {
+                continue;
+            }
+            if (item.content() == null || item.content().isBlank()) {
+                continue;
+            }
+            byJobId.put(item.job().getId(), item);
+        }
+        if (byJobId.isEmpty()) {
+            return;
+        }
+
+        Map<Long, JobDetail> existing = new HashMap<>();
+        for (JobDetail detail : repository.findByJobIds(byJobId.keySet())) {
+            if (detail.getJob() != null) {
+                existing.put(detail.getJob().getId(), detail);
+            }
+        }
+
+        List<JobDetail> changed = new ArrayList<>();
+        List<JobContent> changedContents = new ArrayList<>();
+        List<String> changedTexts = new ArrayList<>();
+        for (Map.Entry<Long, JobContent> entry : byJobId.entrySet()) {
+            JobContent item = entry.getValue();
+            String contentText = HtmlTextExtractor.toPlainText(item.content());
+            JobDetail detail = existing.get(entry.getKey());
+            if (detail == null) {
+                detail = new JobDetail(item.job(), item.content(), contentText);
+            }
+            if (applyContent(detail, item.content(), contentText)) {
+                changed.add(detail);
+                changedContents.add(item);
+                changedTexts.add(contentText);
+            }
+        }
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        repository.saveAll(changed);
+        for (int i = 0; i < changed.size(); i++) {
+            JobContent item = changedContents.get(i);
+            publishContentUpdated(changed.get(i), item.job(), item.content(), changedTexts.get(i));
+        }
+    }
+
+    private boolean applyContent(JobDetail detail, String content, String contentText) {
+        boolean contentChanged = detail.getId() == null;
 
         if (!content.equals(detail.getContent())) {
             detail.setContent(content);
-            changed = true;
             contentChanged = true;
         }
 
         if (!Objects.equals(contentText, detail.getContentText())) {
             detail.setContentText(contentText);
-            changed = true;
             contentChanged = true;
         }
 
         if (contentChanged) {
             detail.incrementContentVersion();
         }
+        return contentChanged;
+    }
 
-        if (changed) {
-            repository.save(detail);
-        }
-
-        if (contentChanged) {
-            long newVersion = detail.getContentVersion();
-            String fingerprint = fingerprintCalculator.compute(jobId, contentText);
-            JobSnapshot snapshot = JobSnapshot.from(job);
-            eventPublisher.publishEvent(new JobDetailContentUpdatedEvent(
-                    detail.getId(),
-                    jobId,
-                    snapshot,
-                    content,
-                    contentText,
-                    newVersion,
-                    fingerprint
-            ));
-        }
+    private void publishContentUpdated(JobDetail detail, Job job, String content, String contentText) {
+        Long jobId = job.getId();
+        long newVersion = detail.getContentVersion();
+        String fingerprint = fingerprintCalculator.compute(jobId, contentText);
+        JobSnapshot snapshot = JobSnapshot.from(job);
+        eventPublisher.publishEvent(new JobDetailContentUpdatedEvent(
+                detail.getId(),
+                jobId,
+                snapshot,
+                content,
+                contentText,
+                newVersion,
+                fingerprint
+        ));
     }
 
     @Transactional(readOnly = true)
@@ -166,4 +226,6 @@ public class JobDetailService {
         return repository.findMatchingJobIds(distinctIds, query);
     }
 
+    public record JobContent(Job job, String content) {
+    }
 }
@@ -0,0 +1,57 @@
+package com.vibe.jobs.jobposting.application;
+
+import com.vibe.jobs.jobposting.application.dto.JobDetailEnrichmentsDto;
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
+import com.vibe.jobs.shared.infrastructure.config.JobExportProperties;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 职位目录导出：按主键顺序逐批读取职位，需要时为每批未删除的职位补上详情正文与增强结果。
+ *
+ * 不加事务：职位读取占用只进游标所在的连接，详情按批在各自的只读事务里查询。
+ */
+@Service
+public class JobExportService {
+
+    private final JobRepositoryPort repository;
+    private final JobDetailService jobDetailService;
+    private final JobExportProperties properties;
+
+    public JobExportService(JobRepositoryPort repository,
+                            JobDetailService jobDetailService,
+                            JobExportProperties properties) {
+        this.repository = repository;
+        this.jobDetailService = jobDetailService;
+        this.properties = properties;
+    }
+
+    public void export(Instant updatedSince, boolean includeDetails, Consumer<List<ExportedJob>> consumer) {
+        repository.streamForExport(updatedSince, properties.getBatchSize(), jobs -> {
+            Map<Long, String> contents = Map.of();
+            Map<Long, JobDetailEnrichmentsDto> enrichments = Map.of();
+            if (includeDetails) {
+                List<Long> ids = jobs.stream().filter(job -> !job.isDeleted()).map(Job::getId).toList();
+                contents = jobDetailService.findContentTextByJobIds(ids);
+                enrichments = jobDetailService.findByJobIds(ids);
+            }
+            List<ExportedJob> batch = new ArrayList<>(jobs.size());
+            for (Job job : jobs) {
+                batch.add(new ExportedJob(job, contents.get(job.getId()), enrichments.get(job.getId())));
+            }
+            consumer.accept(batch);
+        });
+    }
+
+    /**
+     * content 与 enrichments 只在 includeDetails 时有值，已删除的职位始终为 null。
+     */
+    public record ExportedJob(Job job, String content, JobDetailEnrichmentsDto enrichments) {
+    }
+}
@@ -0,0 +1,296 @@
+package com.vibe.jobs.jobposting.application;
+
+import com.vibe.jobs.shared.infrastructure.config.JobFacetProperties;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 职位分面计数（公司、地点、级别、标签），数据来自与自动补全、搜索索引共用的 {@link JobCatalog}。
+ *
+ * 无筛选条件时直接读取目录中每个取值的职位数。有筛选条件时先用目录的取值倒排求出候选职位：
+ * 关键字与公司、地点按子串匹配不同的取值再合并其职位，级别按取值精确匹配，只在候选职位上计数；
+ * 每个分面忽略自身的筛选条件（下拉框仍能看到其他可选值）。结果按筛选条件缓存，目录变更后清空。
+ * 目录在后台加载完成之前返回空结果并标记为加载中，不写入缓存。
+ *
+ * 关键字按空白切分后逐个匹配标题、公司、地点和标签的子串，不包含详情正文。
+ */
+@Service
+public class JobFacetService implements JobCatalog.Listener {
+
+    public enum Facet {
+        COMPANY(JobCatalog.Field.COMPANY),
+        LOCATION(JobCatalog.Field.LOCATION),
+        LEVEL(JobCatalog.Field.LEVEL),
+        TAGS(JobCatalog.Field.TAG);
+
+        private final JobCatalog.Field field;
+
+        Facet(JobCatalog.Field field) {
+            this.field = field;
+        }
+
+        JobCatalog.Field field() {
+            return field;
+        }
+    }
+
+    public record FacetCount(String value, long count) {
+    }
+
+    public record FacetResult(long total, Map<Facet, List<FacetCount>> facets, boolean loading) {
+    }
+
+    private final JobCatalog catalog;
+    private final JobFacetProperties properties;
+    private final Map<CacheKey, FacetResult> cache = new LinkedHashMap<>(64, 0.75f, true);
+    private long cacheGeneration;
+
+    public JobFacetService(JobCatalog catalog, JobFacetProperties properties) {
+        this.catalog = catalog;
+        this.properties = properties;
+        catalog.subscribe(this);
+    }
+
+    public FacetResult facets(String q,
+                              String company,
+                              String location,
+                              String level,
+                              Instant postedAfter,
+                              Integer limit) {
+        if (!catalog.isLoaded()) {
+            catalog.loadInBackground();
+            Map<Facet, List<FacetCount>> empty = new EnumMap<>(Facet.class);
+            for (Facet facet : Facet.values()) {
+                empty.put(facet, List.of());
+            }
+            return new FacetResult(0, empty, true);
+        }
+        CacheKey key = new CacheKey(tokens(q), lower(company), lower(location), lower(level), postedAfter,
+                resolveLimit(limit));
+        FacetResult cached = cached(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = cacheGeneration();
+        FacetResult result = catalog.read(reader -> key.unfiltered() ? fromPostings(reader, key.limit()) : filtered(reader, key));
+        cache(key, result, generation);
+        return result;
+    }
+
+    @Override
+    public void onLoaded(Collection<JobCatalog.Entry> entries) {
+        clearCache();
+    }
+
+    @Override
+    public void onChanged(JobCatalog.Entry previous, JobCatalog.Entry current) {
+        clearCache();
+    }
+
+    private FacetResult fromPostings(JobCatalog.Reader reader, int limit) {
+        Map<Facet, List<FacetCount>> facets = new EnumMap<>(Facet.class);
+        for (Facet facet : Facet.values()) {
+            Map<String, Long> counts = new HashMap<>();
+            Map<String, String> labels = new HashMap<>();
+            for (JobCatalog.Posting posting : reader.values(facet.field())) {
+                String key = JobCatalog.key(posting.label());
+                counts.put(key, (long) posting.count());
+                labels.put(key, posting.label());
+            }
+            facets.put(facet, top(counts, labels, limit));
+        }
+        return new FacetResult(reader.size(), facets, false);
+    }
+
+    /**
+     * 每个分面的候选职位是除自身以外其余筛选条件的交集；null 表示该条件不限制。
+     */
+    private FacetResult filtered(JobCatalog.Reader reader, CacheKey key) {
+        Set<Long> byTokens = null;
+        for (String token : key.tokens()) {
+            Set<Long> matches = new HashSet<>();
+            matches.addAll(reader.idsContaining(JobCatalog.Field.TITLE, token));
+            matches.addAll(reader.idsContaining(JobCatalog.Field.COMPANY, token));
+            matches.addAll(reader.idsContaining(JobCatalog.Field.LOCATION, token));
+            matches.addAll(reader.idsContaining(JobCatalog.Field.TAG, token));
+            byTokens = intersect(byTokens, matches);
+        }
+        Set<Long> byCompany = key.company() == null ? null : reader.idsContaining(JobCatalog.Field.COMPANY, key.company());
+        Set<Long> byLocation = key.location() == null ? null : reader.idsContaining(JobCatalog.Field.LOCATION, key.location());
+        Set<Long> byLevel = key.level() == null ? null : reader.idsEqualTo(JobCatalog.Field.LEVEL, key.level());
+
+        Map<Facet, List<FacetCount>> facets = new EnumMap<>(Facet.class);
+        Tally all = tally(reader, key, Facet.TAGS, byTokens, byCompany, byLocation, byLevel);
+        facets.put(Facet.TAGS, all.top(key.limit()));
+        facets.put(Facet.COMPANY, tally(reader, key, Facet.COMPANY, byTokens, byLocation, byLevel).top(key.limit()));
+        facets.put(Facet.LOCATION, tally(reader, key, Facet.LOCATION, byTokens, byCompany, byLevel).top(key.limit()));
+        facets.put(Facet.LEVEL, tally(reader, key, Facet.LEVEL, byTokens, byCompany, byLocation).top(key.limit()));
+        return new FacetResult(all.matched, facets, false);
+    }
+
+    @SafeVarargs
+    private Tally tally(JobCatalog.Reader reader, CacheKey key, Facet facet, Set<Long>... filters) {
+        Set<Long> candidates = null;
+        for (Set<Long> filter : filters) {
+            candidates = intersect(candidates, filter);
+        }
+        Tally tally = new Tally(reader, facet.field());
+        if (candidates == null) {
+            for (JobCatalog.Entry entry : reader.entries()) {
+                tally.add(facet, entry, key.postedAfter());
+            }
+        } else {
+            for (Long id : candidates) {
+                JobCatalog.Entry entry = reader.entry(id);
+                if (entry != null) {
+                    tally.add(facet, entry, key.postedAfter());
+                }
+            }
+        }
+        return tally;
+    }
+
+    private static Set<Long> intersect(Set<Long> current, Set<Long> next) {
+        if (next == null) {
+            return current;
+        }
+        if (current == null) {
+            return next;
+        }
+        Set<Long> smaller = current.size() <= next.size() ? current : next;
+        Set<Long> larger = smaller == current ? next : current;
+        Set<Long> result = new HashSet<>();
+        for (Long id : smaller) {
+            if (larger.contains(id)) {
+                result.add(id);
+            }
+        }
+        return result;
+    }
+
+    private static List<FacetCount> top(Map<String, Long> counts, Map<String, String> labels, int limit) {
+        return counts.entrySet().stream()
+                .filter(value -> value.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(value -> new FacetCount(labels.get(value.getKey()), value.getValue()))
+                .toList();
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return Math.min(properties.getDefaultLimit(), properties.getMaxLimit());
+        }
+        return Math.min(limit, properties.getMaxLimit());
+    }
+
+    private synchronized FacetResult cached(CacheKey key) {
+        return cache.get(key);
+    }
+
+    private synchronized long cacheGeneration() {
+        return cacheGeneration;
+    }
+
+    /**
+     * 计算期间发生过变更时不写入缓存，避免把变更前的结果留在缓存里。
+     */
+    private synchronized void cache(CacheKey key, FacetResult result, long generation) {
+        if (properties.getCacheMaxEntries() == 0 || generation != cacheGeneration) {
+            return;
+        }
+        cache.put(key, result);
+        var eldest = cache.keySet().iterator();
+        while (cache.size() > properties.getCacheMaxEntries() && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private synchronized void clearCache() {
+        cacheGeneration++;
+        cache.clear();
+    }
+
+    private static List<String> tokens(String q) {
+        String normalized = lower(q);
+        if (normalized == null) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : normalized.split("\\s+")) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return List.copyOf(tokens);
+    }
+
+    private static String lower(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * 某个分面在候选职位上的计数，展示写法取自目录中该取值的写法。
+     */
+    private static final class Tally {
+
+        private final JobCatalog.Reader reader;
+        private final JobCatalog.Field field;
+        private final Map<String, Long> counts = new HashMap<>();
+        private long matched;
+
+        private Tally(JobCatalog.Reader reader, JobCatalog.Field field) {
+            this.reader = reader;
+            this.field = field;
+        }
+
+        void add(Facet facet, JobCatalog.Entry entry, Instant postedAfter) {
+            if (postedAfter != null && (entry.postedAt() == null || entry.postedAt().isBefore(postedAfter))) {
+                return;
+            }
+            matched++;
+            if (facet == Facet.TAGS) {
+                entry.tags().forEach(this::count);
+            } else {
+                count(entry.value(facet.field()));
+            }
+        }
+
+        private void count(String value) {
+            if (value != null) {
+                counts.merge(JobCatalog.key(value), 1L, Long::sum);
+            }
+        }
+
+        List<FacetCount> top(int limit) {
+            Map<String, String> labels = new HashMap<>(counts.size() * 2);
+            counts.keySet().forEach(key -> labels.put(key, reader.label(field, key)));
+            return JobFacetService.top(counts, labels, limit);
+        }
+    }
+
+    private record CacheKey(List<String> tokens, String company, String location, String level, Instant postedAfter,
+                            int limit) {
+
+        boolean unfiltered() {
+            return tokens.isEmpty() && company == null && location == null && level == null && postedAfter == null;
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.vibe.jobs.jobposting.application;
+
+import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * 重建 job_search_documents 投影。按主键分批遍历职位，每批单独提交，
+ * 用于迁移回填之后的校正或调整截断长度后的全量刷新。
+ */
+@Service
+public class JobSearchDocumentMaintenanceService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobSearchDocumentMaintenanceService.class);
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+
+    private final JobRepositoryPort jobRepository;
+
+    public JobSearchDocumentMaintenanceService(JobRepositoryPort jobRepository) {
+        this.jobRepository = jobRepository;
+    }
+
+    public MaintenanceResult rebuild(Integer requestedBatchSize) {
+        int batchSize = normalizeBatchSize(requestedBatchSize);
+        long processed = 0L;
+        long updated = 0L;
+        int batches = 0;
+        long afterId = 0L;
+
+        while (true) {
+            List<Long> ids = jobRepository.findIdsAfter(afterId, batchSize);
+            if (ids.isEmpty()) {
+                break;
+            }
+            processed += ids.size();
+            updated += jobRepository.refreshSearchDocuments(ids);
+            batches++;
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+
+        log.info("Rebuilt job search documents: processed={}, updated={}, batches={}, batchSize={}",
+                processed, updated, batches, batchSize);
+        return new MaintenanceResult(processed, updated, batches, batchSize);
+    }
+
+    private int normalizeBatchSize(Integer requestedBatchSize) {
+        if (requestedBatchSize == null || requestedBatchSize < 1) {
+            return DEFAULT_BATCH_SIZE;
+        }
+        int maxBatchSize = 2000;
+        return Math.min(requestedBatchSize, maxBatchSize);
+    }
+
+    public record MaintenanceResult(long processed, long updated, int batches, int batchSize) {
+    }
+}
@@ -8,8 +8,16 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 public class JobService {
@@ -47,6 +55,97 @@ public class JobService {
         return repo.save(incoming);
     }
 
+    /**
+     * 批量版 upsert：整批按 (source, externalId) 一次 IN 查询，内存中比对 checksum，
+     * 只把新增和真正变化的职位交给仓储批量写入。语义与逐条调用 {@link #upsert(Job)} 一致，
+     * 返回结果与入参顺序一一对应（null 入参对应 null）。
+     */
+    @Transactional
+    public List<Job> upsertAll(List<Job> incoming){
+        if(incoming == null || incoming.isEmpty()){
+            return List.of();
+        }
+
+        Map<String, Set<String>> externalIdsBySource = new LinkedHashMap<>();
+        for(Job job : incoming){
+            if(job != null){
+                externalIdsBySource.computeIfAbsent(job.getSource(), key -> new LinkedHashSet<>()).add(job.getExternalId());
+            }
+        }
+        Map<String, Job> byKey = new HashMap<>();
+        externalIdsBySource.forEach((source, externalIds) ->
+                repo.findBySourceAndExternalIds(source, externalIds)
+                        .forEach(job -> byKey.put(sourceKey(job), job)));
+
+        Set<String> companies = new LinkedHashSet<>();
+        Set<String> titles = new LinkedHashSet<>();
+        for(Job job : incoming){
+            if(job != null && !byKey.containsKey(sourceKey(job)) && hasCompanyAndTitle(job)){
+                companies.add(job.getCompany());
+                titles.add(job.getTitle());
+            }
+        }
+        Map<String, Job> byCompanyTitle = new HashMap<>();
+        if(!companies.isEmpty()){
+            for(Job candidate : repo.findByCompaniesAndTitlesIgnoreCase(companies, titles)){
+                byCompanyTitle.merge(companyTitleKey(candidate), candidate, JobService::mostRecent);
+            }
+        }
+
+        List<Job> results = new ArrayList<>(incoming.size());
+        Set<Job> pending = new LinkedHashSet<>();
+        for(Job job : incoming){
+            if(job == null){
+                results.add(null);
+                continue;
+            }
+            String checksum = checksum(job);
+            Job target = byKey.get(sourceKey(job));
+            if(target == null && hasCompanyAndTitle(job)){
+                target = byCompanyTitle.get(companyTitleKey(job));
+            }
+            if(target != null){
+                if(!checksum.equals(target.getChecksum())){
+                    applyUpdates(target, job, checksum);
+                    pending.add(target);
+                }
+                results.add(target);
+                continue;
+            }
+            job.setChecksum(checksum);
+            pending.add(job);
+            // 同一批次内的重复职位应命中刚排队的新增记录，而不是再插入一次
+            byKey.put(sourceKey(job), job);
+            if(hasCompanyAndTitle(job)){
+                byCompanyTitle.put(companyTitleKey(job), job);
+            }
+            results.add(job);
+        }
+
+        if(!pending.isEmpty()){
+            repo.saveAll(new ArrayList<>(pending));
+        }
+        return results;
+    }
+
+    private static String sourceKey(Job job){
+        return job.getSource() + "\u0000" + job.getExternalId();
+    }
+
+    private static String companyTitleKey(Job job){
+        return job.getCompany().toLowerCase(Locale.ROOT) + "\u0000" + job.getTitle().toLowerCase(Locale.ROOT);
+    }
+
+    private static Job mostRecent(Job left, Job right){
+        if(left.getCreatedAt() == null){
+            return right;
+        }
+        if(right.getCreatedAt() == null){
+            return left;
+        }
+        return right.getCreatedAt().isAfter(left.getCreatedAt()) ? right : left;
+    }
+
     private String checksum(Job j){
         try{
             MessageDigest md = MessageDigest.getInstance("SHA-256");
@@ -0,0 +1,156 @@
+package com.vibe.jobs.jobposting.application;
+
+import com.vibe.jobs.shared.infrastructure.config.JobSuggestProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 标题、公司、地点的自动补全。
+ *
+ * 前缀树由 {@link JobCatalog} 加载完成时建立，之后随目录的逐条变更增量维护，不再单独加载或监听职位事件；
+ * 每个取值按引用它的职位数排序。输入较短时只做前缀匹配，较长时允许少量拼写错误。
+ * 目录在启动后于后台加载，加载完成前请求不等待，直接返回标记为 loading 的空结果；新的前缀树建好后才替换旧的，
+ * 建立期间的请求不受阻塞。
+ */
+@Service
+public class JobSuggestService implements JobCatalog.Listener {
+
+    private static final Logger log = LoggerFactory.getLogger(JobSuggestService.class);
+
+    public enum Field {
+        TITLE,
+        COMPANY,
+        LOCATION
+    }
+
+    public record Suggestion(String value, long count, int edits) {
+    }
+
+    /**
+     * loading 为 true 表示职位目录尚未加载完成，suggestions 中的空列表不代表没有候选。
+     */
+    public record SuggestResult(Map<Field, List<Suggestion>> suggestions, boolean loading) {
+    }
+
+    private final JobCatalog catalog;
+    private final JobSuggestProperties properties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // 由 lock 保护，整体替换
+    private Map<Field, SuggestionTrie> tries;
+    private volatile boolean loaded;
+
+    public JobSuggestService(JobCatalog catalog, JobSuggestProperties properties) {
+        this.catalog = catalog;
+        this.properties = properties;
+        this.tries = emptyTries();
+        catalog.subscribe(this);
+    }
+
+    public SuggestResult suggest(String q, Collection<Field> fields, Integer limit) {
+        Map<Field, List<Suggestion>> result = new EnumMap<>(Field.class);
+        String normalized = SuggestionTrie.normalize(q);
+        Set<Field> requested = fields == null || fields.isEmpty() ? Set.of(Field.values()) : Set.copyOf(fields);
+        if (normalized == null || !loaded) {
+            if (!loaded) {
+                catalog.loadInBackground();
+            }
+            requested.forEach(field -> result.put(field, List.of()));
+            return new SuggestResult(result, !loaded);
+        }
+        int resolvedLimit = resolveLimit(limit);
+        int maxEdits = allowedEdits(normalized.length());
+        lock.readLock().lock();
+        try {
+            for (Field field : requested) {
+                result.put(field, tries.get(field)
+                        .suggest(normalized, resolvedLimit, maxEdits, properties.getMaxVisitedNodes()).stream()
+                        .map(match -> new Suggestion(match.value(), match.count(), match.edits()))
+                        .toList());
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new SuggestResult(result, false);
+    }
+
+    @Override
+    public void onLoaded(Collection<JobCatalog.Entry> entries) {
+        long start = System.nanoTime();
+        Map<Field, SuggestionTrie> built = emptyTries();
+        entries.forEach(entry -> add(built, entry));
+        built.values().forEach(SuggestionTrie::refresh);
+        lock.writeLock().lock();
+        try {
+            tries = built;
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Job suggestions built with {} titles, {} companies, {} locations in {} ms",
+                built.get(Field.TITLE).size(), built.get(Field.COMPANY).size(), built.get(Field.LOCATION).size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @Override
+    public void onChanged(JobCatalog.Entry previous, JobCatalog.Entry current) {
+        lock.writeLock().lock();
+        try {
+            if (previous != null) {
+                remove(tries, previous);
+            }
+            if (current != null) {
+                add(tries, current);
+            }
+            tries.values().forEach(SuggestionTrie::refresh);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private Map<Field, SuggestionTrie> emptyTries() {
+        Map<Field, SuggestionTrie> empty = new EnumMap<>(Field.class);
+        for (Field field : Field.values()) {
+            empty.put(field, new SuggestionTrie(properties.getMaxLimit()));
+        }
+        return empty;
+    }
+
+    private static void add(Map<Field, SuggestionTrie> tries, JobCatalog.Entry entry) {
+        tries.get(Field.TITLE).add(entry.title());
+        tries.get(Field.COMPANY).add(entry.company());
+        tries.get(Field.LOCATION).add(entry.location());
+    }
+
+    private static void remove(Map<Field, SuggestionTrie> tries, JobCatalog.Entry entry) {
+        tries.get(Field.TITLE).remove(entry.title());
+        tries.get(Field.COMPANY).remove(entry.company());
+        tries.get(Field.LOCATION).remove(entry.location());
+    }
+
+    /**
+     * 短输入的拼写纠正噪音大于收益：未达 fuzzy-min-length 只做前缀匹配，达到两倍长度才放开到 max-edits。
+     */
+    private int allowedEdits(int length) {
+        int minLength = properties.getFuzzyMinLength();
+        if (length < minLength) {
+            return 0;
+        }
+        return length < minLength * 2 ? Math.min(1, properties.getMaxEdits()) : properties.getMaxEdits();
+    }
+
+    private int resolveLimit(Integer limit) {
+        if (limit == null || limit < 1) {
+            return Math.min(properties.getDefaultLimit(), properties.getMaxLimit());
+        }
+        return Math.min(limit, properties.getMaxLimit());
+    }
+}
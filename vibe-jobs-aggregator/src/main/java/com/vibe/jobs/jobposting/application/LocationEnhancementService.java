@@ -26,41 +26,15 @@ public class LocationEnhancementService {
             return jobs;
         }
 
-        List<FetchedJob> enhanced = new ArrayList<>();
+        List<FetchedJob> enhanced = new ArrayList<>(jobs.size());
         int enhancedCount = 0;
 
         for (FetchedJob fetchedJob : jobs) {
-            Job job = fetchedJob.job();
-            String originalLocation = job.getLocation();
-            
-            // 如果location为空或无效，尝试智能提取
-            if (isLocationEmpty(originalLocation)) {
-                String enhancedLocation = extractLocationFromJobData(job);
-                if (enhancedLocation != null) {
-                    Job enhancedJob = Job.builder()
-                            .source(job.getSource())
-                            .externalId(job.getExternalId())
-                            .title(job.getTitle())
-                            .company(job.getCompany())
-                            .location(enhancedLocation)
-                            .level(job.getLevel())
-                            .postedAt(job.getPostedAt())
-                            .url(job.getUrl())
-                            .checksum(job.getChecksum())
-                            .tags(job.getTags())
-                            .build();
-                    
-                    enhanced.add(new FetchedJob(enhancedJob, fetchedJob.content()));
-                    enhancedCount++;
-                    
-                    log.info("Enhanced location for job '{}': '{}' -> '{}'", 
-                             job.getTitle(), originalLocation, enhancedLocation);
-                } else {
-                    enhanced.add(fetchedJob);
-                }
-            } else {
-                enhanced.add(fetchedJob);
+            FetchedJob result = enhance(fetchedJob);
+            if (result != fetchedJob) {
+                enhancedCount++;
             }
+            enhanced.add(result);
         }
 
         if (enhancedCount > 0) {
@@ -70,6 +44,39 @@ public class LocationEnhancementService {
         return enhanced;
     }
 
+    /**
+     * 增强单个job的location信息；无需增强时返回原对象。
+     */
+    public FetchedJob enhance(FetchedJob fetchedJob) {
+        Job job = fetchedJob.job();
+        String originalLocation = job.getLocation();
+
+        // 如果location为空或无效，尝试智能提取
+        if (!isLocationEmpty(originalLocation)) {
+            return fetchedJob;
+        }
+        String enhancedLocation = extractLocationFromJobData(job);
+        if (enhancedLocation == null) {
+            return fetchedJob;
+        }
+        Job enhancedJob = Job.builder()
+                .source(job.getSource())
+                .externalId(job.getExternalId())
+                .title(job.getTitle())
+                .company(job.getCompany())
+                .location(enhancedLocation)
+                .level(job.getLevel())
+                .postedAt(job.getPostedAt())
+                .url(job.getUrl())
+                .checksum(job.getChecksum())
+                .tags(job.getTags())
+                .build();
+
+        log.info("Enhanced location for job '{}': '{}' -> '{}'",
+                 job.getTitle(), originalLocation, enhancedLocation);
+        return new FetchedJob(enhancedJob, fetchedJob.content());
+    }
+
     /**
      * 从job的各个字段中智能提取location信息
      */
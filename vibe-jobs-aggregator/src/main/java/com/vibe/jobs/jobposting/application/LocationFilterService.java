@@ -19,7 +19,14 @@ public class LocationFilterService {
     public LocationFilterService(IngestionProperties properties) {
         this.properties = properties;
     }
-    
+
+    /**
+     * 当前配置编译后的过滤器；配置变化后的首次调用重新编译。
+     */
+    public IngestionProperties.LocationFilter.Compiled compiled() {
+        return properties.getLocationFilter().compiled();
+    }
+
     /**
      * 根据配置的location过滤器过滤job列表
      */
@@ -31,8 +38,9 @@ public class LocationFilterService {
             return jobs;
         }
         
+        IngestionProperties.LocationFilter.Compiled compiledFilter = compiled();
         List<FetchedJob> filteredJobs = jobs.stream()
-                .filter(job -> filter.matches(job.job().getLocation()))
+                .filter(job -> compiledFilter.matches(job.job().getLocation()))
                 .collect(Collectors.toList());
         
         int originalSize = jobs.size();
@@ -50,8 +58,7 @@ public class LocationFilterService {
      * 检查单个job是否符合location过滤条件
      */
     public boolean matchesLocationFilter(String location) {
-        IngestionProperties.LocationFilter filter = properties.getLocationFilter();
-        return filter.matches(location);
+        return compiled().matches(location);
     }
     
     /**
@@ -86,4 +93,4 @@ public class LocationFilterService {
         
         return status.toString().trim();
     }
-}
\ No newline at end of file
+}
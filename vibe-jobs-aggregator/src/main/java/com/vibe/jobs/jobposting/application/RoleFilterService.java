@@ -2,12 +2,12 @@ package com.vibe.jobs.jobposting.application;
 
 import com.vibe.jobs.shared.infrastructure.config.IngestionProperties;
 import com.vibe.jobs.ingestion.infrastructure.sourceclient.FetchedJob;
+import com.vibe.jobs.shared.domain.KeywordMatcher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
-import java.util.Locale;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -17,19 +17,20 @@ public class RoleFilterService {
     private static final Logger log = LoggerFactory.getLogger(RoleFilterService.class);
 
     private final IngestionProperties properties;
+    private volatile CompiledFilter compiled;
 
     public RoleFilterService(IngestionProperties properties) {
         this.properties = properties;
     }
 
     public List<FetchedJob> filter(List<FetchedJob> jobs) {
-        IngestionProperties.RoleFilter filter = properties.getRoleFilter();
+        CompiledFilter filter = compiled();
         if (!filter.isEnabled() || jobs == null || jobs.isEmpty()) {
             return jobs;
         }
 
         List<FetchedJob> filtered = jobs.stream()
-                .filter(job -> matches(filter, job))
+                .filter(filter::matches)
                 .collect(Collectors.toList());
 
         if (jobs.size() != filtered.size()) {
@@ -39,6 +40,21 @@ public class RoleFilterService {
         return filtered;
     }
 
+    /**
+     * 当前配置编译后的过滤器；配置整体替换（设置更新时）或版本号变化后的首次调用重新编译，
+     * 其余调用只比较引用和版本号。
+     */
+    public CompiledFilter compiled() {
+        IngestionProperties.RoleFilter filter = properties.getRoleFilter();
+        int version = filter.version();
+        CompiledFilter current = compiled;
+        if (current == null || current.source != filter || current.version != version) {
+            current = new CompiledFilter(filter, version);
+            compiled = current;
+        }
+        return current;
+    }
+
     public String getFilterStatus() {
         IngestionProperties.RoleFilter filter = properties.getRoleFilter();
         if (!filter.isEnabled()) {
@@ -55,60 +71,59 @@ public class RoleFilterService {
         return status.toString().trim();
     }
 
-    private boolean matches(IngestionProperties.RoleFilter filter, FetchedJob fetchedJob) {
-        if (fetchedJob == null || fetchedJob.job() == null) {
-            return false;
-        }
-        String title = normalize(fetchedJob.job().getTitle());
-        String rawTitle = safe(fetchedJob.job().getTitle());
-        String content = filter.isSearchDescription() ? normalize(fetchedJob.content()) : "";
-        String rawContent = filter.isSearchDescription() ? safe(fetchedJob.content()) : "";
-        String tags = normalize(joinTags(fetchedJob.job().getTags()));
-
-        if (containsAny(filter.getExcludeKeywords(), title, rawTitle, content, rawContent, tags)) {
-            return false;
+    /**
+     * 编译后的职位角色过滤器：标题、描述、标签各只小写一次，先排除后包含。
+     * 原实现同时比较原文与小写文本，小写后的包含关系已覆盖原文命中的情况。
+     */
+    public static final class CompiledFilter {
+
+        private final IngestionProperties.RoleFilter source;
+        private final int version;
+        private final boolean enabled;
+        private final boolean searchDescription;
+        private final boolean includeConfigured;
+        private final KeywordMatcher exclude;
+        private final KeywordMatcher include;
+
+        private CompiledFilter(IngestionProperties.RoleFilter filter, int version) {
+            this.source = filter;
+            this.version = version;
+            this.enabled = filter.isEnabled();
+            this.searchDescription = filter.isSearchDescription();
+            this.includeConfigured = !filter.getIncludeKeywords().isEmpty();
+            this.exclude = KeywordMatcher.of(filter.getExcludeKeywords());
+            this.include = KeywordMatcher.of(filter.getIncludeKeywords());
         }
 
-        if (filter.getIncludeKeywords().isEmpty()) {
-            return true;
+        public boolean isEnabled() {
+            return enabled;
         }
 
-        return containsAny(filter.getIncludeKeywords(), title, rawTitle, content, rawContent, tags);
-    }
+        public boolean matches(FetchedJob fetchedJob) {
+            if (!enabled) {
+                return true;
+            }
+            if (fetchedJob == null || fetchedJob.job() == null) {
+                return false;
+            }
+            String title = KeywordMatcher.normalize(fetchedJob.job().getTitle());
+            String content = searchDescription ? KeywordMatcher.normalize(fetchedJob.content()) : "";
+            String tags = KeywordMatcher.normalize(joinTags(fetchedJob.job().getTags()));
 
-    private boolean containsAny(List<String> keywords, String... haystacks) {
-        if (keywords == null || keywords.isEmpty()) {
-            return false;
-        }
-        for (String keyword : keywords) {
-            if (keyword == null || keyword.isBlank()) {
-                continue;
+            if (exclude.matchesAny(title) || exclude.matchesAny(content) || exclude.matchesAny(tags)) {
+                return false;
             }
-            String normalizedKeyword = keyword.toLowerCase(Locale.ROOT).trim();
-            for (String haystack : haystacks) {
-                if (haystack == null || haystack.isBlank()) {
-                    continue;
-                }
-                if (haystack.contains(normalizedKeyword) || haystack.contains(keyword.trim())) {
-                    return true;
-                }
+            if (!includeConfigured) {
+                return true;
             }
+            return include.matchesAny(title) || include.matchesAny(content) || include.matchesAny(tags);
         }
-        return false;
-    }
-
-    private String normalize(String value) {
-        return value == null ? "" : value.toLowerCase(Locale.ROOT);
-    }
-
-    private String safe(String value) {
-        return value == null ? "" : value;
-    }
 
-    private String joinTags(Set<String> tags) {
-        if (tags == null || tags.isEmpty()) {
-            return "";
+        private static String joinTags(Set<String> tags) {
+            if (tags == null || tags.isEmpty()) {
+                return "";
+            }
+            return String.join(" ", tags);
         }
-        return String.join(" ", tags);
     }
 }
@@ -0,0 +1,420 @@
+package com.vibe.jobs.jobposting.application;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 自动补全用的压缩前缀树（边上存字符串的 radix tree）。
+ *
+ * 每个取值按规范化后的完整文本，以及其中每个词的起始位置各插入一次，输入 "engineer" 也能补全
+ * "Senior Software Engineer"。每个节点缓存子树内按职位数排序的前 topK 个取值，前缀查询只需走到
+ * 前缀所在节点；写入只把路径标记为脏，{@link #refresh()} 时自底向上只重算脏节点。
+ *
+ * 容错匹配在树上逐字符计算编辑距离（含相邻字符交换）的 DP 行，行内最小值超过允许的编辑次数即剪枝，
+ * 并限制访问的节点数，保证单次查询的耗时上限。
+ *
+ * 非线程安全，由调用方加锁；查询不修改任何状态，可在读锁下并发执行。
+ */
+final class SuggestionTrie {
+
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Value[] NO_VALUES = new Value[0];
+    private static final int MAX_WORD_KEYS = 8;
+
+    private static final Comparator<Value> RANKING = Comparator.comparingLong((Value value) -> value.count).reversed()
+            .thenComparingInt(value -> value.key.length())
+            .thenComparing(value -> value.key);
+
+    private final int topK;
+    private final Node root = new Node("");
+    private final Map<String, Value> values = new HashMap<>();
+
+    SuggestionTrie(int topK) {
+        this.topK = Math.max(1, topK);
+    }
+
+    record Suggestion(String value, long count, int edits) {
+    }
+
+    /**
+     * 取值对应的职位数加一；首次出现时插入前缀树并记住原始写法用于展示。
+     */
+    void add(String label) {
+        String key = normalize(label);
+        if (key == null) {
+            return;
+        }
+        Value value = values.get(key);
+        if (value == null) {
+            value = new Value(key, label.trim());
+            values.put(key, value);
+            for (String indexKey : indexKeys(key)) {
+                insert(indexKey, value);
+            }
+        } else {
+            markDirty(value);
+        }
+        value.count++;
+    }
+
+    /**
+     * 取值对应的职位数减一，降到 0 时从前缀树摘除（节点保留，不再出现在结果中）。
+     */
+    void remove(String label) {
+        String key = normalize(label);
+        if (key == null) {
+            return;
+        }
+        Value value = values.get(key);
+        if (value == null) {
+            return;
+        }
+        markDirty(value);
+        if (--value.count > 0) {
+            return;
+        }
+        values.remove(key);
+        for (String indexKey : indexKeys(key)) {
+            Node node = find(indexKey);
+            if (node != null) {
+                node.removeTerminal(value);
+            }
+        }
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    /**
+     * 重算所有脏节点的前 topK 缓存。
+     */
+    void refresh() {
+        refresh(root);
+    }
+
+    /**
+     * 返回与 query 前缀匹配（编辑距离不超过 maxEdits）的取值，按编辑次数、职位数排序。
+     * 调用前需已 {@link #refresh()}。
+     */
+    List<Suggestion> suggest(String query, int limit, int maxEdits, int maxVisitedNodes) {
+        String key = normalize(query);
+        if (key == null || limit < 1) {
+            return List.of();
+        }
+        Search search = new Search(key.toCharArray(), Math.max(0, maxEdits), Math.max(1, maxVisitedNodes));
+        int[] row = new int[key.length() + 1];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = i;
+        }
+        if (row[key.length()] <= search.maxEdits) {
+            search.collect(root, row[key.length()]);
+        }
+        search.visit(root, row, null, '\0');
+        List<Map.Entry<Value, Integer>> ranked = new ArrayList<>(search.best.entrySet());
+        ranked.sort(Map.Entry.<Value, Integer>comparingByValue()
+                .thenComparing(Map.Entry.comparingByKey(RANKING)));
+        List<Suggestion> suggestions = new ArrayList<>(Math.min(limit, ranked.size()));
+        for (Map.Entry<Value, Integer> entry : ranked) {
+            if (suggestions.size() == limit) {
+                break;
+            }
+            suggestions.add(new Suggestion(entry.getKey().label, entry.getKey().count, entry.getValue()));
+        }
+        return suggestions;
+    }
+
+    /**
+     * 小写、去掉变音符号并合并空白；空白串返回 null。
+     */
+    static String normalize(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String decomposed = Normalizer.normalize(value.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return decomposed.toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    /**
+     * 完整文本加上每个词的起始位置开始的后缀。
+     */
+    static Set<String> indexKeys(String key) {
+        Set<String> keys = new LinkedHashSet<>();
+        keys.add(key);
+        for (int i = 1; i < key.length() && keys.size() < MAX_WORD_KEYS; i++) {
+            if (Character.isLetterOrDigit(key.charAt(i)) && !Character.isLetterOrDigit(key.charAt(i - 1))) {
+                keys.add(key.substring(i));
+            }
+        }
+        return keys;
+    }
+
+    private void insert(String key, Value value) {
+        Node node = root;
+        node.dirty = true;
+        int offset = 0;
+        while (offset < key.length()) {
+            int index = node.indexOf(key.charAt(offset));
+            if (index < 0) {
+                Node leaf = new Node(key.substring(offset));
+                leaf.dirty = true;
+                node.insertChild(leaf);
+                node = leaf;
+                offset = key.length();
+                break;
+            }
+            Node child = node.children[index];
+            int common = commonPrefix(child.edge, key, offset);
+            if (common < child.edge.length()) {
+                // 拆分边：公共部分成为新的中间节点
+                Node middle = new Node(child.edge.substring(0, common));
+                child.edge = child.edge.substring(common);
+                middle.children = new Node[]{child};
+                middle.top = child.top;
+                node.children[index] = middle;
+                child = middle;
+            }
+            child.dirty = true;
+            node = child;
+            offset += common;
+        }
+        node.addTerminal(value);
+    }
+
+    private void markDirty(Value value) {
+        for (String indexKey : indexKeys(value.key)) {
+            Node node = root;
+            node.dirty = true;
+            int offset = 0;
+            while (node != null && offset < indexKey.length()) {
+                int index = node.indexOf(indexKey.charAt(offset));
+                if (index < 0) {
+                    break;
+                }
+                node = node.children[index];
+                node.dirty = true;
+                offset += node.edge.length();
+            }
+        }
+    }
+
+    private Node find(String key) {
+        Node node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            int index = node.indexOf(key.charAt(offset));
+            if (index < 0) {
+                return null;
+            }
+            node = node.children[index];
+            if (commonPrefix(node.edge, key, offset) < node.edge.length()) {
+                return null;
+            }
+            offset += node.edge.length();
+        }
+        return node;
+    }
+
+    private void refresh(Node node) {
+        if (!node.dirty) {
+            return;
+        }
+        List<Value> candidates = new ArrayList<>(node.terminals.length + node.children.length * topK);
+        candidates.addAll(Arrays.asList(node.terminals));
+        for (Node child : node.children) {
+            refresh(child);
+            candidates.addAll(Arrays.asList(child.top));
+        }
+        candidates.sort(RANKING);
+        List<Value> top = new ArrayList<>(Math.min(topK, candidates.size()));
+        Value previous = null;
+        for (Value candidate : candidates) {
+            if (top.size() == topK) {
+                break;
+            }
+            // 同一取值可能从多个词的后缀进入同一棵子树，排序后相邻
+            if (candidate != previous && !top.contains(candidate)) {
+                top.add(candidate);
+            }
+            previous = candidate;
+        }
+        node.top = top.toArray(NO_VALUES);
+        node.dirty = false;
+    }
+
+    private static int commonPrefix(String edge, String key, int offset) {
+        int max = Math.min(edge.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && edge.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    private static final class Value {
+
+        private final String key;
+        private final String label;
+        private long count;
+
+        private Value(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+    }
+
+    private static final class Node {
+
+        private String edge;
+        private Node[] children = NO_CHILDREN;
+        private Value[] terminals = NO_VALUES;
+        private Value[] top = NO_VALUES;
+        private boolean dirty;
+
+        private Node(String edge) {
+            this.edge = edge;
+        }
+
+        private int indexOf(char first) {
+            int low = 0;
+            int high = children.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char c = children[mid].edge.charAt(0);
+                if (c < first) {
+                    low = mid + 1;
+                } else if (c > first) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -1;
+        }
+
+        private void insertChild(Node child) {
+            char first = child.edge.charAt(0);
+            int position = 0;
+            while (position < children.length && children[position].edge.charAt(0) < first) {
+                position++;
+            }
+            Node[] expanded = new Node[children.length + 1];
+            System.arraycopy(children, 0, expanded, 0, position);
+            expanded[position] = child;
+            System.arraycopy(children, position, expanded, position + 1, children.length - position);
+            children = expanded;
+        }
+
+        private void addTerminal(Value value) {
+            for (Value terminal : terminals) {
+                if (terminal == value) {
+                    return;
+                }
+            }
+            terminals = Arrays.copyOf(terminals, terminals.length + 1);
+            terminals[terminals.length - 1] = value;
+        }
+
+        private void removeTerminal(Value value) {
+            for (int i = 0; i < terminals.length; i++) {
+                if (terminals[i] == value) {
+                    Value[] shrunk = new Value[terminals.length - 1];
+                    System.arraycopy(terminals, 0, shrunk, 0, i);
+                    System.arraycopy(terminals, i + 1, shrunk, i, terminals.length - i - 1);
+                    terminals = shrunk;
+                    dirty = true;
+                    return;
+                }
+            }
+        }
+    }
+
+    private static final class Search {
+
+        private final char[] query;
+        private final int maxEdits;
+        private final Map<Value, Integer> best = new HashMap<>();
+        private int budget;
+
+        private Search(char[] query, int maxEdits, int budget) {
+            this.query = query;
+            this.maxEdits = maxEdits;
+            this.budget = budget;
+        }
+
+        /**
+         * row 为到达当前节点时的 DP 行（query 各前缀与已走过路径的编辑距离），previous 为上一行，
+         * 用于识别相邻字符交换。
+         */
+        private void visit(Node node, int[] row, int[] previous, char last) {
+            for (Node child : node.children) {
+                if (budget-- <= 0) {
+                    return;
+                }
+                int[] current = row;
+                int[] before = previous;
+                char lastChar = last;
+                int matched = Integer.MAX_VALUE;
+                boolean alive = true;
+                for (int i = 0; i < child.edge.length(); i++) {
+                    char c = child.edge.charAt(i);
+                    int[] next = step(current, before, lastChar, c);
+                    before = current;
+                    current = next;
+                    lastChar = c;
+                    matched = Math.min(matched, current[query.length]);
+                    if (min(current) > maxEdits) {
+                        alive = false;
+                        break;
+                    }
+                }
+                if (matched <= maxEdits) {
+                    // 前缀在这条边上的某个位置已匹配，子树内的取值都是候选
+                    collect(child, matched);
+                    if (matched == 0) {
+                        continue;
+                    }
+                }
+                if (alive) {
+                    visit(child, current, before, lastChar);
+                }
+            }
+        }
+
+        private int[] step(int[] row, int[] previous, char last, char c) {
+            int[] next = new int[row.length];
+            next[0] = row[0] + 1;
+            for (int i = 1; i < row.length; i++) {
+                int cost = query[i - 1] == c ? 0 : 1;
+                int value = Math.min(Math.min(next[i - 1] + 1, row[i] + 1), row[i - 1] + cost);
+                if (previous != null && i > 1 && query[i - 1] == last && query[i - 2] == c) {
+                    value = Math.min(value, previous[i - 2] + 1);
+                }
+                next[i] = value;
+            }
+            return next;
+        }
+
+        private void collect(Node node, int edits) {
+            for (Value value : node.top) {
+                best.merge(value, edits, Math::min);
+            }
+        }
+
+        private static int min(int[] row) {
+            int min = Integer.MAX_VALUE;
+            for (int value : row) {
+                min = Math.min(min, value);
+            }
+            return min;
+        }
+    }
+}
@@ -5,6 +5,7 @@ import com.vibe.jobs.jobposting.domain.JobDetail;
 import com.vibe.jobs.jobposting.domain.JobDetailEnrichment;
 import com.vibe.jobs.jobposting.domain.JobDetailEnrichmentStatus;
 import com.vibe.jobs.jobposting.domain.JobEnrichmentKey;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
 import com.vibe.jobs.jobposting.domain.spi.JobDetailEnrichmentRepositoryPort;
 import com.vibe.jobs.jobposting.application.JobContentFingerprintCalculator;
 import org.slf4j.Logger;
@@ -92,6 +93,8 @@ public class JobDetailEnrichmentRetryScheduler {
                     fingerprint
             );
             eventPublisher.publishEvent(event);
+            // 状态改为 RETRYING 走的是单条更新，不经过详情仓储，需要单独通知详情缓存
+            eventPublisher.publishEvent(JobsChangedEvent.detailChanged(List.of(job.getId())));
             log.info("Scheduled retry for jobDetail {} (job {}), retryCount={} next event dispatched", detail.getId(), job.getId(), enrichment.getRetryCount());
         }
     }
@@ -0,0 +1,72 @@
+package com.vibe.jobs.jobposting.domain;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 职位数据变更通知：由仓储在写入后发布，供查询侧缓存判断哪些结果需要失效。
+ *
+ * @param savedJobs         新增或更新后的职位（已带主键）
+ * @param removedJobIds     被软删除的职位
+ * @param detailChangedJobIds 详情正文或增强结果发生变化的职位
+ * @param previous          更新或软删除之前仍有效的职位的公司、地点、级别；新增的职位没有条目
+ */
+public record JobsChangedEvent(List<Job> savedJobs,
+                               Set<Long> removedJobIds,
+                               Set<Long> detailChangedJobIds,
+                               Map<Long, Previous> previous) {
+
+    public JobsChangedEvent {
+        savedJobs = savedJobs == null ? List.of() : savedJobs.stream().filter(Objects::nonNull).toList();
+        removedJobIds = copyIds(removedJobIds);
+        detailChangedJobIds = copyIds(detailChangedJobIds);
+        previous = previous == null ? Map.of() : Map.copyOf(previous);
+    }
+
+    public static JobsChangedEvent saved(Collection<Job> jobs) {
+        return saved(jobs, Map.of());
+    }
+
+    public static JobsChangedEvent saved(Collection<Job> jobs, Map<Long, Previous> previous) {
+        return new JobsChangedEvent(jobs == null ? List.of() : new ArrayList<>(jobs), Set.of(), Set.of(), previous);
+    }
+
+    public static JobsChangedEvent removed(Collection<Long> jobIds) {
+        return removed(jobIds, Map.of());
+    }
+
+    public static JobsChangedEvent removed(Collection<Long> jobIds, Map<Long, Previous> previous) {
+        return new JobsChangedEvent(List.of(), toSet(jobIds), Set.of(), previous);
+    }
+
+    public static JobsChangedEvent detailChanged(Collection<Long> jobIds) {
+        return new JobsChangedEvent(List.of(), Set.of(), toSet(jobIds), Map.of());
+    }
+
+    public boolean isEmpty() {
+        return savedJobs.isEmpty() && removedJobIds.isEmpty() && detailChangedJobIds.isEmpty();
+    }
+
+    private static Set<Long> toSet(Collection<Long> ids) {
+        return ids == null ? Set.of() : new HashSet<>(ids);
+    }
+
+    private static Set<Long> copyIds(Set<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Set.of();
+        }
+        return ids.stream().filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * 变更前参与分组计数的字段，供计数器按差量更新。
+     */
+    public record Previous(String company, String location, String level) {
+    }
+}
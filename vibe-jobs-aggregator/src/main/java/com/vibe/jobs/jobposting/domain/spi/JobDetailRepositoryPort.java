@@ -19,6 +19,8 @@ public interface JobDetailRepositoryPort {
 
     Optional<JobDetail> findByJobId(Long jobId);
 
+    List<JobDetail> findByJobIds(Collection<Long> jobIds);
+
     List<JobDetailContentText> findContentTextByJobIds(Collection<Long> jobIds);
 
     List<JobDetailEnrichmentView> findEnrichmentsByJobIds(Collection<Long> jobIds);
@@ -3,21 +3,36 @@ package com.vibe.jobs.jobposting.domain.spi;
 import com.vibe.jobs.jobposting.domain.Job;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
 
 public interface JobRepositoryPort {
 
     Job save(Job job);
 
+    List<Job> saveAll(List<Job> jobs);
+
     Optional<Job> findById(Long id);
 
     Optional<Job> findByIdIncludingDeleted(Long id);
 
+    /**
+     * 按主键批量加载未删除的职位（含标签），不保证顺序。
+     */
+    List<Job> findByIds(Collection<Long> ids);
+
     Optional<Job> findBySourceAndExternalId(String source, String externalId);
 
     Optional<Job> findMostRecentByCompanyAndTitleIgnoreCase(String company, String title);
 
+    List<Job> findBySourceAndExternalIds(String source, Collection<String> externalIds);
+
+    List<Job> findByCompaniesAndTitlesIgnoreCase(Collection<String> companies, Collection<String> titles);
+
     void softDeleteById(Long id, Instant deletedAt);
 
     void softDeleteByIds(List<Long> ids, Instant deletedAt);
@@ -33,10 +48,88 @@ public interface JobRepositoryPort {
                           int offset,
                           int limit);
 
+    /**
+     * 开启详情检索的一页（条件与 searchDetail=true 的 searchAfter 相同），同时给出其中详情正文命中关键词的职位，
+     * 判定与 {@link JobDetailRepositoryPort#findMatchingJobIds} 一致。
+     */
+    DetailSearchPage searchWithDetailMatches(String q,
+                                             String company,
+                                             String location,
+                                             String level,
+                                             Instant postedAfter,
+                                             Instant cursorPostedAt,
+                                             Long cursorId,
+                                             int offset,
+                                             int limit);
+
+    /**
+     * 按相关度排序的一页：得分综合关键词在标题、公司、标签、地点（及详情）中的命中与发布时间衰减，
+     * 职位年龄相对 rankedAt 计算。cursor 为上一页最后一条的 (score, id)，首页传 null。
+     * searchDetail 为 true 时每条结果带详情命中标记。
+     */
+    List<RankedJob> searchRanked(String q,
+                                 String company,
+                                 String location,
+                                 String level,
+                                 Instant postedAfter,
+                                 boolean searchDetail,
+                                 Instant rankedAt,
+                                 RankCursor cursor,
+                                 int limit);
+
     long countSearch(String q,
                      String company,
                      String location,
                      String level,
                      Instant postedAfter,
                      boolean searchDetail);
+
+    /**
+     * 与 countSearch 条件相同，数到 limit 即停止，返回值不超过 limit。
+     */
+    long countSearchUpTo(String q,
+                         String company,
+                         String location,
+                         String level,
+                         Instant postedAfter,
+                         boolean searchDetail,
+                         long limit);
+
+    /**
+     * 按主键升序返回大于 afterId 的未删除职位主键，用于分批遍历。
+     */
+    List<Long> findIdsAfter(Long afterId, int limit);
+
+    /**
+     * 按主键升序用只进游标流式读取职位（含标签），每凑满 batchSize 条交给 consumer 一次，内存中只保留当前一批。
+     * updatedSince 为空时只读未删除职位；不为空时读此后更新过的职位，包括其间被软删除的职位（isDeleted 为 true），
+     * 供增量同步删除。consumer 在游标打开期间执行，可以查询其他数据，但不会共享读取游标的连接。
+     */
+    void streamForExport(Instant updatedSince, int batchSize, Consumer<List<Job>> consumer);
+
+    /**
+     * 按职位与详情的当前数据重建这些职位的检索投影，返回内容发生变化的数量。
+     */
+    int refreshSearchDocuments(Collection<Long> jobIds);
+
+    /**
+     * 未删除职位总数，以及按公司、地点、级别（小写）分组的职位数。
+     */
+    JobCounts loadCounts();
+
+    record RankedJob(Job job, double score, boolean matchedInDetail) {
+
+        public RankedJob(Job job, double score) {
+            this(job, score, false);
+        }
+    }
+
+    record DetailSearchPage(List<Job> jobs, Set<Long> matchedInDetail) {
+    }
+
+    record RankCursor(double score, long id) {
+    }
+
+    record JobCounts(long total, Map<String, Long> byCompany, Map<String, Long> byLocation, Map<String, Long> byLevel) {
+    }
 }
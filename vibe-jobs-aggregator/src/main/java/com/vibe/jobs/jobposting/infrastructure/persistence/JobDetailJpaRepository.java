@@ -19,6 +19,10 @@ public interface JobDetailJpaRepository extends JpaRepository<JobDetailJpaEntity
     @Query("SELECT jd FROM JobDetailJpaEntity jd WHERE jd.job.id = :jobId AND jd.deleted = false")
     Optional<JobDetailJpaEntity> findByJobId(@Param("jobId") Long jobId);
 
+    @EntityGraph(attributePaths = {"enrichments", "job", "job.tags"})
+    @Query("SELECT DISTINCT jd FROM JobDetailJpaEntity jd WHERE jd.job.id IN :jobIds AND jd.deleted = false")
+    List<JobDetailJpaEntity> findAllByJobIdIn(@Param("jobIds") Collection<Long> jobIds);
+
     @Query("SELECT jd.job.id AS jobId, jd.contentText AS contentText FROM JobDetailJpaEntity jd WHERE jd.job.id IN :jobIds AND jd.deleted = false")
     List<ContentTextView> findContentTextByJobIds(@Param("jobIds") Collection<Long> jobIds);
 
@@ -2,9 +2,13 @@ package com.vibe.jobs.jobposting.infrastructure.persistence;
 
 import com.vibe.jobs.jobposting.domain.JobDetail;
 import com.vibe.jobs.jobposting.domain.JobDetailEnrichment;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
 import com.vibe.jobs.jobposting.domain.spi.JobDetailRepositoryPort;
 import com.vibe.jobs.jobposting.infrastructure.persistence.entity.JobDetailJpaEntity;
 import com.vibe.jobs.jobposting.infrastructure.persistence.entity.JobJpaEntity;
+import com.vibe.jobs.jobposting.infrastructure.search.JobSearchIndexService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -14,10 +18,14 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Repository
@@ -26,11 +34,20 @@ public class JobDetailRepositoryAdapter implements JobDetailRepositoryPort {
 
     private final JobDetailJpaRepository jobDetailJpaRepository;
     private final JobJpaRepository jobJpaRepository;
+    private final JobSearchDocumentWriter documentWriter;
+    private final ObjectProvider<JobSearchIndexService> searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public JobDetailRepositoryAdapter(JobDetailJpaRepository jobDetailJpaRepository,
-                                      JobJpaRepository jobJpaRepository) {
+                                      JobJpaRepository jobJpaRepository,
+                                      JobSearchDocumentWriter documentWriter,
+                                      ObjectProvider<JobSearchIndexService> searchIndex,
+                                      ApplicationEventPublisher eventPublisher) {
         this.jobDetailJpaRepository = jobDetailJpaRepository;
         this.jobJpaRepository = jobJpaRepository;
+        this.documentWriter = documentWriter;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -51,6 +68,7 @@ public class JobDetailRepositoryAdapter implements JobDetailRepositoryPort {
         JobDetailJpaEntity saved = jobDetailJpaRepository.save(entity);
         JobDetail mapped = saved.toDomain();
         copyDetailState(mapped, detail);
+        detailChanged(detail.getJob().getId(), mapped);
         return mapped;
     }
 
@@ -69,6 +87,16 @@ public class JobDetailRepositoryAdapter implements JobDetailRepositoryPort {
         return jobDetailJpaRepository.findByJobId(jobId).map(JobDetailJpaEntity::toDomain);
     }
 
+    @Override
+    public List<JobDetail> findByJobIds(Collection<Long> jobIds) {
+        if (jobIds == null || jobIds.isEmpty()) {
+            return List.of();
+        }
+        return jobDetailJpaRepository.findAllByJobIdIn(jobIds).stream()
+                .map(JobDetailJpaEntity::toDomain)
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<JobDetailContentText> findContentTextByJobIds(Collection<Long> jobIds) {
         return jobDetailJpaRepository.findContentTextByJobIds(jobIds).stream()
@@ -91,13 +119,17 @@ public class JobDetailRepositoryAdapter implements JobDetailRepositoryPort {
     @Override
     @Transactional
     public void softDeleteById(Long id, Instant deletedAt) {
+        Optional<Long> jobId = jobDetailJpaRepository.findByIdIncludingDeleted(id)
+                .map(entity -> entity.getJob().getId());
         jobDetailJpaRepository.softDeleteById(id, deletedAt);
+        jobId.ifPresent(value -> detailChanged(value, null));
     }
 
     @Override
     @Transactional
     public void softDeleteByJobId(Long jobId, Instant deletedAt) {
         jobDetailJpaRepository.softDeleteByJobId(jobId, deletedAt);
+        detailChanged(jobId, null);
     }
 
     @Override
@@ -121,13 +153,24 @@ public class JobDetailRepositoryAdapter implements JobDetailRepositoryPort {
         if (details == null || details.isEmpty()) {
             return;
         }
+        // 一次性加载关联职位，避免逐条初始化懒加载代理
+        Set<Long> jobIds = details.stream()
+                .filter(detail -> detail != null && detail.getJob() != null && detail.getJob().getId() != null)
+                .map(detail -> detail.getJob().getId())
+                .collect(Collectors.toSet());
+        Map<Long, JobJpaEntity> jobEntities = jobIds.isEmpty() ? Map.of()
+                : jobJpaRepository.findAllWithTagsByIdIn(jobIds).stream()
+                .collect(Collectors.toMap(JobJpaEntity::getId, Function.identity()));
         List<JobDetailJpaEntity> entities = new ArrayList<>(details.size());
         List<JobDetail> originals = new ArrayList<>(details.size());
         for (JobDetail detail : details) {
             if (detail == null || detail.getJob() == null || detail.getJob().getId() == null) {
                 continue;
             }
-            JobJpaEntity jobEntity = jobJpaRepository.getReferenceById(detail.getJob().getId());
+            Long jobId = detail.getJob().getId();
+            JobJpaEntity jobEntity = jobEntities.containsKey(jobId)
+                    ? jobEntities.get(jobId)
+                    : jobJpaRepository.getReferenceById(jobId);
             JobDetailJpaEntity entity = detail.getId() != null
                     ? jobDetailJpaRepository.findById(detail.getId())
                     .orElseGet(() -> JobDetailJpaEntity.fromDomain(detail, jobEntity))
@@ -140,12 +183,29 @@ public class JobDetailRepositoryAdapter implements JobDetailRepositoryPort {
             return;
         }
         List<JobDetailJpaEntity> savedEntities = jobDetailJpaRepository.saveAll(entities);
+        Map<Long, String> contentTexts = new LinkedHashMap<>();
         for (int i = 0; i < savedEntities.size(); i++) {
             JobDetailJpaEntity saved = savedEntities.get(i);
             JobDetail target = originals.get(i);
             JobDetail mapped = saved.toDomain();
             copyDetailState(mapped, target);
+            contentTexts.put(target.getJob().getId(), indexDetail(target.getJob().getId(), mapped));
         }
+        documentWriter.detailsChanged(contentTexts);
+        eventPublisher.publishEvent(JobsChangedEvent.detailChanged(new ArrayList<>(contentTexts.keySet())));
+    }
+
+    private void detailChanged(Long jobId, JobDetail detail) {
+        Map<Long, String> contentTexts = new HashMap<>();
+        contentTexts.put(jobId, indexDetail(jobId, detail));
+        documentWriter.detailsChanged(contentTexts);
+        eventPublisher.publishEvent(JobsChangedEvent.detailChanged(List.of(jobId)));
+    }
+
+    private String indexDetail(Long jobId, JobDetail detail) {
+        String contentText = detail == null || detail.isDeleted() ? null : detail.getContentText();
+        searchIndex.ifAvailable(index -> index.detailUpdated(jobId, contentText));
+        return contentText;
     }
 
     private void copyDetailState(JobDetail source, JobDetail target) {
@@ -0,0 +1,149 @@
+package com.vibe.jobs.jobposting.infrastructure.persistence;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * 全量 / 增量导出的只进读取。
+ *
+ * 职位与标签在同一条按主键排序的查询里读出（每个标签一行，同一职位的行相邻），读取期间不需要在这个连接上执行
+ * 其他语句。MySQL Connector/J 默认会把整个结果集读入内存，未开启 useCursorFetch 时按驱动约定把 fetchSize 设为
+ * Integer.MIN_VALUE 逐行流式读取；其他数据库按批大小设置 fetchSize。
+ *
+ * 详情与增强结果的写入不会更新 jobs.updated_at，增量导出取职位、详情、增强结果三者中最晚的更新时间判断是否变化，
+ * 只有详情或增强结果变化的职位同样导出，其 updatedAt 仍为职位本身的更新时间。
+ * 三张表各自沿 updated_at 索引（V23）取出变化的职位 ID，union 去重后再按主键回表，不对 jobs 做全表扫描。
+ */
+final class JobExportReader {
+
+    private static final String COLUMNS = "j.id, j.source, j.external_id, j.title, j.company, j.location, j.level, "
+            + "j.posted_at, j.url, j.created_at, j.updated_at, j.checksum, j.deleted, jt.tag";
+    private static final String FROM = " from jobs j left join job_tags jt on jt.job_id = j.id";
+    private static final String ALL_SQL = "select " + COLUMNS + FROM + " where j.deleted = false order by j.id";
+    private static final String UPDATED_SINCE_SQL = "select " + COLUMNS + " from ("
+            + "select c.id as job_id from jobs c where c.updated_at >= ?"
+            + " union select d.job_id from job_details d where d.updated_at >= ?"
+            + " union select d.job_id from job_detail_enrichments e join job_details d on d.id = e.job_detail_id"
+            + " where e.updated_at >= ?"
+            + ") changed join jobs j on j.id = changed.job_id left join job_tags jt on jt.job_id = j.id"
+            + " order by j.id";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    JobExportReader(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void stream(Instant updatedSince, int batchSize, Consumer<List<Job>> consumer) {
+        int size = Math.max(1, batchSize);
+        BatchingHandler handler = new BatchingHandler(size, consumer);
+        jdbcTemplate.query(connection -> prepare(connection, updatedSince, size), handler);
+        handler.finish();
+    }
+
+    private PreparedStatement prepare(Connection connection, Instant updatedSince, int batchSize) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement(updatedSince == null ? ALL_SQL : UPDATED_SINCE_SQL,
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+        statement.setFetchSize(fetchSize(connection, batchSize));
+        if (updatedSince != null) {
+            Timestamp since = Timestamp.from(updatedSince);
+            for (int i = 1; i <= 3; i++) {
+                statement.setTimestamp(i, since);
+            }
+        }
+        return statement;
+    }
+
+    private static int fetchSize(Connection connection, int batchSize) throws SQLException {
+        String product = connection.getMetaData().getDatabaseProductName();
+        String url = connection.getMetaData().getURL();
+        boolean mysql = product != null && (product.toLowerCase(Locale.ROOT).contains("mysql")
+                || product.toLowerCase(Locale.ROOT).contains("mariadb"));
+        boolean cursorFetch = url != null && url.toLowerCase(Locale.ROOT).contains("usecursorfetch=true");
+        return mysql && !cursorFetch ? Integer.MIN_VALUE : batchSize;
+    }
+
+    private static final class BatchingHandler implements RowCallbackHandler {
+
+        private final int batchSize;
+        private final Consumer<List<Job>> consumer;
+        private List<Job> batch;
+        private Job current;
+
+        private BatchingHandler(int batchSize, Consumer<List<Job>> consumer) {
+            this.batchSize = batchSize;
+            this.consumer = consumer;
+            this.batch = new ArrayList<>(batchSize);
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            long id = rs.getLong(1);
+            if (current == null || current.getId() != id) {
+                complete();
+                current = map(rs, id);
+            }
+            String tag = rs.getString(14);
+            if (tag != null) {
+                current.getTags().add(tag);
+            }
+        }
+
+        private void finish() {
+            complete();
+            if (!batch.isEmpty()) {
+                consumer.accept(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        private void complete() {
+            if (current == null) {
+                return;
+            }
+            batch.add(current);
+            current = null;
+            if (batch.size() >= batchSize) {
+                consumer.accept(batch);
+                batch = new ArrayList<>(batchSize);
+            }
+        }
+
+        private static Job map(ResultSet rs, long id) throws SQLException {
+            Job job = Job.builder()
+                    .id(id)
+                    .source(rs.getString(2))
+                    .externalId(rs.getString(3))
+                    .title(rs.getString(4))
+                    .company(rs.getString(5))
+                    .location(rs.getString(6))
+                    .level(rs.getString(7))
+                    .postedAt(instant(rs.getTimestamp(8)))
+                    .url(rs.getString(9))
+                    .checksum(rs.getString(12))
+                    .deleted(rs.getBoolean(13))
+                    .tags(new HashSet<>())
+                    .build();
+            job.setCreatedAt(instant(rs.getTimestamp(10)));
+            job.setUpdatedAt(instant(rs.getTimestamp(11)));
+            return job;
+        }
+
+        private static Instant instant(Timestamp timestamp) {
+            return timestamp != null ? timestamp.toInstant() : null;
+        }
+    }
+}
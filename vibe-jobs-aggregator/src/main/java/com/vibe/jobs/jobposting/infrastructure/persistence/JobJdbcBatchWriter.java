@@ -0,0 +1,122 @@
+package com.vibe.jobs.jobposting.infrastructure.persistence;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.util.StringUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 使用 JDBC batch 批量写入新职位。
+ *
+ * jobs 表主键是 IDENTITY，Hibernate 无法对这类插入做 batch，
+ * 因此新职位及其 tags 直接走 JdbcTemplate，并回填自增主键。
+ */
+final class JobJdbcBatchWriter {
+
+    private static final String INSERT_JOB_SQL = "insert into jobs " +
+            "(source, external_id, title, company, location, level, posted_at, url, created_at, updated_at, checksum, deleted) " +
+            "values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TAG_SQL = "insert into job_tags (job_id, tag) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    JobJdbcBatchWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    void insertAll(List<Job> jobs) {
+        if (jobs == null || jobs.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        for (Job job : jobs) {
+            if (job.getCreatedAt() == null) {
+                job.markCreated(now);
+            } else if (job.getUpdatedAt() == null) {
+                job.markUpdated(now);
+            }
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_JOB_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        bindJob(ps, jobs.get(i));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return jobs.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        if (keys.size() != jobs.size()) {
+            throw new IllegalStateException("Expected " + jobs.size() + " generated job ids but got " + keys.size());
+        }
+        for (int i = 0; i < jobs.size(); i++) {
+            jobs.get(i).setId(extractId(keys.get(i)));
+        }
+        insertTags(jobs);
+    }
+
+    private void insertTags(List<Job> jobs) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Job job : jobs) {
+            if (job.getTags() == null) {
+                continue;
+            }
+            for (String tag : job.getTags()) {
+                if (StringUtils.hasText(tag)) {
+                    rows.add(new Object[]{job.getId(), tag});
+                }
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TAG_SQL, rows);
+        }
+    }
+
+    private void bindJob(PreparedStatement ps, Job job) throws SQLException {
+        ps.setString(1, job.getSource());
+        ps.setString(2, job.getExternalId());
+        ps.setString(3, job.getTitle());
+        ps.setString(4, job.getCompany());
+        ps.setString(5, job.getLocation());
+        ps.setString(6, job.getLevel());
+        ps.setTimestamp(7, toTimestamp(job.getPostedAt()));
+        ps.setString(8, job.getUrl());
+        ps.setTimestamp(9, toTimestamp(job.getCreatedAt()));
+        ps.setTimestamp(10, toTimestamp(job.getUpdatedAt()));
+        ps.setString(11, job.getChecksum());
+        ps.setBoolean(12, job.isDeleted());
+    }
+
+    private Timestamp toTimestamp(Instant instant) {
+        return instant == null ? null : Timestamp.from(instant);
+    }
+
+    private Long extractId(Map<String, Object> key) {
+        // MySQL 返回 GENERATED_KEY，H2 返回列名 ID，这里只取第一个数值
+        for (Object value : key.values()) {
+            if (value instanceof Number number) {
+                return number.longValue();
+            }
+        }
+        throw new IllegalStateException("No generated id returned for inserted job: " + key);
+    }
+}
@@ -2,12 +2,14 @@
 package com.vibe.jobs.jobposting.infrastructure.persistence;
 
 import com.vibe.jobs.jobposting.infrastructure.persistence.entity.JobJpaEntity;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,6 +20,19 @@ public interface JobJpaRepository extends JpaRepository<JobJpaEntity, Long>, Job
 
     Optional<JobJpaEntity> findFirstByDeletedFalseAndCompanyIgnoreCaseAndTitleIgnoreCaseOrderByCreatedAtDesc(String company, String title);
 
+    @Query("SELECT DISTINCT j FROM JobJpaEntity j LEFT JOIN FETCH j.tags " +
+            "WHERE j.source = :source AND j.externalId IN :externalIds AND j.deleted = false")
+    List<JobJpaEntity> findBySourceAndExternalIdIn(@Param("source") String source,
+                                                   @Param("externalIds") Collection<String> externalIds);
+
+    @Query("SELECT DISTINCT j FROM JobJpaEntity j LEFT JOIN FETCH j.tags " +
+            "WHERE j.deleted = false AND LOWER(j.company) IN :companies AND LOWER(j.title) IN :titles")
+    List<JobJpaEntity> findByLowerCompanyInAndLowerTitleIn(@Param("companies") Collection<String> companies,
+                                                           @Param("titles") Collection<String> titles);
+
+    @Query("SELECT DISTINCT j FROM JobJpaEntity j LEFT JOIN FETCH j.tags WHERE j.id IN :ids")
+    List<JobJpaEntity> findAllWithTagsByIdIn(@Param("ids") Collection<Long> ids);
+
     @Modifying
     @Query("UPDATE JobJpaEntity j SET j.deleted = true, j.updatedAt = :deletedAt WHERE j.id = :id")
     void softDeleteById(@Param("id") Long id, @Param("deletedAt") Instant deletedAt);
@@ -26,6 +41,21 @@ public interface JobJpaRepository extends JpaRepository<JobJpaEntity, Long>, Job
     @Query("UPDATE JobJpaEntity j SET j.deleted = true, j.updatedAt = :deletedAt WHERE j.id IN :ids")
     void softDeleteByIds(@Param("ids") List<Long> ids, @Param("deletedAt") Instant deletedAt);
 
+    @Query("SELECT j.id FROM JobJpaEntity j WHERE j.id > :afterId ORDER BY j.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT j.id, j.company, j.location, j.level FROM JobJpaEntity j WHERE j.id IN :ids")
+    List<Object[]> findCountedFieldsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT LOWER(j.company), COUNT(j) FROM JobJpaEntity j WHERE j.company IS NOT NULL GROUP BY LOWER(j.company)")
+    List<Object[]> countByLowerCompany();
+
+    @Query("SELECT LOWER(j.location), COUNT(j) FROM JobJpaEntity j WHERE j.location IS NOT NULL GROUP BY LOWER(j.location)")
+    List<Object[]> countByLowerLocation();
+
+    @Query("SELECT LOWER(j.level), COUNT(j) FROM JobJpaEntity j WHERE j.level IS NOT NULL GROUP BY LOWER(j.level)")
+    List<Object[]> countByLowerLevel();
+
     @Query("SELECT j FROM JobJpaEntity j WHERE j.id = :id")
     Optional<JobJpaEntity> findByIdIncludingDeleted(@Param("id") Long id);
 }
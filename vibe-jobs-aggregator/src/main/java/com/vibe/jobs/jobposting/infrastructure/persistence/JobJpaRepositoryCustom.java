@@ -1,13 +1,19 @@
 package com.vibe.jobs.jobposting.infrastructure.persistence;
 
-import com.vibe.jobs.jobposting.infrastructure.persistence.entity.JobJpaEntity;
+import com.vibe.jobs.jobposting.domain.Job;
 
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 public interface JobJpaRepositoryCustom {
 
-    List<JobJpaEntity> searchAfter(String q,
+    /**
+     * 列表读取路径：一条查询取当前页的职位列，一条查询取这些职位的全部标签，不实例化实体。
+     * searchDetail 为 true 且有关键词时，同一条查询还给出每行的详情命中标记。
+     */
+    List<JobListView> searchAfter(String q,
                                    String company,
                                    String location,
                                    String level,
@@ -18,10 +24,82 @@ public interface JobJpaRepositoryCustom {
                                    int offset,
                                    int limit);
 
+    /**
+     * 按给定主键顺序返回职位投影（跳过不存在或已删除的职位），同样只用两条查询。
+     */
+    List<JobListView> findListViewsByIds(List<Long> ids);
+
+    /**
+     * 相关度排序的一页，得分在数据库内计算；cursorScore 与 cursorId 同时给出时从该位置之后继续。
+     */
+    List<RankedListView> searchRanked(String q,
+                                      String company,
+                                      String location,
+                                      String level,
+                                      Instant postedAfter,
+                                      boolean searchDetail,
+                                      Instant rankedAt,
+                                      Double cursorScore,
+                                      Long cursorId,
+                                      int limit);
+
     long countSearch(String q,
                      String company,
                      String location,
                      String level,
                      Instant postedAfter,
                      boolean searchDetail);
+
+    /**
+     * 与 countSearch 条件相同，但最多数到 limit 行就停止。
+     */
+    long countSearchUpTo(String q,
+                         String company,
+                         String location,
+                         String level,
+                         Instant postedAfter,
+                         boolean searchDetail,
+                         long limit);
+
+    record RankedListView(JobListView view, double score) {
+    }
+
+    /**
+     * matchedInDetail 只在开启详情检索时有值：true/false 为查询中直接判定的结果，
+     * null 表示投影中的详情文本可能被截断，需要对原始详情复核。
+     */
+    record JobListView(Long id,
+                       String source,
+                       String externalId,
+                       String title,
+                       String company,
+                       String location,
+                       String level,
+                       Instant postedAt,
+                       String url,
+                       Instant createdAt,
+                       Instant updatedAt,
+                       String checksum,
+                       Set<String> tags,
+                       Boolean matchedInDetail) {
+
+        public Job toDomain() {
+            Job job = Job.builder()
+                    .id(id)
+                    .source(source)
+                    .externalId(externalId)
+                    .title(title)
+                    .company(company)
+                    .location(location)
+                    .level(level)
+                    .postedAt(postedAt)
+                    .tags(tags != null ? new HashSet<>(tags) : new HashSet<>())
+                    .url(url)
+                    .checksum(checksum)
+                    .build();
+            job.setCreatedAt(createdAt);
+            job.setUpdatedAt(updatedAt);
+            return job;
+        }
+    }
 }
@@ -1,201 +1,258 @@
 package com.vibe.jobs.jobposting.infrastructure.persistence;
 
-import com.vibe.jobs.jobposting.infrastructure.persistence.entity.JobJpaEntity;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
+import com.vibe.jobs.shared.infrastructure.config.JobRelevanceProperties;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import org.hibernate.dialect.Dialect;
 import org.hibernate.dialect.MySQLDialect;
 import org.hibernate.engine.spi.SessionFactoryImplementor;
-import org.springframework.util.StringUtils;
+import org.hibernate.query.NativeQuery;
+import org.hibernate.type.StandardBasicTypes;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.sql.Timestamp;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
 
 public class JobJpaRepositoryImpl implements JobJpaRepositoryCustom {
 
+    private static final String LIST_COLUMNS = JobSearchQueryPlanner.LIST_COLUMNS;
+
     private final EntityManager entityManager;
-    private final boolean supportsFullText;
+    private final JobSearchQueryPlanner planner;
+    private final JobRelevanceProperties relevance;
 
     public JobJpaRepositoryImpl(EntityManager entityManager) {
+        this(entityManager, Duration.ofMinutes(1), new JobRelevanceProperties(),
+                JobSearchDocumentWriter.DEFAULT_DETAIL_MAX_LENGTH);
+    }
+
+    public JobJpaRepositoryImpl(EntityManager entityManager,
+                                Duration exactMatchCacheTtl,
+                                JobRelevanceProperties relevance,
+                                int detailMaxLength) {
         this.entityManager = entityManager;
-        this.supportsFullText = detectFullTextSupport(entityManager);
+        this.planner = new JobSearchQueryPlanner(entityManager, detectFullTextSupport(entityManager), exactMatchCacheTtl,
+                detailMaxLength);
+        this.relevance = relevance;
+    }
+
+    @Autowired
+    public JobJpaRepositoryImpl(EntityManager entityManager,
+                                @Value("${jobs.search.planner.exact-match-cache-ttl:PT1M}") Duration exactMatchCacheTtl,
+                                ObjectProvider<JobRelevanceProperties> relevance,
+                                @Value("${jobs.search.documents.detail-max-length:20000}") int detailMaxLength) {
+        this(entityManager, exactMatchCacheTtl, relevance.getIfAvailable(JobRelevanceProperties::new), detailMaxLength);
     }
 
     @Override
-    public List<JobJpaEntity> searchAfter(String q,
-                                          String company,
-                                          String location,
-                                          String level,
-                                          Instant postedAfter,
-                                          Instant cursorPostedAt,
-                                          Long cursorId,
-                                          boolean searchDetail,
-                                          int offset,
-                                          int limit) {
-        String normalizedQuery = normalize(q);
-        boolean hasQuery = normalizedQuery != null;
-        boolean detailEnabled = searchDetail && hasQuery;
-        boolean hasCursor = cursorPostedAt != null && cursorId != null;
-        Query query = entityManager.createNativeQuery(
-                buildSearchSql(false, detailEnabled, hasCursor, hasQuery), JobJpaEntity.class);
-        Map<String, Object> params = new HashMap<>();
-        String fullTextQuery = supportsFullText && hasQuery ? buildFullTextQuery(normalizedQuery) : null;
-        populateCommonParameters(params, normalizedQuery, fullTextQuery, company, location, level, postedAfter, detailEnabled);
-        if (hasCursor) {
-            params.put("cursorPostedAt", Timestamp.from(cursorPostedAt));
-            params.put("cursorId", cursorId);
-        }
-        applyParameters(query, params);
+    public List<JobListView> searchAfter(String q,
+                                         String company,
+                                         String location,
+                                         String level,
+                                         Instant postedAfter,
+                                         Instant cursorPostedAt,
+                                         Long cursorId,
+                                         boolean searchDetail,
+                                         int offset,
+                                         int limit) {
+        JobSearchQueryPlanner.PreparedQuery prepared = planner.list(new JobSearchQueryPlanner.Filters(q, company,
+                location, level, postedAfter, searchDetail, cursorPostedAt, cursorId));
+        Query query = createQuery(prepared);
         if (offset > 0) {
             query.setFirstResult(offset);
         }
         if (limit > 0) {
             query.setMaxResults(limit);
         }
-        @SuppressWarnings("unchecked")
-        List<JobJpaEntity> jobs = query.getResultList();
-        return jobs;
+        NativeQuery<Object[]> listQuery = selectListColumns(query);
+        boolean detailMatched = prepared.detailMatch();
+        if (detailMatched) {
+            listQuery.addScalar(JobSearchQueryPlanner.DETAIL_MATCH_COLUMN, StandardBasicTypes.INTEGER);
+        }
+        return toListViews(listQuery.getResultList(), detailMatched ? 12 : -1);
     }
 
     @Override
-    public long countSearch(String q,
-                            String company,
-                            String location,
-                            String level,
-                            Instant postedAfter,
-                            boolean searchDetail) {
-        String normalizedQuery = normalize(q);
-        boolean hasQuery = normalizedQuery != null;
-        boolean detailEnabled = searchDetail && hasQuery;
-        Query query = entityManager.createNativeQuery(buildSearchSql(true, detailEnabled, false, hasQuery));
-        Map<String, Object> params = new HashMap<>();
-        String fullTextQuery = supportsFullText && hasQuery ? buildFullTextQuery(normalizedQuery) : null;
-        populateCommonParameters(params, normalizedQuery, fullTextQuery, company, location, level, postedAfter, detailEnabled);
-        applyParameters(query, params);
-        Number result = (Number) query.getSingleResult();
-        return result.longValue();
-    }
-
-    private void populateCommonParameters(Map<String, Object> params,
-                                          String normalizedQuery,
-                                          String fullTextQuery,
-                                          String company,
-                                          String location,
-                                          String level,
-                                          Instant postedAfter,
-                                          boolean detailEnabled) {
-        if (normalizedQuery != null) {
-            params.put("q", normalizedQuery);
+    public List<RankedListView> searchRanked(String q,
+                                             String company,
+                                             String location,
+                                             String level,
+                                             Instant postedAfter,
+                                             boolean searchDetail,
+                                             Instant rankedAt,
+                                             Double cursorScore,
+                                             Long cursorId,
+                                             int limit) {
+        JobSearchQueryPlanner.PreparedQuery prepared = planner.ranked(new JobSearchQueryPlanner.Filters(q, company,
+                location, level, postedAfter, searchDetail, null, cursorId), weights(), rankedAt, cursorScore);
+        Query query = createQuery(prepared);
+        if (limit > 0) {
+            query.setMaxResults(limit);
         }
-        if (fullTextQuery != null) {
-            params.put("mainFullTextQuery", fullTextQuery);
-            if (detailEnabled) {
-                params.put("detailFullTextQuery", fullTextQuery);
-            }
+        NativeQuery<Object[]> rankedQuery = selectListColumns(query).addScalar("score", StandardBasicTypes.DOUBLE);
+        boolean detailMatched = prepared.detailMatch();
+        if (detailMatched) {
+            rankedQuery.addScalar(JobSearchQueryPlanner.DETAIL_MATCH_COLUMN, StandardBasicTypes.INTEGER);
         }
-        params.put("company", normalize(company));
-        params.put("location", normalize(location));
-        params.put("level", normalize(level));
-        params.put("postedAfter", postedAfter != null ? Timestamp.from(postedAfter) : null);
-        if (!supportsFullText && detailEnabled && normalizedQuery != null) {
-            params.put("fallbackDetailQuery", normalizedQuery);
+        List<Object[]> rows = rankedQuery.getResultList();
+        List<JobListView> views = toListViews(rows, detailMatched ? 13 : -1);
+        List<RankedListView> ranked = new ArrayList<>(views.size());
+        for (int i = 0; i < views.size(); i++) {
+            ranked.add(new RankedListView(views.get(i), ((Number) rows.get(i)[12]).doubleValue()));
         }
+        return ranked;
     }
 
-    private void applyParameters(Query query, Map<String, Object> params) {
-        for (Map.Entry<String, Object> entry : params.entrySet()) {
-            query.setParameter(entry.getKey(), entry.getValue());
-        }
+    private JobSearchQueryPlanner.RelevanceWeights weights() {
+        return new JobSearchQueryPlanner.RelevanceWeights(relevance.getFullTextWeight(), relevance.getDetailWeight(),
+                relevance.getTitleWeight(), relevance.getCompanyWeight(), relevance.getTagWeight(),
+                relevance.getLocationWeight(), relevance.getRecencyHalfLife().toSeconds());
     }
 
-    private String buildSearchSql(boolean count, boolean detailEnabled, boolean includeCursor, boolean hasQuery) {
-        StringBuilder sql = new StringBuilder();
-        if (count) {
-            sql.append("select count(*) from (");
+    @Override
+    public List<JobListView> findListViewsByIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
         }
-        sql.append("select j.* from jobs j ");
-        if (detailEnabled) {
-            sql.append("left join job_details jd on jd.job_id = j.id and jd.deleted = false ");
+        Query query = entityManager.createNativeQuery("select " + LIST_COLUMNS
+                + " from jobs j where j.id in (:ids) and j.deleted = false");
+        query.setParameter("ids", ids);
+        Map<Long, JobListView> byId = new HashMap<>();
+        for (JobListView view : toListViews(selectListColumns(query).getResultList(), -1)) {
+            byId.put(view.id(), view);
         }
-        sql.append("where j.deleted = false ");
-        if (hasQuery) {
-            sql.append("and (");
-            boolean hasPreviousClause = false;
-            if (supportsFullText) {
-                hasPreviousClause = appendOrClause(sql, hasPreviousClause,
-                        "MATCH(j.title, j.company, j.location) AGAINST (:mainFullTextQuery IN BOOLEAN MODE)");
-            } else {
-                hasPreviousClause = appendOrClause(sql, hasPreviousClause,
-                        "lower(j.title) like lower(concat('%', :q, '%'))");
-                hasPreviousClause = appendOrClause(sql, hasPreviousClause,
-                        "lower(j.company) like lower(concat('%', :q, '%'))");
-                hasPreviousClause = appendOrClause(sql, hasPreviousClause,
-                        "lower(j.location) like lower(concat('%', :q, '%'))");
-            }
-            hasPreviousClause = appendOrClause(sql, hasPreviousClause,
-                    "exists (select 1 from job_tags jt where jt.job_id = j.id and lower(jt.tag) like lower(concat('%', :q, '%')))");
-            if (detailEnabled) {
-                if (supportsFullText) {
-                    hasPreviousClause = appendOrClause(sql, hasPreviousClause,
-                            "(jd.content_text is not null and MATCH(jd.content_text) AGAINST (:detailFullTextQuery IN BOOLEAN MODE))");
-                } else {
-                    hasPreviousClause = appendOrClause(sql, hasPreviousClause,
-                            "(jd.content_text is not null and lower(jd.content_text) like lower(concat('%', :fallbackDetailQuery, '%')))");
-                }
+        List<JobListView> ordered = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            JobListView view = byId.get(id);
+            if (view != null) {
+                ordered.add(view);
             }
-            sql.append(") ");
         }
-        sql.append("and (:company is null or lower(j.company) like lower(concat('%', :company, '%'))) ");
-        sql.append("and (:location is null or lower(j.location) like lower(concat('%', :location, '%'))) ");
-        sql.append("and (:level is null or lower(j.level) = lower(:level)) ");
-        sql.append("and (:postedAfter is null or j.posted_at >= :postedAfter) ");
-        if (!count && includeCursor) {
-            sql.append("and (j.posted_at < :cursorPostedAt or (j.posted_at = :cursorPostedAt and j.id < :cursorId)) ");
-        }
-        if (!count) {
-            sql.append("order by j.posted_at desc, j.id desc");
-        } else {
-            sql.append(") as count_query");
-        }
-        return sql.toString();
+        return ordered;
     }
 
-    private String normalize(String value) {
-        if (!StringUtils.hasText(value)) {
-            return null;
-        }
-        return value.trim();
+    @SuppressWarnings("unchecked")
+    private NativeQuery<Object[]> selectListColumns(Query query) {
+        return query.unwrap(NativeQuery.class)
+                .addScalar("id", StandardBasicTypes.LONG)
+                .addScalar("source", StandardBasicTypes.STRING)
+                .addScalar("external_id", StandardBasicTypes.STRING)
+                .addScalar("title", StandardBasicTypes.STRING)
+                .addScalar("company", StandardBasicTypes.STRING)
+                .addScalar("location", StandardBasicTypes.STRING)
+                .addScalar("level", StandardBasicTypes.STRING)
+                .addScalar("posted_at", StandardBasicTypes.INSTANT)
+                .addScalar("url", StandardBasicTypes.STRING)
+                .addScalar("created_at", StandardBasicTypes.INSTANT)
+                .addScalar("updated_at", StandardBasicTypes.INSTANT)
+                .addScalar("checksum", StandardBasicTypes.STRING);
     }
 
-    private String buildFullTextQuery(String value) {
-        if (!StringUtils.hasText(value)) {
-            return null;
+    /**
+     * 把职位列映射为投影，并用一条 in 查询补齐这一页全部职位的标签。detailMatchIndex 为详情命中标记所在列，没有时传 -1。
+     */
+    private List<JobListView> toListViews(List<Object[]> rows, int detailMatchIndex) {
+        if (rows.isEmpty()) {
+            return List.of();
         }
-        String[] tokens = value.trim().split("\\s+");
-        StringBuilder builder = new StringBuilder();
-        for (String token : tokens) {
-            String cleaned = token.replaceAll("[^\\p{IsAlphabetic}\\p{IsDigit}]", "");
-            if (cleaned.isEmpty()) {
-                continue;
-            }
-            if (builder.length() > 0) {
-                builder.append(' ');
+        List<Long> ids = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            ids.add((Long) row[0]);
+        }
+        Map<Long, Set<String>> tagsByJobId = loadTags(ids);
+        List<JobListView> views = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Long id = (Long) row[0];
+            Boolean matchedInDetail = null;
+            if (detailMatchIndex >= 0 && row[detailMatchIndex] != null) {
+                matchedInDetail = ((Number) row[detailMatchIndex]).intValue() == 1;
             }
-            builder.append('+').append(cleaned).append('*');
+            views.add(new JobListView(id, (String) row[1], (String) row[2], (String) row[3], (String) row[4],
+                    (String) row[5], (String) row[6], (Instant) row[7], (String) row[8], (Instant) row[9],
+                    (Instant) row[10], (String) row[11], tagsByJobId.getOrDefault(id, Set.of()), matchedInDetail));
         }
-        return builder.length() == 0 ? value : builder.toString();
+        return views;
     }
 
-    private boolean appendOrClause(StringBuilder sql, boolean hasPreviousClause, String clause) {
-        if (hasPreviousClause) {
-            sql.append(" or ");
+    private Map<Long, Set<String>> loadTags(List<Long> jobIds) {
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery("select jt.job_id, jt.tag from job_tags jt where jt.job_id in (:ids)")
+                .setParameter("ids", jobIds)
+                .getResultList();
+        Map<Long, Set<String>> tags = new HashMap<>();
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                tags.computeIfAbsent(((Number) row[0]).longValue(), ignored -> new HashSet<>()).add(row[1].toString());
+            }
         }
-        sql.append(clause);
-        return true;
+        return tags;
+    }
+
+    @Override
+    public long countSearch(String q,
+                            String company,
+                            String location,
+                            String level,
+                            Instant postedAfter,
+                            boolean searchDetail) {
+        return count(q, company, location, level, postedAfter, searchDetail, 0L);
+    }
+
+    @Override
+    public long countSearchUpTo(String q,
+                                String company,
+                                String location,
+                                String level,
+                                Instant postedAfter,
+                                boolean searchDetail,
+                                long limit) {
+        return count(q, company, location, level, postedAfter, searchDetail, Math.max(1L, limit));
+    }
+
+    private long count(String q,
+                       String company,
+                       String location,
+                       String level,
+                       Instant postedAfter,
+                       boolean searchDetail,
+                       long limit) {
+        JobSearchQueryPlanner.PreparedQuery prepared = planner.count(new JobSearchQueryPlanner.Filters(q, company,
+                location, level, postedAfter, searchDetail, null, null), limit);
+        Number result = (Number) createQuery(prepared).getSingleResult();
+        return result.longValue();
+    }
+
+    /**
+     * 先于列表缓存等其他监听器执行，保证失效后重新填充的结果不再使用过期的等值改写。
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJobsChanged(JobsChangedEvent event) {
+        planner.jobsChanged(event);
+    }
+
+    JobSearchQueryPlanner planner() {
+        return planner;
+    }
+
+    private Query createQuery(JobSearchQueryPlanner.PreparedQuery prepared) {
+        Query query = entityManager.createNativeQuery(prepared.sql());
+        prepared.params().forEach(query::setParameter);
+        return query;
     }
 
     private boolean detectFullTextSupport(EntityManager entityManager) {
@@ -1,33 +1,69 @@
 package com.vibe.jobs.jobposting.infrastructure.persistence;
 
 import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
 import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
 import com.vibe.jobs.jobposting.infrastructure.persistence.entity.JobJpaEntity;
+import com.vibe.jobs.jobposting.infrastructure.search.JobSearchIndex;
+import com.vibe.jobs.jobposting.infrastructure.search.JobSearchIndexService;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.function.Consumer;
 
 @Repository
 @Transactional(readOnly = true)
 public class JobRepositoryAdapter implements JobRepositoryPort {
 
     private final JobJpaRepository jobJpaRepository;
+    private final JobDetailJpaRepository jobDetailJpaRepository;
+    private final JobJdbcBatchWriter batchWriter;
+    private final JobExportReader exportReader;
+    private final JobSearchDocumentWriter documentWriter;
+    private final ObjectProvider<JobSearchIndexService> searchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public JobRepositoryAdapter(JobJpaRepository jobJpaRepository) {
+    public JobRepositoryAdapter(JobJpaRepository jobJpaRepository,
+                                JobDetailJpaRepository jobDetailJpaRepository,
+                                JdbcTemplate jdbcTemplate,
+                                JobSearchDocumentWriter documentWriter,
+                                ObjectProvider<JobSearchIndexService> searchIndex,
+                                ApplicationEventPublisher eventPublisher) {
         this.jobJpaRepository = jobJpaRepository;
+        this.jobDetailJpaRepository = jobDetailJpaRepository;
+        this.batchWriter = new JobJdbcBatchWriter(jdbcTemplate);
+        this.exportReader = new JobExportReader(jdbcTemplate);
+        this.documentWriter = documentWriter;
+        this.searchIndex = searchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
     @Transactional
     public Job save(Job job) {
         JobJpaEntity entity;
+        Map<Long, JobsChangedEvent.Previous> previous = new HashMap<>();
         if (job.getId() != null) {
-            entity = jobJpaRepository.findById(job.getId())
-                    .orElseGet(() -> JobJpaEntity.fromDomain(job));
+            Optional<JobJpaEntity> existing = jobJpaRepository.findById(job.getId());
+            existing.ifPresent(found -> previous.put(found.getId(), found.countedFields()));
+            entity = existing.orElseGet(() -> JobJpaEntity.fromDomain(job));
             entity.updateFromDomain(job);
         } else {
             entity = JobJpaEntity.fromDomain(job);
@@ -35,9 +71,67 @@ public class JobRepositoryAdapter implements JobRepositoryPort {
         JobJpaEntity saved = jobJpaRepository.save(entity);
         Job mapped = saved.toDomain();
         copyJobState(mapped, job);
+        documentWriter.jobsSaved(List.of(mapped));
+        eventPublisher.publishEvent(JobsChangedEvent.saved(List.of(mapped), previous));
         return mapped;
     }
 
+    @Override
+    @Transactional
+    public List<Job> saveAll(List<Job> jobs) {
+        if (jobs == null || jobs.isEmpty()) {
+            return List.of();
+        }
+        List<Job> inserts = new ArrayList<>();
+        List<Job> updates = new ArrayList<>();
+        for (Job job : jobs) {
+            if (job == null) {
+                continue;
+            }
+            if (job.getId() == null) {
+                inserts.add(job);
+            } else {
+                updates.add(job);
+            }
+        }
+
+        Map<Long, JobsChangedEvent.Previous> previous = new HashMap<>();
+        if (!updates.isEmpty()) {
+            // 更新走脏检查，由 hibernate.jdbc.batch_size 合并为批量 UPDATE；带 id 但库中没有的职位与 save 一样按新实体写入
+            Map<Long, JobJpaEntity> managed = new HashMap<>();
+            List<Long> ids = updates.stream().map(Job::getId).toList();
+            for (JobJpaEntity entity : jobJpaRepository.findAllWithTagsByIdIn(ids)) {
+                managed.put(entity.getId(), entity);
+            }
+            Map<Job, JobJpaEntity> written = new IdentityHashMap<>();
+            for (Job job : updates) {
+                JobJpaEntity entity = managed.get(job.getId());
+                if (entity == null) {
+                    written.put(job, jobJpaRepository.save(JobJpaEntity.fromDomain(job)));
+                    continue;
+                }
+                previous.put(entity.getId(), entity.countedFields());
+                entity.updateFromDomain(job);
+                written.put(job, entity);
+            }
+            // 刷新后 @PreUpdate / @PrePersist 写入的 updatedAt 才确定，回写给调用方，ETag 与事件看到的是持久化后的版本
+            jobJpaRepository.flush();
+            written.forEach((job, entity) -> entity.syncToDomain(job));
+        }
+
+        batchWriter.insertAll(inserts);
+
+        List<Job> saved = new ArrayList<>(jobs.size());
+        for (Job job : jobs) {
+            if (job != null) {
+                saved.add(job);
+            }
+        }
+        documentWriter.jobsSaved(saved);
+        eventPublisher.publishEvent(JobsChangedEvent.saved(saved, previous));
+        return saved;
+    }
+
     @Override
     public Optional<Job> findById(Long id) {
         return jobJpaRepository.findById(id).map(JobJpaEntity::toDomain);
@@ -48,6 +142,14 @@ public class JobRepositoryAdapter implements JobRepositoryPort {
         return jobJpaRepository.findByIdIncludingDeleted(id).map(JobJpaEntity::toDomain);
     }
 
+    @Override
+    public List<Job> findByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return toDomainList(jobJpaRepository.findAllWithTagsByIdIn(ids));
+    }
+
     @Override
     public Optional<Job> findBySourceAndExternalId(String source, String externalId) {
         return jobJpaRepository.findBySourceAndExternalId(source, externalId).map(JobJpaEntity::toDomain);
@@ -60,16 +162,40 @@ public class JobRepositoryAdapter implements JobRepositoryPort {
                 .map(JobJpaEntity::toDomain);
     }
 
+    @Override
+    public List<Job> findBySourceAndExternalIds(String source, Collection<String> externalIds) {
+        if (source == null || externalIds == null || externalIds.isEmpty()) {
+            return List.of();
+        }
+        return toDomainList(jobJpaRepository.findBySourceAndExternalIdIn(source, externalIds));
+    }
+
+    @Override
+    public List<Job> findByCompaniesAndTitlesIgnoreCase(Collection<String> companies, Collection<String> titles) {
+        if (companies == null || companies.isEmpty() || titles == null || titles.isEmpty()) {
+            return List.of();
+        }
+        List<String> lowerCompanies = companies.stream().map(value -> value.toLowerCase(Locale.ROOT)).distinct().toList();
+        List<String> lowerTitles = titles.stream().map(value -> value.toLowerCase(Locale.ROOT)).distinct().toList();
+        return toDomainList(jobJpaRepository.findByLowerCompanyInAndLowerTitleIn(lowerCompanies, lowerTitles));
+    }
+
     @Override
     @Transactional
     public void softDeleteById(Long id, Instant deletedAt) {
+        Map<Long, JobsChangedEvent.Previous> previous = countedFields(List.of(id));
         jobJpaRepository.softDeleteById(id, deletedAt);
+        documentWriter.jobsDeleted(List.of(id), deletedAt);
+        eventPublisher.publishEvent(JobsChangedEvent.removed(List.of(id), previous));
     }
 
     @Override
     @Transactional
     public void softDeleteByIds(List<Long> ids, Instant deletedAt) {
+        Map<Long, JobsChangedEvent.Previous> previous = countedFields(ids);
         jobJpaRepository.softDeleteByIds(ids, deletedAt);
+        documentWriter.jobsDeleted(ids, deletedAt);
+        eventPublisher.publishEvent(JobsChangedEvent.removed(ids, previous));
     }
 
     @Override
@@ -83,15 +209,90 @@ public class JobRepositoryAdapter implements JobRepositoryPort {
                                  boolean searchDetail,
                                  int offset,
                                  int limit) {
-        List<JobJpaEntity> entities = jobJpaRepository.searchAfter(q, company, location, level, postedAfter, cursorPostedAt,
-                cursorId, searchDetail, offset, limit);
-        List<Job> jobs = new ArrayList<>(entities.size());
-        for (JobJpaEntity entity : entities) {
-            jobs.add(entity.toDomain());
+        JobSearchIndexService index = searchIndex.getIfAvailable();
+        if (index != null) {
+            Optional<List<Long>> ids = index.search(JobSearchIndex.SearchQuery.of(q, company, location, level,
+                    postedAfter, cursorPostedAt, cursorId, searchDetail), offset, limit);
+            if (ids.isPresent()) {
+                return findAllInOrder(ids.get());
+            }
+        }
+        return toDomainViews(jobJpaRepository.searchAfter(q, company, location, level, postedAfter, cursorPostedAt,
+                cursorId, searchDetail, offset, limit));
+    }
+
+    /**
+     * 数据库检索在同一条查询中给出详情命中标记，只有投影中详情文本可能被截断的行才回到详情表复核；
+     * 内存索引的详情匹配规则与数据库不同，命中的一页仍按原方式批量查询详情命中。
+     */
+    @Override
+    public DetailSearchPage searchWithDetailMatches(String q,
+                                                    String company,
+                                                    String location,
+                                                    String level,
+                                                    Instant postedAfter,
+                                                    Instant cursorPostedAt,
+                                                    Long cursorId,
+                                                    int offset,
+                                                    int limit) {
+        JobSearchIndexService index = searchIndex.getIfAvailable();
+        if (index != null) {
+            Optional<List<Long>> ids = index.search(JobSearchIndex.SearchQuery.of(q, company, location, level,
+                    postedAfter, cursorPostedAt, cursorId, true), offset, limit);
+            if (ids.isPresent()) {
+                List<Job> jobs = findAllInOrder(ids.get());
+                Set<Long> matched = jobs.isEmpty() || q == null || q.isBlank() ? Set.of()
+                        : jobDetailJpaRepository.findMatchingJobIds(jobs.stream().map(Job::getId).toList(), q);
+                return new DetailSearchPage(jobs, matched);
+            }
+        }
+        List<JobJpaRepositoryCustom.JobListView> views = jobJpaRepository.searchAfter(q, company, location, level,
+                postedAfter, cursorPostedAt, cursorId, true, offset, limit);
+        return new DetailSearchPage(toDomainViews(views), detailMatches(views, q));
+    }
+
+    /**
+     * 内存检索索引只支持按发布时间排序，相关度排序始终由数据库计算。
+     */
+    @Override
+    public List<RankedJob> searchRanked(String q,
+                                        String company,
+                                        String location,
+                                        String level,
+                                        Instant postedAfter,
+                                        boolean searchDetail,
+                                        Instant rankedAt,
+                                        RankCursor cursor,
+                                        int limit) {
+        List<JobJpaRepositoryCustom.RankedListView> views = jobJpaRepository.searchRanked(q, company, location, level,
+                postedAfter, searchDetail, rankedAt, cursor != null ? cursor.score() : null,
+                cursor != null ? cursor.id() : null, limit);
+        Set<Long> matched = searchDetail
+                ? detailMatches(views.stream().map(JobJpaRepositoryCustom.RankedListView::view).toList(), q)
+                : Set.of();
+        List<RankedJob> jobs = new ArrayList<>(views.size());
+        for (JobJpaRepositoryCustom.RankedListView view : views) {
+            jobs.add(new RankedJob(view.view().toDomain(), view.score(), matched.contains(view.view().id())));
         }
         return jobs;
     }
 
+    private Set<Long> detailMatches(List<JobJpaRepositoryCustom.JobListView> views, String q) {
+        Set<Long> matched = new HashSet<>();
+        List<Long> recheck = new ArrayList<>();
+        for (JobJpaRepositoryCustom.JobListView view : views) {
+            if (view.matchedInDetail() == null) {
+                recheck.add(view.id());
+            } else if (view.matchedInDetail()) {
+                matched.add(view.id());
+            }
+        }
+        if (!recheck.isEmpty() && q != null && !q.isBlank()) {
+            matched.addAll(jobDetailJpaRepository.findMatchingJobIds(recheck, q));
+        }
+        return matched;
+    }
+
     @Override
     public long countSearch(String q,
                             String company,
@@ -99,9 +300,113 @@ public class JobRepositoryAdapter implements JobRepositoryPort {
                             String level,
                             Instant postedAfter,
                             boolean searchDetail) {
+        JobSearchIndexService index = searchIndex.getIfAvailable();
+        if (index != null) {
+            OptionalLong count = index.count(JobSearchIndex.SearchQuery.of(q, company, location, level,
+                    postedAfter, null, null, searchDetail));
+            if (count.isPresent()) {
+                return count.getAsLong();
+            }
+        }
         return jobJpaRepository.countSearch(q, company, location, level, postedAfter, searchDetail);
     }
 
+    @Override
+    public long countSearchUpTo(String q,
+                                String company,
+                                String location,
+                                String level,
+                                Instant postedAfter,
+                                boolean searchDetail,
+                                long limit) {
+        JobSearchIndexService index = searchIndex.getIfAvailable();
+        if (index != null) {
+            OptionalLong count = index.count(JobSearchIndex.SearchQuery.of(q, company, location, level,
+                    postedAfter, null, null, searchDetail));
+            if (count.isPresent()) {
+                return Math.min(count.getAsLong(), limit);
+            }
+        }
+        return jobJpaRepository.countSearchUpTo(q, company, location, level, postedAfter, searchDetail, limit);
+    }
+
+    @Override
+    public List<Long> findIdsAfter(Long afterId, int limit) {
+        return jobJpaRepository.findIdsAfter(afterId == null ? 0L : afterId, PageRequest.of(0, Math.max(1, limit)));
+    }
+
+    /**
+     * 不加入事务：读取游标单独占用一个连接，consumer 中的查询走各自的连接，MySQL 流式结果集读完之前
+     * 同一连接上不能执行其他语句。
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void streamForExport(Instant updatedSince, int batchSize, Consumer<List<Job>> consumer) {
+        exportReader.stream(updatedSince, batchSize, consumer);
+    }
+
+    @Override
+    @Transactional
+    public int refreshSearchDocuments(Collection<Long> jobIds) {
+        return documentWriter.rebuild(jobIds);
+    }
+
+    @Override
+    public JobCounts loadCounts() {
+        return new JobCounts(jobJpaRepository.count(),
+                toCountMap(jobJpaRepository.countByLowerCompany()),
+                toCountMap(jobJpaRepository.countByLowerLocation()),
+                toCountMap(jobJpaRepository.countByLowerLevel()));
+    }
+
+    /**
+     * 软删除前读取仍有效的职位参与计数的字段，已删除的职位不会出现在结果里。
+     */
+    private Map<Long, JobsChangedEvent.Previous> countedFields(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return Map.of();
+        }
+        Map<Long, JobsChangedEvent.Previous> previous = new HashMap<>();
+        for (Object[] row : jobJpaRepository.findCountedFieldsByIdIn(ids)) {
+            previous.put(((Number) row[0]).longValue(),
+                    new JobsChangedEvent.Previous((String) row[1], (String) row[2], (String) row[3]));
+        }
+        return previous;
+    }
+
+    private Map<String, Long> toCountMap(List<Object[]> rows) {
+        Map<String, Long> counts = new HashMap<>(rows.size() * 2);
+        for (Object[] row : rows) {
+            if (row[0] != null) {
+                counts.merge(row[0].toString(), ((Number) row[1]).longValue(), Long::sum);
+            }
+        }
+        return counts;
+    }
+
+    private List<Job> findAllInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return toDomainViews(jobJpaRepository.findListViewsByIds(ids));
+    }
+
+    private List<Job> toDomainViews(List<JobJpaRepositoryCustom.JobListView> views) {
+        List<Job> jobs = new ArrayList<>(views.size());
+        for (JobJpaRepositoryCustom.JobListView view : views) {
+            jobs.add(view.toDomain());
+        }
+        return jobs;
+    }
+
+    private List<Job> toDomainList(List<JobJpaEntity> entities) {
+        List<Job> jobs = new ArrayList<>(entities.size());
+        for (JobJpaEntity entity : entities) {
+            jobs.add(entity.toDomain());
+        }
+        return jobs;
+    }
+
     private void copyJobState(Job source, Job target) {
         if (target == null) {
             return;
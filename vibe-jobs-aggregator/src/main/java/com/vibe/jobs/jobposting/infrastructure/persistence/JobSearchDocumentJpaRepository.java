@@ -0,0 +1,17 @@
+package com.vibe.jobs.jobposting.infrastructure.persistence;
+
+import com.vibe.jobs.jobposting.infrastructure.persistence.entity.JobSearchDocumentJpaEntity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.Instant;
+import java.util.Collection;
+
+public interface JobSearchDocumentJpaRepository extends JpaRepository<JobSearchDocumentJpaEntity, Long> {
+
+    @Modifying
+    @Query("UPDATE JobSearchDocumentJpaEntity d SET d.deleted = true, d.updateTime = :deletedAt WHERE d.jobId IN :jobIds")
+    void softDeleteByJobIds(@Param("jobIds") Collection<Long> jobIds, @Param("deletedAt") Instant deletedAt);
+}
@@ -0,0 +1,214 @@
+package com.vibe.jobs.jobposting.infrastructure.persistence;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.infrastructure.persistence.entity.JobJpaEntity;
+import com.vibe.jobs.jobposting.infrastructure.persistence.entity.JobSearchDocumentJpaEntity;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 维护 job_search_documents 投影。由职位与详情仓储在各自的写事务中调用，
+ * 与业务数据同一事务提交，不存在投影落后于数据的窗口。
+ */
+@Component
+public class JobSearchDocumentWriter {
+
+    static final String TAG_SEPARATOR = "\n";
+    static final int DEFAULT_DETAIL_MAX_LENGTH = 20000;
+
+    private final JobSearchDocumentJpaRepository documentRepository;
+    private final JobJpaRepository jobJpaRepository;
+    private final JobDetailJpaRepository jobDetailJpaRepository;
+    private final int detailMaxLength;
+
+    public JobSearchDocumentWriter(JobSearchDocumentJpaRepository documentRepository,
+                                   JobJpaRepository jobJpaRepository,
+                                   JobDetailJpaRepository jobDetailJpaRepository,
+                                   @Value("${jobs.search.documents.detail-max-length:20000}") int detailMaxLength) {
+        this.documentRepository = documentRepository;
+        this.jobJpaRepository = jobJpaRepository;
+        this.jobDetailJpaRepository = jobDetailJpaRepository;
+        this.detailMaxLength = Math.max(0, detailMaxLength);
+    }
+
+    /**
+     * 职位新增或更新后同步检索字段；投影尚不存在时（例如回填前的历史职位）一并补上详情正文。
+     */
+    public void jobsSaved(Collection<Job> jobs) {
+        Map<Long, Job> byId = new LinkedHashMap<>();
+        for (Job job : jobs) {
+            if (job != null && job.getId() != null) {
+                byId.put(job.getId(), job);
+            }
+        }
+        if (byId.isEmpty()) {
+            return;
+        }
+        Map<Long, JobSearchDocumentJpaEntity> documents = loadDocuments(byId.keySet());
+        List<Long> missing = byId.keySet().stream().filter(id -> !documents.containsKey(id)).toList();
+        Map<Long, String> detailTexts = missing.isEmpty() ? Map.of() : loadDetailTexts(missing);
+        List<JobSearchDocumentJpaEntity> toSave = new ArrayList<>(byId.size());
+        for (Job job : byId.values()) {
+            JobSearchDocumentJpaEntity document = documents.get(job.getId());
+            if (document == null) {
+                document = new JobSearchDocumentJpaEntity(job.getId());
+                document.setDetailText(detailText(detailTexts.get(job.getId())));
+            }
+            applyJob(document, job);
+            toSave.add(document);
+        }
+        documentRepository.saveAll(toSave);
+    }
+
+    public void jobsDeleted(Collection<Long> jobIds, Instant deletedAt) {
+        List<Long> ids = jobIds == null ? List.of() : jobIds.stream().filter(Objects::nonNull).distinct().toList();
+        if (!ids.isEmpty()) {
+            documentRepository.softDeleteByJobIds(ids, deletedAt);
+        }
+    }
+
+    /**
+     * 详情正文变化后更新截断的检索正文，contentText 为 null 表示详情已删除。
+     */
+    public void detailsChanged(Map<Long, String> contentTextByJobId) {
+        if (contentTextByJobId == null || contentTextByJobId.isEmpty()) {
+            return;
+        }
+        Map<Long, JobSearchDocumentJpaEntity> documents = loadDocuments(contentTextByJobId.keySet());
+        List<Long> missing = contentTextByJobId.keySet().stream().filter(id -> !documents.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            for (JobJpaEntity entity : jobJpaRepository.findAllWithTagsByIdIn(missing)) {
+                JobSearchDocumentJpaEntity document = new JobSearchDocumentJpaEntity(entity.getId());
+                applyJob(document, entity.toDomain());
+                documents.put(entity.getId(), document);
+            }
+        }
+        List<JobSearchDocumentJpaEntity> toSave = new ArrayList<>(documents.size());
+        contentTextByJobId.forEach((jobId, contentText) -> {
+            JobSearchDocumentJpaEntity document = documents.get(jobId);
+            if (document != null) {
+                document.setDetailText(detailText(contentText));
+                toSave.add(document);
+            }
+        });
+        documentRepository.saveAll(toSave);
+    }
+
+    /**
+     * 按职位与详情的当前数据重建投影，返回内容发生变化（含新建）的数量。
+     */
+    public int rebuild(Collection<Long> jobIds) {
+        if (jobIds == null || jobIds.isEmpty()) {
+            return 0;
+        }
+        Map<Long, JobSearchDocumentJpaEntity> documents = loadDocuments(jobIds);
+        Map<Long, String> detailTexts = loadDetailTexts(jobIds);
+        List<JobSearchDocumentJpaEntity> toSave = new ArrayList<>();
+        for (JobJpaEntity entity : jobJpaRepository.findAllWithTagsByIdIn(jobIds)) {
+            JobSearchDocumentJpaEntity document = documents.remove(entity.getId());
+            JobSearchDocumentJpaEntity expected = new JobSearchDocumentJpaEntity(entity.getId());
+            applyJob(expected, entity.toDomain());
+            expected.setDetailText(detailText(detailTexts.get(entity.getId())));
+            if (document == null) {
+                toSave.add(expected);
+            } else if (!sameContent(document, expected)) {
+                copyContent(expected, document);
+                toSave.add(document);
+            }
+        }
+        // 剩下的投影对应的职位已删除或不存在
+        for (JobSearchDocumentJpaEntity orphan : documents.values()) {
+            if (!orphan.isDeleted()) {
+                orphan.setDeleted(true);
+                toSave.add(orphan);
+            }
+        }
+        documentRepository.saveAll(toSave);
+        return toSave.size();
+    }
+
+    static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    static String flattenTags(Set<String> tags) {
+        if (tags == null || tags.isEmpty()) {
+            return null;
+        }
+        TreeSet<String> sorted = new TreeSet<>();
+        for (String tag : tags) {
+            if (tag != null && !tag.isBlank()) {
+                sorted.add(tag.toLowerCase(Locale.ROOT));
+            }
+        }
+        return sorted.isEmpty() ? null : String.join(TAG_SEPARATOR, sorted);
+    }
+
+    private String detailText(String contentText) {
+        if (contentText == null || contentText.isEmpty()) {
+            return null;
+        }
+        String truncated = contentText.length() > detailMaxLength ? contentText.substring(0, detailMaxLength) : contentText;
+        return truncated.toLowerCase(Locale.ROOT);
+    }
+
+    private void applyJob(JobSearchDocumentJpaEntity document, Job job) {
+        document.setTitleLc(Objects.requireNonNullElse(lower(job.getTitle()), ""));
+        document.setCompanyLc(Objects.requireNonNullElse(lower(job.getCompany()), ""));
+        document.setLocationLc(lower(job.getLocation()));
+        document.setLevelLc(lower(job.getLevel()));
+        document.setTagsLc(flattenTags(job.getTags()));
+        document.setPostedAt(job.getPostedAt());
+        document.setDeleted(job.isDeleted());
+    }
+
+    private boolean sameContent(JobSearchDocumentJpaEntity left, JobSearchDocumentJpaEntity right) {
+        return Objects.equals(left.getTitleLc(), right.getTitleLc())
+                && Objects.equals(left.getCompanyLc(), right.getCompanyLc())
+                && Objects.equals(left.getLocationLc(), right.getLocationLc())
+                && Objects.equals(left.getLevelLc(), right.getLevelLc())
+                && Objects.equals(left.getTagsLc(), right.getTagsLc())
+                && Objects.equals(left.getDetailText(), right.getDetailText())
+                && Objects.equals(left.getPostedAt(), right.getPostedAt())
+                && left.isDeleted() == right.isDeleted();
+    }
+
+    private void copyContent(JobSearchDocumentJpaEntity source, JobSearchDocumentJpaEntity target) {
+        target.setTitleLc(source.getTitleLc());
+        target.setCompanyLc(source.getCompanyLc());
+        target.setLocationLc(source.getLocationLc());
+        target.setLevelLc(source.getLevelLc());
+        target.setTagsLc(source.getTagsLc());
+        target.setDetailText(source.getDetailText());
+        target.setPostedAt(source.getPostedAt());
+        target.setDeleted(source.isDeleted());
+    }
+
+    private Map<Long, JobSearchDocumentJpaEntity> loadDocuments(Collection<Long> jobIds) {
+        Map<Long, JobSearchDocumentJpaEntity> documents = new HashMap<>();
+        for (JobSearchDocumentJpaEntity document : documentRepository.findAllById(jobIds)) {
+            documents.put(document.getJobId(), document);
+        }
+        return documents;
+    }
+
+    private Map<Long, String> loadDetailTexts(Collection<Long> jobIds) {
+        Map<Long, String> texts = new HashMap<>();
+        for (JobDetailJpaRepository.ContentTextView view : jobDetailJpaRepository.findContentTextByJobIds(jobIds)) {
+            texts.put(view.getJobId(), view.getContentText());
+        }
+        return texts;
+    }
+}
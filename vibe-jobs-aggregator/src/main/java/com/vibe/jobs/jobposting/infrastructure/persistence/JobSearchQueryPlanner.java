@@ -0,0 +1,536 @@
+package com.vibe.jobs.jobposting.infrastructure.persistence;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
+import jakarta.persistence.EntityManager;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 职位检索的查询规划：把请求条件改写成能沿 job_search_documents 索引有序 seek 的 SQL。
+ *
+ * <ul>
+ *     <li>公司、地点条件先查出 like '%值%' 命中的不同取值，只有一个时改写为等值条件，
+ *     走 (列, deleted, posted_at, job_id) 复合索引；命中多个取值时才保留 LIKE。</li>
+ *     <li>游标使用行值比较 (posted_at, job_id) &lt; (?, ?)，并附加 posted_at &lt;= ? 作为索引范围边界，
+ *     深分页与首页一样只读取一页的索引条目。</li>
+ *     <li>MySQL 下无关键字时按等值条件选择索引提示；关键字检索交给全文索引。</li>
+ *     <li>相关度排序在同一组筛选条件上计算得分，排序与截断都在数据库内完成。</li>
+ *     <li>开启详情检索时在同一条查询里返回每行的 matched_in_detail，不再为当前页单独查询详情命中。</li>
+ * </ul>
+ * 改写结果按取值短暂缓存；职位写入或软删除提交后按变更前后的取值移除相关缓存，见 {@link #jobsChanged}。
+ */
+final class JobSearchQueryPlanner {
+
+    static final String LIST_COLUMNS = "j.id, j.source, j.external_id, j.title, j.company, j.location, j.level, "
+            + "j.posted_at, j.url, j.created_at, j.updated_at, j.checksum";
+
+    static final String POSTED_AT_INDEX = "idx_job_search_documents_posted_at_id_desc";
+    static final String COMPANY_INDEX = "idx_job_search_documents_company_posted";
+    static final String LOCATION_INDEX = "idx_job_search_documents_location_posted";
+    static final String LEVEL_INDEX = "idx_job_search_documents_level_posted";
+
+    private static final int MAX_CACHED_MATCHES = 1000;
+    private static final int MAX_RANK_TOKENS = 8;
+    static final String DETAIL_MATCH_COLUMN = "matched_in_detail";
+
+    private final EntityManager entityManager;
+    private final boolean supportsFullText;
+    private final Duration exactMatchTtl;
+    private final int detailRecheckLength;
+    private final Map<String, CachedMatch> exactMatches = new LinkedHashMap<>(64, 0.75f, true);
+
+    JobSearchQueryPlanner(EntityManager entityManager, boolean supportsFullText, Duration exactMatchTtl) {
+        this(entityManager, supportsFullText, exactMatchTtl, JobSearchDocumentWriter.DEFAULT_DETAIL_MAX_LENGTH);
+    }
+
+    /**
+     * detailMaxLength 为检索投影中详情文本的截断长度（UTF-16 单位）。char_length 按字符计数，
+     * 不足其一半的文本一定没有被截断。
+     */
+    JobSearchQueryPlanner(EntityManager entityManager, boolean supportsFullText, Duration exactMatchTtl,
+                          int detailMaxLength) {
+        this.entityManager = entityManager;
+        this.supportsFullText = supportsFullText;
+        this.exactMatchTtl = exactMatchTtl == null || exactMatchTtl.isNegative() ? Duration.ZERO : exactMatchTtl;
+        this.detailRecheckLength = Math.max(0, detailMaxLength) / 2;
+    }
+
+    record Filters(String q,
+                   String company,
+                   String location,
+                   String level,
+                   Instant postedAfter,
+                   boolean searchDetail,
+                   Instant cursorPostedAt,
+                   Long cursorId) {
+    }
+
+    /**
+     * detailMatch 为 true 时结果在职位列（及得分）之后多一列 matched_in_detail。
+     */
+    record PreparedQuery(String sql, Map<String, Object> params, boolean detailMatch) {
+    }
+
+    /**
+     * 某个文本条件的改写结果：exact 为 true 时 value 是唯一命中的完整取值。
+     */
+    record Match(String value, boolean exact) {
+    }
+
+    /**
+     * 相关度排序的权重，halfLifeSeconds 为发布时间衰减到一半所经过的秒数。
+     */
+    record RelevanceWeights(double fullText,
+                            double detail,
+                            double title,
+                            double company,
+                            double tag,
+                            double location,
+                            long halfLifeSeconds) {
+    }
+
+    PreparedQuery list(Filters filters) {
+        return prepare(filters, false, 0L);
+    }
+
+    /**
+     * limit 大于 0 时最多数到 limit 行。
+     */
+    PreparedQuery count(Filters filters, long limit) {
+        return prepare(filters, true, limit);
+    }
+
+    /**
+     * 相关度排序：在数据库内为全部候选计算得分并排序，只返回一页。
+     * 得分 = (全文相关度 + 各关键词在标题/公司/标签/地点/详情中的命中加分) × 1 / (1 + 职位年龄 / 半衰期)，
+     * 职位年龄相对 rankedAt 计算，翻页时沿用首页的 rankedAt，得分不随时间漂移；
+     * 游标 (score, job_id) 在外层按保留 6 位小数的得分比较。
+     */
+    PreparedQuery ranked(Filters filters, RelevanceWeights weights, Instant rankedAt, Double cursorScore) {
+        String query = trim(filters.q());
+        if (query == null) {
+            throw new IllegalArgumentException("Relevance ranking requires a query");
+        }
+        boolean detailEnabled = filters.searchDetail();
+        Map<String, Object> params = new HashMap<>();
+
+        StringBuilder sql = new StringBuilder("select ranked.* from (select ").append(LIST_COLUMNS).append(", ");
+        if (detailEnabled) {
+            appendDetailMatch(sql, params, query);
+            sql.append(", ");
+        }
+        sql.append("round((");
+        appendRelevance(sql, params, query, detailEnabled, weights);
+        // 显式转为 double，避免 H2 按字面量或参数推断出低精度的小数/整数类型
+        sql.append(") * (1 / (1 + cast(greatest(coalesce(timestampdiff(SECOND, d.posted_at, :rankedAt), :maxAge), 0)")
+                .append(" as double) / cast(:halfLifeSeconds as double))), 6) as score")
+                .append(" from job_search_documents d join jobs j on j.id = d.job_id ");
+        params.put("rankedAt", Timestamp.from(rankedAt));
+        params.put("halfLifeSeconds", (double) weights.halfLifeSeconds());
+        // 没有发布时间的职位按 100 个半衰期计算，排在同等命中的有日期职位之后
+        params.put("maxAge", weights.halfLifeSeconds() * 100);
+        appendFilters(sql, params, filters, query, detailEnabled);
+        sql.append(") ranked ");
+        if (cursorScore != null && filters.cursorId() != null) {
+            sql.append("where ranked.score < :cursorScore or (ranked.score = :cursorScore and ranked.id < :cursorId) ");
+            params.put("cursorScore", cursorScore);
+            params.put("cursorId", filters.cursorId());
+        }
+        sql.append("order by ranked.score desc, ranked.id desc");
+        return new PreparedQuery(sql.toString(), params, detailEnabled);
+    }
+
+    private PreparedQuery prepare(Filters filters, boolean count, long limit) {
+        String query = trim(filters.q());
+        boolean hasQuery = query != null;
+        boolean detailEnabled = filters.searchDetail() && hasQuery;
+        boolean hasCursor = !count && filters.cursorPostedAt() != null && filters.cursorId() != null;
+        Map<String, Object> params = new HashMap<>();
+
+        StringBuilder sql = new StringBuilder();
+        if (count) {
+            // 计数只需要主键，避免派生表物化整行
+            sql.append("select count(*) from (select d.job_id from job_search_documents d ");
+        } else {
+            sql.append("select ").append(LIST_COLUMNS).append(' ');
+            if (detailEnabled) {
+                sql.append(", ");
+                appendDetailMatch(sql, params, query);
+                sql.append(' ');
+            }
+            sql.append("from job_search_documents d ");
+        }
+        int hintAt = sql.length();
+        if (!count) {
+            sql.append("join jobs j on j.id = d.job_id ");
+        }
+        Resolved resolved = appendFilters(sql, params, filters, query, detailEnabled);
+        String hint = indexHint(hasQuery, count, resolved.company(), resolved.location(), resolved.level());
+        if (hint != null) {
+            sql.insert(hintAt, "force index (" + hint + ") ");
+        }
+        if (hasCursor) {
+            // 单列范围条件让索引从游标位置开始读取，行值比较负责同一时间点内按 job_id 精确断开
+            sql.append("and d.posted_at <= :cursorPostedAt ");
+            sql.append("and (d.posted_at, d.job_id) < (:cursorPostedAt, :cursorId) ");
+            params.put("cursorPostedAt", Timestamp.from(filters.cursorPostedAt()));
+            params.put("cursorId", filters.cursorId());
+        }
+        if (count) {
+            if (limit > 0) {
+                sql.append("limit :countLimit ");
+                params.put("countLimit", limit);
+            }
+            sql.append(") as count_query");
+        } else {
+            sql.append("order by d.posted_at desc, d.job_id desc");
+        }
+        return new PreparedQuery(sql.toString(), params, detailEnabled && !count);
+    }
+
+    private Resolved appendFilters(StringBuilder sql, Map<String, Object> params, Filters filters, String query,
+                                   boolean detailEnabled) {
+        Match company = resolve("company_lc", lower(trim(filters.company())));
+        Match location = resolve("location_lc", lower(trim(filters.location())));
+        String level = lower(trim(filters.level()));
+        sql.append("where d.deleted = false ");
+        if (query != null) {
+            appendTextPredicate(sql, params, query, detailEnabled);
+        }
+        appendMatch(sql, params, "d.company_lc", "company", company);
+        appendMatch(sql, params, "d.location_lc", "location", location);
+        if (level != null) {
+            sql.append("and d.level_lc = :level ");
+            params.put("level", level);
+        }
+        if (filters.postedAfter() != null) {
+            sql.append("and d.posted_at >= :postedAfter ");
+            params.put("postedAfter", Timestamp.from(filters.postedAfter()));
+        }
+        return new Resolved(company, location, level);
+    }
+
+    /**
+     * MySQL 上以自然语言模式的 MATCH 得分（InnoDB 的 BM25 类相关度）为基础；两种数据库都按关键词逐个
+     * 给字段命中加分，权重按关键词数平均，多词查询命中越多得分越高。权重来自配置，以字面量写入 SQL。
+     */
+    private void appendRelevance(StringBuilder sql, Map<String, Object> params, String query, boolean detailEnabled,
+                                 RelevanceWeights weights) {
+        sql.append("0");
+        String naturalQuery = naturalLanguageQuery(query);
+        if (supportsFullText && naturalQuery != null) {
+            if (weights.fullText() > 0) {
+                sql.append(" + ").append(literal(weights.fullText()))
+                        .append(" * MATCH(d.title_lc, d.company_lc, d.location_lc, d.tags_lc) AGAINST (:rankQuery)");
+                params.put("rankQuery", naturalQuery);
+            }
+            if (detailEnabled && weights.detail() > 0) {
+                sql.append(" + ").append(literal(weights.detail()))
+                        .append(" * MATCH(d.detail_text) AGAINST (:rankDetailQuery)");
+                params.put("rankDetailQuery", naturalQuery);
+            }
+        }
+        List<String> tokens = rankTokens(query);
+        for (int i = 0; i < tokens.size(); i++) {
+            String name = "rankToken" + i;
+            params.put(name, tokens.get(i));
+            double share = 1.0 / tokens.size();
+            appendBoost(sql, "d.title_lc", name, weights.title() * share);
+            appendBoost(sql, "d.company_lc", name, weights.company() * share);
+            appendBoost(sql, "d.tags_lc", name, weights.tag() * share);
+            appendBoost(sql, "d.location_lc", name, weights.location() * share);
+            if (detailEnabled && !supportsFullText) {
+                appendBoost(sql, "d.detail_text", name, weights.detail() * share);
+            }
+        }
+    }
+
+    private void appendBoost(StringBuilder sql, String column, String param, double weight) {
+        if (weight <= 0) {
+            return;
+        }
+        sql.append(" + case when ").append(column).append(" like concat('%', :").append(param)
+                .append(", '%') then ").append(literal(weight)).append(" else 0 end");
+    }
+
+    private void appendTextPredicate(StringBuilder sql, Map<String, Object> params, String query, boolean detailEnabled) {
+        sql.append("and (");
+        if (supportsFullText) {
+            String fullTextQuery = buildFullTextQuery(query);
+            sql.append("MATCH(d.title_lc, d.company_lc, d.location_lc, d.tags_lc) AGAINST (:mainFullTextQuery IN BOOLEAN MODE)");
+            params.put("mainFullTextQuery", fullTextQuery);
+            if (detailEnabled) {
+                sql.append(" or MATCH(d.detail_text) AGAINST (:detailFullTextQuery IN BOOLEAN MODE)");
+                params.put("detailFullTextQuery", fullTextQuery);
+            }
+        } else {
+            sql.append("d.title_lc like concat('%', :q, '%')");
+            sql.append(" or d.company_lc like concat('%', :q, '%')");
+            sql.append(" or d.location_lc like concat('%', :q, '%')");
+            sql.append(" or d.tags_lc like concat('%', :q, '%')");
+            if (detailEnabled) {
+                sql.append(" or d.detail_text like concat('%', :q, '%')");
+            }
+            params.put("q", lower(query));
+        }
+        sql.append(") ");
+    }
+
+    /**
+     * 与 JobDetailJpaRepositoryImpl#findMatchingJobIds 相同的判定：MySQL 上为同一个布尔模式 MATCH 表达式
+     * （与 where 中的表达式一致，只计算一次），其他数据库为每个关键词都出现在详情中。
+     * 命中时为 1；未命中但投影中的详情文本可能被截断时为 null，由调用方对原始详情复核；否则为 0。
+     */
+    private void appendDetailMatch(StringBuilder sql, Map<String, Object> params, String query) {
+        sql.append("case when ");
+        if (supportsFullText) {
+            sql.append("MATCH(d.detail_text) AGAINST (:detailFullTextQuery IN BOOLEAN MODE)");
+            params.put("detailFullTextQuery", buildFullTextQuery(query));
+        } else {
+            List<String> tokens = detailTokens(query);
+            sql.append("d.detail_text is not null");
+            if (tokens.isEmpty()) {
+                sql.append(" and d.detail_text like concat('%', :detailToken, '%')");
+                params.put("detailToken", lower(query));
+            }
+            for (int i = 0; i < tokens.size(); i++) {
+                sql.append(" and d.detail_text like concat('%', :detailToken").append(i).append(", '%')");
+                params.put("detailToken" + i, tokens.get(i));
+            }
+        }
+        sql.append(" then 1 when char_length(d.detail_text) >= :detailRecheckLength then null else 0 end as ")
+                .append(DETAIL_MATCH_COLUMN);
+        params.put("detailRecheckLength", detailRecheckLength);
+    }
+
+    private void appendMatch(StringBuilder sql, Map<String, Object> params, String column, String name, Match match) {
+        if (match == null) {
+            return;
+        }
+        if (match.exact()) {
+            sql.append("and ").append(column).append(" = :").append(name).append(' ');
+        } else {
+            sql.append("and ").append(column).append(" like concat('%', :").append(name).append(", '%') ");
+        }
+        params.put(name, match.value());
+    }
+
+    /**
+     * 只在 MySQL、没有全文条件时给出提示：有等值条件时按其复合索引 seek，否则沿 posted_at 索引有序扫描。
+     * 计数没有排序需求，只在存在等值条件时提示。
+     */
+    private String indexHint(boolean hasQuery, boolean count, Match company, Match location, String level) {
+        if (!supportsFullText || hasQuery) {
+            return null;
+        }
+        if (company != null && company.exact()) {
+            return COMPANY_INDEX;
+        }
+        if (location != null && location.exact()) {
+            return LOCATION_INDEX;
+        }
+        if (level != null) {
+            return LEVEL_INDEX;
+        }
+        return count ? null : POSTED_AT_INDEX;
+    }
+
+    /**
+     * like '%值%' 在全表只命中一个不同取值时，与该取值的等值条件结果相同，改写为等值条件。
+     * 没有命中时保留 LIKE：缓存期内写入的新取值可能包含该输入，等值条件会漏掉它们，而 LIKE 始终正确。
+     */
+    Match resolve(String column, String value) {
+        if (value == null) {
+            return null;
+        }
+        String key = column + '\u0000' + value;
+        Match cached = cachedMatch(key);
+        if (cached != null) {
+            return cached;
+        }
+        @SuppressWarnings("unchecked")
+        List<Object> values = entityManager.createNativeQuery("select distinct d." + column
+                        + " from job_search_documents d where d.deleted = false and d." + column
+                        + " like concat('%', :value, '%')")
+                .setParameter("value", value)
+                .setMaxResults(2)
+                .getResultList();
+        Match match;
+        if (values.size() == 1 && values.get(0) != null) {
+            match = new Match(values.get(0).toString(), true);
+        } else {
+            match = new Match(value, false);
+        }
+        cacheMatch(key, match);
+        return match;
+    }
+
+    /**
+     * 职位写入或软删除提交后调用：变更前或变更后的公司、地点取值包含某个缓存的输入时，该输入命中的取值集合
+     * 可能已经变化，移除这些等值改写，下次查询重新判断。
+     */
+    synchronized void jobsChanged(JobsChangedEvent event) {
+        if (exactMatches.isEmpty() || event == null || event.isEmpty()) {
+            return;
+        }
+        Set<String> companies = new HashSet<>();
+        Set<String> locations = new HashSet<>();
+        for (Job job : event.savedJobs()) {
+            addLower(companies, job.getCompany());
+            addLower(locations, job.getLocation());
+        }
+        for (JobsChangedEvent.Previous previous : event.previous().values()) {
+            addLower(companies, previous.company());
+            addLower(locations, previous.location());
+        }
+        if (companies.isEmpty() && locations.isEmpty()) {
+            return;
+        }
+        exactMatches.entrySet().removeIf(entry -> {
+            Match match = entry.getValue().match();
+            if (!match.exact()) {
+                return false;
+            }
+            String key = entry.getKey();
+            int separator = key.indexOf('\u0000');
+            Set<String> values = switch (key.substring(0, separator)) {
+                case "company_lc" -> companies;
+                case "location_lc" -> locations;
+                default -> Set.of();
+            };
+            String input = key.substring(separator + 1);
+            for (String value : values) {
+                if (value.contains(input)) {
+                    return true;
+                }
+            }
+            return false;
+        });
+    }
+
+    private static void addLower(Set<String> values, String value) {
+        String lowered = lower(value);
+        if (lowered != null) {
+            values.add(lowered);
+        }
+    }
+
+    private synchronized Match cachedMatch(String key) {
+        CachedMatch cached = exactMatches.get(key);
+        if (cached == null) {
+            return null;
+        }
+        if (!cached.expiresAt().isAfter(Instant.now())) {
+            exactMatches.remove(key);
+            return null;
+        }
+        return cached.match();
+    }
+
+    private synchronized void cacheMatch(String key, Match match) {
+        if (exactMatchTtl.isZero()) {
+            return;
+        }
+        exactMatches.put(key, new CachedMatch(match, Instant.now().plus(exactMatchTtl)));
+        Iterator<String> eldest = exactMatches.keySet().iterator();
+        while (exactMatches.size() > MAX_CACHED_MATCHES && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    static String buildFullTextQuery(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        String[] tokens = value.trim().split("\\s+");
+        StringBuilder builder = new StringBuilder();
+        for (String token : tokens) {
+            String cleaned = token.replaceAll("[^\\p{IsAlphabetic}\\p{IsDigit}]", "");
+            if (cleaned.isEmpty()) {
+                continue;
+            }
+            if (builder.length() > 0) {
+                builder.append(' ');
+            }
+            builder.append('+').append(cleaned).append('*');
+        }
+        return builder.length() == 0 ? value : builder.toString();
+    }
+
+    /**
+     * 自然语言模式只需要去掉布尔运算符后的词，未含任何字母数字时不参与全文打分。
+     */
+    static String naturalLanguageQuery(String value) {
+        List<String> tokens = rankTokens(value);
+        return tokens.isEmpty() ? null : String.join(" ", tokens);
+    }
+
+    /**
+     * 不截断个数，与详情命中查询的分词一致。
+     */
+    static List<String> detailTokens(String value) {
+        List<String> tokens = new ArrayList<>();
+        if (!StringUtils.hasText(value)) {
+            return tokens;
+        }
+        for (String token : value.trim().split("\\s+")) {
+            String cleaned = token.replaceAll("[^\\p{IsAlphabetic}\\p{IsDigit}]", "");
+            if (!cleaned.isEmpty()) {
+                tokens.add(cleaned.toLowerCase(Locale.ROOT));
+            }
+        }
+        return tokens;
+    }
+
+    static List<String> rankTokens(String value) {
+        if (!StringUtils.hasText(value)) {
+            return List.of();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : value.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            String cleaned = token.replaceAll("[^\\p{IsAlphabetic}\\p{IsDigit}]", "");
+            if (!cleaned.isEmpty() && tokens.size() < MAX_RANK_TOKENS) {
+                tokens.add(cleaned);
+            }
+        }
+        return List.copyOf(tokens);
+    }
+
+    private static String literal(double value) {
+        return BigDecimal.valueOf(value).setScale(6, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private static String trim(String value) {
+        if (!StringUtils.hasText(value)) {
+            return null;
+        }
+        return value.trim();
+    }
+
+    private static String lower(String value) {
+        return value == null ? null : value.toLowerCase(Locale.ROOT);
+    }
+
+    private record Resolved(Match company, Match location, String level) {
+    }
+
+    private record CachedMatch(Match match, Instant expiresAt) {
+    }
+}
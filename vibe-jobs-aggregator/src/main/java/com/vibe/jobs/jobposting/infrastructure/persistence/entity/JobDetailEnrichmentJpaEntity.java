@@ -12,6 +12,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.Lob;
 import jakarta.persistence.ManyToOne;
@@ -28,8 +29,10 @@ import java.util.Objects;
 @Entity
 @Table(name = "job_detail_enrichments", uniqueConstraints = {
         @UniqueConstraint(name = "uk_job_detail_enrichments_job_key", columnNames = {"job_detail_id", "enrichment_key"})
+}, indexes = {
+        @Index(name = "idx_job_detail_enrichments_updated_at", columnList = "updated_at, job_detail_id")
 })
-@Where(clause = "deleted = 0")
+@Where(clause = "deleted = false")
 public class JobDetailEnrichmentJpaEntity {
 
     @Id
@@ -28,7 +28,8 @@ import java.util.stream.Collectors;
 @Entity
 @Table(name = "job_details", indexes = {
         @Index(name = "idx_job_details_job_id", columnList = "job_id", unique = true),
-        @Index(name = "idx_job_details_deleted", columnList = "deleted")
+        @Index(name = "idx_job_details_deleted", columnList = "deleted"),
+        @Index(name = "idx_job_details_updated_at", columnList = "updatedAt, job_id")
 })
 @Where(clause = "deleted = false")
 public class JobDetailJpaEntity {
@@ -48,7 +49,7 @@ public class JobDetailJpaEntity {
     private String contentText;
 
     @OneToMany(mappedBy = "jobDetail", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    @Where(clause = "deleted = 0")
+    @Where(clause = "deleted = false")
     private Set<JobDetailEnrichmentJpaEntity> enrichments = new LinkedHashSet<>();
 
     @Column(nullable = false, columnDefinition = "timestamp")
@@ -1,11 +1,11 @@
 package com.vibe.jobs.jobposting.infrastructure.persistence.entity;
 
 import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -14,6 +14,7 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Where;
 
 import java.time.Instant;
@@ -27,7 +28,8 @@ import java.util.Set;
         @Index(name = "idx_jobs_title", columnList = "title"),
         @Index(name = "idx_jobs_company", columnList = "company"),
         @Index(name = "idx_jobs_location", columnList = "location"),
-        @Index(name = "idx_jobs_deleted", columnList = "deleted")
+        @Index(name = "idx_jobs_deleted", columnList = "deleted"),
+        @Index(name = "idx_jobs_updated_at", columnList = "updatedAt")
 })
 @Where(clause = "deleted = false")
 public class JobJpaEntity {
@@ -54,7 +56,9 @@ public class JobJpaEntity {
     @Column(columnDefinition = "timestamp")
     private Instant postedAt;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    // 懒加载并按批初始化：列表读取走投影查询，不再为每行单独查询 job_tags
+    @ElementCollection
+    @BatchSize(size = 100)
     @CollectionTable(name = "job_tags", joinColumns = @JoinColumn(name = "job_id"))
     @Column(name = "tag")
     private Set<String> tags = new HashSet<>();
@@ -150,6 +154,10 @@ public class JobJpaEntity {
         job.setDeleted(deleted);
     }
 
+    public JobsChangedEvent.Previous countedFields() {
+        return new JobsChangedEvent.Previous(company, location, level);
+    }
+
     public Long getId() {
         return id;
     }
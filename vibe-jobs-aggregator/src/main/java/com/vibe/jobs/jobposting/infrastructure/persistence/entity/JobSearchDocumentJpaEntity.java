@@ -0,0 +1,168 @@
+package com.vibe.jobs.jobposting.infrastructure.persistence.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * 职位搜索投影：与职位同主键，字段均为预先转小写的检索文本，由仓储在职位和详情写入时同步维护。
+ */
+@Entity
+@Table(name = "job_search_documents", indexes = {
+        @Index(name = "idx_job_search_documents_posted_at_id_desc", columnList = "posted_at, job_id"),
+        @Index(name = "idx_job_search_documents_company_posted", columnList = "company_lc, deleted, posted_at, job_id"),
+        @Index(name = "idx_job_search_documents_location_posted", columnList = "location_lc, deleted, posted_at, job_id"),
+        @Index(name = "idx_job_search_documents_level_posted", columnList = "level_lc, deleted, posted_at, job_id")
+})
+public class JobSearchDocumentJpaEntity implements Persistable<Long> {
+
+    @Id
+    @Column(name = "job_id")
+    private Long jobId;
+
+    @Column(name = "title_lc", nullable = false)
+    private String titleLc;
+
+    @Column(name = "company_lc", nullable = false)
+    private String companyLc;
+
+    @Column(name = "location_lc")
+    private String locationLc;
+
+    @Column(name = "level_lc")
+    private String levelLc;
+
+    @Column(name = "tags_lc", columnDefinition = "text")
+    private String tagsLc;
+
+    @Column(name = "detail_text", columnDefinition = "mediumtext")
+    private String detailText;
+
+    @Column(name = "posted_at", columnDefinition = "timestamp")
+    private Instant postedAt;
+
+    @Column(name = "create_time", nullable = false, updatable = false, columnDefinition = "timestamp")
+    private Instant createTime;
+
+    @Column(name = "update_time", nullable = false, columnDefinition = "timestamp")
+    private Instant updateTime;
+
+    @Column(nullable = false)
+    private boolean deleted = false;
+
+    @Transient
+    private boolean newDocument = true;
+
+    protected JobSearchDocumentJpaEntity() {
+    }
+
+    public JobSearchDocumentJpaEntity(Long jobId) {
+        this.jobId = jobId;
+    }
+
+    @PrePersist
+    void onCreate() {
+        Instant now = Instant.now();
+        createTime = now;
+        updateTime = now;
+    }
+
+    @PreUpdate
+    void onUpdate() {
+        updateTime = Instant.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    void markPersisted() {
+        newDocument = false;
+    }
+
+    @Override
+    public Long getId() {
+        return jobId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return newDocument;
+    }
+
+    public Long getJobId() {
+        return jobId;
+    }
+
+    public String getTitleLc() {
+        return titleLc;
+    }
+
+    public void setTitleLc(String titleLc) {
+        this.titleLc = titleLc;
+    }
+
+    public String getCompanyLc() {
+        return companyLc;
+    }
+
+    public void setCompanyLc(String companyLc) {
+        this.companyLc = companyLc;
+    }
+
+    public String getLocationLc() {
+        return locationLc;
+    }
+
+    public void setLocationLc(String locationLc) {
+        this.locationLc = locationLc;
+    }
+
+    public String getLevelLc() {
+        return levelLc;
+    }
+
+    public void setLevelLc(String levelLc) {
+        this.levelLc = levelLc;
+    }
+
+    public String getTagsLc() {
+        return tagsLc;
+    }
+
+    public void setTagsLc(String tagsLc) {
+        this.tagsLc = tagsLc;
+    }
+
+    public String getDetailText() {
+        return detailText;
+    }
+
+    public void setDetailText(String detailText) {
+        this.detailText = detailText;
+    }
+
+    public Instant getPostedAt() {
+        return postedAt;
+    }
+
+    public void setPostedAt(Instant postedAt) {
+        this.postedAt = postedAt;
+    }
+
+    public boolean isDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(boolean deleted) {
+        this.deleted = deleted;
+    }
+}
@@ -0,0 +1,482 @@
+package com.vibe.jobs.jobposting.infrastructure.search;
+
+import com.vibe.jobs.jobposting.application.JobCatalog;
+import com.vibe.jobs.jobposting.domain.Job;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 职位搜索的内存倒排索引。
+ *
+ * 标题、公司、地点、标签按字符三元组建倒排表，查询词先用三元组求交缩小候选，再用 contains 校验，
+ * 语义与 lower(field) like '%词%' 一致；详情正文按词建倒排表，查询词按前缀匹配，与全文检索的 词* 一致。
+ * 多个查询词之间为 AND，排序与分页游标与 SQL 路径相同（posted_at desc, id desc）。
+ *
+ * 文档按追加方式分配槽位：更新时分配新槽位并把旧槽位标记为失效，倒排表因此始终有序追加；
+ * 失效槽位超过有效槽位时整体压缩。读写通过读写锁隔离。
+ */
+public class JobSearchIndex {
+
+    private static final char FIELD_SEPARATOR = '\u0001';
+    private static final int MIN_COMPACT_SLOTS = 1024;
+    // 候选数超过有效文档数的该比例时，直接按排序集合顺序扫描，省去对候选排序
+    private static final int WALK_RATIO = 8;
+
+    static final Comparator<Doc> ORDER = Comparator
+            .comparing(Doc::postedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(Comparator.comparingLong(Doc::id).reversed());
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<Doc> slots = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final Map<Long, Integer> slotById = new HashMap<>();
+    private final Map<Long, IntList> grams = new HashMap<>();
+    private final TreeMap<String, IntList> detailTerms = new TreeMap<>();
+    private final TreeSet<Doc> ordered = new TreeSet<>(ORDER);
+
+    public void upsert(Job job) {
+        if (job == null || job.getId() == null) {
+            return;
+        }
+        if (job.isDeleted()) {
+            remove(job.getId());
+            return;
+        }
+        upsert(JobCatalog.Entry.of(job));
+    }
+
+    public void upsert(JobCatalog.Entry entry) {
+        if (entry == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer previous = slotById.get(entry.id());
+            String[] detailWords = previous == null ? new String[0] : slots.get(previous).detailWords();
+            replaceLocked(Doc.of(entry, detailWords));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void upsertAll(Collection<Job> jobs) {
+        if (jobs == null) {
+            return;
+        }
+        for (Job job : jobs) {
+            upsert(job);
+        }
+    }
+
+    /**
+     * 更新职位的详情正文；职位尚未入索引时忽略（职位写入后会先于详情进入索引）。
+     */
+    public void updateDetail(Long jobId, String contentText) {
+        if (jobId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            Integer slot = slotById.get(jobId);
+            if (slot == null) {
+                return;
+            }
+            replaceLocked(slots.get(slot).withDetailWords(words(contentText)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long jobId) {
+        if (jobId == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(jobId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 返回按 posted_at desc, id desc 排序的职位 id。
+     */
+    public List<Long> search(SearchQuery query, int offset, int limit) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = candidates(query);
+            List<Long> ids = new ArrayList<>();
+            int skipped = 0;
+            int max = limit > 0 ? limit : Integer.MAX_VALUE;
+            for (Doc doc : orderedCandidates(candidates)) {
+                if (!query.matchesFilters(doc) || !query.isAfterCursor(doc)) {
+                    continue;
+                }
+                if (skipped < offset) {
+                    skipped++;
+                    continue;
+                }
+                ids.add(doc.id());
+                if (ids.size() >= max) {
+                    break;
+                }
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long count(SearchQuery query) {
+        lock.readLock().lock();
+        try {
+            BitSet candidates = candidates(query);
+            BitSet scope = candidates == null ? live : candidates;
+            long count = 0;
+            for (int slot = scope.nextSetBit(0); slot >= 0; slot = scope.nextSetBit(slot + 1)) {
+                if (query.matchesFilters(slots.get(slot))) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 没有关键词时返回 null，表示全部有效文档。
+     */
+    private BitSet candidates(SearchQuery query) {
+        if (query.tokens().length == 0) {
+            return null;
+        }
+        BitSet result = null;
+        for (String token : query.tokens()) {
+            BitSet matches = mainMatches(token);
+            if (query.searchDetail()) {
+                matches.or(detailMatches(token));
+            }
+            if (result == null) {
+                result = matches;
+            } else {
+                result.and(matches);
+            }
+            if (result.isEmpty()) {
+                break;
+            }
+        }
+        result.and(live);
+        return result;
+    }
+
+    private BitSet mainMatches(String token) {
+        BitSet matches = new BitSet();
+        if (token.length() < 3) {
+            // 短词没有三元组可用，直接扫描有效文档
+            for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+                if (slots.get(slot).text().contains(token)) {
+                    matches.set(slot);
+                }
+            }
+            return matches;
+        }
+        IntList narrowed = null;
+        for (int i = 0; i + 3 <= token.length(); i++) {
+            IntList postings = grams.get(gram(token, i));
+            if (postings == null) {
+                return matches;
+            }
+            narrowed = narrowed == null ? postings : narrowed.intersect(postings);
+            if (narrowed.size() == 0) {
+                return matches;
+            }
+        }
+        for (int i = 0; i < narrowed.size(); i++) {
+            int slot = narrowed.get(i);
+            if (live.get(slot) && slots.get(slot).text().contains(token)) {
+                matches.set(slot);
+            }
+        }
+        return matches;
+    }
+
+    private BitSet detailMatches(String token) {
+        BitSet matches = new BitSet();
+        String prefix = cleanWord(token);
+        if (prefix.isEmpty()) {
+            return matches;
+        }
+        NavigableMap<String, IntList> range = detailTerms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        for (IntList postings : range.values()) {
+            for (int i = 0; i < postings.size(); i++) {
+                matches.set(postings.get(i));
+            }
+        }
+        return matches;
+    }
+
+    private Iterable<Doc> orderedCandidates(BitSet candidates) {
+        if (candidates == null) {
+            return ordered;
+        }
+        int count = candidates.cardinality();
+        if ((long) count * WALK_RATIO > ordered.size()) {
+            return () -> ordered.stream().filter(doc -> candidates.get(slotById.get(doc.id()))).iterator();
+        }
+        List<Doc> docs = new ArrayList<>(count);
+        for (int slot = candidates.nextSetBit(0); slot >= 0; slot = candidates.nextSetBit(slot + 1)) {
+            docs.add(slots.get(slot));
+        }
+        docs.sort(ORDER);
+        return docs;
+    }
+
+    private void replaceLocked(Doc doc) {
+        Integer previous = slotById.get(doc.id());
+        if (previous != null) {
+            live.clear(previous);
+            ordered.remove(slots.get(previous));
+        }
+        int slot = slots.size();
+        slots.add(doc);
+        live.set(slot);
+        slotById.put(doc.id(), slot);
+        ordered.add(doc);
+        indexSlot(slot, doc);
+        compactIfNeeded();
+    }
+
+    private void removeLocked(Long jobId) {
+        Integer slot = slotById.remove(jobId);
+        if (slot == null) {
+            return;
+        }
+        live.clear(slot);
+        ordered.remove(slots.get(slot));
+        compactIfNeeded();
+    }
+
+    private void indexSlot(int slot, Doc doc) {
+        String text = doc.text();
+        for (int i = 0; i + 3 <= text.length(); i++) {
+            // 同一文档重复出现的三元组由 addSlot 去重
+            grams.computeIfAbsent(gram(text, i), key -> new IntList()).addSlot(slot);
+        }
+        for (String word : doc.detailWords()) {
+            detailTerms.computeIfAbsent(word, key -> new IntList()).addSlot(slot);
+        }
+    }
+
+    /**
+     * 失效槽位多于有效槽位时按有效文档重新分配槽位并重建倒排表。
+     */
+    private void compactIfNeeded() {
+        int dead = slots.size() - slotById.size();
+        if (dead < MIN_COMPACT_SLOTS || dead <= slotById.size()) {
+            return;
+        }
+        List<Doc> docs = new ArrayList<>(slotById.size());
+        for (int slot = live.nextSetBit(0); slot >= 0; slot = live.nextSetBit(slot + 1)) {
+            docs.add(slots.get(slot));
+        }
+        slots.clear();
+        live.clear();
+        slotById.clear();
+        grams.clear();
+        detailTerms.clear();
+        for (Doc doc : docs) {
+            int slot = slots.size();
+            slots.add(doc);
+            live.set(slot);
+            slotById.put(doc.id(), slot);
+            indexSlot(slot, doc);
+        }
+    }
+
+    private static long gram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    static String cleanWord(String token) {
+        StringBuilder builder = new StringBuilder(token.length());
+        for (int i = 0; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                builder.append(c);
+            }
+        }
+        return builder.toString();
+    }
+
+    static String[] words(String contentText) {
+        if (contentText == null || contentText.isBlank()) {
+            return new String[0];
+        }
+        TreeSet<String> unique = new TreeSet<>();
+        String lowered = contentText.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lowered.length(); i++) {
+            boolean wordChar = i < lowered.length() && Character.isLetterOrDigit(lowered.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                unique.add(lowered.substring(start, i));
+                start = -1;
+            }
+        }
+        return unique.toArray(String[]::new);
+    }
+
+    record Doc(long id, Instant postedAt, String text, String company, String location, String level,
+               String[] detailWords) {
+
+        static Doc of(JobCatalog.Entry entry, String[] detailWords) {
+            StringBuilder text = new StringBuilder();
+            text.append(lower(entry.title())).append(FIELD_SEPARATOR)
+                    .append(lower(entry.company())).append(FIELD_SEPARATOR)
+                    .append(lower(entry.location()));
+            for (String tag : entry.tags()) {
+                text.append(FIELD_SEPARATOR).append(lower(tag));
+            }
+            return new Doc(entry.id(), entry.postedAt(), text.toString(), lower(entry.company()),
+                    entry.location() == null ? null : lower(entry.location()),
+                    entry.level() == null ? null : lower(entry.level()), detailWords);
+        }
+
+        Doc withDetailWords(String[] words) {
+            return new Doc(id, postedAt, text, company, location, level, words);
+        }
+    }
+
+    /**
+     * 与 JobRepositoryPort.searchAfter 相同的查询条件；关键词按空白拆分并转小写。
+     */
+    public record SearchQuery(String[] tokens,
+                              String company,
+                              String location,
+                              String level,
+                              Instant postedAfter,
+                              Instant cursorPostedAt,
+                              Long cursorId,
+                              boolean searchDetail) {
+
+        public static SearchQuery of(String q,
+                                     String company,
+                                     String location,
+                                     String level,
+                                     Instant postedAfter,
+                                     Instant cursorPostedAt,
+                                     Long cursorId,
+                                     boolean searchDetail) {
+            String[] tokens = q == null || q.isBlank()
+                    ? new String[0]
+                    : Arrays.stream(q.trim().toLowerCase(Locale.ROOT).split("\\s+")).distinct().toArray(String[]::new);
+            return new SearchQuery(tokens, trimLower(company), trimLower(location), trimLower(level), postedAfter,
+                    cursorPostedAt, cursorId, searchDetail && tokens.length > 0);
+        }
+
+        private static String trimLower(String value) {
+            return value == null || value.isBlank() ? null : value.trim().toLowerCase(Locale.ROOT);
+        }
+
+        boolean matchesFilters(Doc doc) {
+            if (company != null && !doc.company().contains(company)) {
+                return false;
+            }
+            if (location != null && (doc.location() == null || !doc.location().contains(location))) {
+                return false;
+            }
+            if (level != null && !level.equals(doc.level())) {
+                return false;
+            }
+            return postedAfter == null || (doc.postedAt() != null && !doc.postedAt().isBefore(postedAfter));
+        }
+
+        boolean isAfterCursor(Doc doc) {
+            if (cursorPostedAt == null || cursorId == null) {
+                return true;
+            }
+            if (doc.postedAt() == null) {
+                return false;
+            }
+            int byTime = doc.postedAt().compareTo(cursorPostedAt);
+            return byTime < 0 || (byTime == 0 && doc.id() < cursorId);
+        }
+    }
+
+    /**
+     * 有序追加的 int 倒排表。
+     */
+    static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void addSlot(int slot) {
+            if (size > 0 && values[size - 1] == slot) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = slot;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int get(int index) {
+            return values[index];
+        }
+
+        IntList intersect(IntList other) {
+            IntList result = new IntList();
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                int left = values[i];
+                int right = other.values[j];
+                if (left == right) {
+                    result.addSlot(left);
+                    i++;
+                    j++;
+                } else if (left < right) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return result;
+        }
+    }
+}
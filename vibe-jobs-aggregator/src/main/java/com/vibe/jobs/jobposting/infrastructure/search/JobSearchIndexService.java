@@ -0,0 +1,170 @@
+package com.vibe.jobs.jobposting.infrastructure.search;
+
+import com.vibe.jobs.jobposting.application.JobCatalog;
+import com.vibe.jobs.jobposting.infrastructure.persistence.JobDetailJpaRepository;
+import com.vibe.jobs.shared.infrastructure.config.JobSearchIndexProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.function.Consumer;
+
+/**
+ * 维护职位搜索内存索引的生命周期：职位字段来自共用的 {@link JobCatalog}，目录加载完成后在后台用目录快照加上
+ * 详情正文构建索引，之后随目录的逐条变更增量更新；详情正文由详情仓储在事务提交后更新。
+ *
+ * 构建期间的增量变更先排队，构建完成后按顺序重放再切换索引，因此不会丢失构建过程中的写入。
+ * 索引未启用或尚未就绪时查询方法返回空，调用方回退到数据库查询。
+ */
+@Component
+public class JobSearchIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(JobSearchIndexService.class);
+
+    private final JobSearchIndexProperties properties;
+    private final JobDetailJpaRepository jobDetailJpaRepository;
+    private final Object buildLock = new Object();
+    private volatile JobSearchIndex index;
+    private List<Consumer<JobSearchIndex>> pending;
+
+    public JobSearchIndexService(JobSearchIndexProperties properties,
+                                 JobDetailJpaRepository jobDetailJpaRepository,
+                                 JobCatalog catalog) {
+        this.properties = properties;
+        this.jobDetailJpaRepository = jobDetailJpaRepository;
+        catalog.subscribe(new CatalogListener());
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    public Optional<List<Long>> search(JobSearchIndex.SearchQuery query, int offset, int limit) {
+        JobSearchIndex current = index;
+        return current == null ? Optional.empty() : Optional.of(current.search(query, offset, limit));
+    }
+
+    public OptionalLong count(JobSearchIndex.SearchQuery query) {
+        JobSearchIndex current = index;
+        return current == null ? OptionalLong.empty() : OptionalLong.of(current.count(query));
+    }
+
+    public void detailUpdated(Long jobId, String contentText) {
+        if (jobId == null) {
+            return;
+        }
+        afterCommit(() -> apply(current -> current.updateDetail(jobId, contentText)));
+    }
+
+    /**
+     * 用目录快照和数据库中的详情正文构建一份新索引并替换当前索引。
+     */
+    void rebuild(Collection<JobCatalog.Entry> entries) {
+        synchronized (buildLock) {
+            if (pending != null) {
+                return;
+            }
+            pending = new ArrayList<>();
+        }
+        long start = System.nanoTime();
+        JobSearchIndex building = new JobSearchIndex();
+        try {
+            load(building, entries);
+        } catch (RuntimeException ex) {
+            synchronized (buildLock) {
+                pending = null;
+            }
+            log.warn("Failed to build job search index, search stays on the database: {}", ex.getMessage(), ex);
+            return;
+        }
+        synchronized (buildLock) {
+            pending.forEach(change -> change.accept(building));
+            pending = null;
+            index = building;
+        }
+        log.info("Job search index built with {} jobs in {} ms", building.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void load(JobSearchIndex building, Collection<JobCatalog.Entry> entries) {
+        int batchSize = properties.getBuildBatchSize();
+        List<Long> ids = new ArrayList<>(batchSize);
+        for (JobCatalog.Entry entry : entries) {
+            building.upsert(entry);
+            ids.add(entry.id());
+            if (ids.size() >= batchSize) {
+                loadDetails(building, ids);
+                ids.clear();
+            }
+        }
+        loadDetails(building, ids);
+    }
+
+    private void loadDetails(JobSearchIndex building, List<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        for (JobDetailJpaRepository.ContentTextView view : jobDetailJpaRepository.findContentTextByJobIds(ids)) {
+            building.updateDetail(view.getJobId(), view.getContentText());
+        }
+    }
+
+    private void apply(Consumer<JobSearchIndex> change) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        synchronized (buildLock) {
+            if (pending != null) {
+                pending.add(change);
+            }
+        }
+        JobSearchIndex current = index;
+        if (current != null) {
+            change.accept(current);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * 目录通知在目录的写锁内到达：构建转交后台线程，逐条变更直接应用（构建期间排队）。
+     */
+    private final class CatalogListener implements JobCatalog.Listener {
+
+        @Override
+        public void onLoaded(Collection<JobCatalog.Entry> entries) {
+            if (properties.isEnabled()) {
+                Thread.ofPlatform().name("job-search-index-build").daemon().start(() -> rebuild(entries));
+            }
+        }
+
+        @Override
+        public void onChanged(JobCatalog.Entry previous, JobCatalog.Entry current) {
+            if (current != null) {
+                apply(index -> index.upsert(current));
+            } else {
+                apply(index -> index.remove(previous.id()));
+            }
+        }
+    }
+}
@@ -1,21 +1,29 @@
 
 package com.vibe.jobs.jobposting.interfaces.rest;
 
+import com.vibe.jobs.jobposting.application.JobCountService;
 import com.vibe.jobs.jobposting.application.JobDetailService;
 import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
 import com.vibe.jobs.jobposting.interfaces.rest.JobMapper;
 import com.vibe.jobs.jobposting.interfaces.rest.dto.JobDetailResponse;
 import com.vibe.jobs.jobposting.interfaces.rest.dto.JobsResponse;
+import com.vibe.jobs.jobposting.interfaces.rest.dto.ProjectedJobsResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vibe.jobs.shared.infrastructure.config.JobHttpCacheProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Base64;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @RestController
@@ -24,16 +32,39 @@ import java.util.stream.Collectors;
 public class JobController {
     private final JobRepositoryPort repo;
     private final JobDetailService jobDetailService;
+    private final ObjectProvider<JobListCache> listCache;
+    private final ObjectProvider<JobCountService> countService;
+    private final ObjectProvider<JobDetailETagCache> detailETags;
+    private final ObjectProvider<JobEnrichmentViewCache> enrichmentViews;
+    private final ObjectProvider<JobHttpCacheProperties> httpCacheProperties;
+    private final ObjectMapper objectMapper;
     private static final int DEFAULT_SIZE = 10;
     private static final int MAX_SIZE = 100;
+    private static final String SORT_RELEVANCE = "relevance";
 
-    public JobController(JobRepositoryPort repo, JobDetailService jobDetailService) {
+    public JobController(JobRepositoryPort repo,
+                         JobDetailService jobDetailService,
+                         ObjectProvider<JobListCache> listCache,
+                         ObjectProvider<JobCountService> countService,
+                         ObjectProvider<JobDetailETagCache> detailETags,
+                         ObjectProvider<JobEnrichmentViewCache> enrichmentViews,
+                         ObjectProvider<JobHttpCacheProperties> httpCacheProperties,
+                         ObjectMapper objectMapper) {
         this.repo = repo;
         this.jobDetailService = jobDetailService;
+        this.listCache = listCache;
+        this.countService = countService;
+        this.detailETags = detailETags;
+        this.enrichmentViews = enrichmentViews;
+        this.httpCacheProperties = httpCacheProperties;
+        this.objectMapper = objectMapper;
     }
 
+    /**
+     * fields= 只返回职位的指定字段（逗号分隔，id 总是返回），用于减小移动端大页的响应体积。
+     */
     @GetMapping
-    public JobsResponse list(@RequestParam(value = "q", required = false) String q,
+    public ResponseEntity<?> list(@RequestParam(value = "q", required = false) String q,
                              @RequestParam(value = "company", required = false) String company,
                              @RequestParam(value = "location", required = false) String location,
                              @RequestParam(value = "level", required = false) String level,
@@ -41,34 +72,93 @@ public class JobController {
                              @RequestParam(value = "searchDetail", defaultValue = "false") boolean searchDetail,
                              @RequestParam(value = "cursor", required = false) String cursor,
                              @RequestParam(value = "size", defaultValue = "10") int size,
-                             @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal) {
-        if (size < 1) size = DEFAULT_SIZE;
-        size = Math.min(size, MAX_SIZE);
+                             @RequestParam(value = "includeTotal", defaultValue = "false") boolean includeTotal,
+                             @RequestParam(value = "totalMode", required = false) String totalMode,
+                             @RequestParam(value = "sort", required = false) String sort,
+                             @RequestParam(value = "fields", required = false) String fields,
+                             @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        JobHttpCacheProperties httpCache = httpCacheProperties.getIfAvailable(JobHttpCacheProperties::new);
+        JobFieldProjection projection = parseFields(fields);
+        int pageSize = size < 1 ? DEFAULT_SIZE : Math.min(size, MAX_SIZE);
 
-        var cursorPosition = decodeCursor(cursor);
-
-        Instant postedAfter = null;
-        if (datePosted != null && datePosted > 0) {
-            int days = Math.max(datePosted, 1);
-            LocalDate referenceDate = LocalDate.now(ZoneOffset.UTC).minusDays(days - 1L);
-            postedAfter = referenceDate.atStartOfDay(ZoneOffset.UTC).toInstant();
-        }
+        Instant postedAfter = resolvePostedAfter(datePosted);
 
         String normalizedQuery = emptyToNull(q);
         boolean detailEnabled = searchDetail && normalizedQuery != null;
+        JobCountService counter = countService.getIfAvailable();
+        JobCountService.Mode countMode = counter != null ? counter.resolveMode(totalMode) : JobCountService.Mode.EXACT;
+        // 没有关键词时相关度无从计算，仍按发布时间排序
+        if (sort != null && SORT_RELEVANCE.equalsIgnoreCase(sort.trim()) && normalizedQuery != null) {
+            JobsResponse ranked = loadRankedPage(normalizedQuery, emptyToNull(company), emptyToNull(location),
+                    emptyToNull(level), postedAfter, detailEnabled, decodeRankCursor(cursor), pageSize,
+                    includeTotal ? countMode : null);
+            String etag = httpCache.isEnabled() ? JobETags.ofContent(objectMapper, ranked) : null;
+            return project(ranked, etag, projection, ifNoneMatch, httpCache.getListMaxAge());
+        }
 
-        var jobs = new ArrayList<>(repo.searchAfter(
-                normalizedQuery,
-                emptyToNull(company),
-                emptyToNull(location),
-                emptyToNull(level),
-                postedAfter,
-                cursorPosition != null ? cursorPosition.postedAt() : null,
-                cursorPosition != null ? cursorPosition.id() : null,
-                detailEnabled,
-                0,
-                size + 1
-        ));
+        var cursorPosition = decodeCursor(cursor);
+        Instant cursorPostedAt = cursorPosition != null ? cursorPosition.postedAt() : null;
+        Long cursorId = cursorPosition != null ? cursorPosition.id() : null;
+
+        Supplier<JobListCache.Loaded> loader = () -> loadPage(normalizedQuery, emptyToNull(company),
+                emptyToNull(location), emptyToNull(level), postedAfter, detailEnabled,
+                cursorPostedAt, cursorId, pageSize, includeTotal ? countMode : null);
+        JobListCache cache = listCache.getIfAvailable();
+        if (cache == null) {
+            JobsResponse response = loader.get().response();
+            String etag = httpCache.isEnabled() ? JobETags.ofContent(objectMapper, response) : null;
+            return project(response, etag, projection, ifNoneMatch, httpCache.getListMaxAge());
+        }
+        JobListCache.Key key = JobListCache.Key.of(normalizedQuery, company, location, level, postedAfter,
+                detailEnabled, cursorPostedAt, cursorId, pageSize, includeTotal,
+                includeTotal && countMode == JobCountService.Mode.APPROXIMATE);
+        if (!httpCache.isEnabled()) {
+            return project(cache.get(key, loader), null, projection, null, null);
+        }
+        // 缓存页的 ETag 与客户端一致时不必取出结果，也不会触发查询
+        String cachedETag = ifNoneMatch != null ? projectETag(cache.cachedETag(key), projection) : null;
+        if (JobETags.matches(ifNoneMatch, cachedETag)) {
+            return notModified(cachedETag, httpCache.getListMaxAge());
+        }
+        JobsResponse response = cache.get(key, loader);
+        String etag = cache.etagFor(key, response, body -> JobETags.ofContent(objectMapper, body));
+        return project(response, etag, projection, ifNoneMatch, httpCache.getListMaxAge());
+    }
+
+    private JobListCache.Loaded loadPage(String normalizedQuery,
+                                         String company,
+                                         String location,
+                                         String level,
+                                         Instant postedAfter,
+                                         boolean detailEnabled,
+                                         Instant cursorPostedAt,
+                                         Long cursorId,
+                                         int size,
+                                         JobCountService.Mode totalMode) {
+        java.util.List<com.vibe.jobs.jobposting.domain.Job> window;
+        java.util.Set<Long> detailMatches;
+        if (detailEnabled) {
+            // 详情命中标记与列表在同一条查询中得出
+            var page = repo.searchWithDetailMatches(normalizedQuery, company, location, level, postedAfter,
+                    cursorPostedAt, cursorId, 0, size + 1);
+            window = page.jobs();
+            detailMatches = page.matchedInDetail();
+        } else {
+            window = repo.searchAfter(
+                    normalizedQuery,
+                    company,
+                    location,
+                    level,
+                    postedAfter,
+                    cursorPostedAt,
+                    cursorId,
+                    false,
+                    0,
+                    size + 1
+            );
+            detailMatches = java.util.Set.of();
+        }
+        var jobs = new ArrayList<>(window);
 
         boolean hasMore = jobs.size() > size;
         if (hasMore) {
@@ -79,43 +169,129 @@ public class JobController {
         if (hasMore && !jobs.isEmpty()) {
             var last = jobs.get(jobs.size() - 1);
             if (last.getPostedAt() != null && last.getId() != null) {
-                nextCursor = encodeCursor(last.getPostedAt(), last.getId());
+                nextCursor = JobCursors.encodePosted(last.getPostedAt(), last.getId());
             }
         }
 
-        var detailMatches = detailEnabled ? findDetailMatches(jobs, normalizedQuery) : java.util.Collections.<Long>emptySet();
+        var items = toItems(jobs, detailMatches);
+        var total = countTotal(normalizedQuery, company, location, level, postedAfter, detailEnabled, totalMode);
+        return new JobListCache.Loaded(new JobsResponse(items, total.value(), nextCursor, hasMore, size,
+                total.approximate()), window, !hasMore);
+    }
+
+    /**
+     * 相关度排序的结果依赖首页时间，不进入列表缓存；翻页游标携带首页的 rankedAt 以保持得分一致。
+     */
+    private JobsResponse loadRankedPage(String normalizedQuery,
+                                        String company,
+                                        String location,
+                                        String level,
+                                        Instant postedAfter,
+                                        boolean detailEnabled,
+                                        JobCursors.Ranked cursorPosition,
+                                        int size,
+                                        JobCountService.Mode totalMode) {
+        Instant rankedAt = cursorPosition != null ? cursorPosition.rankedAt() : Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        var ranked = repo.searchRanked(normalizedQuery, company, location, level, postedAfter, detailEnabled,
+                rankedAt, cursorPosition != null ? cursorPosition.cursor() : null, size + 1);
 
+        boolean hasMore = ranked.size() > size;
+        if (hasMore) {
+            ranked = ranked.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasMore && !ranked.isEmpty()) {
+            var last = ranked.get(ranked.size() - 1);
+            nextCursor = JobCursors.encodeRanked(rankedAt, last.score(), last.job().getId());
+        }
+        var jobs = ranked.stream().map(JobRepositoryPort.RankedJob::job).collect(Collectors.toList());
+        var detailMatches = ranked.stream()
+                .filter(JobRepositoryPort.RankedJob::matchedInDetail)
+                .map(rankedJob -> rankedJob.job().getId())
+                .collect(Collectors.toSet());
+        var items = toItems(jobs, detailMatches);
+        var total = countTotal(normalizedQuery, company, location, level, postedAfter, detailEnabled, totalMode);
+        return new JobsResponse(items, total.value(), nextCursor, hasMore, size, total.approximate());
+    }
+
+    private java.util.List<com.vibe.jobs.jobposting.interfaces.rest.dto.JobDto> toItems(
+            java.util.List<com.vibe.jobs.jobposting.domain.Job> jobs, java.util.Set<Long> detailMatches) {
         var detailByJobId = jobDetailService.findByJobIds(jobs.stream()
                 .map(com.vibe.jobs.jobposting.domain.Job::getId)
                 .collect(Collectors.toSet()));
 
-        var items = jobs.stream()
-                .map(job -> JobMapper.toDto(job,
-                        detailMatches.contains(job.getId()),
-                        detailByJobId.get(job.getId())))
+        JobEnrichmentViewCache views = enrichmentViews.getIfAvailable();
+        return jobs.stream()
+                .map(job -> {
+                    var enrichments = detailByJobId.get(job.getId());
+                    return views != null
+                            ? JobMapper.toDto(job, detailMatches.contains(job.getId()), views.view(enrichments))
+                            : JobMapper.toDto(job, detailMatches.contains(job.getId()), enrichments);
+                })
                 .collect(Collectors.toList());
-        Long total = null;
-        if (includeTotal) {
-            total = repo.countSearch(normalizedQuery,
-                    emptyToNull(company),
-                    emptyToNull(location),
-                    emptyToNull(level),
-                    postedAfter,
-                    detailEnabled);
+    }
+
+    private Total countTotal(String normalizedQuery,
+                             String company,
+                             String location,
+                             String level,
+                             Instant postedAfter,
+                             boolean detailEnabled,
+                             JobCountService.Mode totalMode) {
+        if (totalMode == null) {
+            return new Total(null, false);
+        }
+        JobCountService counter = countService.getIfAvailable();
+        if (counter != null) {
+            var counted = counter.count(normalizedQuery, company, location, level, postedAfter, detailEnabled, totalMode);
+            return new Total(counted.value(), counted.approximate());
         }
-        return new JobsResponse(items, total, nextCursor, hasMore, size);
+        return new Total(repo.countSearch(normalizedQuery,
+                company,
+                location,
+                level,
+                postedAfter,
+                detailEnabled), false);
     }
 
     @GetMapping("/{id}/detail")
-    public JobDetailResponse detail(@PathVariable Long id) {
+    public ResponseEntity<JobDetailResponse> detail(@PathVariable Long id,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                    String ifNoneMatch) {
+        JobHttpCacheProperties httpCache = httpCacheProperties.getIfAvailable(JobHttpCacheProperties::new);
+        JobDetailETagCache etags = httpCache.isEnabled() ? detailETags.getIfAvailable() : null;
+        if (etags != null && ifNoneMatch != null) {
+            String known = etags.get(id);
+            if (JobETags.matches(ifNoneMatch, known)) {
+                return notModified(known, httpCache.getDetailMaxAge());
+            }
+        }
+        long generation = etags != null ? etags.generation() : 0L;
         var job = repo.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Job not found"));
         var detail = jobDetailService.findByJob(job).orElse(null);
+        String etag = null;
+        if (httpCache.isEnabled()) {
+            etag = JobETags.ofDetail(job, detail);
+            if (etags != null) {
+                etags.put(id, etag, generation);
+            }
+            // 版本未变时跳过增强结果的解析与响应组装
+            if (JobETags.matches(ifNoneMatch, etag)) {
+                return notModified(etag, httpCache.getDetailMaxAge());
+            }
+        }
         String content = detail != null ? detail.getContent() : "";
         
-        JobEnrichmentExtractor.EnrichmentView enrichmentView = detail != null
-                ? JobEnrichmentExtractor.extract(detail)
-                : JobEnrichmentExtractor.EnrichmentView.empty();
+        JobEnrichmentViewCache views = enrichmentViews.getIfAvailable();
+        JobEnrichmentExtractor.EnrichmentView enrichmentView;
+        if (detail == null) {
+            enrichmentView = JobEnrichmentExtractor.EnrichmentView.empty();
+        } else if (views != null) {
+            enrichmentView = views.view(job.getId(), JobEnrichmentExtractor.jsonByKey(detail));
+        } else {
+            enrichmentView = JobEnrichmentExtractor.extract(detail);
+        }
 
         String summary = enrichmentView.summary().orElse(null);
         var skills = sanitizeList(enrichmentView.skills());
@@ -124,7 +300,7 @@ public class JobController {
         var enrichments = enrichmentView.enrichments();
         var status = enrichmentView.status().orElse(java.util.Map.of());
         
-        return new JobDetailResponse(
+        var response = new JobDetailResponse(
                 job.getId(),
                 job.getTitle(),
                 job.getCompany(),
@@ -138,47 +314,86 @@ public class JobController {
                 highlights,
                 structuredData
         );
+        return conditional(response, etag, null, httpCache.getDetailMaxAge());
+    }
+
+    private ResponseEntity<?> project(JobsResponse response, String etag, JobFieldProjection projection,
+                                      String ifNoneMatch, Duration maxAge) {
+        if (projection == null) {
+            return conditional(response, etag, ifNoneMatch, maxAge);
+        }
+        ProjectedJobsResponse projected = projection.apply(response);
+        return conditional(projected, projectETag(etag, projection), ifNoneMatch, maxAge);
+    }
+
+    private String projectETag(String etag, JobFieldProjection projection) {
+        return projection == null ? etag : JobETags.ofProjection(etag, projection.key());
+    }
+
+    private JobFieldProjection parseFields(String fields) {
+        try {
+            return JobFieldProjection.parse(fields);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, ex.getMessage());
+        }
+    }
+
+    private <T> ResponseEntity<T> conditional(T body, String etag, String ifNoneMatch, Duration maxAge) {
+        if (etag == null) {
+            return ResponseEntity.ok(body);
+        }
+        if (JobETags.matches(ifNoneMatch, etag)) {
+            return notModified(etag, maxAge);
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(JobETags.cacheControl(maxAge))
+                .body(body);
+    }
+
+    private <T> ResponseEntity<T> notModified(String etag, Duration maxAge) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(JobETags.cacheControl(maxAge))
+                .build();
+    }
+
+    static Instant resolvePostedAfter(Integer datePosted) {
+        if (datePosted == null || datePosted <= 0) {
+            return null;
+        }
+        int days = Math.max(datePosted, 1);
+        LocalDate referenceDate = LocalDate.now(ZoneOffset.UTC).minusDays(days - 1L);
+        return referenceDate.atStartOfDay(ZoneOffset.UTC).toInstant();
     }
 
     private String emptyToNull(String s) {
         return (s == null || s.isBlank()) ? null : s;
     }
 
-    private CursorPosition decodeCursor(String cursor) {
+    private JobCursors.Posted decodeCursor(String cursor) {
         if (cursor == null || cursor.isBlank()) {
             return null;
         }
         try {
-            var decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
-            var parts = decoded.split(":");
-            if (parts.length != 2) {
-                throw new IllegalArgumentException("Invalid cursor format");
-            }
-            long postedAtMillis = Long.parseLong(parts[0]);
-            long id = Long.parseLong(parts[1]);
-            return new CursorPosition(Instant.ofEpochMilli(postedAtMillis), id);
+            return JobCursors.decodePosted(cursor);
         } catch (IllegalArgumentException ex) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
         }
     }
 
-    private String encodeCursor(Instant postedAt, Long id) {
-        String payload = postedAt.toEpochMilli() + ":" + id;
-        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.UTF_8));
-    }
-
-    private java.util.Set<Long> findDetailMatches(java.util.List<com.vibe.jobs.jobposting.domain.Job> jobs, String query) {
-        var jobIds = jobs.stream()
-                .map(com.vibe.jobs.jobposting.domain.Job::getId)
-                .filter(id -> id != null && id > 0)
-                .collect(Collectors.toList());
-        if (jobIds.isEmpty()) {
-            return java.util.Collections.emptySet();
+    private JobCursors.Ranked decodeRankCursor(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            return JobCursors.decodeRanked(cursor);
+        } catch (IllegalArgumentException ex) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
         }
-        return jobDetailService.findMatchingJobIds(jobIds, query);
     }
 
-    private record CursorPosition(Instant postedAt, long id) {}
+    private record Total(Long value, boolean approximate) {}
 
     private java.util.List<String> sanitizeList(java.util.List<String> values) {
         if (values == null || values.isEmpty()) {
@@ -0,0 +1,93 @@
+package com.vibe.jobs.jobposting.interfaces.rest;
+
+import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * /jobs 翻页游标：1 字节类型加定长的 long / double 字段，Base64url 编码后按发布时间排序为 23 个字符，
+ * 按相关度排序为 34 个字符，解码不涉及字符串拆分与数字解析。
+ *
+ * 改版前签发的按发布时间排序的文本游标（"postedAt:id"）首字节为可打印字符，仍按旧格式解析，
+ * 客户端手里尚未用完的游标在发布后继续有效；相关度排序的游标只有二进制格式。格式不合法时抛出 IllegalArgumentException。
+ */
+final class JobCursors {
+
+    private static final byte POSTED = 1;
+    private static final byte RANKED = 2;
+    private static final int POSTED_BYTES = 1 + Long.BYTES * 2;
+    private static final int RANKED_BYTES = 1 + Long.BYTES * 3;
+
+    record Posted(Instant postedAt, long id) {
+    }
+
+    record Ranked(Instant rankedAt, JobRepositoryPort.RankCursor cursor) {
+    }
+
+    private JobCursors() {
+    }
+
+    static String encodePosted(Instant postedAt, long id) {
+        ByteBuffer buffer = ByteBuffer.allocate(POSTED_BYTES)
+                .put(POSTED)
+                .putLong(postedAt.toEpochMilli())
+                .putLong(id);
+        return encode(buffer.array());
+    }
+
+    static String encodeRanked(Instant rankedAt, double score, long id) {
+        ByteBuffer buffer = ByteBuffer.allocate(RANKED_BYTES)
+                .put(RANKED)
+                .putLong(rankedAt.toEpochMilli())
+                .putDouble(score)
+                .putLong(id);
+        return encode(buffer.array());
+    }
+
+    static Posted decodePosted(String cursor) {
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        if (bytes.length > 0 && bytes[0] == POSTED) {
+            ByteBuffer buffer = binary(bytes, POSTED_BYTES);
+            return new Posted(Instant.ofEpochMilli(buffer.getLong()), buffer.getLong());
+        }
+        String[] parts = legacy(bytes);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor format");
+        }
+        return new Posted(Instant.ofEpochMilli(Long.parseLong(parts[0])), Long.parseLong(parts[1]));
+    }
+
+    static Ranked decodeRanked(String cursor) {
+        byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+        if (bytes.length == 0 || bytes[0] != RANKED) {
+            throw new IllegalArgumentException("Invalid cursor format");
+        }
+        ByteBuffer buffer = binary(bytes, RANKED_BYTES);
+        long rankedAtMillis = buffer.getLong();
+        double score = buffer.getDouble();
+        if (!Double.isFinite(score)) {
+            throw new IllegalArgumentException("Invalid cursor score");
+        }
+        return new Ranked(Instant.ofEpochMilli(rankedAtMillis), new JobRepositoryPort.RankCursor(score, buffer.getLong()));
+    }
+
+    private static ByteBuffer binary(byte[] bytes, int expectedLength) {
+        if (bytes.length != expectedLength) {
+            throw new IllegalArgumentException("Invalid cursor length");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        buffer.get();
+        return buffer;
+    }
+
+    private static String[] legacy(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8).split(":");
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+}
@@ -0,0 +1,69 @@
+package com.vibe.jobs.jobposting.interfaces.rest;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
+import com.vibe.jobs.shared.infrastructure.config.JobHttpCacheProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 最近返回过的详情 ETag。If-None-Match 命中这里时直接返回 304，不读取职位与详情；
+ * 职位、详情或增强结果变化后由 JobsChangedEvent 移除对应条目。
+ */
+@Component
+public class JobDetailETagCache {
+
+    private final JobHttpCacheProperties properties;
+    private final Map<Long, String> etags = new LinkedHashMap<>(64, 0.75f, true);
+    private long generation;
+
+    public JobDetailETagCache(JobHttpCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    public synchronized String get(Long jobId) {
+        return etags.get(jobId);
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    /**
+     * 读取期间发生过变更时不记录，避免把变更前的版本留在表里。
+     */
+    public synchronized void put(Long jobId, String etag, long loadedAtGeneration) {
+        if (jobId == null || etag == null || properties.getDetailEtagMaxEntries() == 0
+                || loadedAtGeneration != generation) {
+            return;
+        }
+        etags.put(jobId, etag);
+        Iterator<Long> eldest = etags.keySet().iterator();
+        while (etags.size() > properties.getDetailEtagMaxEntries() && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onJobsChanged(JobsChangedEvent event) {
+        if (event == null || event.isEmpty()) {
+            return;
+        }
+        generation++;
+        for (Job job : event.savedJobs()) {
+            etags.remove(job.getId());
+        }
+        event.removedJobIds().forEach(etags::remove);
+        event.detailChangedJobIds().forEach(etags::remove);
+    }
+
+    public synchronized int size() {
+        return etags.size();
+    }
+}
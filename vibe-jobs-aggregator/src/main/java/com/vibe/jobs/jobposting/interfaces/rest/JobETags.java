@@ -0,0 +1,115 @@
+package com.vibe.jobs.jobposting.interfaces.rest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobDetail;
+import com.vibe.jobs.jobposting.domain.JobDetailEnrichment;
+import org.springframework.http.CacheControl;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 列表与详情的强 ETag。
+ *
+ * 详情由职位版本（updatedAt、checksum）、详情 contentVersion / updatedAt 和每条增强结果的 updatedAt、状态计算，
+ * 无需解析增强 JSON；列表页由序列化后的响应内容计算。
+ */
+final class JobETags {
+
+    private static final int HASH_BYTES = 16;
+
+    private JobETags() {
+    }
+
+    static String ofDetail(Job job, JobDetail detail) {
+        StringBuilder version = new StringBuilder()
+                .append(job.getId()).append('|')
+                .append(job.getUpdatedAt()).append('|')
+                .append(job.getChecksum()).append('|')
+                .append(job.getTitle()).append('|')
+                .append(job.getCompany()).append('|')
+                .append(job.getLocation()).append('|')
+                .append(job.getPostedAt());
+        if (detail != null) {
+            version.append("|detail:").append(detail.getId())
+                    .append('|').append(detail.getContentVersion())
+                    .append('|').append(detail.getUpdatedAt())
+                    .append('|').append(detail.isDeleted());
+            List<JobDetailEnrichment> enrichments = detail.getEnrichments() == null ? List.of()
+                    : detail.getEnrichments().stream()
+                    .sorted(Comparator.comparing(enrichment -> String.valueOf(enrichment.getEnrichmentKey())))
+                    .toList();
+            for (JobDetailEnrichment enrichment : enrichments) {
+                version.append("|e:").append(enrichment.getEnrichmentKey())
+                        .append('|').append(enrichment.getUpdatedAt())
+                        .append('|').append(enrichment.getStatusState())
+                        .append('|').append(enrichment.isDeleted());
+            }
+        }
+        return "\"d-" + hash(version.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * 与 Spring MVC 写出响应使用同一个 ObjectMapper，序列化失败时返回 null（不带 ETag）。
+     */
+    static String ofContent(ObjectMapper objectMapper, Object body) {
+        try {
+            return "\"l-" + hash(objectMapper.writeValueAsBytes(body)) + "\"";
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * fields= 投影的 ETag 由完整响应的 ETag 与字段列表派生，不需要再序列化投影结果。
+     */
+    static String ofProjection(String etag, String fieldsKey) {
+        if (etag == null) {
+            return null;
+        }
+        return "\"p-" + hash((etag + "|" + fieldsKey).getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * If-None-Match 按弱比较判断（RFC 9110），支持多个值与 *。
+     */
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank() || etag == null) {
+            return false;
+        }
+        String opaque = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if ("*".equals(value) || stripWeak(value).equals(opaque)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static CacheControl cacheControl(Duration maxAge) {
+        return maxAge == null || maxAge.isZero() ? CacheControl.noCache() : CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    private static String stripWeak(String value) {
+        return value.startsWith("W/") ? value.substring(2) : value;
+    }
+
+    private static String hash(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            byte[] truncated = new byte[HASH_BYTES];
+            System.arraycopy(digest, 0, truncated, 0, HASH_BYTES);
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(truncated);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+}
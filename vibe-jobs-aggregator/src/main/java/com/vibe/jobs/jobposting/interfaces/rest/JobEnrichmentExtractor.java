@@ -1,6 +1,7 @@
 package com.vibe.jobs.jobposting.interfaces.rest;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.json.JsonMapper;
@@ -24,6 +25,8 @@ final class JobEnrichmentExtractor {
 
     private static final Logger log = LoggerFactory.getLogger(JobEnrichmentExtractor.class);
     private static final ObjectMapper MAPPER = JsonMapper.builder().build();
+    private static final TypeReference<Map<String, Object>> OBJECT_MAP = new TypeReference<>() {
+    };
 
     private JobEnrichmentExtractor() {
     }
@@ -32,8 +35,26 @@ final class JobEnrichmentExtractor {
         if (detail == null) {
             return EnrichmentView.empty();
         }
+        return buildView(jsonByKey(detail));
+    }
+
+    static EnrichmentView extract(JobDetailEnrichmentsDto dto) {
+        if (dto == null || dto.enrichmentJsonByKey() == null) {
+            return EnrichmentView.empty();
+        }
+        return buildView(dto.enrichmentJsonByKey());
+    }
+
+    static EnrichmentView extract(Map<JobEnrichmentKey, String> jsonByKey) {
+        return buildView(jsonByKey);
+    }
+
+    /**
+     * 详情上各增强结果的原始 JSON，跳过空值；与 {@link JobDetailEnrichmentsDto#enrichmentJsonByKey()} 口径一致。
+     */
+    static Map<JobEnrichmentKey, String> jsonByKey(JobDetail detail) {
         Map<JobEnrichmentKey, String> jsonByKey = new EnumMap<>(JobEnrichmentKey.class);
-        if (detail.getEnrichments() != null) {
+        if (detail != null && detail.getEnrichments() != null) {
             for (JobDetailEnrichment enrichment : detail.getEnrichments()) {
                 if (enrichment == null || enrichment.getEnrichmentKey() == null) {
                     continue;
@@ -44,14 +65,7 @@ final class JobEnrichmentExtractor {
                 }
             }
         }
-        return buildView(jsonByKey);
-    }
-
-    static EnrichmentView extract(JobDetailEnrichmentsDto dto) {
-        if (dto == null || dto.enrichmentJsonByKey() == null) {
-            return EnrichmentView.empty();
-        }
-        return buildView(dto.enrichmentJsonByKey());
+        return jsonByKey;
     }
 
     static Optional<String> summary(JobDetail detail) {
@@ -105,9 +119,8 @@ final class JobEnrichmentExtractor {
         });
 
         Optional<Map<String, Object>> status = Optional.ofNullable(nodes.get(JobEnrichmentKey.STATUS))
-                .map(JobEnrichmentExtractor::treeToObject)
-                .filter(Map.class::isInstance)
-                .map(map -> (Map<String, Object>) map)
+                .filter(JsonNode::isObject)
+                .flatMap(JobEnrichmentExtractor::treeToMap)
                 .map(JobEnrichmentExtractor::toUnmodifiableMap);
 
         boolean ready = status
@@ -216,6 +229,15 @@ final class JobEnrichmentExtractor {
         }
     }
 
+    private static Optional<Map<String, Object>> treeToMap(JsonNode node) {
+        try {
+            return Optional.ofNullable(MAPPER.convertValue(node, OBJECT_MAP));
+        } catch (IllegalArgumentException ex) {
+            log.warn("Failed to convert enrichment status to map: {}", ex.getMessage());
+            return Optional.empty();
+        }
+    }
+
     private static Optional<String> readSummary(JsonNode node) {
         return Optional.ofNullable(nodeToText(node))
                 .filter(StringUtils::hasText)
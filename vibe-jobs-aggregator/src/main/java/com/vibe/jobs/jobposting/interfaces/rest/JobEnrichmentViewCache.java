@@ -0,0 +1,139 @@
+package com.vibe.jobs.jobposting.interfaces.rest;
+
+import com.vibe.jobs.jobposting.application.JobDetailService;
+import com.vibe.jobs.jobposting.application.dto.JobDetailEnrichmentsDto;
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobEnrichmentKey;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
+import com.vibe.jobs.shared.infrastructure.config.JobEnrichmentViewCacheProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * 最近渲染过的职位的增强结果解析缓存，列表与详情读到的原始 JSON 与缓存时一致就直接复用解析结果，不再调用 Jackson。
+ *
+ * 条目以职位 id 为键、以解析所用的原始 JSON 为版本：比较只是字符串相等，其他实例写入或绕过事件的变更也不会读到旧结果。
+ * 增强结果写入提交后（JobsChangedEvent 的 detailChanged）重新加载并解析缓存中已有的职位，热点职位的下一次读取直接命中；
+ * 不在缓存里的职位等首次读取时再解析。
+ */
+@Component
+public class JobEnrichmentViewCache {
+
+    private static final Logger log = LoggerFactory.getLogger(JobEnrichmentViewCache.class);
+
+    private final JobEnrichmentViewCacheProperties properties;
+    private final JobDetailService jobDetailService;
+    private final Map<Long, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long hits;
+    private long misses;
+
+    public JobEnrichmentViewCache(JobEnrichmentViewCacheProperties properties, JobDetailService jobDetailService) {
+        this.properties = properties;
+        this.jobDetailService = jobDetailService;
+    }
+
+    JobEnrichmentExtractor.EnrichmentView view(JobDetailEnrichmentsDto dto) {
+        if (dto == null || dto.enrichmentJsonByKey() == null) {
+            return JobEnrichmentExtractor.EnrichmentView.empty();
+        }
+        return view(dto.jobId(), dto.enrichmentJsonByKey());
+    }
+
+    JobEnrichmentExtractor.EnrichmentView view(Long jobId, Map<JobEnrichmentKey, String> jsonByKey) {
+        if (jsonByKey == null || jsonByKey.isEmpty()) {
+            return JobEnrichmentExtractor.EnrichmentView.empty();
+        }
+        if (jobId == null || properties.getMaxEntries() == 0) {
+            return JobEnrichmentExtractor.extract(jsonByKey);
+        }
+        synchronized (this) {
+            Entry entry = entries.get(jobId);
+            if (entry != null && entry.jsonByKey().equals(jsonByKey)) {
+                hits++;
+                return entry.view();
+            }
+            misses++;
+        }
+        // 解析在锁外进行；并发读取同一职位时各自解析，后写入的覆盖先写入的
+        JobEnrichmentExtractor.EnrichmentView view = JobEnrichmentExtractor.extract(jsonByKey);
+        put(jobId, jsonByKey, view);
+        return view;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJobsChanged(JobsChangedEvent event) {
+        if (event == null || event.isEmpty()) {
+            return;
+        }
+        List<Long> refresh = new ArrayList<>();
+        synchronized (this) {
+            for (Job job : event.savedJobs()) {
+                if (job != null && job.isDeleted()) {
+                    entries.remove(job.getId());
+                }
+            }
+            event.removedJobIds().forEach(entries::remove);
+            for (Long jobId : event.detailChangedJobIds()) {
+                if (jobId != null && entries.containsKey(jobId)) {
+                    refresh.add(jobId);
+                }
+            }
+        }
+        if (refresh.isEmpty()) {
+            return;
+        }
+        try {
+            Map<Long, JobDetailEnrichmentsDto> loaded = jobDetailService.findByJobIds(refresh);
+            for (Long jobId : refresh) {
+                JobDetailEnrichmentsDto dto = loaded.get(jobId);
+                if (dto == null || dto.enrichmentJsonByKey().isEmpty()) {
+                    evict(jobId);
+                } else {
+                    put(jobId, dto.enrichmentJsonByKey(), JobEnrichmentExtractor.extract(dto.enrichmentJsonByKey()));
+                }
+            }
+        } catch (RuntimeException ex) {
+            // 预解析失败不影响写入，条目以原始 JSON 为版本，读取时会发现不一致并重新解析
+            log.warn("Failed to refresh enrichment views for jobs {}: {}", refresh, ex.getMessage());
+        }
+    }
+
+    public synchronized Stats stats() {
+        return new Stats(entries.size(), hits, misses);
+    }
+
+    private synchronized void put(Long jobId,
+                                  Map<JobEnrichmentKey, String> jsonByKey,
+                                  JobEnrichmentExtractor.EnrichmentView view) {
+        int maxEntries = properties.getMaxEntries();
+        if (maxEntries == 0) {
+            return;
+        }
+        entries.put(jobId, new Entry(Map.copyOf(jsonByKey), Objects.requireNonNull(view)));
+        Iterator<Long> eldest = entries.keySet().iterator();
+        while (entries.size() > maxEntries && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+        }
+    }
+
+    private synchronized void evict(Long jobId) {
+        entries.remove(jobId);
+    }
+
+    public record Stats(int size, long hits, long misses) {
+    }
+
+    private record Entry(Map<JobEnrichmentKey, String> jsonByKey, JobEnrichmentExtractor.EnrichmentView view) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.vibe.jobs.jobposting.interfaces.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.vibe.jobs.jobposting.application.JobExportService;
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.interfaces.rest.dto.JobDto;
+import com.vibe.jobs.jobposting.interfaces.rest.dto.JobExportLine;
+import com.vibe.jobs.shared.infrastructure.config.JobExportProperties;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 职位目录的 NDJSON 导出，供合作方全量或增量镜像，替代按 100 条翻页调用 /jobs。
+ *
+ * 在请求线程上直接写响应输出流，每批写完后 flush，不受异步请求超时限制。X-Export-Watermark 为本次读取开始的时间
+ * 减去 watermark-safety-margin，作为下一次增量导出的 updatedSince：读取开始时尚未提交的写入在下一次导出中仍会出现。
+ * 因此相邻两次增量导出至少重叠这段时间，同一职位可能重复出现，客户端按 id 覆盖即可。
+ */
+@RestController
+@RequestMapping("/jobs")
+@CrossOrigin(origins = "*")
+public class JobExportController {
+
+    static final String NDJSON = "application/x-ndjson";
+    static final String WATERMARK_HEADER = "X-Export-Watermark";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final Logger log = LoggerFactory.getLogger(JobExportController.class);
+
+    private final JobExportService exportService;
+    private final ObjectWriter writer;
+    private final Semaphore permits;
+    private final Duration watermarkSafetyMargin;
+
+    public JobExportController(JobExportService exportService,
+                               ObjectMapper objectMapper,
+                               ObjectProvider<JobExportProperties> properties) {
+        this.exportService = exportService;
+        this.writer = objectMapper.writerFor(JobExportLine.class);
+        JobExportProperties resolved = properties.getIfAvailable(JobExportProperties::new);
+        this.permits = new Semaphore(resolved.getMaxConcurrent());
+        this.watermarkSafetyMargin = resolved.getWatermarkSafetyMargin();
+    }
+
+    /**
+     * updatedSince 为空时导出全部未删除职位；给出时只导出此后更新过的职位，包括其间删除的职位（deleted=true）。
+     * includeDetails 为 true 时附带详情正文与增强结果。
+     */
+    @GetMapping(path = "/export", produces = NDJSON)
+    public void export(@RequestParam(value = "updatedSince", required = false)
+                       @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant updatedSince,
+                       @RequestParam(value = "includeDetails", defaultValue = "false") boolean includeDetails,
+                       HttpServletResponse response) throws IOException {
+        if (!permits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many concurrent exports");
+        }
+        try {
+            Instant watermark = Instant.now().minus(watermarkSafetyMargin).truncatedTo(ChronoUnit.MILLIS);
+            response.setContentType(NDJSON);
+            response.setCharacterEncoding("UTF-8");
+            response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+            response.setHeader(WATERMARK_HEADER, watermark.toString());
+            OutputStream out = new BufferedOutputStream(response.getOutputStream(), BUFFER_SIZE);
+            exportService.export(updatedSince, includeDetails, batch -> {
+                try {
+                    for (JobExportService.ExportedJob exported : batch) {
+                        out.write(writer.writeValueAsBytes(toLine(exported, includeDetails)));
+                        out.write('\n');
+                    }
+                    out.flush();
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            out.flush();
+        } catch (UncheckedIOException ex) {
+            // 客户端中途断开：游标随异常关闭，不再写任何内容
+            log.info("Job export aborted: {}", ex.getMessage());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private JobExportLine toLine(JobExportService.ExportedJob exported, boolean includeDetails) {
+        Job job = exported.job();
+        if (job.isDeleted()) {
+            return new JobExportLine(String.valueOf(job.getId()), null, null, null, null, null, job.getUpdatedAt(),
+                    null, null, true, null, null, null, null, null);
+        }
+        if (!includeDetails) {
+            return new JobExportLine(String.valueOf(job.getId()), job.getTitle(), job.getCompany(), job.getLocation(),
+                    job.getLevel(), job.getPostedAt(), job.getUpdatedAt(), new ArrayList<>(job.getTags()), job.getUrl(),
+                    null, null, null, null, null, null);
+        }
+        JobDto dto = JobMapper.toDto(job, false, exported.enrichments());
+        return new JobExportLine(dto.id(), dto.title(), dto.company(), dto.location(), dto.level(), dto.postedAt(),
+                job.getUpdatedAt(), dto.tags(), dto.url(), null, exported.content(), dto.enrichments(), dto.summary(),
+                dto.skills(), dto.highlights());
+    }
+}
@@ -0,0 +1,61 @@
+package com.vibe.jobs.jobposting.interfaces.rest;
+
+import com.vibe.jobs.jobposting.application.JobFacetService;
+import com.vibe.jobs.jobposting.interfaces.rest.dto.JobFacetsResponse;
+import com.vibe.jobs.shared.infrastructure.config.JobFacetProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * 分面计数：筛选条件与 /jobs 相同，返回每个分面按数量排序的前 limit 个取值。
+ */
+@RestController
+@RequestMapping("/jobs")
+@CrossOrigin(origins = "*")
+public class JobFacetController {
+
+    private final JobFacetService facetService;
+    private final JobFacetProperties properties;
+
+    public JobFacetController(JobFacetService facetService, JobFacetProperties properties) {
+        this.facetService = facetService;
+        this.properties = properties;
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<JobFacetsResponse> facets(@RequestParam(value = "q", required = false) String q,
+                                                    @RequestParam(value = "company", required = false) String company,
+                                                    @RequestParam(value = "location", required = false) String location,
+                                                    @RequestParam(value = "level", required = false) String level,
+                                                    @RequestParam(value = "datePosted", required = false) Integer datePosted,
+                                                    @RequestParam(value = "limit", required = false) Integer limit) {
+        Instant postedAfter = JobController.resolvePostedAfter(datePosted);
+        JobFacetService.FacetResult result = facetService.facets(q, company, location, level, postedAfter, limit);
+        JobFacetsResponse body = new JobFacetsResponse(result.total(),
+                toValues(result, JobFacetService.Facet.COMPANY),
+                toValues(result, JobFacetService.Facet.LOCATION),
+                toValues(result, JobFacetService.Facet.LEVEL),
+                toValues(result, JobFacetService.Facet.TAGS));
+        // 职位目录仍在加载时返回的是空结果，不允许缓存
+        CacheControl cacheControl = result.loading()
+                ? CacheControl.noStore()
+                : CacheControl.maxAge(properties.getHttpMaxAge()).cachePublic();
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(body);
+    }
+
+    private List<JobFacetsResponse.FacetValue> toValues(JobFacetService.FacetResult result, JobFacetService.Facet facet) {
+        return result.facets().getOrDefault(facet, List.of()).stream()
+                .map(count -> new JobFacetsResponse.FacetValue(count.value(), count.count()))
+                .toList();
+    }
+}
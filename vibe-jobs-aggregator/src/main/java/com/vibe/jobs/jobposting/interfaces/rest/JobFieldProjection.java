@@ -0,0 +1,96 @@
+package com.vibe.jobs.jobposting.interfaces.rest;
+
+import com.vibe.jobs.jobposting.interfaces.rest.dto.JobDto;
+import com.vibe.jobs.jobposting.interfaces.rest.dto.JobsResponse;
+import com.vibe.jobs.jobposting.interfaces.rest.dto.ProjectedJobsResponse;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+/**
+ * /jobs 的 fields= 投影：每个职位只输出请求的字段（id 总是输出），值为 null 的字段省略。
+ *
+ * 投影作用在完整响应上，列表缓存与 ETag 仍按完整响应计算，不同投影共享同一份缓存。
+ */
+final class JobFieldProjection {
+
+    private static final Map<String, Function<JobDto, Object>> FIELDS = new LinkedHashMap<>();
+
+    static {
+        FIELDS.put("id", JobDto::id);
+        FIELDS.put("title", JobDto::title);
+        FIELDS.put("company", JobDto::company);
+        FIELDS.put("location", JobDto::location);
+        FIELDS.put("level", JobDto::level);
+        FIELDS.put("postedAt", JobDto::postedAt);
+        FIELDS.put("tags", JobDto::tags);
+        FIELDS.put("url", JobDto::url);
+        FIELDS.put("enrichments", JobDto::enrichments);
+        FIELDS.put("summary", JobDto::summary);
+        FIELDS.put("skills", JobDto::skills);
+        FIELDS.put("highlights", JobDto::highlights);
+        FIELDS.put("detailMatch", JobDto::detailMatch);
+    }
+
+    private final List<Map.Entry<String, Function<JobDto, Object>>> selected;
+    private final String key;
+
+    private JobFieldProjection(List<Map.Entry<String, Function<JobDto, Object>>> selected, String key) {
+        this.selected = selected;
+        this.key = key;
+    }
+
+    /**
+     * 解析逗号分隔的字段名，为空时返回 null（不投影）；出现未知字段时抛出 IllegalArgumentException。
+     */
+    static JobFieldProjection parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return null;
+        }
+        Set<String> requested = new TreeSet<>();
+        requested.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!FIELDS.containsKey(name)) {
+                throw new IllegalArgumentException("Unknown field: " + name);
+            }
+            requested.add(name);
+        }
+        List<Map.Entry<String, Function<JobDto, Object>>> selected = new ArrayList<>(requested.size());
+        FIELDS.entrySet().stream()
+                .filter(entry -> requested.contains(entry.getKey()))
+                .forEach(selected::add);
+        return new JobFieldProjection(selected, String.join(",", requested));
+    }
+
+    /**
+     * 规范化后的字段列表（排序、去重），用于派生 ETag。
+     */
+    String key() {
+        return key;
+    }
+
+    ProjectedJobsResponse apply(JobsResponse response) {
+        List<Map<String, Object>> items = new ArrayList<>(response.items().size());
+        for (JobDto dto : response.items()) {
+            Map<String, Object> item = new LinkedHashMap<>(selected.size() * 2);
+            for (Map.Entry<String, Function<JobDto, Object>> field : selected) {
+                Object value = field.getValue().apply(dto);
+                if (value != null) {
+                    item.put(field.getKey(), value);
+                }
+            }
+            items.add(item);
+        }
+        return new ProjectedJobsResponse(items, response.total(), response.nextCursor(), response.hasMore(),
+                response.size(), response.totalApproximate());
+    }
+}
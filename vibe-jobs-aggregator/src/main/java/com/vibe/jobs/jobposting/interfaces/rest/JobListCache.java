@@ -0,0 +1,340 @@
+package com.vibe.jobs.jobposting.interfaces.rest;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
+import com.vibe.jobs.jobposting.interfaces.rest.dto.JobsResponse;
+import com.vibe.jobs.shared.infrastructure.config.JobListCacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * /jobs 列表结果缓存。键为规范化后的查询参数、游标和分页大小，按 LRU 容量和 TTL 淘汰。
+ *
+ * 失效是按影响范围判断的：职位写入后只清除可能受影响的页——页内已有该职位，
+ * 或该职位满足查询条件且排序位置落在这一页的窗口内。带总数的页对任何变更都失效，
+ * 因为窗口外的增删同样会改变总数。
+ */
+@Component
+public class JobListCache {
+
+    private final JobListCacheProperties properties;
+    private final Clock clock;
+    private final Map<Key, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+    private long invalidations;
+
+    @Autowired
+    public JobListCache(JobListCacheProperties properties) {
+        this(properties, Clock.systemUTC());
+    }
+
+    JobListCache(JobListCacheProperties properties, Clock clock) {
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    /**
+     * 命中时直接返回缓存结果，否则调用 loader 查询并写入缓存。
+     * 查询期间若有职位变更，本次结果不写入缓存，避免把变更前的数据缓存下来。
+     */
+    public JobsResponse get(Key key, Supplier<Loaded> loader) {
+        if (!properties.isEnabled() || properties.getTtl().isZero()) {
+            return loader.get().response();
+        }
+        long startGeneration;
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt().isAfter(clock.instant())) {
+                hits++;
+                return entry.response();
+            }
+            if (entry != null) {
+                entries.remove(key);
+                evictions++;
+            }
+            misses++;
+            startGeneration = generation;
+        }
+        Loaded loaded = loader.get();
+        synchronized (this) {
+            if (generation == startGeneration) {
+                entries.put(key, Entry.of(key, loaded, clock.instant().plus(properties.getTtl())));
+                while (entries.size() > properties.getMaxEntries()) {
+                    Iterator<Key> eldest = entries.keySet().iterator();
+                    eldest.next();
+                    eldest.remove();
+                    evictions++;
+                }
+            }
+        }
+        return loaded.response();
+    }
+
+    /**
+     * 未过期缓存页上已记录的 ETag，用于在查询前响应条件请求；没有时返回 null。
+     */
+    public synchronized String cachedETag(Key key) {
+        Entry entry = entries.get(key);
+        if (entry == null || entry.etag() == null || !entry.expiresAt().isAfter(clock.instant())) {
+            return null;
+        }
+        return entry.etag();
+    }
+
+    /**
+     * 返回 response 的 ETag，优先复用缓存页上记录的值；只有缓存中仍是同一份结果时才记录新算出的值，
+     * 避免把旧结果的 ETag 挂到新结果上。
+     */
+    public String etagFor(Key key, JobsResponse response, Function<JobsResponse, String> calculator) {
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.response() == response && entry.etag() != null) {
+                return entry.etag();
+            }
+        }
+        String etag = calculator.apply(response);
+        if (etag != null) {
+            synchronized (this) {
+                Entry entry = entries.get(key);
+                if (entry != null && entry.response() == response) {
+                    entries.put(key, entry.withETag(etag));
+                }
+            }
+        }
+        return etag;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onJobsChanged(JobsChangedEvent event) {
+        if (event == null || event.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            generation++;
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().affectedBy(event)) {
+                    iterator.remove();
+                    invalidations++;
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        invalidations += entries.size();
+        entries.clear();
+    }
+
+    public synchronized Stats stats() {
+        long lookups = hits + misses;
+        double hitRate = lookups == 0 ? 0.0 : (double) hits / lookups;
+        return new Stats(properties.isEnabled(), entries.size(), properties.getMaxEntries(),
+                hits, misses, hitRate, evictions, invalidations);
+    }
+
+    public record Stats(boolean enabled,
+                        int size,
+                        int maxEntries,
+                        long hits,
+                        long misses,
+                        double hitRate,
+                        long evictions,
+                        long invalidations) {
+    }
+
+    /**
+     * 缓存键。文本条件去掉首尾空白并转小写：数据库侧的匹配本身不区分大小写，结果一致。
+     * 精确总数与近似总数的结果分开缓存。
+     */
+    public record Key(String q,
+                      String company,
+                      String location,
+                      String level,
+                      Instant postedAfter,
+                      boolean searchDetail,
+                      Instant cursorPostedAt,
+                      Long cursorId,
+                      int size,
+                      boolean includeTotal,
+                      boolean approximateTotal) {
+
+        public static Key of(String q,
+                             String company,
+                             String location,
+                             String level,
+                             Instant postedAfter,
+                             boolean searchDetail,
+                             Instant cursorPostedAt,
+                             Long cursorId,
+                             int size,
+                             boolean includeTotal,
+                             boolean approximateTotal) {
+            return new Key(normalize(q), normalize(company), normalize(location), normalize(level), postedAfter,
+                    searchDetail, cursorPostedAt, cursorId, size, includeTotal, includeTotal && approximateTotal);
+        }
+
+        private static String normalize(String value) {
+            if (value == null || value.isBlank()) {
+                return null;
+            }
+            return value.trim().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * 一次查询的结果。window 是实际从仓储取到的职位（含用于判断 hasMore 的多取一条），
+     * exhausted 表示窗口之后已没有更多匹配的职位。
+     */
+    public record Loaded(JobsResponse response, List<Job> window, boolean exhausted) {
+    }
+
+    private record Entry(Key key,
+                         JobsResponse response,
+                         Set<Long> jobIds,
+                         Instant endPostedAt,
+                         Long endId,
+                         boolean exhausted,
+                         String[] tokens,
+                         Instant expiresAt,
+                         String etag) {
+
+        static Entry of(Key key, Loaded loaded, Instant expiresAt) {
+            List<Job> window = loaded.window() == null ? List.of() : loaded.window();
+            Set<Long> ids = window.stream().map(Job::getId).filter(Objects::nonNull)
+                    .collect(Collectors.toUnmodifiableSet());
+            Job last = window.isEmpty() ? null : window.get(window.size() - 1);
+            return new Entry(key, loaded.response(), ids,
+                    last != null ? last.getPostedAt() : null,
+                    last != null ? last.getId() : null,
+                    loaded.exhausted() || last == null,
+                    tokens(key.q()),
+                    expiresAt,
+                    null);
+        }
+
+        Entry withETag(String value) {
+            return new Entry(key, response, jobIds, endPostedAt, endId, exhausted, tokens, expiresAt, value);
+        }
+
+        boolean affectedBy(JobsChangedEvent event) {
+            if (key.includeTotal()) {
+                return true;
+            }
+            for (Long id : event.removedJobIds()) {
+                if (jobIds.contains(id)) {
+                    return true;
+                }
+            }
+            for (Long id : event.detailChangedJobIds()) {
+                // 详情变化可能让职位在正文检索中新命中，而它的排序位置无从得知
+                if (jobIds.contains(id) || (key.searchDetail() && key.q() != null)) {
+                    return true;
+                }
+            }
+            for (Job job : event.savedJobs()) {
+                if (job.getId() != null && jobIds.contains(job.getId())) {
+                    return true;
+                }
+                if (!job.isDeleted() && couldMatch(job) && withinWindow(job)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 与数据库查询相比只会多判不会漏判：关键字按词拆开后逐个做子串匹配，
+         * 同时覆盖 LIKE 与全文检索两种实现；开启正文检索时关键字条件无法在内存中判断，视为可能命中。
+         */
+        private boolean couldMatch(Job job) {
+            if (key.company() != null && !lower(job.getCompany()).contains(key.company())) {
+                return false;
+            }
+            if (key.location() != null && !lower(job.getLocation()).contains(key.location())) {
+                return false;
+            }
+            if (key.level() != null && !lower(job.getLevel()).equals(key.level())) {
+                return false;
+            }
+            if (key.postedAfter() != null
+                    && (job.getPostedAt() == null || job.getPostedAt().isBefore(key.postedAfter()))) {
+                return false;
+            }
+            if (tokens.length == 0 || key.searchDetail()) {
+                return true;
+            }
+            StringBuilder text = new StringBuilder()
+                    .append(lower(job.getTitle())).append('\n')
+                    .append(lower(job.getCompany())).append('\n')
+                    .append(lower(job.getLocation()));
+            if (job.getTags() != null) {
+                for (String tag : job.getTags()) {
+                    text.append('\n').append(lower(tag));
+                }
+            }
+            String haystack = text.toString();
+            for (String token : tokens) {
+                if (!haystack.contains(token)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private boolean withinWindow(Job job) {
+            Instant postedAt = job.getPostedAt();
+            if (key.cursorPostedAt() != null && key.cursorId() != null) {
+                if (postedAt == null) {
+                    return false;
+                }
+                int cmp = postedAt.compareTo(key.cursorPostedAt());
+                if (cmp > 0 || (cmp == 0 && job.getId() != null && job.getId() >= key.cursorId())) {
+                    return false;
+                }
+            }
+            if (exhausted) {
+                return true;
+            }
+            if (postedAt == null || endPostedAt == null) {
+                return true;
+            }
+            int cmp = postedAt.compareTo(endPostedAt);
+            return cmp > 0 || (cmp == 0 && (job.getId() == null || endId == null || job.getId() > endId));
+        }
+
+        private static String[] tokens(String q) {
+            if (q == null) {
+                return new String[0];
+            }
+            return Arrays.stream(q.split("\\s+"))
+                    .map(token -> token.replaceAll("[^\\p{IsAlphabetic}\\p{IsDigit}]", ""))
+                    .filter(token -> !token.isEmpty())
+                    .toArray(String[]::new);
+        }
+
+        private static String lower(String value) {
+            return value == null ? "" : value.toLowerCase(Locale.ROOT);
+        }
+    }
+}
@@ -13,19 +13,22 @@ import java.util.stream.Collectors;
 
 public class JobMapper {
     public static JobDto toDto(Job j) {
-        return toDto(j, false, null);
+        return toDto(j, false, JobEnrichmentExtractor.EnrichmentView.empty());
     }
 
     public static JobDto toDto(Job j, boolean detailMatch) {
-        return toDto(j, detailMatch, null);
+        return toDto(j, detailMatch, JobEnrichmentExtractor.EnrichmentView.empty());
     }
 
     public static JobDto toDto(Job j, boolean detailMatch, JobDetailEnrichmentsDto enrichmentsDto) {
-        List<String> tags = new ArrayList<>(j.getTags());
-        
         JobEnrichmentExtractor.EnrichmentView enrichmentView = enrichmentsDto != null
                 ? JobEnrichmentExtractor.extract(enrichmentsDto)
                 : JobEnrichmentExtractor.EnrichmentView.empty();
+        return toDto(j, detailMatch, enrichmentView);
+    }
+
+    static JobDto toDto(Job j, boolean detailMatch, JobEnrichmentExtractor.EnrichmentView enrichmentView) {
+        List<String> tags = new ArrayList<>(j.getTags());
 
         String summary = enrichmentView.summary().orElse(null);
         List<String> skills = sanitizeList(enrichmentView.skills());
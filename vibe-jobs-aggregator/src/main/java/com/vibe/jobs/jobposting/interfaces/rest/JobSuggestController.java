@@ -0,0 +1,88 @@
+package com.vibe.jobs.jobposting.interfaces.rest;
+
+import com.vibe.jobs.jobposting.application.JobSuggestService;
+import com.vibe.jobs.jobposting.interfaces.rest.dto.JobSuggestResponse;
+import com.vibe.jobs.shared.infrastructure.config.JobSuggestProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 搜索框自动补全：按输入前缀（允许少量拼写错误）返回标题、公司、地点的候选值，field 可限定其中几类。
+ */
+@RestController
+@RequestMapping("/jobs")
+@CrossOrigin(origins = "*")
+public class JobSuggestController {
+
+    private final JobSuggestService suggestService;
+    private final JobSuggestProperties properties;
+
+    public JobSuggestController(JobSuggestService suggestService, JobSuggestProperties properties) {
+        this.suggestService = suggestService;
+        this.properties = properties;
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<JobSuggestResponse> suggest(@RequestParam(value = "q", required = false) String q,
+                                                      @RequestParam(value = "field", required = false) List<String> field,
+                                                      @RequestParam(value = "limit", required = false) Integer limit) {
+        JobSuggestService.SuggestResult suggestResult = suggestService.suggest(q, resolveFields(field), limit);
+        Map<JobSuggestService.Field, List<JobSuggestService.Suggestion>> result = suggestResult.suggestions();
+        JobSuggestResponse body = new JobSuggestResponse(
+                toValues(result, JobSuggestService.Field.TITLE),
+                toValues(result, JobSuggestService.Field.COMPANY),
+                toValues(result, JobSuggestService.Field.LOCATION));
+        // 职位目录仍在加载时返回的是空结果，不允许缓存
+        CacheControl cacheControl = suggestResult.loading()
+                ? CacheControl.noStore()
+                : CacheControl.maxAge(properties.getHttpMaxAge()).cachePublic();
+        return ResponseEntity.ok()
+                .cacheControl(cacheControl)
+                .body(body);
+    }
+
+    private EnumSet<JobSuggestService.Field> resolveFields(List<String> fields) {
+        EnumSet<JobSuggestService.Field> resolved = EnumSet.noneOf(JobSuggestService.Field.class);
+        if (fields == null) {
+            return resolved;
+        }
+        for (String field : fields) {
+            if (field == null || field.isBlank()) {
+                continue;
+            }
+            try {
+                resolved.add(JobSuggestService.Field.valueOf(field.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException ex) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported field: " + field);
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * 未请求的字段返回 null，与请求了但没有候选（空列表）区分。
+     */
+    private List<JobSuggestResponse.SuggestValue> toValues(Map<JobSuggestService.Field, List<JobSuggestService.Suggestion>> result,
+                                                           JobSuggestService.Field field) {
+        List<JobSuggestService.Suggestion> suggestions = result.get(field);
+        if (suggestions == null) {
+            return null;
+        }
+        return suggestions.stream()
+                .map(suggestion -> new JobSuggestResponse.SuggestValue(suggestion.value(), suggestion.count(),
+                        suggestion.edits()))
+                .toList();
+    }
+}
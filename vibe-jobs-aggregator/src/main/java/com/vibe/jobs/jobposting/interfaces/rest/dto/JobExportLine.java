@@ -0,0 +1,30 @@
+package com.vibe.jobs.jobposting.interfaces.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * /jobs/export 的一行。已删除的职位只输出 id、updatedAt 与 deleted=true。
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record JobExportLine(
+        String id,
+        String title,
+        String company,
+        String location,
+        String level,
+        Instant postedAt,
+        Instant updatedAt,
+        List<String> tags,
+        String url,
+        Boolean deleted,
+        String content,
+        Map<String, Object> enrichments,
+        String summary,
+        List<String> skills,
+        List<String> highlights
+) {
+}
@@ -0,0 +1,14 @@
+package com.vibe.jobs.jobposting.interfaces.rest.dto;
+
+import java.util.List;
+
+public record JobFacetsResponse(
+        long total,
+        List<FacetValue> company,
+        List<FacetValue> location,
+        List<FacetValue> level,
+        List<FacetValue> tags
+) {
+    public record FacetValue(String value, long count) {
+    }
+}
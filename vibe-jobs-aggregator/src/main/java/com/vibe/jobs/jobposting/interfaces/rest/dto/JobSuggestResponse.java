@@ -0,0 +1,15 @@
+package com.vibe.jobs.jobposting.interfaces.rest.dto;
+
+import java.util.List;
+
+public record JobSuggestResponse(
+        List<SuggestValue> title,
+        List<SuggestValue> company,
+        List<SuggestValue> location
+) {
+    /**
+     * edits 为 0 表示前缀精确匹配，大于 0 表示经过拼写纠正。
+     */
+    public record SuggestValue(String value, long count, int edits) {
+    }
+}
@@ -1,4 +1,3 @@
-
 package com.vibe.jobs.jobposting.interfaces.rest.dto;
 
 import com.fasterxml.jackson.annotation.JsonInclude;
@@ -11,5 +10,10 @@ public record JobsResponse(
         Long total,
         String nextCursor,
         boolean hasMore,
-        int size
-) {}
+        int size,
+        boolean totalApproximate
+) {
+    public JobsResponse(List<JobDto> items, Long total, String nextCursor, boolean hasMore, int size) {
+        this(items, total, nextCursor, hasMore, size, false);
+    }
+}
@@ -0,0 +1,17 @@
+package com.vibe.jobs.jobposting.interfaces.rest.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+import java.util.Map;
+
+public record ProjectedJobsResponse(
+        List<Map<String, Object>> items,
+        @JsonInclude(JsonInclude.Include.ALWAYS)
+        Long total,
+        String nextCursor,
+        boolean hasMore,
+        int size,
+        boolean totalApproximate
+) {
+}
@@ -0,0 +1,202 @@
+package com.vibe.jobs.shared.domain;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * 预编译的关键词集合：构建时统一做小写、去首尾空白、去重、剔除空关键词，
+ * 匹配时调用方只需对文本做一次 {@link #normalize(String)}，避免每次匹配都重新规范化关键词列表。
+ *
+ * 关键词较多时构建 Aho-Corasick 自动机，匹配耗时与文本长度线性相关、与关键词数量无关；
+ * 关键词很少时直接用 {@link String#contains(CharSequence)}（JIT 内联后更快）。
+ */
+public final class KeywordMatcher {
+
+    // 不超过该数量的关键词直接逐个 contains，超过时使用自动机
+    static final int AUTOMATON_THRESHOLD = 4;
+
+    private static final KeywordMatcher EMPTY = new KeywordMatcher(new String[0]);
+
+    private final String[] keywords;
+    private final Automaton automaton;
+
+    private KeywordMatcher(String[] keywords) {
+        this.keywords = keywords;
+        this.automaton = keywords.length > AUTOMATON_THRESHOLD ? Automaton.build(keywords) : null;
+    }
+
+    @SafeVarargs
+    public static KeywordMatcher of(Collection<String>... keywordLists) {
+        Set<String> normalized = new LinkedHashSet<>();
+        for (Collection<String> list : keywordLists) {
+            if (list == null) {
+                continue;
+            }
+            for (String keyword : list) {
+                if (keyword == null || keyword.isBlank()) {
+                    continue;
+                }
+                normalized.add(keyword.toLowerCase(Locale.ROOT).trim());
+            }
+        }
+        return normalized.isEmpty() ? EMPTY : new KeywordMatcher(normalized.toArray(String[]::new));
+    }
+
+    public static String normalize(String text) {
+        return text == null ? "" : text.toLowerCase(Locale.ROOT);
+    }
+
+    public boolean isEmpty() {
+        return keywords.length == 0;
+    }
+
+    /**
+     * 已规范化（小写）的文本是否包含任一关键词。
+     */
+    public boolean matchesAny(String normalizedText) {
+        if (normalizedText == null || normalizedText.isEmpty()) {
+            return false;
+        }
+        if (automaton != null) {
+            return automaton.find(normalizedText);
+        }
+        for (String keyword : keywords) {
+            if (normalizedText.contains(keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 只需判断是否命中，因此输出在构建时沿失败链合并为布尔标记。
+     * 每个状态的转移存为有序 char 数组 + 二分查找，根节点额外保留 ASCII 直接索引表。
+     */
+    private static final class Automaton {
+
+        private static final int ROOT = 0;
+
+        private final char[][] keys;
+        private final int[][] targets;
+        private final int[] fail;
+        private final boolean[] terminal;
+        private final int[] rootAscii;
+
+        private Automaton(char[][] keys, int[][] targets, int[] fail, boolean[] terminal, int[] rootAscii) {
+            this.keys = keys;
+            this.targets = targets;
+            this.fail = fail;
+            this.terminal = terminal;
+            this.rootAscii = rootAscii;
+        }
+
+        static Automaton build(String[] keywords) {
+            List<TreeMap<Character, Integer>> children = new ArrayList<>();
+            List<Boolean> ends = new ArrayList<>();
+            children.add(new TreeMap<>());
+            ends.add(false);
+            for (String keyword : keywords) {
+                int state = ROOT;
+                for (int i = 0; i < keyword.length(); i++) {
+                    char c = keyword.charAt(i);
+                    Integer next = children.get(state).get(c);
+                    if (next == null) {
+                        next = children.size();
+                        children.add(new TreeMap<>());
+                        ends.add(false);
+                        children.get(state).put(c, next);
+                    }
+                    state = next;
+                }
+                ends.set(state, true);
+            }
+
+            int size = children.size();
+            char[][] keys = new char[size][];
+            int[][] targets = new int[size][];
+            boolean[] terminal = new boolean[size];
+            for (int state = 0; state < size; state++) {
+                TreeMap<Character, Integer> edges = children.get(state);
+                keys[state] = new char[edges.size()];
+                targets[state] = new int[edges.size()];
+                int index = 0;
+                for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                    keys[state][index] = edge.getKey();
+                    targets[state][index] = edge.getValue();
+                    index++;
+                }
+                terminal[state] = ends.get(state);
+            }
+
+            int[] rootAscii = new int[128];
+            Arrays.fill(rootAscii, ROOT);
+            for (int i = 0; i < keys[ROOT].length; i++) {
+                if (keys[ROOT][i] < 128) {
+                    rootAscii[keys[ROOT][i]] = targets[ROOT][i];
+                }
+            }
+
+            Automaton automaton = new Automaton(keys, targets, new int[size], terminal, rootAscii);
+            automaton.linkFailures();
+            return automaton;
+        }
+
+        private void linkFailures() {
+            Deque<Integer> queue = new ArrayDeque<>();
+            for (int child : targets[ROOT]) {
+                fail[child] = ROOT;
+                queue.add(child);
+            }
+            while (!queue.isEmpty()) {
+                int state = queue.poll();
+                for (int i = 0; i < keys[state].length; i++) {
+                    char c = keys[state][i];
+                    int child = targets[state][i];
+                    int fallback = fail[state];
+                    int next;
+                    while ((next = transition(fallback, c)) < 0 && fallback != ROOT) {
+                        fallback = fail[fallback];
+                    }
+                    fail[child] = next < 0 ? ROOT : next;
+                    // 后缀上的关键词同样算命中
+                    terminal[child] |= terminal[fail[child]];
+                    queue.add(child);
+                }
+            }
+        }
+
+        boolean find(String text) {
+            int state = ROOT;
+            for (int i = 0; i < text.length(); i++) {
+                char c = text.charAt(i);
+                int next;
+                while ((next = transition(state, c)) < 0 && state != ROOT) {
+                    state = fail[state];
+                }
+                state = next < 0 ? ROOT : next;
+                if (terminal[state]) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int transition(int state, char c) {
+            if (state == ROOT && c < 128) {
+                int next = rootAscii[c];
+                return next == ROOT ? -1 : next;
+            }
+            int index = Arrays.binarySearch(keys[state], c);
+            return index < 0 ? -1 : targets[state][index];
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.vibe.jobs.shared.infrastructure.config;
 
+import com.vibe.jobs.shared.domain.KeywordMatcher;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @ConfigurationProperties(prefix = "ingestion")
@@ -15,10 +18,26 @@ public class IngestionProperties {
     private int pageSize = 100;
     private int recentDays = 7;
     private int concurrency = 4;
+    private ExecutorMode executorMode = ExecutorMode.PLATFORM;
     private long concurrentSourceTimeoutMs = 300_000L;
+    // 单个数据源一轮采集的时间预算；上一轮超时的数据源会获得加倍（有上限）的预算
+    private long sourceTimeoutMs = 180_000L;
+    // 单页的等待/处理时间预算，超过的页计为慢页并记入运行报告；只有数据源预算耗尽才停止翻页
+    private long pageTimeoutMs = 60_000L;
     private Map<String, CompanyOverride> companyOverrides = new HashMap<>();
     private LocationFilter locationFilter = new LocationFilter();
     private RoleFilter roleFilter = new RoleFilter();
+    private Pipeline pipeline = new Pipeline();
+    private Adaptive adaptive = new Adaptive();
+
+    /**
+     * 采集执行模式：PLATFORM 为固定大小的平台线程池；VIRTUAL 为每个数据源一个虚拟线程，
+     * 并发上限由信号量按 concurrency 控制。
+     */
+    public enum ExecutorMode {
+        PLATFORM,
+        VIRTUAL
+    }
 
     // Mode 枚举已弃用，保留仅为兼容性，实际逻辑不再使用
     @Deprecated
@@ -67,6 +86,14 @@ public class IngestionProperties {
         this.concurrency = Math.max(concurrency, 1);
     }
 
+    public ExecutorMode getExecutorMode() {
+        return executorMode;
+    }
+
+    public void setExecutorMode(ExecutorMode executorMode) {
+        this.executorMode = executorMode == null ? ExecutorMode.PLATFORM : executorMode;
+    }
+
     public long getConcurrentSourceTimeoutMs() {
         return concurrentSourceTimeoutMs;
     }
@@ -75,6 +102,22 @@ public class IngestionProperties {
         this.concurrentSourceTimeoutMs = Math.max(concurrentSourceTimeoutMs, 1_000L);
     }
 
+    public long getSourceTimeoutMs() {
+        return sourceTimeoutMs;
+    }
+
+    public void setSourceTimeoutMs(long sourceTimeoutMs) {
+        this.sourceTimeoutMs = Math.max(sourceTimeoutMs, 1_000L);
+    }
+
+    public long getPageTimeoutMs() {
+        return pageTimeoutMs;
+    }
+
+    public void setPageTimeoutMs(long pageTimeoutMs) {
+        this.pageTimeoutMs = Math.max(pageTimeoutMs, 1_000L);
+    }
+
     public LocationFilter getLocationFilter() {
         return locationFilter;
     }
@@ -91,6 +134,22 @@ public class IngestionProperties {
         this.roleFilter = roleFilter == null ? new RoleFilter() : roleFilter;
     }
 
+    public Pipeline getPipeline() {
+        return pipeline;
+    }
+
+    public void setPipeline(Pipeline pipeline) {
+        this.pipeline = pipeline == null ? new Pipeline() : pipeline;
+    }
+
+    public Adaptive getAdaptive() {
+        return adaptive;
+    }
+
+    public void setAdaptive(Adaptive adaptive) {
+        this.adaptive = adaptive == null ? new Adaptive() : adaptive;
+    }
+
 
 
     public Map<String, CompanyOverride> getCompanyOverrides() {
@@ -111,6 +170,8 @@ public class IngestionProperties {
         private List<String> excludeCities = new ArrayList<>();
         private List<String> includeKeywords = new ArrayList<>();
         private List<String> excludeKeywords = new ArrayList<>();
+        private transient volatile int version;
+        private transient volatile Compiled compiled;
 
         public boolean isEnabled() {
             return enabled;
@@ -118,104 +179,138 @@ public class IngestionProperties {
 
         public void setEnabled(boolean enabled) {
             this.enabled = enabled;
+            version++;
         }
 
         public List<String> getIncludeCountries() {
-            return includeCountries;
+            return Collections.unmodifiableList(includeCountries);
         }
 
         public void setIncludeCountries(List<String> includeCountries) {
             this.includeCountries = includeCountries == null ? new ArrayList<>() : new ArrayList<>(includeCountries);
+            version++;
         }
 
         public List<String> getIncludeRegions() {
-            return includeRegions;
+            return Collections.unmodifiableList(includeRegions);
         }
 
         public void setIncludeRegions(List<String> includeRegions) {
             this.includeRegions = includeRegions == null ? new ArrayList<>() : new ArrayList<>(includeRegions);
+            version++;
         }
 
         public List<String> getIncludeCities() {
-            return includeCities;
+            return Collections.unmodifiableList(includeCities);
         }
 
         public void setIncludeCities(List<String> includeCities) {
             this.includeCities = includeCities == null ? new ArrayList<>() : new ArrayList<>(includeCities);
+            version++;
         }
 
         public List<String> getExcludeCountries() {
-            return excludeCountries;
+            return Collections.unmodifiableList(excludeCountries);
         }
 
         public void setExcludeCountries(List<String> excludeCountries) {
             this.excludeCountries = excludeCountries == null ? new ArrayList<>() : new ArrayList<>(excludeCountries);
+            version++;
         }
 
         public List<String> getExcludeRegions() {
-            return excludeRegions;
+            return Collections.unmodifiableList(excludeRegions);
         }
 
         public void setExcludeRegions(List<String> excludeRegions) {
             this.excludeRegions = excludeRegions == null ? new ArrayList<>() : new ArrayList<>(excludeRegions);
+            version++;
         }
 
         public List<String> getExcludeCities() {
-            return excludeCities;
+            return Collections.unmodifiableList(excludeCities);
         }
 
         public void setExcludeCities(List<String> excludeCities) {
             this.excludeCities = excludeCities == null ? new ArrayList<>() : new ArrayList<>(excludeCities);
+            version++;
         }
 
         public List<String> getIncludeKeywords() {
-            return includeKeywords;
+            return Collections.unmodifiableList(includeKeywords);
         }
 
         public void setIncludeKeywords(List<String> includeKeywords) {
             this.includeKeywords = includeKeywords == null ? new ArrayList<>() : new ArrayList<>(includeKeywords);
+            version++;
         }
 
         public List<String> getExcludeKeywords() {
-            return excludeKeywords;
+            return Collections.unmodifiableList(excludeKeywords);
         }
 
         public void setExcludeKeywords(List<String> excludeKeywords) {
             this.excludeKeywords = excludeKeywords == null ? new ArrayList<>() : new ArrayList<>(excludeKeywords);
+            version++;
         }
 
         public boolean matches(String location) {
-            if (!enabled || location == null || location.isBlank()) {
-                return !enabled;
+            return compiled().matches(location);
+        }
+
+        /**
+         * 编译后的匹配器，只在配置变化后的首次调用时重新编译。
+         * 关键词列表只能通过 setter 整体替换（getter 返回只读视图），每次修改都会递增版本号。
+         */
+        public Compiled compiled() {
+            Compiled current = compiled;
+            int currentVersion = version;
+            if (current == null || current.version != currentVersion) {
+                current = new Compiled(this, currentVersion);
+                compiled = current;
             }
-
-            String locationLower = location.toLowerCase().trim();
-
-            if (matchesAnyKeyword(locationLower, excludeKeywords) ||
-                matchesAnyKeyword(locationLower, excludeCountries) ||
-                matchesAnyKeyword(locationLower, excludeRegions) ||
-                matchesAnyKeyword(locationLower, excludeCities)) {
-                return false;
+            return current;
+        }
+
+        /**
+         * 先排除，再在配置了包含条件时要求命中其一；所有列表合并为两个 Aho-Corasick 匹配器。
+         */
+        public static final class Compiled {
+
+            private final int version;
+            private final boolean enabled;
+            private final boolean includeConfigured;
+            private final KeywordMatcher exclude;
+            private final KeywordMatcher include;
+
+            private Compiled(LocationFilter filter, int version) {
+                this.version = version;
+                this.enabled = filter.enabled;
+                this.includeConfigured = !(filter.includeKeywords.isEmpty() && filter.includeCountries.isEmpty()
+                        && filter.includeRegions.isEmpty() && filter.includeCities.isEmpty());
+                this.exclude = KeywordMatcher.of(filter.excludeKeywords, filter.excludeCountries,
+                        filter.excludeRegions, filter.excludeCities);
+                this.include = KeywordMatcher.of(filter.includeKeywords, filter.includeCountries,
+                        filter.includeRegions, filter.includeCities);
             }
 
-            if (includeKeywords.isEmpty() && includeCountries.isEmpty() &&
-                includeRegions.isEmpty() && includeCities.isEmpty()) {
-                return true;
+            public boolean isEnabled() {
+                return enabled;
             }
 
-            return matchesAnyKeyword(locationLower, includeKeywords) ||
-                   matchesAnyKeyword(locationLower, includeCountries) ||
-                   matchesAnyKeyword(locationLower, includeRegions) ||
-                   matchesAnyKeyword(locationLower, includeCities);
-        }
-
-        private boolean matchesAnyKeyword(String location, List<String> keywords) {
-            if (keywords == null || keywords.isEmpty()) {
-                return false;
+            public boolean matches(String location) {
+                if (!enabled) {
+                    return true;
+                }
+                if (location == null || location.isBlank()) {
+                    return false;
+                }
+                String normalized = location.toLowerCase(Locale.ROOT).trim();
+                if (exclude.matchesAny(normalized)) {
+                    return false;
+                }
+                return !includeConfigured || include.matchesAny(normalized);
             }
-            return keywords.stream()
-                    .filter(keyword -> keyword != null && !keyword.isBlank())
-                    .anyMatch(keyword -> location.contains(keyword.toLowerCase().trim()));
         }
     }
 
@@ -224,6 +319,7 @@ public class IngestionProperties {
         private boolean searchDescription = true;
         private List<String> includeKeywords = new ArrayList<>();
         private List<String> excludeKeywords = new ArrayList<>();
+        private transient volatile int version;
 
         public boolean isEnabled() {
             return enabled;
@@ -231,6 +327,7 @@ public class IngestionProperties {
 
         public void setEnabled(boolean enabled) {
             this.enabled = enabled;
+            version++;
         }
 
         public boolean isSearchDescription() {
@@ -239,28 +336,38 @@ public class IngestionProperties {
 
         public void setSearchDescription(boolean searchDescription) {
             this.searchDescription = searchDescription;
+            version++;
         }
 
         public List<String> getIncludeKeywords() {
-            return includeKeywords;
+            return Collections.unmodifiableList(includeKeywords);
         }
 
         public void setIncludeKeywords(List<String> includeKeywords) {
             this.includeKeywords = includeKeywords == null ? new ArrayList<>() : new ArrayList<>(includeKeywords);
+            version++;
         }
 
         public List<String> getExcludeKeywords() {
-            return excludeKeywords;
+            return Collections.unmodifiableList(excludeKeywords);
         }
 
         public void setExcludeKeywords(List<String> excludeKeywords) {
             this.excludeKeywords = excludeKeywords == null ? new ArrayList<>() : new ArrayList<>(excludeKeywords);
+            version++;
+        }
+
+        /**
+         * 配置版本号，每次通过 setter 修改时递增，供编译后的过滤器判断是否需要重新编译。
+         */
+        public int version() {
+            return version;
         }
 
         // Helper methods for RoleFilter
-        public List<String> getAllowKeywords() { return includeKeywords; }
+        public List<String> getAllowKeywords() { return getIncludeKeywords(); }
         public void setAllowKeywords(List<String> allowKeywords) { setIncludeKeywords(allowKeywords); }
-        public List<String> getBlockKeywords() { return excludeKeywords; }
+        public List<String> getBlockKeywords() { return getExcludeKeywords(); }
         public void setBlockKeywords(List<String> blockKeywords) { setExcludeKeywords(blockKeywords); }
         public List<String> getAllowLevels() { return new ArrayList<>(); }
         public void setAllowLevels(List<String> allowLevels) { /* Not implemented */ }
@@ -272,6 +379,30 @@ public class IngestionProperties {
         public void setBlockCategories(List<String> blockCategories) { /* Not implemented */ }
     }
 
+    /**
+     * 抓取/持久化流水线：开启后下一页的下载与当前页的过滤、入库并行进行。
+     */
+    public static class Pipeline {
+        private boolean enabled = true;
+        private int queueCapacity = 2;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = Math.max(queueCapacity, 1);
+        }
+    }
+
     public static class CompanyOverride {
         private boolean enabled = true;
         private String displayName;
@@ -315,4 +446,48 @@ public class IngestionProperties {
             return normalized;
         }
     }
+
+    /**
+     * 自适应调度：按数据源的更新频率分别决定轮询间隔。
+     * 调度器每 tickMs 检查一次优先队列，只采集已到期的数据源；
+     * 有新职位的数据源缩短间隔，连续无新职位的数据源拉长间隔，范围限制在 [minIntervalMs, maxIntervalMs]。
+     */
+    public static class Adaptive {
+        private boolean enabled = false;
+        private long tickMs = 60_000L;
+        private long minIntervalMs = 900_000L;
+        private long maxIntervalMs = 86_400_000L;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getTickMs() {
+            return tickMs;
+        }
+
+        public void setTickMs(long tickMs) {
+            this.tickMs = Math.max(tickMs, 1_000L);
+        }
+
+        public long getMinIntervalMs() {
+            return minIntervalMs;
+        }
+
+        public void setMinIntervalMs(long minIntervalMs) {
+            this.minIntervalMs = Math.max(minIntervalMs, 1_000L);
+        }
+
+        public long getMaxIntervalMs() {
+            return maxIntervalMs;
+        }
+
+        public void setMaxIntervalMs(long maxIntervalMs) {
+            this.maxIntervalMs = Math.max(maxIntervalMs, 1_000L);
+        }
+    }
 }
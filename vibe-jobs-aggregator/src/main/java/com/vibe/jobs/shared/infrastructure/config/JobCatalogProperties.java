@@ -0,0 +1,20 @@
+package com.vibe.jobs.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 职位目录配置：分面、自动补全与搜索索引共用的内存快照，启动后在后台按批加载。
+ */
+@ConfigurationProperties(prefix = "jobs.catalog")
+public class JobCatalogProperties {
+
+    private int loadBatchSize = 1000;
+
+    public int getLoadBatchSize() {
+        return loadBatchSize;
+    }
+
+    public void setLoadBatchSize(int loadBatchSize) {
+        this.loadBatchSize = Math.max(1, Math.min(loadBatchSize, 5000));
+    }
+}
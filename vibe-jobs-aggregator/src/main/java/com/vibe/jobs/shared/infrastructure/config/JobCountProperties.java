@@ -0,0 +1,60 @@
+package com.vibe.jobs.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * /jobs 总数统计配置。精确计数按筛选条件缓存，最多落后写入 exact-cache-ttl；
+ * 分组计数器随本实例的写入按差量更新，counter-refresh-interval 是后台全量对账的间隔。
+ */
+@ConfigurationProperties(prefix = "jobs.count")
+public class JobCountProperties {
+
+    private String defaultMode = "exact";
+    private Duration exactCacheTtl = Duration.ofSeconds(30);
+    private int exactCacheMaxEntries = 500;
+    private Duration counterRefreshInterval = Duration.ofSeconds(30);
+    private long approximateLimit = 1000;
+
+    public String getDefaultMode() {
+        return defaultMode;
+    }
+
+    public void setDefaultMode(String defaultMode) {
+        this.defaultMode = defaultMode;
+    }
+
+    public Duration getExactCacheTtl() {
+        return exactCacheTtl;
+    }
+
+    public void setExactCacheTtl(Duration exactCacheTtl) {
+        this.exactCacheTtl = exactCacheTtl == null || exactCacheTtl.isNegative() ? Duration.ZERO : exactCacheTtl;
+    }
+
+    public int getExactCacheMaxEntries() {
+        return exactCacheMaxEntries;
+    }
+
+    public void setExactCacheMaxEntries(int exactCacheMaxEntries) {
+        this.exactCacheMaxEntries = Math.max(1, exactCacheMaxEntries);
+    }
+
+    public Duration getCounterRefreshInterval() {
+        return counterRefreshInterval;
+    }
+
+    public void setCounterRefreshInterval(Duration counterRefreshInterval) {
+        this.counterRefreshInterval = counterRefreshInterval == null || counterRefreshInterval.isNegative()
+                ? Duration.ZERO : counterRefreshInterval;
+    }
+
+    public long getApproximateLimit() {
+        return approximateLimit;
+    }
+
+    public void setApproximateLimit(long approximateLimit) {
+        this.approximateLimit = Math.max(1, approximateLimit);
+    }
+}
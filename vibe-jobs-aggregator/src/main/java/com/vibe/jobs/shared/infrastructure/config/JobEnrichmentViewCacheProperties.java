@@ -0,0 +1,20 @@
+package com.vibe.jobs.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 列表与详情渲染用的增强结果解析缓存：按职位保留最近使用的解析结果，0 表示关闭。
+ */
+@ConfigurationProperties(prefix = "jobs.enrichment-view-cache")
+public class JobEnrichmentViewCacheProperties {
+
+    private int maxEntries = 5000;
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = Math.max(0, maxEntries);
+    }
+}
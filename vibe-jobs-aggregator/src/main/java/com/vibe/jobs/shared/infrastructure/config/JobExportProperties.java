@@ -0,0 +1,46 @@
+package com.vibe.jobs.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * /jobs/export：每批读取并输出的职位数（同时决定详情与增强结果的批量查询大小），以及同时进行的导出数上限，
+ * 超出时返回 429。每个导出在读取期间占用两个数据库连接。
+ *
+ * watermarkSafetyMargin 从 X-Export-Watermark 中减去：读取开始时仍未提交的写入，其 updated_at 早于读取开始时间，
+ * 本次读取看不到，下一次以水位增量导出时也会被跳过。该值应不小于一次采集写入事务的最长耗时，
+ * 代价是相邻两次增量导出有这么长的重叠。
+ */
+@ConfigurationProperties(prefix = "jobs.export")
+public class JobExportProperties {
+
+    private int batchSize = 500;
+    private int maxConcurrent = 2;
+    private Duration watermarkSafetyMargin = Duration.ofMinutes(5);
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = Math.max(1, Math.min(batchSize, 5000));
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(int maxConcurrent) {
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+    }
+
+    public Duration getWatermarkSafetyMargin() {
+        return watermarkSafetyMargin;
+    }
+
+    public void setWatermarkSafetyMargin(Duration watermarkSafetyMargin) {
+        this.watermarkSafetyMargin = watermarkSafetyMargin == null || watermarkSafetyMargin.isNegative()
+                ? Duration.ZERO : watermarkSafetyMargin;
+    }
+}
@@ -0,0 +1,49 @@
+package com.vibe.jobs.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * /jobs/facets 配置：每个分面返回的条目数、结果缓存大小与 HTTP 缓存时间。
+ */
+@ConfigurationProperties(prefix = "jobs.facets")
+public class JobFacetProperties {
+
+    private int defaultLimit = 20;
+    private int maxLimit = 100;
+    private int cacheMaxEntries = 200;
+    private Duration httpMaxAge = Duration.ofSeconds(30);
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(int defaultLimit) {
+        this.defaultLimit = Math.max(1, defaultLimit);
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = Math.max(1, maxLimit);
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        this.cacheMaxEntries = Math.max(0, cacheMaxEntries);
+    }
+
+    public Duration getHttpMaxAge() {
+        return httpMaxAge;
+    }
+
+    public void setHttpMaxAge(Duration httpMaxAge) {
+        this.httpMaxAge = httpMaxAge == null || httpMaxAge.isNegative() ? Duration.ZERO : httpMaxAge;
+    }
+}
@@ -0,0 +1,50 @@
+package com.vibe.jobs.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * /jobs 列表与详情的 HTTP 缓存：ETag 条件请求、Cache-Control 的 max-age，以及详情 ETag 内存表的容量。
+ * max-age 为 0 时返回 no-cache，浏览器与反向代理每次携带 If-None-Match 回源校验。
+ */
+@ConfigurationProperties(prefix = "jobs.http-cache")
+public class JobHttpCacheProperties {
+
+    private boolean enabled = true;
+    private Duration listMaxAge = Duration.ZERO;
+    private Duration detailMaxAge = Duration.ZERO;
+    private int detailEtagMaxEntries = 10000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getListMaxAge() {
+        return listMaxAge;
+    }
+
+    public void setListMaxAge(Duration listMaxAge) {
+        this.listMaxAge = listMaxAge == null || listMaxAge.isNegative() ? Duration.ZERO : listMaxAge;
+    }
+
+    public Duration getDetailMaxAge() {
+        return detailMaxAge;
+    }
+
+    public void setDetailMaxAge(Duration detailMaxAge) {
+        this.detailMaxAge = detailMaxAge == null || detailMaxAge.isNegative() ? Duration.ZERO : detailMaxAge;
+    }
+
+    public int getDetailEtagMaxEntries() {
+        return detailEtagMaxEntries;
+    }
+
+    public void setDetailEtagMaxEntries(int detailEtagMaxEntries) {
+        this.detailEtagMaxEntries = Math.max(0, detailEtagMaxEntries);
+    }
+}
@@ -0,0 +1,40 @@
+package com.vibe.jobs.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * /jobs 列表结果缓存配置：按条目数和存活时间淘汰，职位写入时按影响范围精确失效。
+ */
+@ConfigurationProperties(prefix = "jobs.list-cache")
+public class JobListCacheProperties {
+
+    private boolean enabled = true;
+    private int maxEntries = 1000;
+    private Duration ttl = Duration.ofMinutes(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public void setMaxEntries(int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl == null || ttl.isNegative() ? Duration.ZERO : ttl;
+    }
+}
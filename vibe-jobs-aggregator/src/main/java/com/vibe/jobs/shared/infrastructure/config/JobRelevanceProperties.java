@@ -0,0 +1,77 @@
+package com.vibe.jobs.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * /jobs?sort=relevance 的打分权重：全文相关度、各字段命中加分，以及按发布时间的衰减半衰期。
+ */
+@ConfigurationProperties(prefix = "jobs.search.relevance")
+public class JobRelevanceProperties {
+
+    private double fullTextWeight = 1.0;
+    private double detailWeight = 0.5;
+    private double titleWeight = 3.0;
+    private double companyWeight = 2.0;
+    private double tagWeight = 1.5;
+    private double locationWeight = 0.5;
+    private Duration recencyHalfLife = Duration.ofDays(30);
+
+    public double getFullTextWeight() {
+        return fullTextWeight;
+    }
+
+    public void setFullTextWeight(double fullTextWeight) {
+        this.fullTextWeight = Math.max(0, fullTextWeight);
+    }
+
+    public double getDetailWeight() {
+        return detailWeight;
+    }
+
+    public void setDetailWeight(double detailWeight) {
+        this.detailWeight = Math.max(0, detailWeight);
+    }
+
+    public double getTitleWeight() {
+        return titleWeight;
+    }
+
+    public void setTitleWeight(double titleWeight) {
+        this.titleWeight = Math.max(0, titleWeight);
+    }
+
+    public double getCompanyWeight() {
+        return companyWeight;
+    }
+
+    public void setCompanyWeight(double companyWeight) {
+        this.companyWeight = Math.max(0, companyWeight);
+    }
+
+    public double getTagWeight() {
+        return tagWeight;
+    }
+
+    public void setTagWeight(double tagWeight) {
+        this.tagWeight = Math.max(0, tagWeight);
+    }
+
+    public double getLocationWeight() {
+        return locationWeight;
+    }
+
+    public void setLocationWeight(double locationWeight) {
+        this.locationWeight = Math.max(0, locationWeight);
+    }
+
+    public Duration getRecencyHalfLife() {
+        return recencyHalfLife;
+    }
+
+    public void setRecencyHalfLife(Duration recencyHalfLife) {
+        this.recencyHalfLife = recencyHalfLife == null || recencyHalfLife.compareTo(Duration.ofHours(1)) < 0
+                ? Duration.ofHours(1) : recencyHalfLife;
+    }
+}
@@ -0,0 +1,29 @@
+package com.vibe.jobs.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * 职位搜索内存索引配置：启用后启动时全量构建，构建完成前仍走数据库查询。
+ */
+@ConfigurationProperties(prefix = "jobs.search.index")
+public class JobSearchIndexProperties {
+
+    private boolean enabled = false;
+    private int buildBatchSize = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getBuildBatchSize() {
+        return buildBatchSize;
+    }
+
+    public void setBuildBatchSize(int buildBatchSize) {
+        this.buildBatchSize = Math.max(1, buildBatchSize);
+    }
+}
@@ -0,0 +1,67 @@
+package com.vibe.jobs.shared.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * /jobs/suggest 配置：返回条数、容错匹配的最短输入长度与最大编辑次数、单次查询访问的节点上限等。
+ */
+@ConfigurationProperties(prefix = "jobs.suggest")
+public class JobSuggestProperties {
+
+    private int defaultLimit = 8;
+    private int maxLimit = 20;
+    private int fuzzyMinLength = 4;
+    private int maxEdits = 2;
+    private int maxVisitedNodes = 5000;
+    private Duration httpMaxAge = Duration.ofSeconds(60);
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(int defaultLimit) {
+        this.defaultLimit = Math.max(1, defaultLimit);
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = Math.max(1, Math.min(maxLimit, 100));
+    }
+
+    public int getFuzzyMinLength() {
+        return fuzzyMinLength;
+    }
+
+    public void setFuzzyMinLength(int fuzzyMinLength) {
+        this.fuzzyMinLength = Math.max(1, fuzzyMinLength);
+    }
+
+    public int getMaxEdits() {
+        return maxEdits;
+    }
+
+    public void setMaxEdits(int maxEdits) {
+        this.maxEdits = Math.max(0, Math.min(maxEdits, 3));
+    }
+
+    public int getMaxVisitedNodes() {
+        return maxVisitedNodes;
+    }
+
+    public void setMaxVisitedNodes(int maxVisitedNodes) {
+        this.maxVisitedNodes = Math.max(100, maxVisitedNodes);
+    }
+
+    public Duration getHttpMaxAge() {
+        return httpMaxAge;
+    }
+
+    public void setHttpMaxAge(Duration httpMaxAge) {
+        this.httpMaxAge = httpMaxAge == null || httpMaxAge.isNegative() ? Duration.ZERO : httpMaxAge;
+    }
+}
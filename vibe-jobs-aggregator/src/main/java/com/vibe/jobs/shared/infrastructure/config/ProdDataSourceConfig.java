@@ -50,7 +50,7 @@ public class ProdDataSourceConfig {
         return builder.build();
     }
 
-    private String decryptIfNecessary(String value, AesEncryptionService aes) {
+    static String decryptIfNecessary(String value, AesEncryptionService aes) {
         if (!StringUtils.hasText(value)) {
             return value;
         }
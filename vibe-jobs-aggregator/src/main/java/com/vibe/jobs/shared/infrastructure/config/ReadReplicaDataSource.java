@@ -0,0 +1,258 @@
+package com.vibe.jobs.shared.infrastructure.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 只读连接的来源：作为 LazyConnectionDataSourceProxy 的 readOnlyDataSource，只在只读事务执行第一条语句时被调用。
+ *
+ * 事务名匹配 routed-transactions 前缀时，在健康且复制延迟不超过 max-lag 的副本间轮询；其余只读事务、
+ * 没有可用副本或副本取连接失败时都回到主库。副本状态由后台定时检查更新，启动时所有副本先视为不可用，
+ * 首次检查通过后才开始接流量。
+ *
+ * 读写事务提交后，同一线程在 primary-after-write 内的只读事务也回到主库：提交后的监听器（JobsChangedEvent）
+ * 与同一请求里随后的读取都在提交线程上执行，此时副本可能还没有回放这次写入。时间窗只按线程记录，
+ * 采集等后台线程的持续写入不会把其他线程的检索读取也压回主库。
+ * 作为 TransactionExecutionListener 由 Spring Boot 注册到事务管理器，在提交前记录写入时间，
+ * 保证提交后的监听器执行时已经处于回到主库的时间窗内。
+ */
+@Slf4j
+public class ReadReplicaDataSource extends AbstractDataSource implements TransactionExecutionListener, AutoCloseable {
+
+    private static final Set<String> LAG_COLUMNS = Set.of("seconds_behind_source", "seconds_behind_master");
+
+    public record Status(String name, boolean healthy, Long lagSeconds, String lastError, long routedConnections) {
+    }
+
+    /**
+     * primaryFallbacks 为没有可用副本而回到主库的次数，primaryAfterWrite 为因当前线程刚写入而回到主库的次数。
+     */
+    public record Summary(long primaryFallbacks, long primaryAfterWrite, List<Status> replicas) {
+    }
+
+    public record NamedDataSource(String name, DataSource dataSource) {
+    }
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final ReadReplicaProperties properties;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong primaryFallbacks = new AtomicLong();
+    private final AtomicLong primaryAfterWrite = new AtomicLong();
+    // 当前线程最近一次读写事务提交的 System.nanoTime()，尚无写入时为 null
+    private final ThreadLocal<Long> lastWriteNanos = new ThreadLocal<>();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReadReplicaDataSource(DataSource primary, List<NamedDataSource> replicas, ReadReplicaProperties properties) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.properties = properties;
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "read-replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getHealthCheckInterval().toMillis();
+        healthChecker.scheduleWithFixedDelay(this::checkHealth, 0, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (recentlyWritten()) {
+            primaryAfterWrite.incrementAndGet();
+            return primary.getConnection();
+        }
+        Replica replica = select();
+        if (replica != null) {
+            try {
+                Connection connection = replica.dataSource.getConnection();
+                replica.routed.incrementAndGet();
+                return connection;
+            } catch (SQLException ex) {
+                // 不等下一次健康检查，立即摘除，本次回到主库
+                replica.markDown(ex.getMessage());
+                log.warn("Read replica {} unavailable, falling back to primary: {}", replica.name, ex.getMessage());
+            }
+        }
+        primaryFallbacks.incrementAndGet();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    public void beforeCommit(TransactionExecution transaction) {
+        if (!transaction.isReadOnly()) {
+            lastWriteNanos.set(System.nanoTime());
+        }
+    }
+
+    /**
+     * 提交本身可能耗时，从提交完成时再计一次时间窗。
+     */
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable failure) {
+        if (!transaction.isReadOnly()) {
+            lastWriteNanos.set(System.nanoTime());
+        }
+    }
+
+    /**
+     * 依次检查每个副本：连接可用且延迟不超过 max-lag 才视为健康；延迟查询没有结果视为不健康。
+     */
+    public synchronized void checkHealth() {
+        for (Replica replica : replicas) {
+            try {
+                Long lag = measureLag(replica);
+                boolean healthy = lag != null && lag <= properties.getMaxLag().toSeconds();
+                if (replica.healthy != healthy) {
+                    log.info("Read replica {} is now {} (lag={}s)", replica.name, healthy ? "healthy" : "lagging", lag);
+                }
+                replica.lagSeconds = lag;
+                replica.lastError = healthy ? null : "replication lag " + lag + "s";
+                replica.healthy = healthy;
+            } catch (SQLException | RuntimeException ex) {
+                if (replica.healthy) {
+                    log.warn("Read replica {} failed health check: {}", replica.name, ex.getMessage());
+                }
+                replica.markDown(ex.getMessage());
+            }
+        }
+    }
+
+    public Summary summary() {
+        return new Summary(primaryFallbacks.get(), primaryAfterWrite.get(), replicas.stream()
+                .map(replica -> new Status(replica.name, replica.healthy, replica.lagSeconds, replica.lastError,
+                        replica.routed.get()))
+                .toList());
+    }
+
+    @Override
+    public void close() {
+        healthChecker.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Failed to close read replica {}: {}", replica.name, ex.getMessage());
+                }
+            }
+        }
+    }
+
+    private boolean recentlyWritten() {
+        Long written = lastWriteNanos.get();
+        if (written == null) {
+            return false;
+        }
+        if (System.nanoTime() - written < properties.getPrimaryAfterWrite().toNanos()) {
+            return true;
+        }
+        lastWriteNanos.remove();
+        return false;
+    }
+
+    private Replica select() {
+        if (replicas.isEmpty() || !routed(TransactionSynchronizationManager.getCurrentTransactionName())) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private boolean routed(String transactionName) {
+        if (transactionName == null) {
+            return false;
+        }
+        for (String prefix : properties.getRoutedTransactions()) {
+            if (StringUtils.hasText(prefix) && transactionName.startsWith(prefix.trim())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Long measureLag(Replica replica) throws SQLException {
+        int timeout = (int) Math.max(1, properties.getHealthCheckTimeout().toSeconds());
+        try (Connection connection = replica.dataSource.getConnection()) {
+            if (!connection.isValid(timeout)) {
+                throw new SQLException("connection is not valid");
+            }
+            if (!StringUtils.hasText(properties.getLagQuery())) {
+                return 0L;
+            }
+            try (Statement statement = connection.createStatement()) {
+                statement.setQueryTimeout(timeout);
+                try (ResultSet rs = statement.executeQuery(properties.getLagQuery())) {
+                    if (!rs.next()) {
+                        return null;
+                    }
+                    long lag = rs.getLong(lagColumn(rs.getMetaData()));
+                    return rs.wasNull() ? null : lag;
+                }
+            }
+        }
+    }
+
+    /**
+     * SHOW REPLICA STATUS 返回几十列，取其中的 Seconds_Behind_Source；自定义查询取第一列。
+     */
+    private static int lagColumn(ResultSetMetaData metaData) throws SQLException {
+        for (int i = 1; i <= metaData.getColumnCount(); i++) {
+            if (LAG_COLUMNS.contains(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT))) {
+                return i;
+            }
+        }
+        return 1;
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final AtomicLong routed = new AtomicLong();
+        private volatile boolean healthy;
+        private volatile Long lagSeconds;
+        private volatile String lastError = "not checked yet";
+
+        private Replica(NamedDataSource source) {
+            this.name = source.name();
+            this.dataSource = source.dataSource();
+        }
+
+        private void markDown(String error) {
+            healthy = false;
+            lagSeconds = null;
+            lastError = error;
+        }
+    }
+}
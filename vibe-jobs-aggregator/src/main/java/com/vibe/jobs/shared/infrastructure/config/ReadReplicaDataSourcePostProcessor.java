@@ -0,0 +1,122 @@
+package com.vibe.jobs.shared.infrastructure.config;
+
+import com.vibe.jobs.shared.infrastructure.security.AesEncryptionService;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ConfigurableTransactionManager;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 开启 jobs.datasource.read-replicas 时把主数据源包装成 LazyConnectionDataSourceProxy：连接推迟到第一条语句才获取，
+ * 此时事务的只读标记已经设置，只读事务从 {@link ReadReplicaDataSource} 取连接，其余仍走主库。
+ * 对 prod 自建的数据源和 Spring Boot 自动配置的数据源同样生效。
+ * 路由数据源同时注册为事务管理器的执行监听器，用于记录本实例最近一次写入的提交时间。
+ */
+@Slf4j
+@Component
+public class ReadReplicaDataSourcePostProcessor implements BeanPostProcessor, EnvironmentAware, BeanFactoryAware,
+        DisposableBean {
+
+    static final String PRIMARY_BEAN_NAME = "dataSource";
+    static final String ROUTING_BEAN_NAME = "readReplicaDataSource";
+
+    private Environment environment;
+    private BeanFactory beanFactory;
+    private ReadReplicaDataSource routing;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (bean instanceof ConfigurableTransactionManager transactionManager && routing != null
+                && !transactionManager.getTransactionExecutionListeners().contains(routing)) {
+            transactionManager.addListener(routing);
+            return bean;
+        }
+        if (!(bean instanceof DataSource primary) || !PRIMARY_BEAN_NAME.equals(beanName) || routing != null) {
+            return bean;
+        }
+        Binder binder = Binder.get(environment);
+        ReadReplicaProperties properties = binder.bind("jobs.datasource.read-replicas", ReadReplicaProperties.class)
+                .orElseGet(ReadReplicaProperties::new);
+        if (!properties.isEnabled() || properties.getNodes().isEmpty()) {
+            return bean;
+        }
+        DbCredentialEncryptionProperties encryption = binder
+                .bind("db.credentials.encryption", DbCredentialEncryptionProperties.class)
+                .orElseGet(DbCredentialEncryptionProperties::new);
+        routing = new ReadReplicaDataSource(primary, buildReplicas(properties, encryption), properties);
+        if (beanFactory instanceof ConfigurableBeanFactory configurable) {
+            configurable.registerSingleton(ROUTING_BEAN_NAME, routing);
+        }
+        log.info("Routing read-only transactions {} to {} read replica(s)", properties.getRoutedTransactions(),
+                properties.getNodes().size());
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(routing);
+        return proxy;
+    }
+
+    @Override
+    public void destroy() {
+        if (routing != null) {
+            routing.close();
+        }
+    }
+
+    private List<ReadReplicaDataSource.NamedDataSource> buildReplicas(ReadReplicaProperties properties,
+                                                                      DbCredentialEncryptionProperties encryption) {
+        AesEncryptionService aes = null;
+        if (encryption.isEnabled() && StringUtils.hasText(encryption.getKeyPath())) {
+            aes = new AesEncryptionService(AesEncryptionService.loadKey(Path.of(encryption.getKeyPath())));
+        }
+        List<ReadReplicaDataSource.NamedDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getNodes().size(); i++) {
+            ReadReplicaProperties.Node node = properties.getNodes().get(i);
+            if (!StringUtils.hasText(node.getUrl())) {
+                throw new IllegalStateException("jobs.datasource.read-replicas.nodes[" + i + "].url must be configured");
+            }
+            String name = StringUtils.hasText(node.getName()) ? node.getName() : "replica-" + i;
+            HikariDataSource dataSource = new HikariDataSource();
+            dataSource.setPoolName("read-replica-" + name);
+            dataSource.setJdbcUrl(node.getUrl());
+            dataSource.setUsername(aes != null ? ProdDataSourceConfig.decryptIfNecessary(node.getUsername(), aes)
+                    : node.getUsername());
+            dataSource.setPassword(aes != null ? ProdDataSourceConfig.decryptIfNecessary(node.getPassword(), aes)
+                    : node.getPassword());
+            if (StringUtils.hasText(node.getDriverClassName())) {
+                dataSource.setDriverClassName(node.getDriverClassName());
+            }
+            dataSource.setMaximumPoolSize(node.getMaximumPoolSize());
+            dataSource.setReadOnly(true);
+            // 副本宕机时尽快失败并回到主库，启动时也不因副本不可用而失败
+            dataSource.setConnectionTimeout(properties.getHealthCheckTimeout().toMillis());
+            dataSource.setInitializationFailTimeout(-1);
+            replicas.add(new ReadReplicaDataSource.NamedDataSource(name, dataSource));
+        }
+        return replicas;
+    }
+}
@@ -0,0 +1,150 @@
+package com.vibe.jobs.shared.infrastructure.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 只读副本路由：只读事务且事务名（发起事务的方法全名）匹配 routed-transactions 前缀时，从健康且延迟不超过
+ * max-lag 的副本中轮询取连接；没有可用副本或取连接失败时回到主库。
+ * 读写事务提交后，同一线程在 primary-after-write 内的只读事务同样回到主库，该时长应不小于 max-lag 与
+ * health-check-interval 之和（健康检查之间副本延迟可能继续增长）。
+ */
+public class ReadReplicaProperties {
+
+    private boolean enabled = false;
+    private Duration maxLag = Duration.ofSeconds(5);
+    private Duration primaryAfterWrite = Duration.ofSeconds(10);
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private Duration healthCheckTimeout = Duration.ofSeconds(2);
+    private String lagQuery = "";
+    private List<String> routedTransactions = new ArrayList<>(List.of("com.vibe.jobs.jobposting."));
+    private List<Node> nodes = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getMaxLag() {
+        return maxLag;
+    }
+
+    public void setMaxLag(Duration maxLag) {
+        this.maxLag = maxLag == null || maxLag.isNegative() ? Duration.ZERO : maxLag;
+    }
+
+    public Duration getPrimaryAfterWrite() {
+        return primaryAfterWrite;
+    }
+
+    public void setPrimaryAfterWrite(Duration primaryAfterWrite) {
+        this.primaryAfterWrite = primaryAfterWrite == null || primaryAfterWrite.isNegative()
+                ? Duration.ZERO : primaryAfterWrite;
+    }
+
+    public Duration getHealthCheckInterval() {
+        return healthCheckInterval;
+    }
+
+    public void setHealthCheckInterval(Duration healthCheckInterval) {
+        Duration min = Duration.ofMillis(100);
+        this.healthCheckInterval = healthCheckInterval == null || healthCheckInterval.compareTo(min) < 0
+                ? min : healthCheckInterval;
+    }
+
+    public Duration getHealthCheckTimeout() {
+        return healthCheckTimeout;
+    }
+
+    public void setHealthCheckTimeout(Duration healthCheckTimeout) {
+        Duration min = Duration.ofSeconds(1);
+        this.healthCheckTimeout = healthCheckTimeout == null || healthCheckTimeout.compareTo(min) < 0
+                ? min : healthCheckTimeout;
+    }
+
+    public String getLagQuery() {
+        return lagQuery;
+    }
+
+    public void setLagQuery(String lagQuery) {
+        this.lagQuery = lagQuery == null ? "" : lagQuery.trim();
+    }
+
+    public List<String> getRoutedTransactions() {
+        return routedTransactions;
+    }
+
+    public void setRoutedTransactions(List<String> routedTransactions) {
+        this.routedTransactions = routedTransactions == null ? new ArrayList<>() : routedTransactions;
+    }
+
+    public List<Node> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<Node> nodes) {
+        this.nodes = nodes == null ? new ArrayList<>() : nodes;
+    }
+
+    public static class Node {
+
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private String driverClassName;
+        private int maximumPoolSize = 4;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public String getDriverClassName() {
+            return driverClassName;
+        }
+
+        public void setDriverClassName(String driverClassName) {
+            this.driverClassName = driverClassName;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = Math.max(1, maximumPoolSize);
+        }
+    }
+}
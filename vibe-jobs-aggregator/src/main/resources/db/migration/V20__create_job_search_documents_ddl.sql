@@ -0,0 +1,19 @@
+-- 职位搜索投影表：标题、公司、地点、标签与截断后的详情正文预先转为小写，
+-- 搜索只查询这一张表，不再在查询时关联 job_tags 与 job_details。
+CREATE TABLE IF NOT EXISTS job_search_documents (
+    job_id BIGINT NOT NULL,
+    title_lc VARCHAR(255) NOT NULL,
+    company_lc VARCHAR(255) NOT NULL,
+    location_lc VARCHAR(255) NULL,
+    level_lc VARCHAR(255) NULL,
+    tags_lc TEXT NULL,
+    detail_text MEDIUMTEXT NULL,
+    posted_at TIMESTAMP(3) NULL,
+    create_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    update_time TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    deleted TINYINT(1) NOT NULL DEFAULT 0,
+    CONSTRAINT pk_job_search_documents PRIMARY KEY (job_id),
+    KEY idx_job_search_documents_posted_at_id_desc (posted_at DESC, job_id DESC),
+    FULLTEXT KEY idx_job_search_documents_main_ft (title_lc, company_lc, location_lc, tags_lc),
+    FULLTEXT KEY idx_job_search_documents_detail_ft (detail_text)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_unicode_ci;
@@ -0,0 +1,25 @@
+-- 由现有职位、标签与详情回填搜索投影表，可重复执行。
+-- 详情正文截断长度与 jobs.search.documents.detail-max-length 的默认值一致，
+-- 调整该配置后可调用 POST /admin/job-search-documents/rebuild 重建。
+SET SESSION group_concat_max_len = 65535;
+
+INSERT INTO job_search_documents (job_id, title_lc, company_lc, location_lc, level_lc, tags_lc, detail_text,
+                                  posted_at, deleted)
+SELECT j.id,
+       LOWER(j.title),
+       LOWER(j.company),
+       LOWER(j.location),
+       LOWER(j.level),
+       (SELECT LOWER(GROUP_CONCAT(t.tag ORDER BY t.tag SEPARATOR '\n')) FROM job_tags t WHERE t.job_id = j.id),
+       (SELECT LOWER(LEFT(d.content_text, 20000)) FROM job_details d WHERE d.job_id = j.id AND d.deleted = 0),
+       j.posted_at,
+       j.deleted
+FROM jobs j
+ON DUPLICATE KEY UPDATE title_lc    = VALUES(title_lc),
+                        company_lc  = VALUES(company_lc),
+                        location_lc = VALUES(location_lc),
+                        level_lc    = VALUES(level_lc),
+                        tags_lc     = VALUES(tags_lc),
+                        detail_text = VALUES(detail_text),
+                        posted_at   = VALUES(posted_at),
+                        deleted     = VALUES(deleted);
@@ -0,0 +1,55 @@
+-- 公司、地点、级别等值条件的 seek 索引：等值列在前，随后按 posted_at、job_id 倒序，
+-- 带筛选条件的分页可直接沿索引从游标位置读取一页，与 V3 中 jobs 上的函数索引作用相同。
+SET @index_exists := (
+    SELECT COUNT(1)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'job_search_documents'
+      AND INDEX_NAME = 'idx_job_search_documents_company_posted'
+);
+
+SET @ddl := IF(
+    @index_exists = 0,
+    'CREATE INDEX idx_job_search_documents_company_posted ON job_search_documents (company_lc, deleted, posted_at DESC, job_id DESC)',
+    'SELECT 1'
+);
+
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @index_exists := (
+    SELECT COUNT(1)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'job_search_documents'
+      AND INDEX_NAME = 'idx_job_search_documents_location_posted'
+);
+
+SET @ddl := IF(
+    @index_exists = 0,
+    'CREATE INDEX idx_job_search_documents_location_posted ON job_search_documents (location_lc, deleted, posted_at DESC, job_id DESC)',
+    'SELECT 1'
+);
+
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @index_exists := (
+    SELECT COUNT(1)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'job_search_documents'
+      AND INDEX_NAME = 'idx_job_search_documents_level_posted'
+);
+
+SET @ddl := IF(
+    @index_exists = 0,
+    'CREATE INDEX idx_job_search_documents_level_posted ON job_search_documents (level_lc, deleted, posted_at DESC, job_id DESC)',
+    'SELECT 1'
+);
+
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,55 @@
+-- 增量导出的 updated_at 索引：三张表各自按 updated_at 范围取出变化的职位 ID（带上回表所需的关联列，
+-- 只读索引即可），union 后再按主键回表。
+SET @index_exists := (
+    SELECT COUNT(1)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'jobs'
+      AND INDEX_NAME = 'idx_jobs_updated_at'
+);
+
+SET @ddl := IF(
+    @index_exists = 0,
+    'CREATE INDEX idx_jobs_updated_at ON jobs (updated_at)',
+    'SELECT 1'
+);
+
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @index_exists := (
+    SELECT COUNT(1)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'job_details'
+      AND INDEX_NAME = 'idx_job_details_updated_at'
+);
+
+SET @ddl := IF(
+    @index_exists = 0,
+    'CREATE INDEX idx_job_details_updated_at ON job_details (updated_at, job_id)',
+    'SELECT 1'
+);
+
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
+
+SET @index_exists := (
+    SELECT COUNT(1)
+    FROM INFORMATION_SCHEMA.STATISTICS
+    WHERE TABLE_SCHEMA = DATABASE()
+      AND TABLE_NAME = 'job_detail_enrichments'
+      AND INDEX_NAME = 'idx_job_detail_enrichments_updated_at'
+);
+
+SET @ddl := IF(
+    @index_exists = 0,
+    'CREATE INDEX idx_job_detail_enrichments_updated_at ON job_detail_enrichments (updated_at, job_detail_id)',
+    'SELECT 1'
+);
+
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
@@ -0,0 +1,88 @@
+package com.vibe.jobs.ingestion;
+
+import com.vibe.jobs.admin.application.IngestionSettingsService;
+import com.vibe.jobs.admin.domain.IngestionSettingsSnapshot;
+import com.vibe.jobs.admin.domain.event.IngestionSettingsUpdatedEvent;
+import com.vibe.jobs.shared.infrastructure.config.IngestionProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class IngestionExecutorManagerTest {
+
+    private IngestionExecutorManager manager;
+
+    @AfterEach
+    void tearDown() {
+        if (manager != null) {
+            manager.shutdown();
+        }
+    }
+
+    @Test
+    void switchesModeThroughSettingsEvent() {
+        manager = new IngestionExecutorManager(settingsService(2, IngestionProperties.ExecutorMode.PLATFORM));
+        assertThat(manager.getMode()).isEqualTo(IngestionProperties.ExecutorMode.PLATFORM);
+
+        manager.handleSettingsUpdated(new IngestionSettingsUpdatedEvent(snapshot(2, IngestionProperties.ExecutorMode.VIRTUAL)));
+        assertThat(manager.getMode()).isEqualTo(IngestionProperties.ExecutorMode.VIRTUAL);
+
+        manager.handleSettingsUpdated(new IngestionSettingsUpdatedEvent(snapshot(2, IngestionProperties.ExecutorMode.PLATFORM)));
+        assertThat(manager.getMode()).isEqualTo(IngestionProperties.ExecutorMode.PLATFORM);
+    }
+
+    @Test
+    void virtualModeLimitsConcurrencyWithSemaphore() throws Exception {
+        manager = new IngestionExecutorManager(settingsService(2, IngestionProperties.ExecutorMode.VIRTUAL));
+        manager.handleSettingsUpdated(new IngestionSettingsUpdatedEvent(snapshot(3, IngestionProperties.ExecutorMode.VIRTUAL)));
+
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            futures.add(manager.getExecutor().submit(() -> {
+                int current = running.incrementAndGet();
+                maxRunning.accumulateAndGet(current, Math::max);
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+            }));
+        }
+
+        Thread.sleep(200);
+        assertThat(running.get()).isEqualTo(3);
+        release.countDown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        assertThat(maxRunning.get()).isEqualTo(3);
+    }
+
+    private IngestionSettingsService settingsService(int concurrency, IngestionProperties.ExecutorMode mode) {
+        IngestionSettingsService settingsService = mock(IngestionSettingsService.class);
+        when(settingsService.initializeIfNeeded()).thenReturn(snapshot(concurrency, mode));
+        return settingsService;
+    }
+
+    private IngestionSettingsSnapshot snapshot(int concurrency, IngestionProperties.ExecutorMode mode) {
+        IngestionProperties properties = new IngestionProperties();
+        properties.setConcurrency(concurrency);
+        properties.setExecutorMode(mode);
+        return IngestionSettingsSnapshot.fromProperties(properties, Instant.now());
+    }
+}
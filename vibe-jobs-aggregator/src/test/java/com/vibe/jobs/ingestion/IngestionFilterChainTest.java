@@ -0,0 +1,128 @@
+package com.vibe.jobs.ingestion;
+
+import com.vibe.jobs.datasource.application.DataSourceQueryService;
+import com.vibe.jobs.ingestion.infrastructure.sourceclient.FetchedJob;
+import com.vibe.jobs.jobposting.application.LocationEnhancementService;
+import com.vibe.jobs.jobposting.application.LocationFilterService;
+import com.vibe.jobs.jobposting.application.RoleFilterService;
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.shared.infrastructure.config.IngestionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class IngestionFilterChainTest {
+
+    @Mock
+    private DataSourceQueryService dataSourceQueryService;
+
+    private IngestionProperties properties;
+    private IngestionFilterChain chain;
+
+    @BeforeEach
+    void setUp() {
+        properties = new IngestionProperties();
+        chain = new IngestionFilterChain(
+                new JobIngestionFilter(properties, dataSourceQueryService),
+                new LocationEnhancementService(),
+                new LocationFilterService(properties),
+                new RoleFilterService(properties));
+    }
+
+    @Test
+    void appliesAllStepsInOnePassAndKeepsOrder() {
+        when(dataSourceQueryService.getNormalizedCompanyNames()).thenReturn(Set.of("acme"));
+        properties.setRecentDays(7);
+        properties.getLocationFilter().setEnabled(true);
+        properties.getLocationFilter().setIncludeCities(List.of("Shanghai", "北京"));
+        properties.getLocationFilter().setExcludeKeywords(List.of("remote"));
+        properties.getRoleFilter().setEnabled(true);
+        properties.getRoleFilter().setIncludeKeywords(List.of(" Engineer "));
+        properties.getRoleFilter().setExcludeKeywords(List.of("intern"));
+
+        List<FetchedJob> page = List.of(
+                job("keep-1", "Acme", "Backend Engineer", "Shanghai, China", Instant.now()),
+                job("other-company", "Globex", "Backend Engineer", "Shanghai", Instant.now()),
+                job("too-old", "Acme", "Backend Engineer", "Shanghai", Instant.now().minus(Duration.ofDays(30))),
+                job("enhanced", "Acme", "Data Engineer, Shanghai", null, Instant.now()),
+                job("remote", "Acme", "Backend Engineer", "Shanghai (Remote)", Instant.now()),
+                job("intern", "Acme", "Software Engineer Intern", "北京", Instant.now()),
+                job("keep-2", "Acme", "前端 Engineer", "中国北京", Instant.now()),
+                job("wrong-role", "Acme", "Recruiter", "Shanghai", Instant.now()));
+
+        List<FetchedJob> result = chain.apply(page);
+
+        assertThat(result).extracting(fetched -> fetched.job().getExternalId())
+                .containsExactly("keep-1", "enhanced", "keep-2");
+        assertThat(result.get(1).job().getLocation()).isEqualTo("Shanghai");
+    }
+
+    @Test
+    void recompilesWhenKeywordListsAreReplaced() {
+        when(dataSourceQueryService.getNormalizedCompanyNames()).thenReturn(Set.of());
+        properties.getRoleFilter().setEnabled(true);
+        properties.getRoleFilter().setIncludeKeywords(new ArrayList<>(Arrays.asList("engineer")));
+        List<FetchedJob> page = List.of(job("1", "Acme", "Product Manager", "Shanghai", Instant.now()));
+
+        assertThat(chain.apply(page)).isEmpty();
+
+        properties.getRoleFilter().setIncludeKeywords(List.of("engineer", "manager"));
+
+        assertThat(chain.apply(page)).hasSize(1);
+    }
+
+    @Test
+    void compiledLocationFilterIsReusedUntilSettingsChange() {
+        LocationFilterService locations = new LocationFilterService(properties);
+        properties.getLocationFilter().setEnabled(true);
+        IngestionProperties.LocationFilter.Compiled compiled = locations.compiled();
+
+        assertThat(locations.compiled()).isSameAs(compiled);
+
+        properties.getLocationFilter().setExcludeKeywords(List.of("remote"));
+
+        assertThat(locations.compiled()).isNotSameAs(compiled);
+        assertThat(locations.matchesLocationFilter("Remote")).isFalse();
+    }
+
+    @Test
+    void compiledRoleFilterIsReusedUntilSettingsChange() {
+        RoleFilterService roles = new RoleFilterService(properties);
+        RoleFilterService.CompiledFilter compiled = roles.compiled();
+
+        assertThat(roles.compiled()).isSameAs(compiled);
+
+        IngestionProperties.RoleFilter replaced = new IngestionProperties.RoleFilter();
+        replaced.setEnabled(true);
+        properties.setRoleFilter(replaced);
+
+        assertThat(roles.compiled()).isNotSameAs(compiled);
+        assertThat(roles.compiled().isEnabled()).isTrue();
+    }
+
+    private FetchedJob job(String externalId, String company, String title, String location, Instant postedAt) {
+        Job job = Job.builder()
+                .source("stub")
+                .externalId(externalId)
+                .title(title)
+                .company(company)
+                .location(location)
+                .postedAt(postedAt)
+                .tags(Set.of())
+                .build();
+        return FetchedJob.of(job, "");
+    }
+}
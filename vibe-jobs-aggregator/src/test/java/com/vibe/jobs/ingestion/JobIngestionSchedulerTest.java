@@ -4,6 +4,8 @@ import com.vibe.jobs.admin.application.IngestionSettingsService;
 import com.vibe.jobs.admin.domain.IngestionSettingsSnapshot;
 import com.vibe.jobs.datasource.application.DataSourceQueryService;
 import com.vibe.jobs.datasource.domain.JobDataSource;
+import com.vibe.jobs.ingestion.domain.IngestionCursor;
+import com.vibe.jobs.ingestion.domain.IngestionRunReport;
 import com.vibe.jobs.ingestion.infrastructure.sourceclient.FetchedJob;
 import com.vibe.jobs.ingestion.infrastructure.sourceclient.SourceClient;
 import com.vibe.jobs.jobposting.application.LocationEnhancementService;
@@ -15,12 +17,15 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.scheduling.TaskScheduler;
 
 import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
@@ -34,8 +39,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -46,15 +54,6 @@ class JobIngestionSchedulerTest {
     @Mock
     private JobIngestionPersistenceService persistenceService;
 
-    @Mock
-    private LocationFilterService locationFilterService;
-
-    @Mock
-    private RoleFilterService roleFilterService;
-
-    @Mock
-    private LocationEnhancementService locationEnhancementService;
-
     @Mock
     private IngestionExecutorManager executorManager;
 
@@ -71,21 +70,26 @@ class JobIngestionSchedulerTest {
     private DataSourceQueryService dataSourceQueryService;
 
     private ExecutorService executor;
+    private ExecutorService pageExecutor;
 
     @BeforeEach
     void setUp() {
         executor = Executors.newSingleThreadExecutor();
+        pageExecutor = Executors.newSingleThreadExecutor();
     }
 
     @AfterEach
     void tearDown() {
         executor.shutdownNow();
+        pageExecutor.shutdownNow();
     }
 
     @Test
     void shouldRespectCategoryQuotas() {
         IngestionProperties properties = new IngestionProperties();
         properties.setPageSize(2);
+        // 断言请求过的页码，流水线模式会预取下一页，这里按串行模式验证
+        properties.getPipeline().setEnabled(false);
 
         JobIngestionFilter filter = new JobIngestionFilter(properties, dataSourceQueryService);
 
@@ -126,14 +130,8 @@ class JobIngestionSchedulerTest {
         SourceRegistry registry = mock(SourceRegistry.class);
         when(registry.getScheduledSources()).thenReturn(List.of(configuredSource));
 
-        // Mock location filter service to return all jobs unchanged
-        when(locationFilterService.filterJobs(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
-        // Mock location enhancement service to return all jobs unchanged
-        when(locationEnhancementService.enhanceLocationFields(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
-        // Mock role filter service to return all jobs unchanged
-        when(roleFilterService.filter(any())).thenAnswer(invocation -> invocation.getArgument(0));
 
         when(persistenceService.persistBatch(anyList())).thenAnswer(invocation -> {
             @SuppressWarnings("unchecked")
@@ -154,15 +152,15 @@ class JobIngestionSchedulerTest {
         JobIngestionScheduler scheduler = new JobIngestionScheduler(
                 properties,
                 registry,
-                filter,
+                new IngestionFilterChain(filter, new LocationEnhancementService(),
+                        new LocationFilterService(properties), new RoleFilterService(properties)),
                 persistenceService,
-                locationFilterService,
-                roleFilterService,
-                locationEnhancementService,
                 executorManager,
                 taskScheduler,
                 settingsService,
-                ingestionCursorService
+                ingestionCursorService,
+                new IngestionRunHistory(),
+                new SourceCadencePlanner(properties, ingestionCursorService)
         );
 
         scheduler.runIngestion();
@@ -182,11 +180,13 @@ class JobIngestionSchedulerTest {
     void shouldAllowLocationEnhancedJobsThroughCategoryFlow() {
         IngestionProperties properties = new IngestionProperties();
         properties.setPageSize(1);
+        properties.getLocationFilter().setEnabled(true);
+        properties.getLocationFilter().setIncludeCities(List.of("shanghai"));
 
         JobIngestionFilter filter = new JobIngestionFilter(properties, dataSourceQueryService);
 
         StubSourceClient client = new StubSourceClient();
-        client.addPage(List.of(fetchedJobWithTitle("eng-enhanced", "Engineering Manager", Set.of("Engineering"))));
+        client.addPage(List.of(fetchedJobWithTitle("eng-enhanced", "Engineering Manager, Shanghai", Set.of("Engineering"))));
 
         JobDataSource definition = new JobDataSource(
                 null,
@@ -224,62 +224,24 @@ class JobIngestionSchedulerTest {
             return new JobIngestionPersistenceService.JobBatchPersistenceResult(batch.size(), last, true);
         });
 
-        when(locationEnhancementService.enhanceLocationFields(any())).thenAnswer(invocation -> {
-            List<FetchedJob> jobs = invocation.getArgument(0);
-            List<FetchedJob> enhanced = new ArrayList<>();
-            for (FetchedJob fetchedJob : jobs) {
-                Job original = fetchedJob.job();
-                if (original.getLocation() == null) {
-                    Job enhancedJob = Job.builder()
-                            .source(original.getSource())
-                            .externalId(original.getExternalId())
-                            .title(original.getTitle())
-                            .company(original.getCompany())
-                            .location("Enhanced City")
-                            .level(original.getLevel())
-                            .postedAt(original.getPostedAt())
-                            .url(original.getUrl())
-                            .checksum(original.getChecksum())
-                            .tags(original.getTags())
-                            .build();
-                    enhanced.add(FetchedJob.of(enhancedJob, fetchedJob.content()));
-                } else {
-                    enhanced.add(fetchedJob);
-                }
-            }
-            return enhanced;
-        });
-
-        when(locationFilterService.filterJobs(any())).thenAnswer(invocation -> {
-            List<FetchedJob> jobs = invocation.getArgument(0);
-            List<FetchedJob> filtered = new ArrayList<>();
-            for (FetchedJob fetchedJob : jobs) {
-                if (fetchedJob.job().getLocation() != null) {
-                    filtered.add(fetchedJob);
-                }
-            }
-            return filtered;
-        });
-
-        when(roleFilterService.filter(any())).thenAnswer(invocation -> invocation.getArgument(0));
-
         when(settingsService.initializeIfNeeded()).thenReturn(IngestionSettingsSnapshot.fromProperties(properties, Instant.now()));
         when(ingestionCursorService.find(any())).thenReturn(Optional.empty());
         when(executorManager.getExecutor()).thenReturn(executor);
+        when(executorManager.getFetchExecutor()).thenReturn(pageExecutor);
         when(dataSourceQueryService.getNormalizedCompanyNames()).thenReturn(Set.of());
 
         JobIngestionScheduler scheduler = new JobIngestionScheduler(
                 properties,
                 registry,
-                filter,
+                new IngestionFilterChain(filter, new LocationEnhancementService(),
+                        new LocationFilterService(properties), new RoleFilterService(properties)),
                 persistenceService,
-                locationFilterService,
-                roleFilterService,
-                locationEnhancementService,
                 executorManager,
                 taskScheduler,
                 settingsService,
-                ingestionCursorService
+                ingestionCursorService,
+                new IngestionRunHistory(),
+                new SourceCadencePlanner(properties, ingestionCursorService)
         );
 
         scheduler.runIngestion();
@@ -290,10 +252,404 @@ class JobIngestionSchedulerTest {
         verify(persistenceService).persistBatch(captor.capture());
         
         FetchedJob persistedJob = captor.getValue().get(0);
-        assertThat(persistedJob.job().getLocation()).isEqualTo("Enhanced City");
+        assertThat(persistedJob.job().getLocation()).isEqualTo("Shanghai");
+
+    }
+
+    @Test
+    void pipelinedModePersistsPagesAndAdvancesCursorInOrder() {
+        IngestionProperties properties = new IngestionProperties();
+        properties.setPageSize(2);
+        properties.getPipeline().setEnabled(true);
+        properties.getPipeline().setQueueCapacity(1);
+
+        JobIngestionFilter filter = new JobIngestionFilter(properties, dataSourceQueryService);
+
+        StubSourceClient client = new StubSourceClient();
+        client.addPage(List.of(fetchedJob("p1-a", Set.of()), fetchedJob("p1-b", Set.of())));
+        client.addPage(List.of(fetchedJob("p2-a", Set.of()), fetchedJob("p2-b", Set.of())));
+        client.addPage(List.of(fetchedJob("p3-a", Set.of())));
+
+        JobDataSource definition = new JobDataSource(
+                null,
+                "stub",
+                "greenhouse",
+                true,
+                true,
+                false,
+                JobDataSource.Flow.UNLIMITED,
+                Map.of(),
+                List.of(),
+                List.of()
+        );
+        SourceRegistry.ConfiguredSource configuredSource = new SourceRegistry.ConfiguredSource(
+                definition,
+                "Acme",
+                client,
+                List.of()
+        );
+
+        SourceRegistry registry = mock(SourceRegistry.class);
+        when(registry.getScheduledSources()).thenReturn(List.of(configuredSource));
+        when(persistenceService.persistBatch(anyList())).thenAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            List<FetchedJob> batch = (List<FetchedJob>) invocation.getArgument(0);
+            Job last = batch.get(batch.size() - 1).job();
+            return new JobIngestionPersistenceService.JobBatchPersistenceResult(batch.size(), last, true);
+        });
+        when(settingsService.initializeIfNeeded()).thenReturn(IngestionSettingsSnapshot.fromProperties(properties, Instant.now()));
+        when(ingestionCursorService.find(any())).thenReturn(Optional.empty());
+        when(executorManager.getExecutor()).thenReturn(executor);
+        ExecutorService fetchExecutor = Executors.newSingleThreadExecutor();
+        when(executorManager.getFetchExecutor()).thenReturn(fetchExecutor);
+        when(dataSourceQueryService.getNormalizedCompanyNames()).thenReturn(Set.of());
+
+        JobIngestionScheduler scheduler = new JobIngestionScheduler(
+                properties,
+                registry,
+                new IngestionFilterChain(filter, new LocationEnhancementService(),
+                        new LocationFilterService(properties), new RoleFilterService(properties)),
+                persistenceService,
+                executorManager,
+                taskScheduler,
+                settingsService,
+                ingestionCursorService,
+                new IngestionRunHistory(),
+                new SourceCadencePlanner(properties, ingestionCursorService)
+        );
+
+        try {
+            scheduler.runIngestion();
+        } finally {
+            fetchExecutor.shutdownNow();
+        }
+
+        assertThat(client.requestedPages()).containsExactly(1, 2, 3, 4);
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FetchedJob>> captor = ArgumentCaptor.forClass(List.class);
+        verify(persistenceService, times(3)).persistBatch(captor.capture());
+        assertThat(captor.getAllValues().stream()
+                .flatMap(list -> list.stream().map(fetched -> fetched.job().getExternalId()))
+                .toList())
+                .containsExactly("p1-a", "p1-b", "p2-a", "p2-b", "p3-a");
+
+        ArgumentCaptor<Job> cursorCaptor = ArgumentCaptor.forClass(Job.class);
+        verify(ingestionCursorService, times(3)).updatePosition(any(), cursorCaptor.capture());
+        assertThat(cursorCaptor.getAllValues()).extracting(Job::getExternalId)
+                .containsExactly("p1-b", "p2-b", "p3-a");
+    }
+
+    @Test
+    void incrementalSourceResumesFromPageTokenAndAdvancesWatermarkWhenCaughtUp() {
+        IngestionProperties properties = new IngestionProperties();
+        properties.setPageSize(2);
+
+        JobIngestionFilter filter = new JobIngestionFilter(properties, dataSourceQueryService);
+
+        Instant watermark = Instant.now().truncatedTo(ChronoUnit.SECONDS).minusSeconds(3600);
+        IncrementalStubSourceClient client = new IncrementalStubSourceClient();
+        client.addBatch(new SourceClient.FetchResult(List.of(
+                fetchedJobAt("old", watermark.minusSeconds(60)),
+                fetchedJobAt("d1", watermark.plusSeconds(60)),
+                fetchedJobAt("d2", watermark.plusSeconds(180))
+        ), "2", true));
+        client.addBatch(new SourceClient.FetchResult(List.of(
+                fetchedJobAt("d3", watermark.plusSeconds(120))
+        ), null, false));
+
+        JobDataSource definition = new JobDataSource(
+                null,
+                "stub",
+                "greenhouse",
+                true,
+                true,
+                false,
+                JobDataSource.Flow.UNLIMITED,
+                Map.of(),
+                List.of(),
+                List.of()
+        );
+        SourceRegistry.ConfiguredSource configuredSource = new SourceRegistry.ConfiguredSource(
+                definition,
+                "Acme",
+                client,
+                List.of()
+        );
+
+        SourceRegistry registry = mock(SourceRegistry.class);
+        when(registry.getScheduledSources()).thenReturn(List.of(configuredSource));
+        when(persistenceService.persistBatch(anyList())).thenAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            List<FetchedJob> batch = (List<FetchedJob>) invocation.getArgument(0);
+            Job last = batch.get(batch.size() - 1).job();
+            return new JobIngestionPersistenceService.JobBatchPersistenceResult(batch.size(), last, true);
+        });
+        when(settingsService.initializeIfNeeded()).thenReturn(IngestionSettingsSnapshot.fromProperties(properties, Instant.now()));
+        IngestionCursor stored = new IngestionCursor("stub", "stub", "Acme", "", watermark, "w", null,
+                watermark, watermark, watermark);
+        when(ingestionCursorService.find(any())).thenReturn(Optional.of(stored));
+        when(ingestionCursorService.updatePosition(any(), any(), any(), any())).thenAnswer(invocation ->
+                stored.withNextPageToken(invocation.getArgument(3)));
+        when(executorManager.getExecutor()).thenReturn(executor);
+        when(executorManager.getFetchExecutor()).thenReturn(pageExecutor);
+        when(dataSourceQueryService.getNormalizedCompanyNames()).thenReturn(Set.of());
+
+        JobIngestionScheduler scheduler = new JobIngestionScheduler(
+                properties,
+                registry,
+                new IngestionFilterChain(filter, new LocationEnhancementService(),
+                        new LocationFilterService(properties), new RoleFilterService(properties)),
+                persistenceService,
+                executorManager,
+                taskScheduler,
+                settingsService,
+                ingestionCursorService,
+                new IngestionRunHistory(),
+                new SourceCadencePlanner(properties, ingestionCursorService)
+        );
+
+        scheduler.runIngestion();
+
+        assertThat(client.requestedTokens()).containsExactly(null, "2");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<FetchedJob>> captor = ArgumentCaptor.forClass(List.class);
+        verify(persistenceService, times(2)).persistBatch(captor.capture());
+        assertThat(captor.getAllValues().stream()
+                .flatMap(list -> list.stream().map(fetched -> fetched.job().getExternalId()))
+                .toList())
+                .containsExactly("d1", "d2", "d3");
+
+        // 续跑期间保持原水位线，只更新令牌；取完增量后推进到本轮最新职位并清空令牌
+        verify(ingestionCursorService).updatePosition(any(), eq(watermark), eq("w"), eq("2"));
+        verify(ingestionCursorService).updatePosition(any(), eq(watermark.plusSeconds(180)), eq("d2"), isNull());
+        verify(ingestionCursorService, never()).updatePosition(any(), any(Job.class));
+    }
+
+    @ParameterizedTest
+    @EnumSource(IngestionProperties.ExecutorMode.class)
+    void runsConcurrentSourcesInEachExecutorMode(IngestionProperties.ExecutorMode mode) {
+        IngestionProperties properties = new IngestionProperties();
+        properties.setPageSize(1);
+        properties.setConcurrency(2);
+        properties.setExecutorMode(mode);
+
+        JobIngestionFilter filter = new JobIngestionFilter(properties, dataSourceQueryService);
+
+        JobDataSource definition = new JobDataSource(
+                null,
+                "stub",
+                "greenhouse",
+                true,
+                true,
+                false,
+                JobDataSource.Flow.UNLIMITED,
+                Map.of(),
+                List.of(),
+                List.of()
+        );
+        List<SourceRegistry.ConfiguredSource> sources = new ArrayList<>();
+        for (String company : List.of("Acme", "Globex", "Initech")) {
+            StubSourceClient client = new StubSourceClient();
+            client.addPage(List.of(fetchedJob(company + "-1", Set.of())));
+            sources.add(new SourceRegistry.ConfiguredSource(definition, company, client, List.of()));
+        }
+
+        SourceRegistry registry = mock(SourceRegistry.class);
+        when(registry.getScheduledSources()).thenReturn(sources);
+        Set<String> workerThreads = java.util.concurrent.ConcurrentHashMap.newKeySet();
+        Set<Boolean> virtualFlags = java.util.concurrent.ConcurrentHashMap.newKeySet();
+        when(persistenceService.persistBatch(anyList())).thenAnswer(invocation -> {
+            workerThreads.add(Thread.currentThread().getName());
+            virtualFlags.add(Thread.currentThread().isVirtual());
+            @SuppressWarnings("unchecked")
+            List<FetchedJob> batch = (List<FetchedJob>) invocation.getArgument(0);
+            Job last = batch.get(batch.size() - 1).job();
+            return new JobIngestionPersistenceService.JobBatchPersistenceResult(batch.size(), last, true);
+        });
+        when(settingsService.initializeIfNeeded()).thenReturn(IngestionSettingsSnapshot.fromProperties(properties, Instant.now()));
+        when(ingestionCursorService.find(any())).thenReturn(Optional.empty());
+        when(dataSourceQueryService.getNormalizedCompanyNames()).thenReturn(Set.of());
+
+        IngestionExecutorManager manager = new IngestionExecutorManager(settingsService);
+        JobIngestionScheduler scheduler = new JobIngestionScheduler(
+                properties,
+                registry,
+                new IngestionFilterChain(filter, new LocationEnhancementService(),
+                        new LocationFilterService(properties), new RoleFilterService(properties)),
+                persistenceService,
+                manager,
+                taskScheduler,
+                settingsService,
+                ingestionCursorService,
+                new IngestionRunHistory(),
+                new SourceCadencePlanner(properties, ingestionCursorService)
+        );
+
+        try {
+            scheduler.runIngestion();
+        } finally {
+            manager.shutdown();
+        }
+
+        assertThat(manager.getMode()).isEqualTo(mode);
+        verify(persistenceService, times(3)).persistBatch(anyList());
+        assertThat(virtualFlags).containsExactly(mode == IngestionProperties.ExecutorMode.VIRTUAL);
+        assertThat(workerThreads).allMatch(name -> name.startsWith(
+                mode == IngestionProperties.ExecutorMode.VIRTUAL ? "ingestion-vworker-" : "ingestion-worker-"));
+    }
+
+    @Test
+    void slowSourceTimesOutWithoutDiscardingOtherSourcesProgress() {
+        IngestionProperties properties = new IngestionProperties();
+        properties.setPageSize(1);
+        properties.setSourceTimeoutMs(5_000);
+        properties.setPageTimeoutMs(1_000);
+        properties.getPipeline().setEnabled(true);
+
+        JobIngestionFilter filter = new JobIngestionFilter(properties, dataSourceQueryService);
+
+        JobDataSource definition = new JobDataSource(
+                null,
+                "stub",
+                "greenhouse",
+                true,
+                true,
+                false,
+                JobDataSource.Flow.UNLIMITED,
+                Map.of(),
+                List.of(),
+                List.of()
+        );
+        StubSourceClient slowClient = new StubSourceClient();
+        slowClient.addPage(List.of(fetchedJob("slow-1", Set.of())));
+        slowClient.blockOnPage(2);
+        StubSourceClient fastClient = new StubSourceClient();
+        fastClient.addPage(List.of(fetchedJob("fast-1", Set.of())));
+        fastClient.addPage(List.of(fetchedJob("fast-2", Set.of())));
+        SourceRegistry.ConfiguredSource slow = new SourceRegistry.ConfiguredSource(definition, "Slow", slowClient, List.of());
+        SourceRegistry.ConfiguredSource fast = new SourceRegistry.ConfiguredSource(definition, "Fast", fastClient, List.of());
+
+        SourceRegistry registry = mock(SourceRegistry.class);
+        when(registry.getScheduledSources()).thenReturn(List.of(slow, fast));
+        when(persistenceService.persistBatch(anyList())).thenAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            List<FetchedJob> batch = (List<FetchedJob>) invocation.getArgument(0);
+            Job last = batch.get(batch.size() - 1).job();
+            return new JobIngestionPersistenceService.JobBatchPersistenceResult(batch.size(), last, true);
+        });
+        when(settingsService.initializeIfNeeded()).thenReturn(IngestionSettingsSnapshot.fromProperties(properties, Instant.now()));
+        when(ingestionCursorService.find(any())).thenReturn(Optional.empty());
+        when(executorManager.getExecutor()).thenReturn(executor);
+        ExecutorService fetchExecutor = Executors.newCachedThreadPool();
+        when(executorManager.getFetchExecutor()).thenReturn(fetchExecutor);
+        when(dataSourceQueryService.getNormalizedCompanyNames()).thenReturn(Set.of());
+
+        IngestionRunHistory history = new IngestionRunHistory();
+        JobIngestionScheduler scheduler = new JobIngestionScheduler(
+                properties,
+                registry,
+                new IngestionFilterChain(filter, new LocationEnhancementService(),
+                        new LocationFilterService(properties), new RoleFilterService(properties)),
+                persistenceService,
+                executorManager,
+                taskScheduler,
+                settingsService,
+                ingestionCursorService,
+                history,
+                new SourceCadencePlanner(properties, ingestionCursorService)
+        );
+
+        try {
+            scheduler.runIngestion();
+        } finally {
+            fetchExecutor.shutdownNow();
+        }
+
+        verify(persistenceService, times(3)).persistBatch(anyList());
+        IngestionRunReport report = history.latest().orElseThrow();
+        assertThat(report.sources()).hasSize(2);
+        IngestionRunReport.SourceRunStats slowStats = report.sources().get(0);
+        assertThat(slowStats.status()).isEqualTo(IngestionRunReport.SourceRunStatus.TIMED_OUT);
+        assertThat(slowStats.pages()).isEqualTo(1);
+        assertThat(slowStats.slowPages()).isEqualTo(1);
+        assertThat(slowStats.message()).contains("source budget");
+        assertThat(slowStats.jobsPersisted()).isEqualTo(1);
+        IngestionRunReport.SourceRunStats fastStats = report.sources().get(1);
+        assertThat(fastStats.status()).isEqualTo(IngestionRunReport.SourceRunStatus.COMPLETED);
+        assertThat(fastStats.jobsPersisted()).isEqualTo(2);
+        assertThat(fastStats.slowPages()).isZero();
+
+        assertThat(history.timedOutLastRun(slowStats.sourceKey())).isTrue();
+        assertThat(history.budgetFor(slowStats.sourceKey(), 5_000)).isEqualTo(10_000);
+        assertThat(history.budgetFor(fastStats.sourceKey(), 5_000)).isEqualTo(5_000);
+    }
+
+    @Test
+    void slowPageIsCountedWithoutStoppingTheSource() {
+        IngestionProperties properties = new IngestionProperties();
+        properties.setPageSize(1);
+        properties.setSourceTimeoutMs(10_000);
+        properties.setPageTimeoutMs(1_000);
+        properties.getPipeline().setEnabled(true);
+
+        JobIngestionFilter filter = new JobIngestionFilter(properties, dataSourceQueryService);
 
-        verify(locationEnhancementService, times(1)).enhanceLocationFields(any());
-        verify(locationFilterService, times(1)).filterJobs(any());
+        JobDataSource definition = new JobDataSource(
+                null,
+                "stub",
+                "greenhouse",
+                true,
+                true,
+                false,
+                JobDataSource.Flow.UNLIMITED,
+                Map.of(),
+                List.of(),
+                List.of()
+        );
+        StubSourceClient client = new StubSourceClient();
+        client.addPage(List.of(fetchedJob("slow-1", Set.of())));
+        client.addPage(List.of(fetchedJob("slow-2", Set.of())));
+        client.delayPage(1, 1_500);
+        SourceRegistry.ConfiguredSource configuredSource = new SourceRegistry.ConfiguredSource(definition, "Slow", client, List.of());
+
+        SourceRegistry registry = mock(SourceRegistry.class);
+        when(registry.getScheduledSources()).thenReturn(List.of(configuredSource));
+        when(persistenceService.persistBatch(anyList())).thenAnswer(invocation -> {
+            @SuppressWarnings("unchecked")
+            List<FetchedJob> batch = (List<FetchedJob>) invocation.getArgument(0);
+            Job last = batch.get(batch.size() - 1).job();
+            return new JobIngestionPersistenceService.JobBatchPersistenceResult(batch.size(), last, true);
+        });
+        when(settingsService.initializeIfNeeded()).thenReturn(IngestionSettingsSnapshot.fromProperties(properties, Instant.now()));
+        when(ingestionCursorService.find(any())).thenReturn(Optional.empty());
+        when(executorManager.getExecutor()).thenReturn(executor);
+        when(executorManager.getFetchExecutor()).thenReturn(pageExecutor);
+        when(dataSourceQueryService.getNormalizedCompanyNames()).thenReturn(Set.of());
+
+        IngestionRunHistory history = new IngestionRunHistory();
+        JobIngestionScheduler scheduler = new JobIngestionScheduler(
+                properties,
+                registry,
+                new IngestionFilterChain(filter, new LocationEnhancementService(),
+                        new LocationFilterService(properties), new RoleFilterService(properties)),
+                persistenceService,
+                executorManager,
+                taskScheduler,
+                settingsService,
+                ingestionCursorService,
+                history,
+                new SourceCadencePlanner(properties, ingestionCursorService)
+        );
+
+        scheduler.runIngestion();
+
+        IngestionRunReport.SourceRunStats stats = history.latest().orElseThrow().sources().get(0);
+        assertThat(stats.status()).isEqualTo(IngestionRunReport.SourceRunStatus.COMPLETED);
+        assertThat(stats.pages()).isEqualTo(2);
+        assertThat(stats.slowPages()).isEqualTo(1);
+        assertThat(stats.jobsPersisted()).isEqualTo(2);
     }
 
     private FetchedJob fetchedJobWithTitle(String externalId, String title, Set<String> tags) {
@@ -328,14 +684,73 @@ class JobIngestionSchedulerTest {
         return FetchedJob.of(job, externalId + "-content");
     }
 
+    private FetchedJob fetchedJobAt(String externalId, Instant postedAt) {
+        Job job = Job.builder()
+                .source("stub")
+                .externalId(externalId)
+                .title(externalId)
+                .company("Acme")
+                .postedAt(postedAt)
+                .tags(new HashSet<>())
+                .build();
+        return FetchedJob.of(job, externalId + "-content");
+    }
+
+    private static class IncrementalStubSourceClient implements SourceClient {
+        private final List<FetchResult> batches = new ArrayList<>();
+        private final List<String> requestedTokens = new ArrayList<>();
+
+        void addBatch(FetchResult batch) {
+            batches.add(batch);
+        }
+
+        List<String> requestedTokens() {
+            return requestedTokens;
+        }
+
+        @Override
+        public String sourceName() {
+            return "stub";
+        }
+
+        @Override
+        public List<FetchedJob> fetchPage(int page, int size) {
+            throw new AssertionError("incremental sources should not be paged");
+        }
+
+        @Override
+        public boolean supportsIncremental() {
+            return true;
+        }
+
+        @Override
+        public FetchResult fetchSince(IngestionCursor cursor, int pageSize) {
+            requestedTokens.add(cursor == null ? null : cursor.nextPageToken());
+            int index = requestedTokens.size() - 1;
+            return index < batches.size() ? batches.get(index) : FetchResult.empty();
+        }
+    }
+
     private static class StubSourceClient implements SourceClient {
         private final List<List<FetchedJob>> pages = new ArrayList<>();
-        private final List<Integer> requestedPages = new ArrayList<>();
+        private final List<Integer> requestedPages = new java.util.concurrent.CopyOnWriteArrayList<>();
+        private int blockedPage = -1;
+        private int delayedPage = -1;
+        private long delayMs;
 
         void addPage(List<FetchedJob> jobs) {
             pages.add(jobs);
         }
 
+        void delayPage(int page, long delayMs) {
+            this.delayedPage = page;
+            this.delayMs = delayMs;
+        }
+
+        void blockOnPage(int page) {
+            this.blockedPage = page;
+        }
+
         List<Integer> requestedPages() {
             return requestedPages;
         }
@@ -346,8 +761,15 @@ class JobIngestionSchedulerTest {
         }
 
         @Override
-        public List<FetchedJob> fetchPage(int page, int size) {
+        public List<FetchedJob> fetchPage(int page, int size) throws Exception {
             requestedPages.add(page);
+            if (page == blockedPage) {
+                // 模拟卡住的上游，直到流水线关闭时被中断
+                Thread.sleep(10_000);
+            }
+            if (page == delayedPage) {
+                Thread.sleep(delayMs);
+            }
             int index = page - 1;
             if (index >= 0 && index < pages.size()) {
                 return pages.get(index);
@@ -0,0 +1,92 @@
+package com.vibe.jobs.ingestion;
+
+import com.vibe.jobs.ingestion.infrastructure.sourceclient.FetchedJob;
+import com.vibe.jobs.jobposting.domain.Job;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 页面签名基准：旧的字符串拼接 + TreeSet 实现对比逐字符计算、按职位求和的 128 位签名。
+ *
+ * 运行：mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java "-Dexec.args=-cp %classpath com.vibe.jobs.ingestion.PageSignatureBenchmark"
+ * 关注 gc.alloc.rate.norm（每次调用分配的字节数）。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSignatureBenchmark {
+
+    @Param({"20", "100", "500"})
+    public int pageSize;
+
+    private List<FetchedJob> page;
+
+    @Setup
+    public void setUp() {
+        page = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            Job job = Job.builder()
+                    .source("workday")
+                    .externalId("JR-" + (100_000 + i))
+                    .url("https://acme.wd5.myworkdayjobs.com/en-US/External/job/Shanghai/Senior-Software-Engineer_JR-" + (100_000 + i))
+                    .title("Senior Software Engineer, Platform " + i)
+                    .company("Acme")
+                    .build();
+            page.add(FetchedJob.of(job, null));
+        }
+    }
+
+    @Benchmark
+    public String legacyJoinedSignature() {
+        return page.stream()
+                .map(fetched -> {
+                    Job job = fetched.job();
+                    if (job == null) {
+                        return "";
+                    }
+                    String externalId = job.getExternalId();
+                    String url = job.getUrl();
+                    String title = job.getTitle();
+                    return (externalId == null ? "" : externalId.trim())
+                            + "|" + (url == null ? "" : url.trim())
+                            + "|" + (title == null ? "" : title.trim().toLowerCase(Locale.ROOT));
+                })
+                .collect(Collectors.toCollection(TreeSet::new))
+                .stream()
+                .collect(Collectors.joining(";"));
+    }
+
+    @Benchmark
+    public PageSignature summedSignature() {
+        return PageSignature.of(page);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(PageSignatureBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
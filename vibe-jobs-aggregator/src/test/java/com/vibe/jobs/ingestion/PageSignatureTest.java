@@ -0,0 +1,80 @@
+package com.vibe.jobs.ingestion;
+
+import com.vibe.jobs.ingestion.infrastructure.sourceclient.FetchedJob;
+import com.vibe.jobs.jobposting.domain.Job;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PageSignatureTest {
+
+    @Test
+    void signatureIsOrderIndependentAndNormalizesTrimAndTitleCase() {
+        PageSignature first = PageSignature.of(List.of(job("1", "https://a/1", "Backend Engineer"), job("2", "https://a/2", "SRE")));
+        PageSignature reordered = PageSignature.of(List.of(job("2", "https://a/2", "sre"), job(" 1 ", "https://a/1", "backend engineer ")));
+        PageSignature different = PageSignature.of(List.of(job("1", "https://a/1", "Backend Engineer"), job("3", "https://a/3", "SRE")));
+
+        assertThat(reordered).isEqualTo(first);
+        assertThat(different).isNotEqualTo(first);
+        assertThat(PageSignature.of(List.of())).isEqualTo(PageSignature.EMPTY);
+        assertThat(PageSignature.of(List.of(FetchedJob.of(null, null))).isEmpty()).isTrue();
+    }
+
+    @Test
+    void fieldBoundariesAffectSignature() {
+        PageSignature a = PageSignature.of(List.of(job("ab", "c", "t")));
+        PageSignature b = PageSignature.of(List.of(job("a", "bc", "t")));
+
+        assertThat(a).isNotEqualTo(b);
+    }
+
+    @Test
+    void swappedFieldValuesProduceDifferentSignatures() {
+        PageSignature original = PageSignature.of(List.of(job("1", "https://a/1", "Engineer"), job("2", "https://a/2", "Manager")));
+        PageSignature swappedTitles = PageSignature.of(List.of(job("1", "https://a/1", "Manager"), job("2", "https://a/2", "Engineer")));
+        PageSignature swappedFields = PageSignature.of(List.of(job("https://a/1", "1", "Engineer"), job("2", "https://a/2", "Manager")));
+
+        assertThat(swappedTitles).isNotEqualTo(original);
+        assertThat(swappedFields).isNotEqualTo(original);
+    }
+
+    @Test
+    void repeatedJobsOnAPageCountOnce() {
+        PageSignature single = PageSignature.of(List.of(job("1", "https://a/1", "Engineer")));
+        PageSignature repeated = PageSignature.of(List.of(job("1", "https://a/1", "Engineer"), job("1", "https://a/1", "engineer")));
+
+        assertThat(repeated).isEqualTo(single);
+    }
+
+    @Test
+    void windowDetectsRepeatedPagesWithinCapacity() {
+        PageSignature.Window window = new PageSignature.Window(2);
+        PageSignature p1 = PageSignature.of(List.of(job("1", null, "a")));
+        PageSignature p2 = PageSignature.of(List.of(job("2", null, "b")));
+        PageSignature p3 = PageSignature.of(List.of(job("3", null, "c")));
+
+        assertThat(window.add(p1)).isTrue();
+        assertThat(window.add(p2)).isTrue();
+        assertThat(window.add(p1)).isFalse();
+        assertThat(window.add(PageSignature.EMPTY)).isTrue();
+        assertThat(window.add(PageSignature.EMPTY)).isTrue();
+
+        // 超出窗口容量后最早的签名被淘汰
+        assertThat(window.add(p3)).isTrue();
+        assertThat(window.add(p1)).isTrue();
+        assertThat(window.add(p3)).isFalse();
+    }
+
+    private FetchedJob job(String externalId, String url, String title) {
+        Job job = Job.builder()
+                .source("stub")
+                .externalId(externalId)
+                .url(url)
+                .title(title)
+                .company("Acme")
+                .build();
+        return FetchedJob.of(job, null);
+    }
+}
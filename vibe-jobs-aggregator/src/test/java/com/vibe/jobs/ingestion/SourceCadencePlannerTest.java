@@ -0,0 +1,92 @@
+package com.vibe.jobs.ingestion;
+
+import com.vibe.jobs.ingestion.domain.IngestionCursorKey;
+import com.vibe.jobs.ingestion.domain.IngestionRunReport;
+import com.vibe.jobs.shared.infrastructure.config.IngestionProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SourceCadencePlannerTest {
+
+    private static final long MINUTE = 60_000L;
+    private static final long HOUR = 60 * MINUTE;
+
+    @Mock
+    private IngestionCursorService ingestionCursorService;
+
+    private final IngestionCursorKey hot = IngestionCursorKey.of("greenhouse", "greenhouse", "Hot", null);
+    private final IngestionCursorKey cold = IngestionCursorKey.of("greenhouse", "greenhouse", "Cold", null);
+    private final IngestionCursorKey fresh = IngestionCursorKey.of("greenhouse", "greenhouse", "Fresh", null);
+    private final Instant now = Instant.parse("2025-01-01T12:00:00Z");
+
+    private SourceCadencePlanner planner;
+
+    @BeforeEach
+    void setUp() {
+        IngestionProperties properties = new IngestionProperties();
+        properties.getAdaptive().setMinIntervalMs(15 * MINUTE);
+        properties.getAdaptive().setMaxIntervalMs(24 * HOUR);
+        planner = new SourceCadencePlanner(properties, ingestionCursorService);
+    }
+
+    @Test
+    void seedsCadenceFromLastIngestedAtAndOrdersDueSourcesByOverdueTime() {
+        when(ingestionCursorService.findLatestIngestedAt(hot)).thenReturn(Optional.of(now.minus(Duration.ofMinutes(5))));
+        when(ingestionCursorService.findLatestIngestedAt(cold)).thenReturn(Optional.of(now.minus(Duration.ofDays(3))));
+        when(ingestionCursorService.findLatestIngestedAt(fresh)).thenReturn(Optional.empty());
+
+        List<IngestionCursorKey> due = planner.dueSources(List.of(hot, cold, fresh), HOUR, now);
+
+        // 刚采到新职位的数据源尚未到期；未知数据源按基础间隔、冷数据源按最大间隔
+        assertThat(due).containsExactly(fresh, cold);
+        assertThat(planner.cadence(hot)).get().satisfies(cadence -> {
+            assertThat(cadence.intervalMs()).isEqualTo(15 * MINUTE);
+            assertThat(cadence.nextDueAt()).isEqualTo(now.plus(Duration.ofMinutes(10)));
+        });
+        assertThat(planner.cadence(cold)).get().extracting(SourceCadencePlanner.Cadence::intervalMs).isEqualTo(24 * HOUR);
+        assertThat(planner.dueSources(List.of(hot, cold, fresh), HOUR, now.plus(Duration.ofMinutes(10)))).containsExactly(fresh, cold, hot);
+    }
+
+    @Test
+    void adjustsIntervalsFromRunResults() {
+        IngestionCursorKey failing = IngestionCursorKey.of("lever", "lever", "Failing", null);
+        IngestionCursorKey slow = IngestionCursorKey.of("lever", "lever", "Slow", null);
+        IngestionRunReport report = new IngestionRunReport(now, now, List.of(
+                stats(hot, IngestionRunReport.SourceRunStatus.COMPLETED, 12),
+                stats(cold, IngestionRunReport.SourceRunStatus.COMPLETED, 0),
+                stats(failing, IngestionRunReport.SourceRunStatus.FAILED, 0),
+                stats(slow, IngestionRunReport.SourceRunStatus.TIMED_OUT, 3)));
+
+        planner.record(report, 2 * HOUR, now);
+
+        assertThat(planner.cadence(hot)).get().extracting(SourceCadencePlanner.Cadence::intervalMs).isEqualTo(HOUR);
+        assertThat(planner.cadence(cold)).get().extracting(SourceCadencePlanner.Cadence::intervalMs).isEqualTo(3 * HOUR);
+        assertThat(planner.cadence(failing)).get().extracting(SourceCadencePlanner.Cadence::intervalMs).isEqualTo(4 * HOUR);
+        assertThat(planner.cadence(slow)).get().satisfies(cadence -> {
+            assertThat(cadence.intervalMs()).isEqualTo(2 * HOUR);
+            assertThat(cadence.nextDueAt()).isEqualTo(now.plus(Duration.ofMinutes(15)));
+        });
+
+        // 连续有新职位的数据源收敛到最小间隔
+        for (int i = 0; i < 5; i++) {
+            planner.record(new IngestionRunReport(now, now, List.of(stats(hot, IngestionRunReport.SourceRunStatus.COMPLETED, 1))), 2 * HOUR, now);
+        }
+        assertThat(planner.cadence(hot)).get().extracting(SourceCadencePlanner.Cadence::intervalMs).isEqualTo(15 * MINUTE);
+    }
+
+    private IngestionRunReport.SourceRunStats stats(IngestionCursorKey key, IngestionRunReport.SourceRunStatus status, int persisted) {
+        return new IngestionRunReport.SourceRunStats(key, status, 1, 0, persisted, 100L, 60_000L, null);
+    }
+}
@@ -0,0 +1,143 @@
+package com.vibe.jobs.ingestion.infrastructure.sourceclient;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GreenhouseSourceClientTest {
+
+    private MockWebServer server;
+    private final Map<String, AtomicInteger> hits = new ConcurrentHashMap<>();
+    private volatile String index;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String path = request.getRequestUrl().encodedPath();
+                hits.computeIfAbsent(path, key -> new AtomicInteger()).incrementAndGet();
+                if (path.endsWith("/jobs")) {
+                    return json(index);
+                }
+                String id = path.substring(path.lastIndexOf('/') + 1);
+                return json("{\"job\":{\"id\":" + id + ",\"title\":\"Detail " + id + "\","
+                        + "\"updated_at\":\"2024-05-01T00:00:00Z\",\"content\":\"detail body " + id + "\"}}");
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void reusesIndexAcrossPagesAndFetchesDetailsOnlyWhenContentIsMissing() throws Exception {
+        index = "{\"jobs\":["
+                + job(1, "2024-05-01T00:00:00Z", "inline body")
+                + "," + job(2, "2024-05-01T00:00:00Z", null)
+                + "," + job(3, "2024-05-01T00:00:00Z", "inline body")
+                + "]}";
+        GreenhouseSourceClient client = newClient(Instant.parse("2024-05-02T00:00:00Z"));
+
+        List<FetchedJob> first = client.fetchPage(1, 2);
+        List<FetchedJob> second = client.fetchPage(2, 2);
+        List<FetchedJob> third = client.fetchPage(3, 2);
+
+        assertThat(first).extracting(fetched -> fetched.job().getExternalId()).containsExactly("1", "2");
+        assertThat(first).extracting(FetchedJob::content).containsExactly("inline body", "detail body 2");
+        assertThat(second).extracting(fetched -> fetched.job().getExternalId()).containsExactly("3");
+        assertThat(third).isEmpty();
+        assertThat(hits(server.url("/board/jobs").encodedPath())).isEqualTo(1);
+        assertThat(hits(server.url("/board/jobs/2").encodedPath())).isEqualTo(1);
+        assertThat(hits(server.url("/board/jobs/1").encodedPath())).isZero();
+    }
+
+    @Test
+    void skipsDetailRequestWhenUpdatedAtIsUnchanged() throws Exception {
+        index = "{\"jobs\":[" + job(2, "2024-05-01T00:00:00Z", null) + "]}";
+        MutableClock clock = new MutableClock(Instant.parse("2024-05-02T00:00:00Z"));
+        GreenhouseSourceClient client = new GreenhouseSourceClient("board", server.url("/board").toString(), clock);
+
+        client.fetchPage(1, 10);
+        clock.advance(GreenhouseSourceClient.INDEX_TTL.toMillis() + 1);
+        List<FetchedJob> unchanged = client.fetchPage(1, 10);
+
+        assertThat(unchanged).extracting(FetchedJob::content).containsExactly("detail body 2");
+        assertThat(hits(server.url("/board/jobs").encodedPath())).isEqualTo(2);
+        assertThat(hits(server.url("/board/jobs/2").encodedPath())).isEqualTo(1);
+
+        index = "{\"jobs\":[" + job(2, "2024-05-03T00:00:00Z", null) + "]}";
+        clock.advance(GreenhouseSourceClient.INDEX_TTL.toMillis() + 1);
+        client.fetchPage(1, 10);
+
+        assertThat(hits(server.url("/board/jobs/2").encodedPath())).isEqualTo(2);
+    }
+
+    private GreenhouseSourceClient newClient(Instant now) {
+        return new GreenhouseSourceClient("board", server.url("/board").toString(), Clock.fixed(now, ZoneOffset.UTC));
+    }
+
+    private int hits(String path) {
+        AtomicInteger count = hits.get(path);
+        return count == null ? 0 : count.get();
+    }
+
+    private static String job(int id, String updatedAt, String content) {
+        return "{\"id\":" + id + ",\"title\":\"Job " + id + "\",\"updated_at\":\"" + updatedAt + "\","
+                + "\"absolute_url\":\"https://example.com/" + id + "\""
+                + (content == null ? "" : ",\"content\":\"" + content + "\"")
+                + "}";
+    }
+
+    private static MockResponse json(String body) {
+        return new MockResponse().setHeader("Content-Type", "application/json").setBody(body);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private volatile Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(long millis) {
+            now = now.plusMillis(millis);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.vibe.jobs.jobposting.application;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
+import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
+import com.vibe.jobs.shared.infrastructure.config.JobCatalogProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JobCatalogTest {
+
+    private JobRepositoryPort repository;
+    private JobCatalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(JobRepositoryPort.class);
+        catalog = new JobCatalog(repository, new JobCatalogProperties());
+        when(repository.findIdsAfter(eq(0L), anyInt())).thenReturn(List.of(1L, 2L));
+        when(repository.findIdsAfter(eq(2L), anyInt())).thenReturn(List.of());
+        when(repository.findByIds(anyCollection())).thenReturn(List.of(
+                job(1L, "Backend Engineer", "Acme", "Remote", "java"),
+                job(2L, "Data Engineer", " ACME ", "Shanghai", "sql")));
+    }
+
+    @Test
+    void sharesLabelsAndPrunesValuesNoLongerReferenced() {
+        catalog.load();
+
+        String label = catalog.read(reader -> reader.label(JobCatalog.Field.COMPANY, "acme"));
+        String first = catalog.read(reader -> reader.entry(1L).company());
+        String second = catalog.read(reader -> reader.entry(2L).company());
+        Set<Long> acme = catalog.read(reader -> Set.copyOf(reader.idsEqualTo(JobCatalog.Field.COMPANY, "acme")));
+        assertThat(first).isSameAs(label);
+        assertThat(second).isEqualTo("ACME");
+        assertThat(acme).containsExactlyInAnyOrder(1L, 2L);
+
+        catalog.onJobsChanged(JobsChangedEvent.removed(List.of(1L)));
+        catalog.onJobsChanged(JobsChangedEvent.saved(List.of(job(2L, "Data Engineer", "Other", "Shanghai"))));
+
+        List<String> companies = catalog.read(reader -> reader.values(JobCatalog.Field.COMPANY).stream()
+                .map(JobCatalog.Posting::label)
+                .toList());
+        int titles = catalog.read(reader -> reader.values(JobCatalog.Field.TITLE).size());
+        int tags = catalog.read(reader -> reader.values(JobCatalog.Field.TAG).size());
+        assertThat(companies).containsExactly("Other");
+        assertThat(titles).isEqualTo(1);
+        assertThat(tags).isZero();
+    }
+
+    @Test
+    void replaysChangesQueuedWhileLoadingAndNotifiesListeners() {
+        RecordingListener listener = new RecordingListener();
+        catalog.subscribe(listener);
+        when(repository.findByIds(anyCollection())).thenAnswer(invocation -> {
+            // 加载读取期间提交的变更先排队，加载完成后重放
+            catalog.onJobsChanged(JobsChangedEvent.removed(List.of(1L)));
+            return List.of(job(1L, "Backend Engineer", "Acme", "Remote"), job(2L, "Data Engineer", "Acme", "Shanghai"));
+        });
+
+        catalog.load();
+        catalog.onJobsChanged(JobsChangedEvent.saved(List.of(job(3L, "QA Engineer", "Acme", "Remote"))));
+
+        assertThat(catalog.isLoaded()).isTrue();
+        assertThat(listener.loaded).extracting(JobCatalog.Entry::id).containsExactly(2L);
+        assertThat(listener.changes).containsExactly("null->3");
+        Set<Long> remote = catalog.read(reader -> reader.idsContaining(JobCatalog.Field.LOCATION, "rem"));
+        assertThat(remote).containsExactly(3L);
+    }
+
+    private static Job job(Long id, String title, String company, String location, String... tags) {
+        return Job.builder()
+                .id(id)
+                .source("test")
+                .externalId("ext-" + id)
+                .title(title)
+                .company(company)
+                .location(location)
+                .tags(Set.of(tags))
+                .build();
+    }
+
+    private static final class RecordingListener implements JobCatalog.Listener {
+
+        private final List<JobCatalog.Entry> loaded = new ArrayList<>();
+        private final List<String> changes = new ArrayList<>();
+
+        @Override
+        public void onLoaded(Collection<JobCatalog.Entry> entries) {
+            loaded.addAll(entries);
+        }
+
+        @Override
+        public void onChanged(JobCatalog.Entry previous, JobCatalog.Entry current) {
+            changes.add((previous == null ? "null" : previous.id()) + "->" + (current == null ? "null" : current.id()));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.vibe.jobs.jobposting.application;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
+import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
+import com.vibe.jobs.shared.infrastructure.config.JobCountProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobCountServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-10T00:00:00Z");
+
+    private JobRepositoryPort repository;
+    private JobCountProperties properties;
+    private MutableClock clock;
+    private JobCountService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(JobRepositoryPort.class);
+        properties = new JobCountProperties();
+        clock = new MutableClock(NOW);
+        service = new JobCountService(repository, properties, clock);
+        when(repository.loadCounts()).thenReturn(new JobRepositoryPort.JobCounts(100,
+                Map.of("acme", 30L, "acme labs", 10L, "other", 60L),
+                Map.of("shanghai", 70L, "remote", 30L),
+                Map.of("senior", 40L, "mid", 60L)));
+        service.reconcileCounters();
+    }
+
+    @Test
+    void answersUnfilteredAndSingleFilterTotalsFromCounters() {
+        assertThat(service.count(null, null, null, null, null, false, JobCountService.Mode.EXACT))
+                .isEqualTo(new JobCountService.Total(100, false));
+        assertThat(service.count(null, " ACME ", null, null, null, false, JobCountService.Mode.EXACT).value())
+                .isEqualTo(40);
+        assertThat(service.count(null, null, "remote", null, null, false, JobCountService.Mode.EXACT).value())
+                .isEqualTo(30);
+        assertThat(service.count(null, null, null, "Senior", null, false, JobCountService.Mode.EXACT).value())
+                .isEqualTo(40);
+
+        verify(repository, times(1)).loadCounts();
+        verify(repository, never()).countSearch(any(), any(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void appliesChangeDeltasWithoutReloading() {
+        Job inserted = job(10L, "Acme", "Remote", "Senior");
+        Job moved = job(11L, "Other", "Remote", "Mid");
+        service.onJobsChanged(JobsChangedEvent.saved(List.of(inserted, moved),
+                Map.of(11L, new JobsChangedEvent.Previous("Other", "Shanghai", "mid"))));
+        service.onJobsChanged(JobsChangedEvent.removed(List.of(12L, 13L),
+                Map.of(12L, new JobsChangedEvent.Previous("ACME", "shanghai", "senior"))));
+
+        assertThat(count(null, null, null).value()).isEqualTo(100);
+        assertThat(count("acme", null, null).value()).isEqualTo(40);
+        assertThat(count(null, "remote", null).value()).isEqualTo(32);
+        assertThat(count(null, "shanghai", null).value()).isEqualTo(68);
+        assertThat(count(null, null, "senior").value()).isEqualTo(40);
+        verify(repository, times(1)).loadCounts();
+    }
+
+    @Test
+    void reconcilesInBackgroundOnlyAfterChanges() {
+        service.reconcileCounters();
+        verify(repository, times(1)).loadCounts();
+
+        service.onJobsChanged(JobsChangedEvent.removed(List.of(1L)));
+        service.reconcileCounters();
+        verify(repository, times(2)).loadCounts();
+    }
+
+    @Test
+    void fallsBackToQueriesUntilCountersAreLoaded() {
+        JobCountService cold = new JobCountService(repository, properties, clock);
+        when(repository.countSearch(any(), any(), any(), any(), any(), anyBoolean())).thenReturn(99L);
+
+        assertThat(cold.count(null, null, null, null, null, false, JobCountService.Mode.EXACT).value()).isEqualTo(99);
+        verify(repository, times(1)).loadCounts();
+    }
+
+    @Test
+    void cachesExactCountsPerNormalizedFilterUntilTtl() {
+        when(repository.countSearch(eq("java"), any(), any(), any(), any(), anyBoolean())).thenReturn(12L);
+
+        service.count("java", null, null, null, null, false, JobCountService.Mode.EXACT);
+        assertThat(service.count(" JAVA", null, null, null, null, false, JobCountService.Mode.EXACT).value())
+                .isEqualTo(12);
+        verify(repository, times(1)).countSearch(any(), any(), any(), any(), any(), anyBoolean());
+
+        clock.advance(properties.getExactCacheTtl());
+        service.count("java", null, null, null, null, false, JobCountService.Mode.EXACT);
+        verify(repository, times(2)).countSearch(any(), any(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void approximateModeUsesBoundedCountAndFlagsEstimates() {
+        properties.setApproximateLimit(50);
+        when(repository.countSearchUpTo(eq("rare"), any(), any(), any(), any(), anyBoolean(), anyLong())).thenReturn(7L);
+        when(repository.countSearchUpTo(eq("java"), any(), any(), any(), any(), anyBoolean(), anyLong())).thenReturn(50L);
+        when(repository.countSearchUpTo(eq(null), eq("acme"), eq("shanghai"), any(), any(), anyBoolean(), anyLong()))
+                .thenReturn(50L);
+
+        assertThat(service.count("rare", null, null, null, null, false, JobCountService.Mode.APPROXIMATE))
+                .isEqualTo(new JobCountService.Total(7, false));
+        assertThat(service.count("java", null, null, null, null, false, JobCountService.Mode.APPROXIMATE))
+                .isEqualTo(new JobCountService.Total(50, true));
+        // 多个筛选条件按单条件比例相乘估算：100 * 0.4 * 0.7 = 28，不低于已数到的下限
+        assertThat(service.count(null, "acme", "shanghai", null, null, false, JobCountService.Mode.APPROXIMATE))
+                .isEqualTo(new JobCountService.Total(50, true));
+        verify(repository, never()).countSearch(any(), any(), any(), any(), any(), anyBoolean());
+    }
+
+    @Test
+    void resolvesModeFromRequestOrConfiguredDefault() {
+        assertThat(service.resolveMode(null)).isEqualTo(JobCountService.Mode.EXACT);
+        assertThat(service.resolveMode("approximate")).isEqualTo(JobCountService.Mode.APPROXIMATE);
+        properties.setDefaultMode("approximate");
+        assertThat(service.resolveMode("bogus")).isEqualTo(JobCountService.Mode.APPROXIMATE);
+        assertThat(service.resolveMode("exact")).isEqualTo(JobCountService.Mode.EXACT);
+    }
+
+    private JobCountService.Total count(String company, String location, String level) {
+        return service.count(null, company, location, level, null, false, JobCountService.Mode.EXACT);
+    }
+
+    private static Job job(Long id, String company, String location, String level) {
+        Job job = Job.builder().company(company).location(location).level(level).build();
+        job.setId(id);
+        return job;
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package com.vibe.jobs.jobposting.application;
 
+import com.vibe.jobs.jobposting.application.enrichment.JobDetailContentUpdatedEvent;
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobDetail;
 import com.vibe.jobs.jobposting.domain.JobEnrichmentKey;
 import com.vibe.jobs.jobposting.domain.spi.JobDetailRepositoryPort;
 import com.vibe.jobs.jobposting.application.dto.JobDetailEnrichmentsDto;
@@ -19,6 +22,8 @@ import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
@@ -84,6 +89,30 @@ class JobDetailServiceTest {
         assertThat(dto.findValue(JobEnrichmentKey.SUMMARY)).isEmpty();
     }
 
+    @Test
+    void saveContentsWritesOnlyChangedDetailsAndPublishesEvents() {
+        Job unchangedJob = Job.builder().id(10L).title("Backend Engineer").build();
+        Job changedJob = Job.builder().id(11L).title("Frontend Engineer").build();
+        Job newJob = Job.builder().id(12L).title("Data Engineer").build();
+        JobDetail unchanged = new JobDetail(unchangedJob, "<p>Same</p>", "Same");
+        unchanged.setId(100L);
+        JobDetail changed = new JobDetail(changedJob, "<p>Old</p>", "Old");
+        changed.setId(101L);
+        when(repository.findByJobIds(any())).thenReturn(List.of(unchanged, changed));
+
+        service.saveContents(List.of(
+                new JobDetailService.JobContent(unchangedJob, "<p>Same</p>"),
+                new JobDetailService.JobContent(changedJob, "<p>New</p>"),
+                new JobDetailService.JobContent(newJob, "<p>Fresh</p>"),
+                new JobDetailService.JobContent(newJob, "  ")));
+
+        ArgumentCaptor<Collection<JobDetail>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(repository).saveAll(saved.capture());
+        assertThat(saved.getValue()).extracting(detail -> detail.getJob().getId()).containsExactly(11L, 12L);
+        assertThat(changed.getContentText()).isEqualTo("New");
+        verify(eventPublisher, times(2)).publishEvent(any(JobDetailContentUpdatedEvent.class));
+    }
+
     private JobDetailRepositoryPort.JobDetailEnrichmentView view(Long jobId, JobEnrichmentKey key, String valueJson) {
         return new JobDetailRepositoryPort.JobDetailEnrichmentView(jobId, key, valueJson);
     }
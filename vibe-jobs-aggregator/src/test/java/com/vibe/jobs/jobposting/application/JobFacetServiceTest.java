@@ -0,0 +1,140 @@
+package com.vibe.jobs.jobposting.application;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
+import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
+import com.vibe.jobs.shared.infrastructure.config.JobCatalogProperties;
+import com.vibe.jobs.shared.infrastructure.config.JobFacetProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobFacetServiceTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-10T00:00:00Z");
+
+    private JobRepositoryPort repository;
+    private JobCatalog catalog;
+    private JobFacetService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(JobRepositoryPort.class);
+        catalog = new JobCatalog(repository, new JobCatalogProperties());
+        service = new JobFacetService(catalog, new JobFacetProperties());
+        when(repository.findIdsAfter(eq(0L), anyInt())).thenReturn(List.of(1L, 2L, 3L));
+        when(repository.findIdsAfter(eq(3L), anyInt())).thenReturn(List.of());
+        when(repository.findByIds(anyCollection())).thenReturn(List.of(
+                job(1L, "Java Engineer", "Acme", "Shanghai", "senior", NOW, "java", "spring"),
+                job(2L, "Go Engineer", "ACME", "Remote", "mid", NOW.minusSeconds(86_400 * 10), "go"),
+                job(3L, "Data Analyst", "Other", "Shanghai", "mid", NOW, "sql")));
+    }
+
+    @Test
+    void returnsEmptyResultFlaggedAsLoadingUntilCatalogIsLoaded() {
+        JobFacetService cold = new JobFacetService(new JobCatalog(mock(JobRepositoryPort.class), new JobCatalogProperties()),
+                new JobFacetProperties());
+
+        JobFacetService.FacetResult result = cold.facets(null, null, null, null, null, null);
+
+        assertThat(result.loading()).isTrue();
+        assertThat(result.total()).isZero();
+        assertThat(result.facets().values()).allSatisfy(values -> assertThat(values).isEmpty());
+    }
+
+    @Test
+    void unfilteredFacetsComeFromCatalogLoadedOnce() {
+        catalog.load();
+        JobFacetService.FacetResult result = service.facets(null, null, null, null, null, null);
+
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.facets().get(JobFacetService.Facet.COMPANY))
+                .containsExactly(new JobFacetService.FacetCount("Acme", 2), new JobFacetService.FacetCount("Other", 1));
+        assertThat(result.facets().get(JobFacetService.Facet.LEVEL).get(0))
+                .isEqualTo(new JobFacetService.FacetCount("mid", 2));
+
+        service.facets("engineer", null, null, null, null, null);
+        verify(repository, times(1)).findByIds(anyCollection());
+    }
+
+    @Test
+    void eachFacetIgnoresItsOwnFilter() {
+        catalog.load();
+        JobFacetService.FacetResult result = service.facets(null, "acme", "shanghai", null, null, null);
+
+        assertThat(result.total()).isEqualTo(1);
+        // 公司分面只按地点筛选，地点分面只按公司筛选
+        assertThat(result.facets().get(JobFacetService.Facet.COMPANY))
+                .extracting(JobFacetService.FacetCount::value)
+                .containsExactly("Acme", "Other");
+        assertThat(result.facets().get(JobFacetService.Facet.LOCATION))
+                .containsExactly(new JobFacetService.FacetCount("Remote", 1), new JobFacetService.FacetCount("Shanghai", 1));
+        assertThat(result.facets().get(JobFacetService.Facet.TAGS))
+                .extracting(JobFacetService.FacetCount::value)
+                .containsExactly("java", "spring");
+    }
+
+    @Test
+    void keywordAndPostedAfterNarrowAllFacets() {
+        catalog.load();
+        JobFacetService.FacetResult result = service.facets("engineer", null, null, null, NOW.minusSeconds(3600), null);
+
+        assertThat(result.total()).isEqualTo(1);
+        assertThat(result.facets().get(JobFacetService.Facet.LEVEL))
+                .containsExactly(new JobFacetService.FacetCount("senior", 1));
+    }
+
+    @Test
+    void appliesUpsertsAndSoftDeletesIncrementally() {
+        catalog.load();
+        service.facets(null, null, null, null, null, null);
+
+        catalog.onJobsChanged(JobsChangedEvent.saved(List.of(
+                job(2L, "Go Engineer", "Other", "Remote", "mid", NOW, "go"),
+                job(4L, "Rust Engineer", "Acme", "Remote", "senior", NOW, "rust"))));
+        catalog.onJobsChanged(JobsChangedEvent.removed(List.of(1L)));
+
+        JobFacetService.FacetResult result = service.facets(null, null, null, null, null, null);
+        assertThat(result.total()).isEqualTo(3);
+        assertThat(result.facets().get(JobFacetService.Facet.COMPANY))
+                .containsExactly(new JobFacetService.FacetCount("Other", 2), new JobFacetService.FacetCount("Acme", 1));
+        assertThat(result.facets().get(JobFacetService.Facet.TAGS))
+                .extracting(JobFacetService.FacetCount::value)
+                .containsExactlyInAnyOrder("go", "rust", "sql");
+    }
+
+    @Test
+    void limitIsAppliedPerFacet() {
+        catalog.load();
+        JobFacetService.FacetResult result = service.facets(null, null, null, null, null, 1);
+
+        assertThat(result.facets().values()).allSatisfy(values -> assertThat(values).hasSizeLessThanOrEqualTo(1));
+    }
+
+    private Job job(Long id, String title, String company, String location, String level, Instant postedAt,
+                    String... tags) {
+        return Job.builder()
+                .id(id)
+                .source("test")
+                .externalId("ext-" + id)
+                .title(title)
+                .company(company)
+                .location(location)
+                .level(level)
+                .postedAt(postedAt)
+                .tags(Set.of(tags))
+                .build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.vibe.jobs.jobposting.application;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
+import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
+import com.vibe.jobs.shared.infrastructure.config.JobCatalogProperties;
+import com.vibe.jobs.shared.infrastructure.config.JobSuggestProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobSuggestServiceTest {
+
+    private JobRepositoryPort repository;
+    private JobCatalog catalog;
+    private JobSuggestService service;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(JobRepositoryPort.class);
+        catalog = new JobCatalog(repository, new JobCatalogProperties());
+        service = new JobSuggestService(catalog, new JobSuggestProperties());
+        when(repository.findIdsAfter(eq(0L), anyInt())).thenReturn(List.of(1L, 2L, 3L));
+        when(repository.findIdsAfter(eq(3L), anyInt())).thenReturn(List.of());
+        when(repository.findByIds(anyCollection())).thenReturn(List.of(
+                job(1L, "Backend Engineer", "Shopee", "Singapore"),
+                job(2L, "Data Engineer", "Shopify", "Remote"),
+                job(3L, "Backend Engineer", "Shopee", "Shanghai")));
+        catalog.load();
+    }
+
+    @Test
+    void suggestsPerFieldFromCatalogLoadedOnce() {
+        Map<JobSuggestService.Field, List<JobSuggestService.Suggestion>> result = suggest("sho", null, null);
+
+        assertThat(result.get(JobSuggestService.Field.COMPANY)).containsExactly(
+                new JobSuggestService.Suggestion("Shopee", 2, 0),
+                new JobSuggestService.Suggestion("Shopify", 1, 0));
+        assertThat(result.get(JobSuggestService.Field.TITLE)).isEmpty();
+
+        suggest("eng", Set.of(JobSuggestService.Field.TITLE), 1);
+        verify(repository, times(1)).findByIds(anyCollection());
+    }
+
+    @Test
+    void onlyRequestedFieldsAreReturned() {
+        Map<JobSuggestService.Field, List<JobSuggestService.Suggestion>> result =
+                suggest("s", Set.of(JobSuggestService.Field.LOCATION), null);
+
+        assertThat(result).containsOnlyKeys(JobSuggestService.Field.LOCATION);
+        assertThat(result.get(JobSuggestService.Field.LOCATION))
+                .extracting(JobSuggestService.Suggestion::value)
+                .containsExactly("Shanghai", "Singapore");
+    }
+
+    @Test
+    void shortInputsAreNotTypoCorrected() {
+        assertThat(suggest("shp", Set.of(JobSuggestService.Field.COMPANY), null)
+                .get(JobSuggestService.Field.COMPANY)).isEmpty();
+        assertThat(suggest("shpoee", Set.of(JobSuggestService.Field.COMPANY), null)
+                .get(JobSuggestService.Field.COMPANY))
+                .containsExactly(new JobSuggestService.Suggestion("Shopee", 2, 1));
+    }
+
+    @Test
+    void blankQueryReturnsEmptyLists() {
+        assertThat(suggest(" ", null, null).values()).allSatisfy(values -> assertThat(values).isEmpty());
+    }
+
+    @Test
+    void appliesUpsertsAndSoftDeletesIncrementally() {
+        suggest("sho", null, null);
+
+        catalog.onJobsChanged(JobsChangedEvent.saved(List.of(
+                job(2L, "Data Engineer", "Shein", "Remote"),
+                job(4L, "Frontend Engineer", "Shopline", "Shenzhen"))));
+        catalog.onJobsChanged(JobsChangedEvent.removed(List.of(1L)));
+
+        assertThat(suggest("sh", Set.of(JobSuggestService.Field.COMPANY), null)
+                .get(JobSuggestService.Field.COMPANY)).containsExactly(
+                new JobSuggestService.Suggestion("Shein", 1, 0),
+                new JobSuggestService.Suggestion("Shopee", 1, 0),
+                new JobSuggestService.Suggestion("Shopline", 1, 0));
+        assertThat(suggest("front", Set.of(JobSuggestService.Field.TITLE), null)
+                .get(JobSuggestService.Field.TITLE))
+                .extracting(JobSuggestService.Suggestion::value)
+                .containsExactly("Frontend Engineer");
+    }
+
+    @Test
+    void returnsLoadingResultUntilCatalogIsLoaded() throws InterruptedException {
+        JobCatalog cold = new JobCatalog(repository, new JobCatalogProperties());
+        JobSuggestService coldService = new JobSuggestService(cold, new JobSuggestProperties());
+
+        JobSuggestService.SuggestResult loading = coldService.suggest("sho", null, null);
+        assertThat(loading.loading()).isTrue();
+        assertThat(loading.suggestions().values()).allSatisfy(values -> assertThat(values).isEmpty());
+
+        // 首次请求已在后台开始加载目录
+        JobSuggestService.SuggestResult loaded = coldService.suggest("sho", null, null);
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (loaded.loading() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+            loaded = coldService.suggest("sho", null, null);
+        }
+        assertThat(loaded.loading()).isFalse();
+        assertThat(loaded.suggestions().get(JobSuggestService.Field.COMPANY))
+                .extracting(JobSuggestService.Suggestion::value)
+                .containsExactly("Shopee", "Shopify");
+    }
+
+    private Map<JobSuggestService.Field, List<JobSuggestService.Suggestion>> suggest(String q,
+                                                                                  Set<JobSuggestService.Field> fields,
+                                                                                  Integer limit) {
+        return service.suggest(q, fields, limit).suggestions();
+    }
+
+    private Job job(Long id, String title, String company, String location) {
+        return Job.builder()
+                .id(id)
+                .source("test")
+                .externalId("ext-" + id)
+                .title(title)
+                .company(company)
+                .location(location)
+                .build();
+    }
+}
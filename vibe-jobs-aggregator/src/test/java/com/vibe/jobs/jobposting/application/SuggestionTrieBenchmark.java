@@ -0,0 +1,86 @@
+package com.vibe.jobs.jobposting.application;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 自动补全前缀树基准：前缀查询与带拼写纠正的查询，SampleTime 模式输出 p99 等分位数。
+ *
+ * 运行：mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java "-Dexec.args=-cp %classpath com.vibe.jobs.jobposting.application.SuggestionTrieBenchmark"
+ * 关注 p0.99，目标在 5 ms 以内。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SuggestionTrieBenchmark {
+
+    private static final String[] WORDS = {"software", "engineer", "senior", "data", "platform", "backend", "frontend",
+            "manager", "product", "analyst", "cloud", "security", "mobile", "machine", "learning", "research",
+            "infrastructure", "reliability", "principal", "staff", "lead", "developer", "scientist", "designer"};
+    private static final String[] PREFIX_QUERIES = {"s", "se", "sen", "eng", "data sc", "plat", "mach", "re", "z"};
+    private static final String[] TYPO_QUERIES = {"enigneer", "sofware", "plaform eng", "secuirty", "develper"};
+
+    @Param({"50000", "200000"})
+    public int distinctValues;
+
+    private SuggestionTrie trie;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        trie = new SuggestionTrie(20);
+        for (int i = 0; i < distinctValues; i++) {
+            int words = 2 + random.nextInt(3);
+            StringBuilder value = new StringBuilder();
+            for (int w = 0; w < words; w++) {
+                if (w > 0) {
+                    value.append(' ');
+                }
+                value.append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            value.append(' ').append(Integer.toString(i, 36));
+            int jobs = 1 + random.nextInt(5);
+            for (int j = 0; j < jobs; j++) {
+                trie.add(value.toString());
+            }
+        }
+        trie.refresh();
+    }
+
+    @Benchmark
+    public List<SuggestionTrie.Suggestion> prefix() {
+        String query = PREFIX_QUERIES[next++ % PREFIX_QUERIES.length];
+        return trie.suggest(query, 8, 0, 5000);
+    }
+
+    @Benchmark
+    public List<SuggestionTrie.Suggestion> typoTolerant() {
+        String query = TYPO_QUERIES[next++ % TYPO_QUERIES.length];
+        return trie.suggest(query, 8, 2, 5000);
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(SuggestionTrieBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.vibe.jobs.jobposting.application;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SuggestionTrieTest {
+
+    @Test
+    void prefixMatchesRankByCountAndKeepOriginalLabel() {
+        SuggestionTrie trie = trie("Google", "Google", "Goldman Sachs", "GoTo", "Amazon");
+
+        List<SuggestionTrie.Suggestion> suggestions = trie.suggest("go", 10, 0, 1000);
+
+        assertThat(suggestions).extracting(SuggestionTrie.Suggestion::value)
+                .containsExactly("Google", "GoTo", "Goldman Sachs");
+        assertThat(suggestions.get(0).count()).isEqualTo(2);
+        assertThat(suggestions).allSatisfy(suggestion -> assertThat(suggestion.edits()).isZero());
+    }
+
+    @Test
+    void wordStartsAndAccentsAreIndexed() {
+        SuggestionTrie trie = trie("Senior Software Engineer", "Café Société");
+
+        assertThat(trie.suggest("engin", 10, 0, 1000)).extracting(SuggestionTrie.Suggestion::value)
+                .containsExactly("Senior Software Engineer");
+        assertThat(trie.suggest("societe", 10, 0, 1000)).extracting(SuggestionTrie.Suggestion::value)
+                .containsExactly("Café Société");
+        assertThat(trie.suggest("ngineer", 10, 0, 1000)).isEmpty();
+    }
+
+    @Test
+    void typosAreCorrectedWithinEditBudgetAndRankAfterExactMatches() {
+        SuggestionTrie trie = trie("Microsoft", "Micron", "Mircosoft Labs");
+
+        List<SuggestionTrie.Suggestion> suggestions = trie.suggest("micor", 10, 1, 1000);
+
+        // "micor" 与 "micro" 相邻交换一次；"mircosoft" 与 "micor" 前缀需要两次编辑
+        assertThat(suggestions).extracting(SuggestionTrie.Suggestion::value)
+                .containsExactly("Micron", "Microsoft");
+        assertThat(suggestions).allSatisfy(suggestion -> assertThat(suggestion.edits()).isEqualTo(1));
+        assertThat(trie.suggest("micor", 10, 0, 1000)).isEmpty();
+    }
+
+    @Test
+    void removalsDecrementAndDropValues() {
+        SuggestionTrie trie = trie("Stripe", "Stripe", "Strava");
+
+        trie.remove("Stripe");
+        trie.remove("Strava");
+        trie.refresh();
+
+        assertThat(trie.suggest("str", 10, 0, 1000))
+                .containsExactly(new SuggestionTrie.Suggestion("Stripe", 1, 0));
+    }
+
+    @Test
+    void limitAndTopKBoundResults() {
+        SuggestionTrie trie = new SuggestionTrie(2);
+        for (String value : List.of("Alpha", "Alps", "Alpine", "Alpaca")) {
+            trie.add(value);
+        }
+        trie.add("Alpine");
+        trie.refresh();
+
+        assertThat(trie.suggest("al", 10, 0, 1000)).extracting(SuggestionTrie.Suggestion::value)
+                .containsExactly("Alpine", "Alps");
+        assertThat(trie.suggest("al", 1, 0, 1000)).hasSize(1);
+    }
+
+    private SuggestionTrie trie(String... values) {
+        SuggestionTrie trie = new SuggestionTrie(10);
+        for (String value : values) {
+            trie.add(value);
+        }
+        trie.refresh();
+        return trie;
+    }
+}
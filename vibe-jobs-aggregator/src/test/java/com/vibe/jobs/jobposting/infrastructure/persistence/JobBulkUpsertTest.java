@@ -0,0 +1,145 @@
+package com.vibe.jobs.jobposting.infrastructure.persistence;
+
+import com.vibe.jobs.jobposting.application.JobService;
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobDetail;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
+import com.vibe.jobs.jobposting.domain.spi.JobDetailRepositoryPort;
+import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({JobRepositoryAdapter.class, JobDetailRepositoryAdapter.class, JobSearchDocumentWriter.class, JobService.class})
+@RecordApplicationEvents
+class JobBulkUpsertTest {
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @Autowired
+    private JobService jobService;
+
+    @Autowired
+    private JobRepositoryPort jobRepository;
+
+    @Autowired
+    private JobDetailRepositoryPort jobDetailRepository;
+
+    @Test
+    void upsertAllInsertsNewJobsWithGeneratedIdsAndTags() {
+        List<Job> persisted = jobService.upsertAll(List.of(
+                createJob("bulk-1", "Backend Engineer", "java", "spring"),
+                createJob("bulk-2", "Frontend Engineer", "react")));
+
+        assertEquals(2, persisted.size());
+        persisted.forEach(job -> assertNotNull(job.getId()));
+        assertNotEquals(persisted.get(0).getId(), persisted.get(1).getId());
+
+        Job reloaded = jobRepository.findById(persisted.get(0).getId()).orElseThrow();
+        assertEquals("Backend Engineer", reloaded.getTitle());
+        assertEquals(Set.of("java", "spring"), reloaded.getTags());
+        assertNotNull(reloaded.getChecksum());
+        assertNotNull(reloaded.getCreatedAt());
+    }
+
+    @Test
+    void upsertAllUpdatesChangedJobsAndKeepsUnchangedOnes() {
+        Job unchanged = jobService.upsert(createJob("bulk-3", "Data Engineer", "sql"));
+        Job changed = jobService.upsert(createJob("bulk-4", "Platform Engineer", "k8s"));
+
+        Job changedIncoming = createJob("bulk-4", "Senior Platform Engineer", "k8s", "go");
+        List<Job> persisted = jobService.upsertAll(List.of(
+                createJob("bulk-3", "Data Engineer", "sql"),
+                changedIncoming,
+                createJob("bulk-5", "QA Engineer")));
+
+        assertEquals(unchanged.getId(), persisted.get(0).getId());
+        assertEquals(changed.getId(), persisted.get(1).getId());
+        assertNotNull(persisted.get(2).getId());
+
+        Job reloaded = jobRepository.findById(changed.getId()).orElseThrow();
+        assertEquals("Senior Platform Engineer", reloaded.getTitle());
+        assertEquals(Set.of("k8s", "go"), reloaded.getTags());
+    }
+
+    @Test
+    void upsertAllMatchesCompanyAndTitleAndDeduplicatesWithinBatch() {
+        Job existing = jobService.upsert(createJob("legacy-id", "Site Reliability Engineer"));
+
+        Job fromOtherFeed = createJob("new-id", "site reliability engineer");
+        Job first = createJob("dup-1", "ML Engineer");
+        Job duplicate = createJob("dup-1", "ML Engineer");
+        List<Job> persisted = jobService.upsertAll(List.of(fromOtherFeed, first, duplicate));
+
+        assertEquals(existing.getId(), persisted.get(0).getId());
+        assertNotNull(persisted.get(1).getId());
+        assertSame(persisted.get(1), persisted.get(2));
+        assertEquals(1, jobRepository.findBySourceAndExternalIds("test", List.of("dup-1")).size());
+    }
+
+    @Test
+    void saveAllPublishesOneEventAndReturnsPersistedUpdatedAt() {
+        Job existing = jobRepository.save(createJob("bulk-6", "Security Engineer"));
+        Instant staleUpdatedAt = Instant.parse("2020-01-01T00:00:00Z");
+        existing.setTitle("Staff Security Engineer");
+        existing.setUpdatedAt(staleUpdatedAt);
+        Job missing = createJob("bulk-7", "Network Engineer");
+        missing.setId(Long.MAX_VALUE);
+        events.clear();
+
+        List<Job> saved = jobRepository.saveAll(List.of(existing, missing));
+
+        assertEquals(1, events.stream(JobsChangedEvent.class).count());
+        assertEquals(2, events.stream(JobsChangedEvent.class).findFirst().orElseThrow().savedJobs().size());
+        assertTrue(saved.get(0).getUpdatedAt().isAfter(staleUpdatedAt));
+        assertEquals(jobRepository.findById(existing.getId()).orElseThrow().getUpdatedAt(), saved.get(0).getUpdatedAt());
+        assertNotNull(saved.get(1).getUpdatedAt());
+        assertEquals("Network Engineer", jobRepository.findById(saved.get(1).getId()).orElseThrow().getTitle());
+    }
+
+    @Test
+    void findByJobIdsLoadsDetailsWithJobsInOneCall() {
+        List<Job> jobs = jobService.upsertAll(List.of(
+                createJob("detail-bulk-1", "Android Engineer"),
+                createJob("detail-bulk-2", "iOS Engineer")));
+        jobDetailRepository.saveAll(List.of(
+                new JobDetail(jobs.get(0), "<p>Kotlin</p>", "Kotlin"),
+                new JobDetail(jobs.get(1), "<p>Swift</p>", "Swift")));
+
+        List<JobDetail> details = jobDetailRepository.findByJobIds(List.of(jobs.get(0).getId(), jobs.get(1).getId()));
+
+        assertEquals(2, details.size());
+        assertTrue(details.stream().allMatch(detail -> detail.getJob() != null && detail.getJob().getTitle() != null));
+    }
+
+    private Job createJob(String externalId, String title, String... tags) {
+        return Job.builder()
+                .source("test")
+                .externalId(externalId)
+                .title(title)
+                .company("BulkCo")
+                .location("Remote")
+                .level("mid")
+                .postedAt(Instant.parse("2024-01-01T00:00:00Z"))
+                .url("http://example.com/" + externalId)
+                .tags(Set.of(tags))
+                .build();
+    }
+}
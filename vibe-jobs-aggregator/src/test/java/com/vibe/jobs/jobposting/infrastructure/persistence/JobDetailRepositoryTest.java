@@ -21,7 +21,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
 @ActiveProfiles("test")
-@Import({JobRepositoryAdapter.class, JobDetailRepositoryAdapter.class})
+@Import({JobRepositoryAdapter.class, JobDetailRepositoryAdapter.class, JobSearchDocumentWriter.class})
 class JobDetailRepositoryTest {
 
     @Autowired
@@ -0,0 +1,132 @@
+package com.vibe.jobs.jobposting.infrastructure.persistence;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobDetail;
+import com.vibe.jobs.jobposting.domain.spi.JobDetailRepositoryPort;
+import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 导出读取使用独立连接，只能看到已提交的数据，测试不在事务中运行，结束后清理。
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({JobRepositoryAdapter.class, JobDetailRepositoryAdapter.class, JobSearchDocumentWriter.class})
+class JobExportStreamTest {
+
+    @Autowired
+    private JobRepositoryPort jobRepository;
+
+    @Autowired
+    private JobDetailRepositoryPort jobDetailRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from job_detail_enrichments");
+        jdbcTemplate.update("delete from job_details");
+        jdbcTemplate.update("delete from job_search_documents");
+        jdbcTemplate.update("delete from job_tags");
+        jdbcTemplate.update("delete from jobs");
+    }
+
+    @Test
+    void streamsLiveJobsInIdOrderWithTagsInBatches() {
+        List<Job> saved = jobRepository.saveAll(List.of(
+                createJob("export-1", "java", "spring"),
+                createJob("export-2"),
+                createJob("export-3", "go"),
+                createJob("export-4", "sql")));
+        jobRepository.softDeleteByIds(List.of(saved.get(1).getId()), Instant.now());
+
+        List<List<Job>> batches = new ArrayList<>();
+        jobRepository.streamForExport(null, 2, batch -> {
+            // 读取游标打开期间可以执行其他查询
+            assertEquals(batch.size(), jobRepository.findByIds(batch.stream().map(Job::getId).toList()).size());
+            batches.add(batch);
+        });
+
+        assertEquals(List.of(2, 1), batches.stream().map(List::size).toList());
+        List<Job> exported = batches.stream().flatMap(List::stream).toList();
+        assertEquals(List.of(saved.get(0).getId(), saved.get(2).getId(), saved.get(3).getId()),
+                exported.stream().map(Job::getId).toList());
+        assertEquals(Set.of("java", "spring"), exported.get(0).getTags());
+        assertEquals("export-3", exported.get(1).getExternalId());
+        assertTrue(exported.stream().noneMatch(Job::isDeleted));
+    }
+
+    @Test
+    void updatedSinceIncludesSoftDeletedJobs() {
+        List<Job> saved = jobRepository.saveAll(List.of(createJob("delta-1", "java"), createJob("delta-2")));
+        Instant deletedAt = Instant.now().plus(Duration.ofHours(1));
+        jobRepository.softDeleteByIds(List.of(saved.get(0).getId()), deletedAt);
+
+        List<Job> exported = new ArrayList<>();
+        jobRepository.streamForExport(deletedAt.minus(Duration.ofMinutes(1)), 100, exported::addAll);
+
+        assertEquals(1, exported.size());
+        assertEquals(saved.get(0).getId(), exported.get(0).getId());
+        assertTrue(exported.get(0).isDeleted());
+    }
+
+    @Test
+    void updatedSinceIncludesJobsWhoseDetailsOrEnrichmentsChanged() {
+        List<Job> saved = jobRepository.saveAll(List.of(createJob("detail-1"), createJob("detail-2"),
+                createJob("detail-3")));
+        for (Job job : saved) {
+            jobDetailRepository.save(new JobDetail(job, "<p>Build APIs</p>", "Build APIs"));
+        }
+        Instant since = Instant.now().plus(Duration.ofHours(1));
+        Instant later = since.plus(Duration.ofMinutes(1));
+        Instant earlier = since.minus(Duration.ofHours(2));
+        jdbcTemplate.update("update jobs set updated_at = ?", Timestamp.from(earlier));
+        jdbcTemplate.update("update job_details set updated_at = ?", Timestamp.from(earlier));
+        jdbcTemplate.update("update job_details set updated_at = ? where job_id = ?", Timestamp.from(later),
+                saved.get(0).getId());
+        Long detailId = jdbcTemplate.queryForObject("select id from job_details where job_id = ?", Long.class,
+                saved.get(2).getId());
+        jdbcTemplate.update("insert into job_detail_enrichments (job_detail_id, enrichment_key, retry_count, "
+                + "created_at, updated_at, deleted) values (?, 'summary', 0, ?, ?, false)",
+                detailId, Timestamp.from(later), Timestamp.from(later));
+
+        List<Job> exported = new ArrayList<>();
+        jobRepository.streamForExport(since, 100, exported::addAll);
+
+        assertEquals(List.of(saved.get(0).getId(), saved.get(2).getId()), exported.stream().map(Job::getId).toList());
+    }
+
+    private Job createJob(String externalId, String... tags) {
+        return Job.builder()
+                .source("test")
+                .externalId(externalId)
+                .title("Engineer " + externalId)
+                .company("ExportCo")
+                .location("Remote")
+                .level("mid")
+                .postedAt(Instant.parse("2024-01-01T00:00:00Z"))
+                .url("http://example.com/" + externalId)
+                .tags(Set.of(tags))
+                .build();
+    }
+}
@@ -0,0 +1,220 @@
+package com.vibe.jobs.jobposting.infrastructure.persistence;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * /jobs 检索基准：同一关键词下按发布时间排序与 sort=relevance 的首页、深翻页耗时对比。
+ *
+ * 默认用 Testcontainers 启动 MySQL 8 并执行 Flyway 迁移（含全文索引），按 rows 生成职位数据；
+ * 也可以用 -Dbenchmark.jdbcUrl / -Dbenchmark.username / -Dbenchmark.password 指向已有的库（需已迁移且为空库，
+ * 数据会写入该库）。jdbc:h2 开头的地址只用于冒烟验证，H2 没有全文索引，结果不代表线上。
+ *
+ * 运行：mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java "-Dexec.args=-cp %classpath com.vibe.jobs.jobposting.infrastructure.persistence.JobRelevanceSearchBenchmark"
+ * 行数按线上表规模调整，例如追加 -p rows=500000。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JobRelevanceSearchBenchmark {
+
+    private static final String[] TITLES = {"Software Engineer", "Backend Developer", "Data Engineer", "Product Manager",
+            "Frontend Developer", "Site Reliability Engineer", "Kotlin Developer", "Machine Learning Engineer",
+            "QA Engineer", "Engineering Manager"};
+    private static final String[] TAGS = {"java", "kotlin", "go", "python", "react", "kubernetes", "aws", "sql",
+            "spark", "backend"};
+    private static final String[] LOCATIONS = {"Shanghai", "Beijing", "Shenzhen", "Singapore", "Remote", "Hangzhou"};
+    private static final int PAGE_SIZE = 20;
+    private static final int DEEP_PAGE = 10;
+    private static final int SEED_BATCH_SIZE = 1000;
+
+    @Param({"200000"})
+    public int rows;
+
+    @Param({"engineer", "kotlin backend"})
+    public String q;
+
+    private MySQLContainer<?> mysql;
+    private ConfigurableApplicationContext context;
+    private JobRepositoryPort repository;
+    private Instant rankedAt;
+    private Job postedCursor;
+    private JobRepositoryPort.RankCursor rankCursor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String jdbcUrl = System.getProperty("benchmark.jdbcUrl");
+        String username = System.getProperty("benchmark.username", "");
+        String password = System.getProperty("benchmark.password", "");
+        if (jdbcUrl == null) {
+            mysql = new MySQLContainer<>("mysql:8.0.36")
+                    .withDatabaseName("vibejobs")
+                    .withUsername("bench")
+                    .withPassword("bench");
+            mysql.start();
+            jdbcUrl = mysql.getJdbcUrl();
+            username = mysql.getUsername();
+            password = mysql.getPassword();
+        }
+        boolean h2 = jdbcUrl.startsWith("jdbc:h2");
+        // 以命令行参数传入，优先级高于 application.yml 中的数据源配置
+        context = new SpringApplicationBuilder(BenchmarkConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .profiles(h2 ? "test" : "mysql")
+                .run("--spring.datasource.url=" + jdbcUrl,
+                        "--spring.datasource.username=" + username,
+                        "--spring.datasource.password=" + password,
+                        "--spring.datasource.driver-class-name=" + (h2 ? "org.h2.Driver" : "com.mysql.cj.jdbc.Driver"),
+                        "--spring.jpa.properties.hibernate.dialect=" + (h2 ? "org.hibernate.dialect.H2Dialect"
+                                : "org.hibernate.dialect.MySQLDialect"),
+                        "--spring.flyway.enabled=" + !h2,
+                        "--spring.jpa.hibernate.ddl-auto=" + (h2 ? "create-drop" : "validate"),
+                        "--spring.jpa.show-sql=false");
+        repository = context.getBean(JobRepositoryPort.class);
+
+        rankedAt = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+        seed();
+        prepareDeepCursors();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+        if (mysql != null) {
+            mysql.stop();
+        }
+    }
+
+    @Benchmark
+    public List<Job> postedOrderFirstPage() {
+        return repository.searchAfter(q, null, null, null, null, null, null, false, 0, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<JobRepositoryPort.RankedJob> relevanceFirstPage() {
+        return repository.searchRanked(q, null, null, null, null, false, rankedAt, null, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<Job> postedOrderDeepPage() {
+        return repository.searchAfter(q, null, null, null, null, postedCursor.getPostedAt(), postedCursor.getId(),
+                false, 0, PAGE_SIZE + 1);
+    }
+
+    @Benchmark
+    public List<JobRepositoryPort.RankedJob> relevanceDeepPage() {
+        return repository.searchRanked(q, null, null, null, null, false, rankedAt, rankCursor, PAGE_SIZE + 1);
+    }
+
+    /**
+     * 发布时间分布在最近两年内，标签 1 到 3 个，标题与标签的组合让两种排序得到不同的结果。
+     */
+    private void seed() {
+        Random random = new Random(42);
+        List<Job> batch = new ArrayList<>(SEED_BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            Set<String> tags = new HashSet<>();
+            int tagCount = 1 + random.nextInt(3);
+            while (tags.size() < tagCount) {
+                tags.add(TAGS[random.nextInt(TAGS.length)]);
+            }
+            batch.add(Job.builder()
+                    .source("benchmark")
+                    .externalId("bench-" + i)
+                    .title(TITLES[random.nextInt(TITLES.length)])
+                    .company("Company " + random.nextInt(2000))
+                    .location(LOCATIONS[random.nextInt(LOCATIONS.length)])
+                    .level(random.nextBoolean() ? "senior" : "mid")
+                    .postedAt(rankedAt.minus(Duration.ofMinutes(random.nextInt(2 * 365 * 24 * 60))))
+                    .url("https://example.com/jobs/" + i)
+                    .checksum("bench-" + i)
+                    .tags(tags)
+                    .build());
+            if (batch.size() == SEED_BATCH_SIZE) {
+                repository.saveAll(batch);
+                batch = new ArrayList<>(SEED_BATCH_SIZE);
+            }
+        }
+        if (!batch.isEmpty()) {
+            repository.saveAll(batch);
+        }
+    }
+
+    private void prepareDeepCursors() {
+        JobRepositoryPort.RankCursor ranked = null;
+        Job posted = null;
+        for (int page = 0; page < DEEP_PAGE; page++) {
+            List<JobRepositoryPort.RankedJob> rankedPage = repository.searchRanked(q, null, null, null, null, false,
+                    rankedAt, ranked, PAGE_SIZE);
+            if (!rankedPage.isEmpty()) {
+                JobRepositoryPort.RankedJob last = rankedPage.get(rankedPage.size() - 1);
+                ranked = new JobRepositoryPort.RankCursor(last.score(), last.job().getId());
+            }
+            List<Job> postedPage = repository.searchAfter(q, null, null, null, null,
+                    posted != null ? posted.getPostedAt() : null, posted != null ? posted.getId() : null,
+                    false, 0, PAGE_SIZE);
+            if (!postedPage.isEmpty()) {
+                posted = postedPage.get(postedPage.size() - 1);
+            }
+        }
+        if (ranked == null || posted == null) {
+            throw new IllegalStateException("No rows match query '" + q + "'");
+        }
+        rankCursor = ranked;
+        postedCursor = posted;
+    }
+
+    /**
+     * 只装配职位持久化层；不标注 @Configuration，避免被测试应用的组件扫描加载。
+     */
+    @EnableAutoConfiguration
+    @EntityScan("com.vibe.jobs.jobposting.infrastructure.persistence.entity")
+    @EnableJpaRepositories("com.vibe.jobs.jobposting.infrastructure.persistence")
+    @Import({JobRepositoryAdapter.class, JobSearchDocumentWriter.class})
+    static class BenchmarkConfiguration {
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(JobRelevanceSearchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
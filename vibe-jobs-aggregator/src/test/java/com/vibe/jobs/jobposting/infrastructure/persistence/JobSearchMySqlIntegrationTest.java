@@ -5,7 +5,6 @@ import com.vibe.jobs.jobposting.domain.JobDetail;
 import com.vibe.jobs.jobposting.domain.spi.JobDetailRepositoryPort;
 import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
 import com.vibe.jobs.jobposting.infrastructure.persistence.JobJpaRepository;
-import com.vibe.jobs.jobposting.infrastructure.persistence.JobJpaRepositoryImpl;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,16 +15,12 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
-import org.springframework.test.util.ReflectionTestUtils;
 import org.testcontainers.containers.MySQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
-import java.sql.Timestamp;
 import java.time.Instant;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -64,11 +59,15 @@ class JobSearchMySqlIntegrationTest {
     @Autowired
     private JobJpaRepository jobJpaRepository;
 
+    @Autowired
+    private JobSearchDocumentJpaRepository jobSearchDocumentJpaRepository;
+
     @Autowired
     private EntityManager entityManager;
 
     @BeforeEach
     void cleanDatabase() {
+        jobSearchDocumentJpaRepository.deleteAll();
         jobDetailJpaRepository.deleteAll();
         jobJpaRepository.deleteAll();
     }
@@ -104,6 +103,13 @@ class JobSearchMySqlIntegrationTest {
                 .containsExactly(job.getId());
 
         assertEquals(1L, jobRepository.countSearch("Kubernetes", null, null, null, null, true));
+
+        Job titleOnly = saveJob("d2", "Kubernetes Operator", "Infra", "Remote", "mid", Instant.parse("2024-06-02T09:00:00Z"));
+        jobDetailRepository.save(new JobDetail(titleOnly, "<p>Go services</p>", "Go services"));
+        var page = jobRepository.searchWithDetailMatches("Kubernetes", null, null, null, null, null, null, 0, 10);
+        assertThat(page.jobs()).extracting(Job::getId).containsExactly(titleOnly.getId(), job.getId());
+        assertEquals(jobDetailRepository.findMatchingJobIds(List.of(job.getId(), titleOnly.getId()), "Kubernetes"),
+                page.matchedInDetail());
     }
 
     @Test
@@ -148,6 +154,59 @@ class JobSearchMySqlIntegrationTest {
                 .containsExactly(oldest.getId());
     }
 
+    @Test
+    void exactCompanyFilterSeeksCompanyIndexOnDeepPages() {
+        saveJob("s1", "Site Reliability Engineer", "Seekco", "Remote", "senior", Instant.parse("2024-09-02T12:00:00Z"));
+        Job last = saveJob("s2", "Site Reliability Engineer", "Seekco", "Remote", "senior", Instant.parse("2024-09-01T12:00:00Z"));
+
+        assertPlanUsesIndex("idx_job_search_documents_company_posted", new JobSearchQueryPlanner.Filters(null,
+                "seekco", null, null, null, false, last.getPostedAt(), last.getId()));
+    }
+
+    @Test
+    void relevanceRankingCombinesFullTextScoreWithFieldBoostsAndPagesByScore() {
+        Instant rankedAt = Instant.parse("2024-10-01T00:00:00Z");
+        Job tagOnly = saveJob("r1", "Platform Engineer", "Rankco", "Remote", "mid", Instant.parse("2024-09-30T00:00:00Z"), "kotlin");
+        Job titleAndTag = saveJob("r2", "Kotlin Developer", "Rankco", "Remote", "mid", Instant.parse("2024-09-20T00:00:00Z"), "kotlin");
+        Job stale = saveJob("r3", "Kotlin Developer", "Rankco", "Remote", "mid", Instant.parse("2022-09-20T00:00:00Z"), "kotlin");
+        saveJob("r4", "Marketing Manager", "Rankco", "Remote", "mid", rankedAt);
+
+        List<JobRepositoryPort.RankedJob> firstPage = jobRepository.searchRanked(
+                "kotlin", null, null, null, null, false, rankedAt, null, 2);
+
+        assertThat(firstPage)
+                .extracting(ranked -> ranked.job().getId())
+                .containsExactly(titleAndTag.getId(), tagOnly.getId());
+
+        JobRepositoryPort.RankedJob last = firstPage.get(firstPage.size() - 1);
+        List<JobRepositoryPort.RankedJob> secondPage = jobRepository.searchRanked("kotlin", null, null, null, null,
+                false, rankedAt, new JobRepositoryPort.RankCursor(last.score(), last.job().getId()), 2);
+
+        assertThat(secondPage)
+                .extracting(ranked -> ranked.job().getId())
+                .containsExactly(stale.getId());
+    }
+
+    @Test
+    void exportStreamsRowsWhileOtherQueriesRunOnSeparateConnections() {
+        Job first = saveJob("e1", "Backend Developer", "Infra", "Remote", "mid", Instant.parse("2024-06-01T09:00:00Z"),
+                "java", "kotlin");
+        Job second = saveJob("e2", "Data Engineer", "Infra", "Remote", "mid", Instant.parse("2024-06-02T09:00:00Z"));
+        jobDetailRepository.save(new JobDetail(second, "<p>Spark pipelines</p>", "Spark pipelines"));
+
+        List<Long> exported = new java.util.ArrayList<>();
+        List<String> contents = new java.util.ArrayList<>();
+        // 未开启 useCursorFetch 时按行流式读取，批内查询详情必须走另一个连接
+        jobRepository.streamForExport(null, 1, batch -> {
+            batch.forEach(job -> exported.add(job.getId()));
+            jobDetailRepository.findContentTextByJobIds(batch.stream().map(Job::getId).toList())
+                    .forEach(view -> contents.add(view.contentText()));
+        });
+
+        assertThat(exported).containsExactly(first.getId(), second.getId());
+        assertThat(contents).containsExactly("Spark pipelines");
+    }
+
     private Job saveJob(String externalId,
                         String title,
                         String company,
@@ -180,32 +239,20 @@ class JobSearchMySqlIntegrationTest {
                                              Instant cursorPostedAt,
                                              Long cursorId,
                                              boolean searchDetail) {
+        assertPlanUsesIndex("idx_job_search_documents_posted_at_id_desc", new JobSearchQueryPlanner.Filters(q, company,
+                location, level, postedAfter, searchDetail, cursorPostedAt, cursorId));
+    }
+
+    private void assertPlanUsesIndex(String expectedIndex, JobSearchQueryPlanner.Filters filters) {
         JobJpaRepositoryImpl repositoryImpl = new JobJpaRepositoryImpl(entityManager);
-        String normalizedQuery = (String) ReflectionTestUtils.invokeMethod(repositoryImpl, "normalize", q);
-        boolean hasQuery = normalizedQuery != null;
-        boolean detailEnabled = searchDetail && hasQuery;
-        boolean hasCursor = cursorPostedAt != null && cursorId != null;
-        String sql = (String) ReflectionTestUtils.invokeMethod(repositoryImpl, "buildSearchSql",
-                false, detailEnabled, hasCursor, hasQuery);
-        Map<String, Object> params = new HashMap<>();
-        String fullTextQuery = null;
-        Boolean supportsFullText = (Boolean) ReflectionTestUtils.getField(repositoryImpl, "supportsFullText");
-        if (Boolean.TRUE.equals(supportsFullText) && hasQuery) {
-            fullTextQuery = (String) ReflectionTestUtils.invokeMethod(repositoryImpl, "buildFullTextQuery", normalizedQuery);
-        }
-        ReflectionTestUtils.invokeMethod(repositoryImpl, "populateCommonParameters", params,
-                normalizedQuery, fullTextQuery, company, location, level, postedAfter, detailEnabled);
-        if (hasCursor) {
-            params.put("cursorPostedAt", Timestamp.from(cursorPostedAt));
-            params.put("cursorId", cursorId);
-        }
-        Query explain = entityManager.createNativeQuery("EXPLAIN " + sql);
-        ReflectionTestUtils.invokeMethod(repositoryImpl, "applyParameters", explain, params);
+        JobSearchQueryPlanner.PreparedQuery prepared = repositoryImpl.planner().list(filters);
+        Query explain = entityManager.createNativeQuery("EXPLAIN " + prepared.sql());
+        prepared.params().forEach(explain::setParameter);
         @SuppressWarnings("unchecked")
         List<Object[]> rows = explain.getResultList();
         assertFalse(rows.isEmpty(), "EXPLAIN should return at least one row");
         Object[] firstRow = rows.get(0);
         String key = firstRow[6] != null ? firstRow[6].toString() : null;
-        assertEquals("idx_jobs_posted_at_id_desc", key, "Expected posted_at/id index to be used");
+        assertEquals(expectedIndex, key, "Expected " + expectedIndex + " to be used");
     }
 }
@@ -2,22 +2,32 @@ package com.vibe.jobs.jobposting.infrastructure.persistence;
 
 import com.vibe.jobs.jobposting.domain.Job;
 import com.vibe.jobs.jobposting.domain.JobDetail;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
 import com.vibe.jobs.jobposting.domain.spi.JobDetailRepositoryPort;
 import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@DataJpaTest
+@DataJpaTest(properties = {"spring.jpa.properties.hibernate.generate_statistics=true",
+        "jobs.search.documents.detail-max-length=64"})
 @ActiveProfiles("test")
-@Import({JobRepositoryAdapter.class, JobDetailRepositoryAdapter.class})
+@Import({JobRepositoryAdapter.class, JobDetailRepositoryAdapter.class, JobSearchDocumentWriter.class})
 class JobSearchTest {
 
     @Autowired
@@ -26,6 +36,15 @@ class JobSearchTest {
     @Autowired
     private JobDetailRepositoryPort jobDetailRepository;
 
+    @Autowired
+    private JobSearchDocumentJpaRepository documentRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JobJpaRepositoryImpl jobJpaRepositoryImpl;
+
     @Test
     void testKeywordSearchInAllFields() {
         // Given: Create test jobs with different field content
@@ -81,6 +100,241 @@ class JobSearchTest {
         assertEquals(1, total);
     }
 
+    @Test
+    void detailMatchFlagsComeWithTheSearchPageAndEqualDetailMatchQuery() {
+        Job inDetail = createJob("30", "Backend Engineer", "Acme", "Remote", "go");
+        Job inTitleOnly = createJob("31", "Go Experts Wanted", "Acme", "Remote", "go");
+        Job tokensSplit = createJob("32", "Go Experts Lead", "Acme", "Remote", "go");
+        Job beyondTruncation = createJob("33", "Go Experts Principal", "Acme", "Remote", "go");
+        jobRepository.save(inDetail);
+        jobRepository.save(inTitleOnly);
+        jobRepository.save(tokensSplit);
+        jobRepository.save(beyondTruncation);
+        jobDetailRepository.save(new JobDetail(inDetail, "<p>Go experts</p>", "We need Go experts"));
+        jobDetailRepository.save(new JobDetail(inTitleOnly, "<p>Python</p>", "Python only"));
+        jobDetailRepository.save(new JobDetail(tokensSplit, "<p>Experts</p>", "Experts in Go services"));
+        // 关键词出现在检索投影截断位置之后，需要回到详情表复核
+        String longText = "x".repeat(80) + " go experts";
+        jobDetailRepository.save(new JobDetail(beyondTruncation, "<p>" + longText + "</p>", longText));
+        entityManager.flush();
+        entityManager.clear();
+
+        var page = jobRepository.searchWithDetailMatches("Go experts", null, null, null, null, null, null, 0, 10);
+        List<Long> ids = page.jobs().stream().map(Job::getId).toList();
+        assertEquals(Set.of(inDetail.getId(), inTitleOnly.getId(), tokensSplit.getId(), beyondTruncation.getId()),
+                Set.copyOf(ids));
+        assertEquals(jobDetailRepository.findMatchingJobIds(ids, "Go experts"), page.matchedInDetail());
+        assertEquals(Set.of(inDetail.getId(), tokensSplit.getId(), beyondTruncation.getId()), page.matchedInDetail());
+
+        var ranked = jobRepository.searchRanked("Go experts", null, null, null, null, true, Instant.now(), null, 10);
+        assertEquals(page.matchedInDetail(), ranked.stream()
+                .filter(JobRepositoryPort.RankedJob::matchedInDetail)
+                .map(rankedJob -> rankedJob.job().getId())
+                .collect(java.util.stream.Collectors.toSet()));
+    }
+
+    @Test
+    void detailMatchFlagsNeedNoExtraStatementWhenDetailsAreShort() {
+        Job job = createJob("35", "Backend Engineer", "Acme", "Remote", "go");
+        jobRepository.save(job);
+        jobDetailRepository.save(new JobDetail(job, "<p>Go experts</p>", "Go experts"));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var page = jobRepository.searchWithDetailMatches("experts", null, null, null, null, null, null, 0, 10);
+
+        assertEquals(Set.of(job.getId()), page.matchedInDetail());
+        // 列表行与标签各一条语句
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void boundedCountStopsAtLimitAndGroupedCountsMatchFilters() {
+        jobRepository.save(createJob("20", "Java Engineer", "Acme", "Shanghai", "java"));
+        jobRepository.save(createJob("21", "Java Developer", "ACME Labs", "Beijing", "java"));
+        jobRepository.save(createJob("22", "Go Engineer", "Other", "Shanghai", "go"));
+
+        assertEquals(2, jobRepository.countSearchUpTo("java", null, null, null, null, false, 10));
+        assertEquals(1, jobRepository.countSearchUpTo("java", null, null, null, null, false, 1));
+        assertEquals(2, jobRepository.countSearch(null, "acme", null, null, null, false));
+
+        JobRepositoryPort.JobCounts counts = jobRepository.loadCounts();
+        assertEquals(3, counts.total());
+        assertEquals(1L, counts.byCompany().get("acme"));
+        assertEquals(1L, counts.byCompany().get("acme labs"));
+        assertEquals(2L, counts.byLocation().get("shanghai"));
+        assertEquals(3L, counts.byLevel().get("mid"));
+    }
+
+    @Test
+    void searchDocumentFollowsJobAndDetailWrites() {
+        Job job = jobRepository.save(createJob("30", "Platform Engineer", "Acme", "Remote", "Kotlin", "AWS"));
+
+        var document = documentRepository.findById(job.getId()).orElseThrow();
+        assertEquals("platform engineer", document.getTitleLc());
+        assertEquals("aws\nkotlin", document.getTagsLc());
+        assertNull(document.getDetailText());
+
+        jobDetailRepository.save(new JobDetail(job, "<p>Terraform Modules</p>", "Terraform Modules"));
+        assertEquals("terraform modules", documentRepository.findById(job.getId()).orElseThrow().getDetailText());
+        assertEquals(1, jobRepository.searchAfter("TERRAFORM", null, null, null, null, null, null, true, 0, 10).size());
+
+        jobRepository.softDeleteById(job.getId(), Instant.now());
+        assertTrue(jobRepository.searchAfter("platform", null, null, null, null, null, null, false, 0, 10).isEmpty());
+        assertEquals(0, jobRepository.countSearch("platform", null, null, null, null, false));
+    }
+
+    @Test
+    void refreshSearchDocumentsRepairsMissingAndStaleDocuments() {
+        Job first = jobRepository.save(createJob("40", "Data Engineer", "Acme", "Remote", "spark"));
+        Job second = jobRepository.save(createJob("41", "Data Analyst", "Acme", "Remote", "sql"));
+        documentRepository.deleteById(first.getId());
+        var stale = documentRepository.findById(second.getId()).orElseThrow();
+        stale.setTitleLc("stale");
+        documentRepository.saveAndFlush(stale);
+
+        assertTrue(jobRepository.searchAfter("data", null, null, null, null, null, null, false, 0, 10).isEmpty());
+
+        List<Long> ids = jobRepository.findIdsAfter(0L, 10);
+        assertEquals(2, jobRepository.refreshSearchDocuments(ids));
+        assertEquals(0, jobRepository.refreshSearchDocuments(ids));
+        assertEquals(2, jobRepository.searchAfter("data", null, null, null, null, null, null, false, 0, 10).size());
+    }
+
+    @Test
+    void listPageLoadsRowsAndTagsInTwoStatements() {
+        for (int i = 0; i < 30; i++) {
+            jobRepository.save(createJob("50" + i, "Platform Engineer " + i, "Acme", "Remote", "k8s", "tag" + i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        var page = jobRepository.searchAfter("platform", null, null, null, null, null, null, false, 0, 30);
+
+        assertEquals(30, page.size());
+        assertTrue(page.stream().allMatch(job -> job.getTags().size() == 2));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void plannerSeeksOnSingleMatchingValueAndKeepsLikeForAmbiguousInput() {
+        jobRepository.save(createJob("60", "Engineer", "Acme", "Shanghai"));
+        jobRepository.save(createJob("61", "Engineer", "Acme Labs", "Shanghai"));
+        jobRepository.save(createJob("62", "Engineer", "Beta", "Remote"));
+        JobSearchQueryPlanner planner = new JobSearchQueryPlanner(entityManager, false, Duration.ZERO);
+
+        assertEquals(new JobSearchQueryPlanner.Match("beta", true), planner.resolve("company_lc", "bet"));
+        assertEquals(new JobSearchQueryPlanner.Match("acme", false), planner.resolve("company_lc", "acme"));
+        String sql = planner.list(new JobSearchQueryPlanner.Filters(null, "Bet", "remote", null, null, false,
+                Instant.now(), 1L)).sql();
+        assertTrue(sql.contains("d.company_lc = :company"));
+        assertTrue(sql.contains("(d.posted_at, d.job_id) < (:cursorPostedAt, :cursorId)"));
+
+        assertEquals(2, jobRepository.searchAfter(null, "acme", null, null, null, null, null, false, 0, 10).size());
+        assertEquals(1, jobRepository.searchAfter(null, "BET", "remote", null, null, null, null, false, 0, 10).size());
+        assertEquals(1, jobRepository.countSearch(null, "bet", null, null, null, false));
+    }
+
+    @Test
+    void savedJobsEvictExactMatchesThatWouldMissTheirValues() {
+        jobRepository.save(createJob("63", "Engineer", "Gamma", "Lisbon"));
+        JobSearchQueryPlanner planner = jobJpaRepositoryImpl.planner();
+        assertEquals(new JobSearchQueryPlanner.Match("gamma", true), planner.resolve("company_lc", "gamm"));
+        assertEquals(new JobSearchQueryPlanner.Match("lisbon", true), planner.resolve("location_lc", "lisbon"));
+
+        Job gammaray = jobRepository.save(createJob("64", "Engineer", "Gammaray", "Lisbon"));
+        assertEquals(new JobSearchQueryPlanner.Match("gamma", true), planner.resolve("company_lc", "gamm"));
+
+        jobJpaRepositoryImpl.onJobsChanged(JobsChangedEvent.saved(List.of(gammaray)));
+
+        assertEquals(new JobSearchQueryPlanner.Match("gamm", false), planner.resolve("company_lc", "gamm"));
+        assertEquals(new JobSearchQueryPlanner.Match("lisbon", true), planner.resolve("location_lc", "lisbon"));
+        assertEquals(2, jobRepository.searchAfter(null, "gamm", null, null, null, null, null, false, 0, 10).size());
+    }
+
+    @Test
+    void unmatchedInputKeepsLikeAndPreviousValuesEvictExactMatches() {
+        JobSearchQueryPlanner planner = jobJpaRepositoryImpl.planner();
+        assertEquals(new JobSearchQueryPlanner.Match("omicr", false), planner.resolve("company_lc", "omicr"));
+        Job omicron = jobRepository.save(createJob("65", "Engineer", "Omicron", "Porto"));
+        assertEquals(1, jobRepository.searchAfter(null, "omicr", null, null, null, null, null, false, 0, 10).size());
+
+        assertEquals(new JobSearchQueryPlanner.Match("omicron", true), planner.resolve("company_lc", "omicro"));
+        jobRepository.softDeleteById(omicron.getId(), Instant.now());
+        entityManager.flush();
+        jobJpaRepositoryImpl.onJobsChanged(JobsChangedEvent.removed(List.of(omicron.getId()),
+                Map.of(omicron.getId(), new JobsChangedEvent.Previous("Omicron", "Porto", "mid"))));
+
+        assertEquals(new JobSearchQueryPlanner.Match("omicro", false), planner.resolve("company_lc", "omicro"));
+    }
+
+    @Test
+    void cursorPagesBreakTiesOnIdWithoutGapsOrDuplicates() {
+        Instant postedAt = Instant.parse("2024-09-01T00:00:00Z");
+        for (int i = 0; i < 5; i++) {
+            Job job = createJob("7" + i, "Tie Engineer", "Tieco", "Remote");
+            job.setPostedAt(postedAt);
+            jobRepository.save(job);
+        }
+
+        List<Long> seen = new ArrayList<>();
+        Instant cursorPostedAt = null;
+        Long cursorId = null;
+        while (true) {
+            var page = jobRepository.searchAfter(null, "tieco", null, null, null, cursorPostedAt, cursorId, false, 0, 2);
+            if (page.isEmpty()) {
+                break;
+            }
+            page.forEach(job -> seen.add(job.getId()));
+            Job last = page.get(page.size() - 1);
+            cursorPostedAt = last.getPostedAt();
+            cursorId = last.getId();
+        }
+
+        assertEquals(5, seen.size());
+        assertEquals(seen.stream().sorted(Comparator.reverseOrder()).toList(), seen);
+    }
+
+    @Test
+    void relevanceRanksByFieldMatchesWithRecencyDecayAndStableCursor() {
+        Instant rankedAt = Instant.parse("2024-10-01T00:00:00Z");
+        saveAt(createJob("81", "Kotlin Engineer", "Rankco", "Remote"), rankedAt.minus(Duration.ofDays(30)));
+        saveAt(createJob("82", "Backend Engineer", "Rankco", "Remote", "kotlin"), rankedAt.minus(Duration.ofDays(10)));
+        saveAt(createJob("83", "Kotlin Developer", "Rankco", "Remote", "kotlin"), rankedAt.minus(Duration.ofDays(30)));
+        saveAt(createJob("84", "Kotlin Lead", "Rankco", "Remote"), rankedAt.minus(Duration.ofDays(730)));
+        saveAt(createJob("85", "Java Engineer", "Rankco", "Remote"), rankedAt);
+
+        var ranked = jobRepository.searchRanked("kotlin", null, null, null, null, false, rankedAt, null, 10);
+
+        // 标题 3、标签 1.5，乘以 1 / (1 + 年龄 / 30 天)
+        assertEquals(List.of("83", "81", "82", "84"), ranked.stream().map(r -> r.job().getExternalId()).toList());
+        assertEquals(2.25, ranked.get(0).score(), 1e-6);
+        assertEquals(1.5, ranked.get(1).score(), 1e-6);
+        assertEquals(1.125, ranked.get(2).score(), 1e-6);
+
+        List<String> paged = new ArrayList<>();
+        JobRepositoryPort.RankCursor cursor = null;
+        while (true) {
+            var page = jobRepository.searchRanked("kotlin", null, null, null, null, false, rankedAt, cursor, 1);
+            if (page.isEmpty()) {
+                break;
+            }
+            var last = page.get(0);
+            paged.add(last.job().getExternalId());
+            cursor = new JobRepositoryPort.RankCursor(last.score(), last.job().getId());
+        }
+        assertEquals(List.of("83", "81", "82", "84"), paged);
+    }
+
+    private void saveAt(Job job, Instant postedAt) {
+        job.setPostedAt(postedAt);
+        jobRepository.save(job);
+    }
+
     private Job createJob(String id, String title, String company, String location, String... tags) {
         Job job = Job.builder()
                 .source("test")
@@ -0,0 +1,129 @@
+package com.vibe.jobs.jobposting.infrastructure.search;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobSearchIndexTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-10T00:00:00Z");
+
+    @Test
+    void matchesSubstringsAcrossTitleCompanyLocationAndTags() {
+        JobSearchIndex index = new JobSearchIndex();
+        index.upsert(job(1L, "Software Engineer", "TechCorp", "San Francisco", NOW.minusSeconds(30), "engineering"));
+        index.upsert(job(2L, "Product Manager", "DataCorp", "New York", NOW.minusSeconds(20), "product"));
+        index.upsert(job(3L, "Frontend Developer", "WebCorp", "Remote", NOW.minusSeconds(10), "frontend", "javascript"));
+
+        assertThat(search(index, "Software")).containsExactly(1L);
+        assertThat(search(index, "francisco")).containsExactly(1L);
+        assertThat(search(index, "javascript")).containsExactly(3L);
+        assertThat(search(index, "Corp")).containsExactly(3L, 2L, 1L);
+        assertThat(search(index, "ng")).containsExactly(1L);
+        assertThat(search(index, "corp remote")).containsExactly(3L);
+        assertThat(search(index, "backend")).isEmpty();
+    }
+
+    @Test
+    void detailTextIsSearchedByWordPrefixOnlyWhenRequested() {
+        JobSearchIndex index = new JobSearchIndex();
+        index.upsert(job(10L, "Backend Engineer", "InfraCorp", "Remote", NOW, "backend"));
+        index.updateDetail(10L, "We are looking for Go experts, Kubernetes a plus");
+
+        assertThat(index.search(query("experts", false), 0, 10)).isEmpty();
+        assertThat(index.search(query("expert", true), 0, 10)).containsExactly(10L);
+        assertThat(index.search(query("kube", true), 0, 10)).containsExactly(10L);
+        assertThat(index.count(query("experts", true))).isEqualTo(1);
+
+        // 职位本身更新后详情正文仍然保留
+        index.upsert(job(10L, "Senior Backend Engineer", "InfraCorp", "Remote", NOW, "backend"));
+        assertThat(index.search(query("experts", true), 0, 10)).containsExactly(10L);
+
+        index.updateDetail(10L, null);
+        assertThat(index.search(query("experts", true), 0, 10)).isEmpty();
+    }
+
+    @Test
+    void appliesFiltersOrderingAndCursorLikeTheDatabaseQuery() {
+        JobSearchIndex index = new JobSearchIndex();
+        index.upsert(job(1L, "Engineer A", "Acme", "Shanghai", NOW.minusSeconds(300), "eng"));
+        index.upsert(job(2L, "Engineer B", "Acme", "Beijing", NOW.minusSeconds(100), "eng"));
+        index.upsert(job(3L, "Engineer C", "Other", "Shanghai", NOW.minusSeconds(100), "eng"));
+        index.upsert(job(4L, "Engineer D", "Acme", "Shanghai", null, "eng"));
+
+        JobSearchIndex.SearchQuery all = JobSearchIndex.SearchQuery.of(null, null, null, null, null, null, null, false);
+        assertThat(index.search(all, 0, 10)).containsExactly(3L, 2L, 1L, 4L);
+        assertThat(index.search(all, 1, 2)).containsExactly(2L, 1L);
+
+        JobSearchIndex.SearchQuery acme = JobSearchIndex.SearchQuery.of("engineer", "acme", null, null, null, null, null, false);
+        assertThat(index.search(acme, 0, 10)).containsExactly(2L, 1L, 4L);
+        assertThat(index.count(acme)).isEqualTo(3);
+
+        JobSearchIndex.SearchQuery shanghaiRecent = JobSearchIndex.SearchQuery.of(null, null, "shang", null,
+                NOW.minusSeconds(200), null, null, false);
+        assertThat(index.search(shanghaiRecent, 0, 10)).containsExactly(3L);
+
+        JobSearchIndex.SearchQuery afterCursor = JobSearchIndex.SearchQuery.of(null, null, null, null, null,
+                NOW.minusSeconds(100), 3L, false);
+        assertThat(index.search(afterCursor, 0, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void updatesAndRemovalsReplacePreviousEntriesAcrossCompaction() {
+        JobSearchIndex index = new JobSearchIndex();
+        for (long id = 1; id <= 50; id++) {
+            index.upsert(job(id, "Data Engineer " + id, "Acme", "Remote", NOW.minusSeconds(id), "data"));
+        }
+        // 反复更新触发失效槽位压缩
+        for (int round = 0; round < 60; round++) {
+            for (long id = 1; id <= 50; id++) {
+                index.upsert(job(id, "Data Engineer " + id, "Acme", "Remote", NOW.minusSeconds(id), "data"));
+            }
+        }
+        index.upsert(job(7L, "Platform Engineer", "Acme", "Remote", NOW.minusSeconds(7), "platform"));
+        index.remove(8L);
+        Job deleted = job(9L, "Data Engineer 9", "Acme", "Remote", NOW.minusSeconds(9), "data");
+        deleted.setDeleted(true);
+        index.upsert(deleted);
+
+        assertThat(index.size()).isEqualTo(48);
+        assertThat(search(index, "platform")).containsExactly(7L);
+        assertThat(search(index, "data")).doesNotContain(7L, 8L, 9L);
+        assertThat(index.count(query("data", false))).isEqualTo(47);
+        List<Long> expected = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            if (id != 8L && id != 9L) {
+                expected.add(id);
+            }
+        }
+        assertThat(search(index, "engineer")).containsExactlyElementsOf(expected);
+    }
+
+    private List<Long> search(JobSearchIndex index, String q) {
+        return index.search(query(q, false), 0, 100);
+    }
+
+    private JobSearchIndex.SearchQuery query(String q, boolean searchDetail) {
+        return JobSearchIndex.SearchQuery.of(q, null, null, null, null, null, null, searchDetail);
+    }
+
+    private Job job(Long id, String title, String company, String location, Instant postedAt, String... tags) {
+        Job job = Job.builder()
+                .source("test")
+                .externalId("ext-" + id)
+                .title(title)
+                .company(company)
+                .location(location)
+                .postedAt(postedAt)
+                .tags(Set.of(tags))
+                .build();
+        job.setId(id);
+        return job;
+    }
+}
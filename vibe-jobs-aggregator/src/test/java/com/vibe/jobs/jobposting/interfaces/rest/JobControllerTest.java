@@ -5,30 +5,41 @@ import com.vibe.jobs.auth.application.EmailAuthService;
 import com.vibe.jobs.jobposting.application.JobDetailService;
 import com.vibe.jobs.jobposting.domain.Job;
 import com.vibe.jobs.jobposting.domain.spi.JobRepositoryPort;
+import com.vibe.jobs.shared.infrastructure.config.JobHttpCacheProperties;
 import org.hamcrest.Matchers;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import com.jayway.jsonpath.JsonPath;
+import org.mockito.ArgumentCaptor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
 import static org.mockito.ArgumentMatchers.anyCollection;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(JobController.class)
+@Import({JobDetailETagCache.class, JobHttpCacheProperties.class})
 class JobControllerTest {
 
     @Autowired
@@ -78,6 +89,138 @@ class JobControllerTest {
         verify(repo).countSearch(any(), any(), any(), any(), any(), anyBoolean());
     }
 
+    @Test
+    void relevanceSortUsesRankedSearchAndCarriesRankedAtInCursor() throws Exception {
+        when(repo.searchRanked(any(), any(), any(), any(), any(), anyBoolean(), any(), any(), anyInt()))
+                .thenReturn(List.of(new JobRepositoryPort.RankedJob(sampleJob(), 1.5),
+                        new JobRepositoryPort.RankedJob(sampleJob(), 1.0)));
+        ArgumentCaptor<Instant> rankedAt = ArgumentCaptor.forClass(Instant.class);
+
+        String cursor = JsonPath.read(mockMvc.perform(get("/jobs")
+                        .param("q", "sample")
+                        .param("sort", "relevance")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andReturn().getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(get("/jobs")
+                        .param("q", "sample")
+                        .param("sort", "relevance")
+                        .param("size", "1")
+                        .param("cursor", cursor))
+                .andExpect(status().isOk());
+
+        verify(repo).searchRanked(eq("sample"), any(), any(), any(), any(), anyBoolean(), rankedAt.capture(),
+                eq(null), eq(2));
+        verify(repo).searchRanked(eq("sample"), any(), any(), any(), any(), anyBoolean(), eq(rankedAt.getValue()),
+                eq(new JobRepositoryPort.RankCursor(1.5, 1L)), eq(2));
+        verify(repo, never()).searchAfter(any(), any(), any(), any(), any(), any(), any(), anyBoolean(), anyInt(), anyInt());
+    }
+
+    @Test
+    void relevanceSortRejectsPostedAtCursor() throws Exception {
+        String postedCursor = java.util.Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("1704067200000:1".getBytes(java.nio.charset.StandardCharsets.UTF_8));
+
+        mockMvc.perform(get("/jobs")
+                        .param("q", "sample")
+                        .param("sort", "relevance")
+                        .param("cursor", postedCursor))
+                .andExpect(status().isBadRequest());
+        String textCursor = java.util.Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("r:1704067200000:1.5:1".getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        mockMvc.perform(get("/jobs")
+                        .param("q", "sample")
+                        .param("sort", "relevance")
+                        .param("cursor", textCursor))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void listAnswersNotModifiedWhenETagMatches() throws Exception {
+        when(repo.searchAfter(any(), any(), any(), any(), any(), any(), any(), anyBoolean(), anyInt(), anyInt()))
+                .thenReturn(List.of(sampleJob()));
+
+        String etag = mockMvc.perform(get("/jobs").param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/jobs").param("size", "1").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+        mockMvc.perform(get("/jobs").param("size", "1").header(HttpHeaders.IF_NONE_MATCH, "\"l-other\""))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void postedCursorIsFixedWidthAndLegacyTextCursorStillWorks() throws Exception {
+        when(repo.searchAfter(any(), any(), any(), any(), any(), any(), any(), anyBoolean(), anyInt(), anyInt()))
+                .thenReturn(List.of(sampleJob(), sampleJob()));
+        Instant postedAt = Instant.parse("2024-01-01T00:00:00Z");
+
+        String cursor = JsonPath.read(mockMvc.perform(get("/jobs").param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(), "$.nextCursor");
+        assertThat(cursor).hasSize(23);
+
+        mockMvc.perform(get("/jobs").param("size", "1").param("cursor", cursor))
+                .andExpect(status().isOk());
+        String legacy = java.util.Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((postedAt.toEpochMilli() + ":1").getBytes(java.nio.charset.StandardCharsets.UTF_8));
+        mockMvc.perform(get("/jobs").param("size", "1").param("cursor", legacy))
+                .andExpect(status().isOk());
+
+        verify(repo, times(2)).searchAfter(any(), any(), any(), any(), any(), eq(postedAt), eq(1L), anyBoolean(),
+                anyInt(), anyInt());
+        mockMvc.perform(get("/jobs").param("cursor", cursor.substring(0, 20)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void fieldsProjectionReturnsOnlyRequestedFieldsWithItsOwnETag() throws Exception {
+        when(repo.searchAfter(any(), any(), any(), any(), any(), any(), any(), anyBoolean(), anyInt(), anyInt()))
+                .thenReturn(List.of(sampleJob()));
+
+        String fullETag = mockMvc.perform(get("/jobs").param("size", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String etag = mockMvc.perform(get("/jobs").param("size", "1").param("fields", "title, company"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].id").value("1"))
+                .andExpect(jsonPath("$.items[0].title").value("Sample Job"))
+                .andExpect(jsonPath("$.items[0].company").value("Acme"))
+                .andExpect(jsonPath("$.items[0].url").doesNotExist())
+                .andExpect(jsonPath("$.items[0].enrichments").doesNotExist())
+                .andExpect(jsonPath("$.hasMore").value(false))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull().isNotEqualTo(fullETag);
+
+        mockMvc.perform(get("/jobs").param("size", "1").param("fields", "company,title")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/jobs").param("fields", "title,salary"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void detailAnswersNotModifiedFromETagCacheWithoutLoading() throws Exception {
+        when(repo.findById(1L)).thenReturn(Optional.of(sampleJob()));
+        when(jobDetailService.findByJob(any())).thenReturn(Optional.empty());
+
+        String etag = mockMvc.perform(get("/jobs/1/detail"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/jobs/1/detail").header(HttpHeaders.IF_NONE_MATCH, "W/" + etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        verify(repo, times(1)).findById(1L);
+    }
+
     private Job sampleJob() {
         return Job.builder()
                 .id(1L)
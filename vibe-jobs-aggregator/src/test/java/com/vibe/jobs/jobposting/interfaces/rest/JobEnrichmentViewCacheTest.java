@@ -0,0 +1,105 @@
+package com.vibe.jobs.jobposting.interfaces.rest;
+
+import com.vibe.jobs.jobposting.application.JobDetailService;
+import com.vibe.jobs.jobposting.application.dto.JobDetailEnrichmentsDto;
+import com.vibe.jobs.jobposting.domain.JobEnrichmentKey;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
+import com.vibe.jobs.shared.infrastructure.config.JobEnrichmentViewCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JobEnrichmentViewCacheTest {
+
+    private static final String SUCCESS = "{\"state\":\"SUCCESS\"}";
+
+    private JobEnrichmentViewCacheProperties properties;
+    private JobDetailService jobDetailService;
+    private JobEnrichmentViewCache cache;
+
+    @BeforeEach
+    void setUp() {
+        properties = new JobEnrichmentViewCacheProperties();
+        jobDetailService = mock(JobDetailService.class);
+        cache = new JobEnrichmentViewCache(properties, jobDetailService);
+    }
+
+    @Test
+    void reusesParsedViewWhileSourceJsonIsUnchanged() {
+        JobEnrichmentExtractor.EnrichmentView first = cache.view(enrichments(1L, "\"First\""));
+        JobEnrichmentExtractor.EnrichmentView second = cache.view(enrichments(1L, "\"First\""));
+
+        assertThat(second).isSameAs(first);
+        assertThat(second.summary()).contains("First");
+        assertThat(cache.stats()).isEqualTo(new JobEnrichmentViewCache.Stats(1, 1, 1));
+    }
+
+    @Test
+    void reparsesWhenSourceJsonChanged() {
+        cache.view(enrichments(1L, "\"First\""));
+
+        JobEnrichmentExtractor.EnrichmentView changed = cache.view(enrichments(1L, "\"Second\""));
+
+        assertThat(changed.summary()).contains("Second");
+        assertThat(cache.stats().misses()).isEqualTo(2);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondMaxEntries() {
+        properties.setMaxEntries(2);
+        cache.view(enrichments(1L, "\"One\""));
+        cache.view(enrichments(2L, "\"Two\""));
+        cache.view(enrichments(1L, "\"One\""));
+        cache.view(enrichments(3L, "\"Three\""));
+
+        cache.view(enrichments(1L, "\"One\""));
+        cache.view(enrichments(2L, "\"Two\""));
+
+        assertThat(cache.stats()).isEqualTo(new JobEnrichmentViewCache.Stats(2, 2, 4));
+    }
+
+    @Test
+    void detailChangeReparsesCachedJobsAfterCommit() {
+        cache.view(enrichments(1L, "\"Before\""));
+        when(jobDetailService.findByJobIds(anyCollection()))
+                .thenReturn(Map.of(1L, enrichments(1L, "\"After\"")));
+
+        cache.onJobsChanged(JobsChangedEvent.detailChanged(List.of(1L, 2L)));
+        JobEnrichmentExtractor.EnrichmentView view = cache.view(enrichments(1L, "\"After\""));
+
+        verify(jobDetailService).findByJobIds(List.of(1L));
+        assertThat(view.summary()).contains("After");
+        assertThat(cache.stats().hits()).isEqualTo(1);
+    }
+
+    @Test
+    void detailChangeForUncachedJobsDoesNotLoad() {
+        cache.onJobsChanged(JobsChangedEvent.detailChanged(List.of(5L)));
+
+        verify(jobDetailService, never()).findByJobIds(anyCollection());
+    }
+
+    @Test
+    void removedJobsAreEvicted() {
+        cache.view(enrichments(1L, "\"One\""));
+
+        cache.onJobsChanged(JobsChangedEvent.removed(List.of(1L)));
+
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    private JobDetailEnrichmentsDto enrichments(Long jobId, String summary) {
+        return new JobDetailEnrichmentsDto(jobId, Map.of(
+                JobEnrichmentKey.STATUS, SUCCESS,
+                JobEnrichmentKey.SUMMARY, summary));
+    }
+}
@@ -0,0 +1,104 @@
+package com.vibe.jobs.jobposting.interfaces.rest;
+
+import com.vibe.jobs.admin.application.AdminAccessService;
+import com.vibe.jobs.auth.application.EmailAuthService;
+import com.vibe.jobs.jobposting.application.JobExportService;
+import com.vibe.jobs.jobposting.application.dto.JobDetailEnrichmentsDto;
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobEnrichmentKey;
+import com.vibe.jobs.shared.infrastructure.config.JobExportProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(JobExportController.class)
+class JobExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JobExportService exportService;
+
+    @MockBean
+    private EmailAuthService emailAuthService;
+
+    @MockBean
+    private AdminAccessService adminAccessService;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void writesOneJsonObjectPerLineWithTombstones() throws Exception {
+        Job deleted = job(2L);
+        deleted.setDeleted(true);
+        doAnswer(invocation -> {
+            Consumer<List<JobExportService.ExportedJob>> consumer = invocation.getArgument(2);
+            consumer.accept(List.of(new JobExportService.ExportedJob(job(1L), "Build APIs",
+                    new JobDetailEnrichmentsDto(1L, Map.of(JobEnrichmentKey.SUMMARY, "\"Backend role\"")))));
+            consumer.accept(List.of(new JobExportService.ExportedJob(deleted, null, null)));
+            return null;
+        }).when(exportService).export(any(), eq(true), any(Consumer.class));
+
+        String body = mockMvc.perform(get("/jobs/export")
+                        .param("updatedSince", "2024-01-01T00:00:00Z")
+                        .param("includeDetails", "true"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(JobExportController.NDJSON))
+                .andExpect(header().exists(JobExportController.WATERMARK_HEADER))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).contains("\"id\":\"1\"", "\"content\":\"Build APIs\"", "\"summary\":\"Backend role\"")
+                .doesNotContain("deleted");
+        assertThat(lines[1]).isEqualTo("{\"id\":\"2\",\"updatedAt\":\"2024-01-02T00:00:00Z\",\"deleted\":true}");
+        verify(exportService).export(eq(Instant.parse("2024-01-01T00:00:00Z")), eq(true), any(Consumer.class));
+    }
+
+    @Test
+    void watermarkLeavesSafetyMarginForUncommittedWrites() throws Exception {
+        Instant before = Instant.now();
+
+        String watermark = mockMvc.perform(get("/jobs/export"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(JobExportController.WATERMARK_HEADER);
+
+        Duration margin = new JobExportProperties().getWatermarkSafetyMargin();
+        assertThat(Instant.parse(watermark)).isBetween(before.minus(margin).minusMillis(1), Instant.now().minus(margin));
+    }
+
+    private Job job(Long id) {
+        Job job = Job.builder()
+                .id(id)
+                .source("test")
+                .externalId("ext-" + id)
+                .title("Backend Engineer")
+                .company("Acme")
+                .location("Remote")
+                .postedAt(Instant.parse("2024-01-01T00:00:00Z"))
+                .tags(Set.of("java"))
+                .url("https://example.com/" + id)
+                .build();
+        job.setUpdatedAt(Instant.parse("2024-01-02T00:00:00Z"));
+        return job;
+    }
+}
@@ -0,0 +1,208 @@
+package com.vibe.jobs.jobposting.interfaces.rest;
+
+import com.vibe.jobs.jobposting.domain.Job;
+import com.vibe.jobs.jobposting.domain.JobsChangedEvent;
+import com.vibe.jobs.jobposting.interfaces.rest.dto.JobsResponse;
+import com.vibe.jobs.shared.infrastructure.config.JobListCacheProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobListCacheTest {
+
+    private static final Instant NOW = Instant.parse("2024-05-10T00:00:00Z");
+
+    private JobListCacheProperties properties;
+    private MutableClock clock;
+    private JobListCache cache;
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        properties = new JobListCacheProperties();
+        clock = new MutableClock(NOW);
+        cache = new JobListCache(properties, clock);
+    }
+
+    @Test
+    void servesRepeatedQueriesFromCacheUsingNormalizedKey() {
+        List<Job> window = List.of(job(3L, "Java Engineer", "Acme", NOW.minusSeconds(10)));
+
+        cache.get(key(" Java ", "ACME", null, null), () -> load(window, true));
+        cache.get(key("java", "acme", null, null), () -> load(window, true));
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.stats().hits()).isEqualTo(1);
+        assertThat(cache.stats().misses()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidatesOnlyPagesTheChangeCanReach() {
+        // 第一页：窗口内为 id 5、4，之后仍有数据
+        List<Job> firstPage = List.of(
+                job(5L, "Java Engineer", "Acme", NOW.minusSeconds(100)),
+                job(4L, "Java Engineer", "Acme", NOW.minusSeconds(200)));
+        JobListCache.Key java = key("java", null, null, null);
+        JobListCache.Key python = key("python", null, null, null);
+        cache.get(java, () -> load(firstPage, false));
+        cache.get(python, () -> load(List.of(job(9L, "Python Engineer", "Other", NOW.minusSeconds(50))), true));
+
+        // 排在窗口之后的职位不影响第一页
+        cache.onJobsChanged(JobsChangedEvent.saved(List.of(job(2L, "Java Engineer", "Acme", NOW.minusSeconds(900)))));
+        // 与查询条件不匹配的职位不影响
+        cache.onJobsChanged(JobsChangedEvent.saved(List.of(job(20L, "Go Engineer", "Acme", NOW))));
+        assertThat(cache.stats().invalidations()).isZero();
+
+        // 新职位排在窗口内，只清除 java 页
+        cache.onJobsChanged(JobsChangedEvent.saved(List.of(job(21L, "Senior Java Developer", "Acme", NOW))));
+        assertThat(cache.stats().invalidations()).isEqualTo(1);
+        cache.get(python, () -> load(List.of(), true));
+        assertThat(loads).hasValue(2);
+
+        // 删除页内职位会清除该页
+        cache.onJobsChanged(JobsChangedEvent.removed(List.of(9L)));
+        cache.get(python, () -> load(List.of(), true));
+        assertThat(loads).hasValue(3);
+    }
+
+    @Test
+    void cursorPagesIgnoreJobsBeforeTheCursor() {
+        JobListCache.Key second = JobListCache.Key.of(null, null, null, null, null, false,
+                NOW.minusSeconds(100), 5L, 2, false, false);
+        cache.get(second, () -> load(List.of(job(4L, "Engineer", "Acme", NOW.minusSeconds(200))), true));
+
+        cache.onJobsChanged(JobsChangedEvent.saved(List.of(job(30L, "Engineer", "Acme", NOW))));
+        assertThat(cache.stats().invalidations()).isZero();
+
+        cache.onJobsChanged(JobsChangedEvent.saved(List.of(job(31L, "Engineer", "Acme", NOW.minusSeconds(150)))));
+        assertThat(cache.stats().invalidations()).isEqualTo(1);
+    }
+
+    @Test
+    void pagesWithTotalsAndDetailSearchAreInvalidatedConservatively() {
+        JobListCache.Key withTotal = JobListCache.Key.of("java", null, null, null, null, false, null, null, 10, true, false);
+        JobListCache.Key detail = JobListCache.Key.of("kubernetes", null, null, null, null, true, null, null, 10, false, false);
+        cache.get(withTotal, () -> load(List.of(), true));
+        cache.get(detail, () -> load(List.of(), true));
+
+        cache.onJobsChanged(JobsChangedEvent.removed(List.of(99L)));
+        assertThat(cache.stats().size()).isEqualTo(1);
+
+        cache.onJobsChanged(JobsChangedEvent.detailChanged(List.of(99L)));
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    @Test
+    void evictsByTtlAndCapacity() {
+        properties.setMaxEntries(2);
+        properties.setTtl(Duration.ofSeconds(30));
+        cache.get(key("a", null, null, null), () -> load(List.of(), true));
+        cache.get(key("b", null, null, null), () -> load(List.of(), true));
+        cache.get(key("a", null, null, null), () -> load(List.of(), true));
+        cache.get(key("c", null, null, null), () -> load(List.of(), true));
+
+        assertThat(cache.stats().size()).isEqualTo(2);
+        cache.get(key("a", null, null, null), () -> load(List.of(), true));
+        assertThat(loads).hasValue(3);
+
+        clock.advance(Duration.ofSeconds(31));
+        cache.get(key("a", null, null, null), () -> load(List.of(), true));
+        assertThat(loads).hasValue(4);
+        assertThat(cache.stats().evictions()).isEqualTo(2);
+    }
+
+    @Test
+    void doesNotCacheResultLoadedWhileJobsChanged() {
+        JobListCache.Key key = key("java", null, null, null);
+        cache.get(key, () -> {
+            cache.onJobsChanged(JobsChangedEvent.removed(List.of(1L)));
+            return load(List.of(), true);
+        });
+        cache.get(key, () -> load(List.of(), true));
+
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void remembersETagOnlyForTheCachedResponse() {
+        JobListCache.Key key = key("java", null, null, null);
+        JobsResponse first = cache.get(key, () -> load(List.of(job(5L, "Java Engineer", "Acme", NOW)), true));
+        assertThat(cache.cachedETag(key)).isNull();
+
+        assertThat(cache.etagFor(key, first, response -> "\"l-1\"")).isEqualTo("\"l-1\"");
+        assertThat(cache.etagFor(key, first, response -> "\"l-2\"")).isEqualTo("\"l-1\"");
+        assertThat(cache.cachedETag(key)).isEqualTo("\"l-1\"");
+
+        // 页失效后不再提供旧 ETag，新结果的 ETag 重新计算
+        cache.onJobsChanged(JobsChangedEvent.removed(List.of(5L)));
+        assertThat(cache.cachedETag(key)).isNull();
+        assertThat(cache.etagFor(key, first, response -> "\"l-3\"")).isEqualTo("\"l-3\"");
+        assertThat(cache.cachedETag(key)).isNull();
+
+        JobsResponse second = cache.get(key, () -> load(List.of(), true));
+        cache.etagFor(key, second, response -> "\"l-4\"");
+        assertThat(cache.cachedETag(key)).isEqualTo("\"l-4\"");
+        clock.advance(properties.getTtl().plusSeconds(1));
+        assertThat(cache.cachedETag(key)).isNull();
+    }
+
+    private JobListCache.Key key(String q, String company, String location, String level) {
+        return JobListCache.Key.of(q, company, location, level, null, false, null, null, 10, false, false);
+    }
+
+    private JobListCache.Loaded load(List<Job> window, boolean exhausted) {
+        loads.incrementAndGet();
+        return new JobListCache.Loaded(new JobsResponse(List.of(), null, null, !exhausted, 10), window, exhausted);
+    }
+
+    private Job job(Long id, String title, String company, Instant postedAt) {
+        return Job.builder()
+                .id(id)
+                .source("test")
+                .externalId("ext-" + id)
+                .title(title)
+                .company(company)
+                .location("Remote")
+                .postedAt(postedAt)
+                .tags(Set.of())
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
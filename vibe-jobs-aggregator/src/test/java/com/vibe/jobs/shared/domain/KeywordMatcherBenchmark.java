@@ -0,0 +1,93 @@
+package com.vibe.jobs.shared.domain;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 关键词匹配基准：原先每次调用都规范化关键词的 contains 循环 vs 预编译的 Aho-Corasick。
+ *
+ * 运行：mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java "-Dexec.args=-cp %classpath com.vibe.jobs.shared.domain.KeywordMatcherBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KeywordMatcherBenchmark {
+
+    private static final String[] CITIES = {
+            "beijing", "shanghai", "shenzhen", "guangzhou", "hangzhou", "chengdu", "nanjing", "wuhan",
+            "xi'an", "suzhou", "tianjin", "chongqing", "北京", "上海", "深圳", "广州", "杭州", "成都", "南京", "武汉"
+    };
+
+    @Param({"4", "20", "200"})
+    public int keywordCount;
+
+    private List<String> keywords;
+    private KeywordMatcher matcher;
+    private String[] texts;
+
+    @Setup
+    public void setUp() {
+        keywords = new ArrayList<>(keywordCount);
+        for (int i = 0; i < keywordCount; i++) {
+            String city = CITIES[i % CITIES.length];
+            keywords.add(i < CITIES.length ? " " + city.toUpperCase(Locale.ROOT) + " " : city + "-" + i);
+        }
+        matcher = KeywordMatcher.of(keywords);
+        texts = new String[]{
+                "senior backend engineer - remote, united states",
+                "software engineer ii, platform infrastructure (singapore)",
+                "中国上海市浦东新区 张江高科技园区",
+                "hong kong sar, central and western district"
+        };
+    }
+
+    @Benchmark
+    public int legacyPerCallNormalization() {
+        int hits = 0;
+        for (String text : texts) {
+            boolean matched = keywords.stream()
+                    .filter(keyword -> keyword != null && !keyword.isBlank())
+                    .anyMatch(keyword -> text.contains(keyword.toLowerCase().trim()));
+            if (matched) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    @Benchmark
+    public int compiledMatcher() {
+        int hits = 0;
+        for (String text : texts) {
+            if (matcher.matchesAny(text)) {
+                hits++;
+            }
+        }
+        return hits;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new Runner(new OptionsBuilder()
+                .include(KeywordMatcherBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
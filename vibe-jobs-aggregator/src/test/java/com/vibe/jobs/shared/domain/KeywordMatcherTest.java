@@ -0,0 +1,78 @@
+package com.vibe.jobs.shared.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class KeywordMatcherTest {
+
+    @Test
+    void normalizesKeywordsAndIgnoresBlanks() {
+        KeywordMatcher matcher = KeywordMatcher.of(List.of(" Shanghai ", "", "  "), null, List.of("BEIJING"));
+
+        assertThat(matcher.isEmpty()).isFalse();
+        assertThat(matcher.matchesAny("shanghai, china")).isTrue();
+        assertThat(matcher.matchesAny("beijing")).isTrue();
+        assertThat(matcher.matchesAny("shenzhen")).isFalse();
+        assertThat(matcher.matchesAny("")).isFalse();
+        assertThat(KeywordMatcher.of(List.of(" ")).isEmpty()).isTrue();
+    }
+
+    @Test
+    void automatonFollowsFailureLinksAndSuffixOutputs() {
+        KeywordMatcher matcher = KeywordMatcher.of(List.of("he", "she", "his", "hers", "usher", "abcd", "bce"));
+
+        assertThat(matcher.matchesAny("ushers")).isTrue();
+        assertThat(matcher.matchesAny("ahishers")).isTrue();
+        // abc 失败后需要跳到 bc 才能匹配 bce
+        assertThat(matcher.matchesAny("xabce")).isTrue();
+        assertThat(matcher.matchesAny("abcx")).isFalse();
+        assertThat(matcher.matchesAny("hxsxixs")).isFalse();
+    }
+
+    @Test
+    void matchesChineseCityNames() {
+        KeywordMatcher matcher = KeywordMatcher.of(List.of("北京", "上海", "深圳", "广州", "杭州", "成都", "remote"));
+
+        assertThat(matcher.matchesAny(KeywordMatcher.normalize("中国上海市浦东新区"))).isTrue();
+        assertThat(matcher.matchesAny(KeywordMatcher.normalize("Beijing 北京"))).isTrue();
+        assertThat(matcher.matchesAny(KeywordMatcher.normalize("Fully REMOTE"))).isTrue();
+        assertThat(matcher.matchesAny(KeywordMatcher.normalize("南京"))).isFalse();
+    }
+
+    @Test
+    void agreesWithNaiveContainsOnRandomInputs() {
+        Random random = new Random(42);
+        String alphabet = "abc北京 ";
+        for (int round = 0; round < 200; round++) {
+            List<String> keywords = new ArrayList<>();
+            int count = 1 + random.nextInt(12);
+            for (int i = 0; i < count; i++) {
+                keywords.add(randomText(random, alphabet, 1 + random.nextInt(4)));
+            }
+            KeywordMatcher matcher = KeywordMatcher.of(keywords);
+            for (int i = 0; i < 20; i++) {
+                String text = randomText(random, alphabet, random.nextInt(16));
+                boolean expected = keywords.stream()
+                        .filter(keyword -> !keyword.isBlank())
+                        .anyMatch(keyword -> text.contains(keyword.toLowerCase(Locale.ROOT).trim()));
+                assertThat(matcher.matchesAny(text))
+                        .as("keywords=%s text=%s", keywords, text)
+                        .isEqualTo(expected);
+            }
+        }
+    }
+
+    private String randomText(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
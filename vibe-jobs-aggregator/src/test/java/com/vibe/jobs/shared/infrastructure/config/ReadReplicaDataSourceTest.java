@@ -0,0 +1,174 @@
+package com.vibe.jobs.shared.infrastructure.config;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadReplicaDataSourceTest {
+
+    private static final String ROUTED = "com.vibe.jobs.jobposting.application.JobDetailService.findByJob";
+    private static final String UNROUTED = "com.vibe.jobs.auth.application.AuthService.verify";
+
+    private ReadReplicaDataSource routing;
+
+    @AfterEach
+    void tearDown() {
+        if (routing != null) {
+            routing.close();
+        }
+    }
+
+    @Test
+    void routedReadOnlyTransactionsReadFromHealthyReplica() {
+        JdbcDataSource primary = database("primary");
+        JdbcDataSource replica = database("replica");
+        JdbcTemplate jdbc = route(primary, List.of(replica), properties(""));
+
+        assertThat(read(jdbc, ROUTED, true)).isEqualTo("replica");
+        assertThat(routing.summary().replicas().get(0).routedConnections()).isEqualTo(1);
+    }
+
+    @Test
+    void writesAndUnroutedReadsStayOnPrimary() {
+        JdbcDataSource primary = database("primary");
+        JdbcDataSource replica = database("replica");
+        JdbcTemplate jdbc = route(primary, List.of(replica), properties(""));
+
+        assertThat(read(jdbc, ROUTED, false)).isEqualTo("primary");
+        assertThat(read(jdbc, UNROUTED, true)).isEqualTo("primary");
+        assertThat(read(jdbc, null, true)).isEqualTo("primary");
+    }
+
+    @Test
+    void laggingReplicaIsSkippedUntilItCatchesUp() {
+        JdbcDataSource primary = database("primary");
+        JdbcDataSource lagging = database("lagging");
+        JdbcDataSource healthy = database("healthy");
+        new JdbcTemplate(lagging).execute("create table replica_lag(seconds bigint); insert into replica_lag values (30)");
+        new JdbcTemplate(healthy).execute("create table replica_lag(seconds bigint); insert into replica_lag values (1)");
+        JdbcTemplate jdbc = route(primary, List.of(lagging, healthy), properties("select seconds from replica_lag"));
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(read(jdbc, ROUTED, true)).isEqualTo("healthy");
+        }
+
+        new JdbcTemplate(healthy).update("update replica_lag set seconds = 60");
+        routing.checkHealth();
+        assertThat(read(jdbc, ROUTED, true)).isEqualTo("primary");
+
+        new JdbcTemplate(lagging).update("update replica_lag set seconds = 0");
+        routing.checkHealth();
+        assertThat(read(jdbc, ROUTED, true)).isEqualTo("lagging");
+        assertThat(routing.summary().primaryFallbacks()).isEqualTo(1);
+    }
+
+    @Test
+    void readsStayOnPrimaryForAWindowAfterLocalWrites() throws InterruptedException {
+        JdbcDataSource primary = database("primary");
+        JdbcDataSource replica = database("replica");
+        ReadReplicaProperties properties = properties("");
+        properties.setPrimaryAfterWrite(Duration.ofMillis(300));
+        JdbcTemplate jdbc = route(primary, List.of(replica), properties);
+        assertThat(read(jdbc, ROUTED, true)).isEqualTo("replica");
+
+        read(jdbc, "com.vibe.jobs.jobposting.application.JobService.save", false);
+
+        assertThat(read(jdbc, ROUTED, true)).isEqualTo("primary");
+        assertThat(routing.summary().primaryAfterWrite()).isEqualTo(1);
+        Thread.sleep(400);
+        assertThat(read(jdbc, ROUTED, true)).isEqualTo("replica");
+    }
+
+    @Test
+    void writesOnAnotherThreadDoNotPinReads() throws InterruptedException {
+        JdbcDataSource primary = database("primary");
+        JdbcDataSource replica = database("replica");
+        JdbcTemplate jdbc = route(primary, List.of(replica), properties(""));
+
+        Thread ingestion = new Thread(() -> read(jdbc,
+                "com.vibe.jobs.jobposting.application.JobService.upsertAll", false));
+        ingestion.start();
+        ingestion.join();
+
+        assertThat(read(jdbc, ROUTED, true)).isEqualTo("replica");
+        assertThat(routing.summary().primaryAfterWrite()).isZero();
+    }
+
+    @Test
+    void unreachableReplicaFallsBackToPrimaryImmediately() {
+        JdbcDataSource primary = database("primary");
+        String name = "replica-" + UUID.randomUUID();
+        JdbcDataSource replica = database(name, "replica");
+        replica.setURL("jdbc:h2:mem:" + name + ";IFEXISTS=TRUE");
+        JdbcTemplate jdbc = route(primary, List.of(replica), properties(""));
+        assertThat(routing.summary().replicas().get(0).healthy()).isTrue();
+
+        new JdbcTemplate(replica).execute("shutdown");
+
+        assertThat(read(jdbc, ROUTED, true)).isEqualTo("primary");
+        ReadReplicaDataSource.Status status = routing.summary().replicas().get(0);
+        assertThat(status.healthy()).isFalse();
+        assertThat(status.lastError()).isNotBlank();
+    }
+
+    private JdbcTemplate route(DataSource primary, List<? extends DataSource> replicas,
+                               ReadReplicaProperties properties) {
+        List<ReadReplicaDataSource.NamedDataSource> named = new ArrayList<>();
+        for (int i = 0; i < replicas.size(); i++) {
+            named.add(new ReadReplicaDataSource.NamedDataSource("replica-" + i, replicas.get(i)));
+        }
+        routing = new ReadReplicaDataSource(primary, named, properties);
+        routing.checkHealth();
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(primary);
+        proxy.setReadOnlyDataSource(routing);
+        return new JdbcTemplate(proxy);
+    }
+
+    /**
+     * 与 JpaTransactionManager 一样，事务名取发起事务的方法全名，只读标记在第一条语句前设置；
+     * 路由数据源与应用中一样注册为事务管理器的执行监听器。
+     */
+    private String read(JdbcTemplate jdbc, String transactionName, boolean readOnly) {
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(jdbc.getDataSource());
+        transactionManager.addListener(routing);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setName(transactionName);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status -> jdbc.queryForObject("select name from marker", String.class));
+    }
+
+    private ReadReplicaProperties properties(String lagQuery) {
+        ReadReplicaProperties properties = new ReadReplicaProperties();
+        properties.setEnabled(true);
+        properties.setLagQuery(lagQuery);
+        properties.setMaxLag(Duration.ofSeconds(5));
+        // 由测试显式触发健康检查
+        properties.setHealthCheckInterval(Duration.ofHours(1));
+        return properties;
+    }
+
+    private JdbcDataSource database(String marker) {
+        return database(marker + "-" + UUID.randomUUID(), marker);
+    }
+
+    private JdbcDataSource database(String name, String marker) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUser("sa");
+        new JdbcTemplate(dataSource).execute("create table marker(name varchar(32)); insert into marker values ('"
+                + marker + "')");
+        return dataSource;
+    }
+}
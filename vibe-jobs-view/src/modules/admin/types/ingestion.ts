@@ -4,6 +4,7 @@ export interface IngestionSettings {
   pageSize: number;
   recentDays: number;
   concurrency: number;
+  executorMode?: 'PLATFORM' | 'VIRTUAL';
   companyOverrides: Record<string, unknown>;
   locationFilter: unknown;
   roleFilter: unknown;
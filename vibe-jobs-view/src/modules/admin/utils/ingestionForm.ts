@@ -54,6 +54,7 @@ export function buildIngestionSettingsPayload(
     pageSize: ensureNumber(pageSize, fallback?.pageSize),
     recentDays: ensureNumber(recentDays, fallback?.recentDays),
     concurrency: ensureNumber(concurrency, fallback?.concurrency),
+    executorMode: fallback?.executorMode,
     companyOverrides: fallback?.companyOverrides ?? {},
     locationFilter: location,
     roleFilter: role,